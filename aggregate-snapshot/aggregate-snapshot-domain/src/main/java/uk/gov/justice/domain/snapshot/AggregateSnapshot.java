@@ -25,6 +25,7 @@ public class AggregateSnapshot<T extends Aggregate> implements Serializable {
     private final Long positionInStream;
     private final String type;
     private final byte[] aggregateByteRepresentation;
+    private final int formatId;
     private ZonedDateTime createdAt;
 
     @SuppressWarnings("unchecked")
@@ -32,15 +33,24 @@ public class AggregateSnapshot<T extends Aggregate> implements Serializable {
         this(streamId, versionId, (Class<T>) aggregate.getClass(), serialize(aggregate));
     }
 
+    public AggregateSnapshot(final UUID streamId, final Long versionId, final T aggregate, final SnapshotSerializer snapshotSerializer) {
+        this(streamId, versionId, aggregate.getClass().getName(), snapshotSerializer.serialize(aggregate), snapshotSerializer.getFormatId());
+    }
+
     public AggregateSnapshot(final UUID streamId, final Long versionId, final Class<T> type, final byte[] aggregateByteRepresentation) {
         this(streamId, versionId, type.getName(), aggregateByteRepresentation);
     }
 
     public AggregateSnapshot(final UUID streamId, final Long versionId, final String type, final byte[] aggregateByteRepresentation) {
+        this(streamId, versionId, type, aggregateByteRepresentation, JavaSnapshotSerializer.FORMAT_ID);
+    }
+
+    public AggregateSnapshot(final UUID streamId, final Long versionId, final String type, final byte[] aggregateByteRepresentation, final int formatId) {
         this.streamId = streamId;
         this.positionInStream = versionId;
         this.type = type;
         this.aggregateByteRepresentation = aggregateByteRepresentation;
+        this.formatId = formatId;
     }
 
     /**
@@ -53,7 +63,15 @@ public class AggregateSnapshot<T extends Aggregate> implements Serializable {
      * @param createdAt this is the date coming from the DB.
      */
     public AggregateSnapshot(final UUID streamId, final Long versionId, final String type, final byte[] aggregateByteRepresentation, final ZonedDateTime createdAt) {
-        this(streamId, versionId, type, aggregateByteRepresentation);
+        this(streamId, versionId, type, aggregateByteRepresentation, createdAt, JavaSnapshotSerializer.FORMAT_ID);
+    }
+
+    /**
+     * Used when constructing from a ResultSet coming from the DB, with the id of the
+     * {@link SnapshotSerializer} that wrote the aggregateByteRepresentation
+     */
+    public AggregateSnapshot(final UUID streamId, final Long versionId, final String type, final byte[] aggregateByteRepresentation, final ZonedDateTime createdAt, final int formatId) {
+        this(streamId, versionId, type, aggregateByteRepresentation, formatId);
         this.createdAt = createdAt;
     }
 
@@ -77,6 +95,10 @@ public class AggregateSnapshot<T extends Aggregate> implements Serializable {
         return createdAt;
     }
 
+    public int getFormatId() {
+        return formatId;
+    }
+
     @SuppressWarnings("unchecked")
     public T getAggregate(final ObjectInputStreamStrategy streamStrategy) throws AggregateChangeDetectedException {
         try (final ObjectInputStream objectInputStream = streamStrategy.objectInputStreamOf(new ByteArrayInputStream(aggregateByteRepresentation))) {
@@ -86,6 +108,15 @@ public class AggregateSnapshot<T extends Aggregate> implements Serializable {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    public T getAggregate(final SnapshotSerializer snapshotSerializer) throws AggregateChangeDetectedException {
+        try {
+            return snapshotSerializer.deserialize(aggregateByteRepresentation, (Class<T>) Class.forName(getType()));
+        } catch (SerializationException | ClassNotFoundException e) {
+            throw new AggregateChangeDetectedException(format("Failed to deserialise Aggregate into %s. Cause: %s", type, e.getLocalizedMessage()), positionInStream, createdAt);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -99,6 +130,7 @@ public class AggregateSnapshot<T extends Aggregate> implements Serializable {
                 .append(positionInStream, that.positionInStream)
                 .append(type, that.type)
                 .append(aggregateByteRepresentation, that.aggregateByteRepresentation)
+                .append(formatId, that.formatId)
                 .isEquals();
     }
 
@@ -109,6 +141,7 @@ public class AggregateSnapshot<T extends Aggregate> implements Serializable {
                 .append(positionInStream)
                 .append(type)
                 .append(aggregateByteRepresentation)
+                .append(formatId)
                 .toHashCode();
     }
 
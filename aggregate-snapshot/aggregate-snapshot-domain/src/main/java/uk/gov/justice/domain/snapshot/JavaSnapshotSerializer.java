@@ -0,0 +1,47 @@
+package uk.gov.justice.domain.snapshot;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+
+/**
+ * The original snapshot format, using Java serialization.
+ */
+public class JavaSnapshotSerializer implements SnapshotSerializer {
+
+    public static final int FORMAT_ID = 0;
+
+    private final ObjectInputStreamStrategy streamStrategy;
+
+    public JavaSnapshotSerializer() {
+        this(new DefaultObjectInputStreamStrategy());
+    }
+
+    public JavaSnapshotSerializer(final ObjectInputStreamStrategy streamStrategy) {
+        this.streamStrategy = streamStrategy;
+    }
+
+    @Override
+    public int getFormatId() {
+        return FORMAT_ID;
+    }
+
+    @Override
+    public byte[] serialize(final Aggregate aggregate) {
+        return SerializationUtils.serialize(aggregate);
+    }
+
+    @Override
+    public <T extends Aggregate> T deserialize(final byte[] aggregateByteRepresentation, final Class<T> aggregateClass) {
+        try (final ObjectInputStream objectInputStream = streamStrategy.objectInputStreamOf(new ByteArrayInputStream(aggregateByteRepresentation))) {
+            return aggregateClass.cast(objectInputStream.readObject());
+        } catch (final ClassNotFoundException | IOException | ClassCastException e) {
+            throw new SerializationException(e);
+        }
+    }
+}
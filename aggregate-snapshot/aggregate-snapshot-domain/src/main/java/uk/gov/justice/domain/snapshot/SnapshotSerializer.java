@@ -0,0 +1,21 @@
+package uk.gov.justice.domain.snapshot;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+
+import org.apache.commons.lang3.SerializationException;
+
+/**
+ * Converts aggregates to and from the bytes stored in the snapshot table.
+ * <p>
+ * The format id is stored with each snapshot, so that a snapshot is always read by the serializer
+ * that wrote it. Implementations other than those provided are found using java.util.ServiceLoader
+ * and must use a format id of their own.
+ */
+public interface SnapshotSerializer {
+
+    int getFormatId();
+
+    byte[] serialize(final Aggregate aggregate) throws SerializationException;
+
+    <T extends Aggregate> T deserialize(final byte[] aggregateByteRepresentation, final Class<T> aggregateClass) throws SerializationException;
+}
@@ -0,0 +1,650 @@
+package uk.gov.justice.domain.snapshot;
+
+import static java.lang.reflect.Modifier.isStatic;
+import static java.lang.reflect.Modifier.isTransient;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.lang3.SerializationException;
+
+/**
+ * A compact binary snapshot format which writes each field of an object tagged with its name.
+ * <p>
+ * When read, fields that no longer exist are skipped and fields that have been added keep the
+ * value given to them by the no argument constructor, so adding or removing a field of an
+ * aggregate does not invalidate its snapshots. Changing the type of a field, or removing a
+ * class, still fails with a SerializationException, after which the aggregate is rebuilt from
+ * its events as before.
+ * <p>
+ * Objects are written field by field if their class has a no argument constructor and does not
+ * customise its own Java serialization. Common JDK value types and collections are written
+ * natively. Any other object, including the elements of a JDK collection not listed here, is
+ * embedded using Java serialization, so anything Java serialization can store can be stored.
+ * These embedded objects are read with the given {@link ObjectInputStreamStrategy}, in the same
+ * way as snapshots written by the {@link JavaSnapshotSerializer}.
+ * Shared references and cycles are preserved, except into and out of Java serialized objects.
+ */
+public class TaggedBinarySnapshotSerializer implements SnapshotSerializer {
+
+    public static final int FORMAT_ID = 1;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int NULL = 0;
+    private static final int REFERENCE = 1;
+    private static final int TRUE = 2;
+    private static final int FALSE = 3;
+    private static final int BYTE = 4;
+    private static final int SHORT = 5;
+    private static final int CHAR = 6;
+    private static final int INT = 7;
+    private static final int LONG = 8;
+    private static final int FLOAT = 9;
+    private static final int DOUBLE = 10;
+    private static final int STRING = 11;
+    private static final int UUID_VALUE = 12;
+    private static final int ENUM = 13;
+    private static final int BIG_DECIMAL = 14;
+    private static final int BIG_INTEGER = 15;
+    private static final int INSTANT = 16;
+    private static final int LOCAL_DATE = 17;
+    private static final int LOCAL_DATE_TIME = 18;
+    private static final int LOCAL_TIME = 19;
+    private static final int ZONED_DATE_TIME = 20;
+    private static final int BYTE_ARRAY = 21;
+    private static final int ARRAY = 22;
+    private static final int COLLECTION = 23;
+    private static final int MAP = 24;
+    private static final int OBJECT = 25;
+    private static final int JAVA_SERIALIZED = 26;
+
+    private static final Set<Class<?>> COLLECTION_TYPES = Set.of(
+            ArrayList.class,
+            LinkedList.class,
+            HashSet.class,
+            LinkedHashSet.class,
+            TreeSet.class,
+            ArrayDeque.class,
+            CopyOnWriteArrayList.class);
+
+    private static final Set<Class<?>> MAP_TYPES = Set.of(
+            HashMap.class,
+            TreeMap.class,
+            ConcurrentHashMap.class);
+
+    private static final Map<String, Class<?>> COLLECTION_TYPES_BY_NAME = typesByName(COLLECTION_TYPES);
+
+    private static final Map<String, Class<?>> MAP_TYPES_BY_NAME = typesByName(MAP_TYPES);
+
+    private static final Set<String> JAVA_SERIALIZATION_METHODS = Set.of(
+            "writeObject",
+            "readObject",
+            "writeReplace",
+            "readResolve");
+
+    private static final ClassValue<List<Field>> SERIALIZABLE_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(final Class<?> type) {
+            final List<Field> fields = new ArrayList<>();
+            for (final Field field : type.getDeclaredFields()) {
+                if (!isStatic(field.getModifiers()) && !isTransient(field.getModifiers()) && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    private static final ClassValue<Map<String, Field>> SERIALIZABLE_FIELDS_BY_NAME = new ClassValue<>() {
+        @Override
+        protected Map<String, Field> computeValue(final Class<?> type) {
+            final Map<String, Field> fieldsByName = new HashMap<>();
+            SERIALIZABLE_FIELDS.get(type).forEach(field -> fieldsByName.put(field.getName(), field));
+            return Map.copyOf(fieldsByName);
+        }
+    };
+
+    private static final ClassValue<Constructor<?>> FIELD_TAGGED_CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(final Class<?> type) {
+            return fieldTaggedConstructorOf(type);
+        }
+    };
+
+    private final ObjectInputStreamStrategy streamStrategy;
+
+    public TaggedBinarySnapshotSerializer() {
+        this(new DefaultObjectInputStreamStrategy());
+    }
+
+    /**
+     * @param streamStrategy used to read the objects embedded using Java serialization
+     */
+    public TaggedBinarySnapshotSerializer(final ObjectInputStreamStrategy streamStrategy) {
+        this.streamStrategy = streamStrategy;
+    }
+
+    @Override
+    public int getFormatId() {
+        return FORMAT_ID;
+    }
+
+    @Override
+    public byte[] serialize(final Aggregate aggregate) {
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            new Writer(out).writeValue(aggregate);
+        } catch (final IOException | ReflectiveOperationException | RuntimeException e) {
+            throw new SerializationException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public <T extends Aggregate> T deserialize(final byte[] aggregateByteRepresentation, final Class<T> aggregateClass) {
+
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(aggregateByteRepresentation))) {
+            final int formatVersion = in.readUnsignedByte();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new SerializationException("Unknown tagged binary snapshot format version " + formatVersion);
+            }
+
+            return aggregateClass.cast(new Reader(in, aggregateClass.getClassLoader(), streamStrategy).readValue());
+        } catch (final IOException | ReflectiveOperationException | RuntimeException e) {
+            throw e instanceof SerializationException serializationException ? serializationException : new SerializationException(e);
+        }
+    }
+
+    private static Map<String, Class<?>> typesByName(final Set<Class<?>> types) {
+        final Map<String, Class<?>> typesByName = new HashMap<>();
+        types.forEach(type -> typesByName.put(type.getName(), type));
+        return Map.copyOf(typesByName);
+    }
+
+    private static Constructor<?> fieldTaggedConstructorOf(final Class<?> type) {
+
+        final ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null || classLoader == ClassLoader.getPlatformClassLoader() ||
+            type.isRecord() || type.isEnum() || type.isArray() || type.isSynthetic() ||
+            type.isAnonymousClass() || type.isLocalClass() ||
+            Externalizable.class.isAssignableFrom(type)) {
+            return null;
+        }
+
+        for (Class<?> level = type; level != Object.class; level = level.getSuperclass()) {
+            if (customisesJavaSerialization(level)) {
+                return null;
+            }
+        }
+
+        try {
+            final Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (final NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean customisesJavaSerialization(final Class<?> type) {
+        for (final Method method : type.getDeclaredMethods()) {
+            if (JAVA_SERIALIZATION_METHODS.contains(method.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> names = new HashMap<>();
+        private final IdentityHashMap<Object, Integer> references = new IdentityHashMap<>();
+
+        private Writer(final DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void writeValue(final Object value) throws IOException, ReflectiveOperationException {
+
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof Boolean booleanValue) {
+                out.writeByte(booleanValue ? TRUE : FALSE);
+            } else if (value instanceof Byte byteValue) {
+                out.writeByte(BYTE);
+                out.writeByte(byteValue);
+            } else if (value instanceof Short shortValue) {
+                out.writeByte(SHORT);
+                writeVarLong(shortValue);
+            } else if (value instanceof Character charValue) {
+                out.writeByte(CHAR);
+                out.writeChar(charValue);
+            } else if (value instanceof Integer intValue) {
+                out.writeByte(INT);
+                writeVarLong(intValue);
+            } else if (value instanceof Long longValue) {
+                out.writeByte(LONG);
+                writeVarLong(longValue);
+            } else if (value instanceof Float floatValue) {
+                out.writeByte(FLOAT);
+                out.writeFloat(floatValue);
+            } else if (value instanceof Double doubleValue) {
+                out.writeByte(DOUBLE);
+                out.writeDouble(doubleValue);
+            } else if (value instanceof String stringValue) {
+                out.writeByte(STRING);
+                writeString(stringValue);
+            } else if (value instanceof UUID uuid) {
+                out.writeByte(UUID_VALUE);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            } else if (value instanceof Enum<?> enumValue) {
+                out.writeByte(ENUM);
+                writeName(enumValue.getDeclaringClass().getName());
+                writeName(enumValue.name());
+            } else if (value.getClass() == BigDecimal.class) {
+                out.writeByte(BIG_DECIMAL);
+                writeString(value.toString());
+            } else if (value.getClass() == BigInteger.class) {
+                out.writeByte(BIG_INTEGER);
+                writeString(value.toString());
+            } else if (value instanceof Instant || value instanceof LocalDate || value instanceof LocalDateTime ||
+                       value instanceof LocalTime || value instanceof ZonedDateTime) {
+                out.writeByte(temporalTagOf(value));
+                writeString(value.toString());
+            } else {
+                writeReferenceValue(value);
+            }
+        }
+
+        private void writeReferenceValue(final Object value) throws IOException, ReflectiveOperationException {
+
+            final Integer reference = references.get(value);
+            if (reference != null) {
+                out.writeByte(REFERENCE);
+                writeVarInt(reference);
+                return;
+            }
+
+            references.put(value, references.size());
+
+            final Class<?> type = value.getClass();
+            if (type == byte[].class) {
+                final byte[] byteArray = (byte[]) value;
+                out.writeByte(BYTE_ARRAY);
+                writeVarInt(byteArray.length);
+                out.write(byteArray);
+            } else if (type.isArray()) {
+                out.writeByte(ARRAY);
+                writeName(type.getName());
+                final int length = Array.getLength(value);
+                writeVarInt(length);
+                for (int index = 0; index < length; index++) {
+                    writeValue(Array.get(value, index));
+                }
+            } else if (COLLECTION_TYPES.contains(type) && !(value instanceof SortedSet<?> sortedSet && sortedSet.comparator() != null)) {
+                final Collection<?> collection = (Collection<?>) value;
+                out.writeByte(COLLECTION);
+                writeName(type.getName());
+                writeVarInt(collection.size());
+                for (final Object element : collection) {
+                    writeValue(element);
+                }
+            } else if (MAP_TYPES.contains(type) && !(value instanceof SortedMap<?, ?> sortedMap && sortedMap.comparator() != null)) {
+                final Map<?, ?> map = (Map<?, ?>) value;
+                out.writeByte(MAP);
+                writeName(type.getName());
+                writeVarInt(map.size());
+                for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else if (FIELD_TAGGED_CONSTRUCTORS.get(type) != null) {
+                writeObject(value, type);
+            } else {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+                    objectOutputStream.writeObject(value);
+                }
+                out.writeByte(JAVA_SERIALIZED);
+                writeVarInt(bytes.size());
+                bytes.writeTo(out);
+            }
+        }
+
+        private void writeObject(final Object value, final Class<?> type) throws IOException, ReflectiveOperationException {
+
+            out.writeByte(OBJECT);
+            writeName(type.getName());
+
+            final List<Class<?>> levels = new ArrayList<>();
+            for (Class<?> level = type; level != Object.class; level = level.getSuperclass()) {
+                levels.add(level);
+            }
+
+            writeVarInt(levels.size());
+            for (final Class<?> level : levels) {
+                final List<Field> fields = SERIALIZABLE_FIELDS.get(level);
+                writeName(level.getName());
+                writeVarInt(fields.size());
+                for (final Field field : fields) {
+                    writeName(field.getName());
+                    writeValue(field.get(value));
+                }
+            }
+        }
+
+        private int temporalTagOf(final Object value) {
+            if (value instanceof Instant) {
+                return INSTANT;
+            }
+            if (value instanceof LocalDate) {
+                return LOCAL_DATE;
+            }
+            if (value instanceof LocalDateTime) {
+                return LOCAL_DATE_TIME;
+            }
+            if (value instanceof LocalTime) {
+                return LOCAL_TIME;
+            }
+            return ZONED_DATE_TIME;
+        }
+
+        /**
+         * Class, field and enum constant names are written once and then referred to by index.
+         */
+        private void writeName(final String name) throws IOException {
+            final Integer index = names.get(name);
+            if (index != null) {
+                writeVarInt(index + 1);
+            } else {
+                names.put(name, names.size());
+                writeVarInt(0);
+                writeString(name);
+            }
+        }
+
+        private void writeString(final String value) throws IOException {
+            final byte[] utf8 = value.getBytes(UTF_8);
+            writeVarInt(utf8.length);
+            out.write(utf8);
+        }
+
+        private void writeVarInt(final int value) throws IOException {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                out.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            out.writeByte(remaining);
+        }
+
+        private void writeVarLong(final long value) throws IOException {
+            long remaining = (value << 1) ^ (value >> 63);
+            while ((remaining & ~0x7FL) != 0) {
+                out.writeByte((int) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            out.writeByte((int) remaining);
+        }
+    }
+
+    private static final class Reader {
+
+        private final DataInputStream in;
+        private final ClassLoader classLoader;
+        private final ObjectInputStreamStrategy streamStrategy;
+        private final List<String> names = new ArrayList<>();
+        private final List<Object> references = new ArrayList<>();
+
+        private Reader(final DataInputStream in, final ClassLoader classLoader, final ObjectInputStreamStrategy streamStrategy) {
+            this.in = in;
+            this.classLoader = classLoader;
+            this.streamStrategy = streamStrategy;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object readValue() throws IOException, ReflectiveOperationException {
+
+            final int tag = in.readUnsignedByte();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case REFERENCE:
+                    return references.get(readVarInt());
+                case TRUE:
+                    return true;
+                case FALSE:
+                    return false;
+                case BYTE:
+                    return in.readByte();
+                case SHORT:
+                    return (short) readVarLong();
+                case CHAR:
+                    return in.readChar();
+                case INT:
+                    return (int) readVarLong();
+                case LONG:
+                    return readVarLong();
+                case FLOAT:
+                    return in.readFloat();
+                case DOUBLE:
+                    return in.readDouble();
+                case STRING:
+                    return readString();
+                case UUID_VALUE:
+                    return new UUID(in.readLong(), in.readLong());
+                case ENUM:
+                    return Enum.valueOf((Class<Enum>) classFor(readName()), readName());
+                case BIG_DECIMAL:
+                    return new BigDecimal(readString());
+                case BIG_INTEGER:
+                    return new BigInteger(readString());
+                case INSTANT:
+                    return Instant.parse(readString());
+                case LOCAL_DATE:
+                    return LocalDate.parse(readString());
+                case LOCAL_DATE_TIME:
+                    return LocalDateTime.parse(readString());
+                case LOCAL_TIME:
+                    return LocalTime.parse(readString());
+                case ZONED_DATE_TIME:
+                    return ZonedDateTime.parse(readString());
+                case BYTE_ARRAY:
+                    return register(in.readNBytes(readVarInt()));
+                case ARRAY:
+                    return readArray();
+                case COLLECTION:
+                    return readCollection();
+                case MAP:
+                    return readMap();
+                case OBJECT:
+                    return readObject();
+                case JAVA_SERIALIZED:
+                    return register(readJavaSerialized());
+                default:
+                    throw new SerializationException("Unknown tag " + tag + " in tagged binary snapshot");
+            }
+        }
+
+        private Object readArray() throws IOException, ReflectiveOperationException {
+            final Class<?> arrayType = classFor(readName());
+            final int length = readVarInt();
+            final Object array = register(Array.newInstance(arrayType.getComponentType(), length));
+            for (int index = 0; index < length; index++) {
+                Array.set(array, index, readValue());
+            }
+            return array;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readCollection() throws IOException, ReflectiveOperationException {
+            final Class<?> collectionType = writtenTypeFor(readName(), COLLECTION_TYPES_BY_NAME);
+            final int size = readVarInt();
+            final Collection<Object> collection = (Collection<Object>) register(collectionType.getDeclaredConstructor().newInstance());
+            for (int index = 0; index < size; index++) {
+                collection.add(readValue());
+            }
+            return collection;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readMap() throws IOException, ReflectiveOperationException {
+            final Class<?> mapType = writtenTypeFor(readName(), MAP_TYPES_BY_NAME);
+            final int size = readVarInt();
+            final Map<Object, Object> map = (Map<Object, Object>) register(mapType.getDeclaredConstructor().newInstance());
+            for (int index = 0; index < size; index++) {
+                map.put(readValue(), readValue());
+            }
+            return map;
+        }
+
+        /**
+         * Only the collection and map types that are written natively are created, so that the
+         * snapshot bytes cannot name any other class to be instantiated
+         */
+        private Class<?> writtenTypeFor(final String typeName, final Map<String, Class<?>> writtenTypesByName) {
+            final Class<?> type = writtenTypesByName.get(typeName);
+            if (type == null) {
+                throw new SerializationException("Unexpected type " + typeName + " in tagged binary snapshot");
+            }
+            return type;
+        }
+
+        private Object readObject() throws IOException, ReflectiveOperationException {
+
+            final Class<?> type = classFor(readName());
+            final Constructor<?> constructor = FIELD_TAGGED_CONSTRUCTORS.get(type);
+            if (constructor == null) {
+                throw new SerializationException("Class " + type.getName() + " can no longer be read field by field");
+            }
+
+            final Object value = register(constructor.newInstance());
+
+            final int levelCount = readVarInt();
+            for (int levelIndex = 0; levelIndex < levelCount; levelIndex++) {
+                final Class<?> level = levelOf(type, readName());
+                final Map<String, Field> fields = level == null ? Map.of() : SERIALIZABLE_FIELDS_BY_NAME.get(level);
+
+                final int fieldCount = readVarInt();
+                for (int fieldIndex = 0; fieldIndex < fieldCount; fieldIndex++) {
+                    final Field field = fields.get(readName());
+                    final Object fieldValue = readValue();
+                    if (field != null) {
+                        field.set(value, fieldValue);
+                    }
+                }
+            }
+
+            return value;
+        }
+
+        private Class<?> levelOf(final Class<?> type, final String levelName) {
+            for (Class<?> level = type; level != Object.class; level = level.getSuperclass()) {
+                if (level.getName().equals(levelName)) {
+                    return level;
+                }
+            }
+            return null;
+        }
+
+        private Object readJavaSerialized() throws IOException, ClassNotFoundException {
+            final byte[] bytes = in.readNBytes(readVarInt());
+            try (final ObjectInputStream objectInputStream = streamStrategy.objectInputStreamOf(new ByteArrayInputStream(bytes))) {
+                return objectInputStream.readObject();
+            }
+        }
+
+        private Object register(final Object value) {
+            references.add(value);
+            return value;
+        }
+
+        private Class<?> classFor(final String className) throws ClassNotFoundException {
+            return Class.forName(className, false, classLoader);
+        }
+
+        private String readName() throws IOException {
+            final int index = readVarInt();
+            if (index > 0) {
+                return names.get(index - 1);
+            }
+
+            final String name = readString();
+            names.add(name);
+            return name;
+        }
+
+        private String readString() throws IOException {
+            return new String(in.readNBytes(readVarInt()), UTF_8);
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            int shift = 0;
+            int next;
+            do {
+                next = in.readUnsignedByte();
+                value |= (next & 0x7F) << shift;
+                shift += 7;
+            } while ((next & 0x80) != 0);
+            return value;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            int shift = 0;
+            int next;
+            do {
+                next = in.readUnsignedByte();
+                value |= (long) (next & 0x7F) << shift;
+                shift += 7;
+            } while ((next & 0x80) != 0);
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
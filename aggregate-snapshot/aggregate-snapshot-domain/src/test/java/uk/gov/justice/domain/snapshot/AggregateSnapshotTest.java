@@ -65,6 +65,46 @@ public class AggregateSnapshotTest {
         }
     }
 
+    @Test
+    public void shouldCreateAnAggregateSnapshotWithTheFormatOfTheSnapshotSerializer() throws Exception {
+        final TaggedBinarySnapshotSerializer snapshotSerializer = new TaggedBinarySnapshotSerializer();
+        final TestAggregate aggregate = new TestAggregate("STATE1");
+
+        final AggregateSnapshot<TestAggregate> snapshot = new AggregateSnapshot<>(STREAM_ID, VERSION_ID, aggregate, snapshotSerializer);
+
+        assertThat(snapshot.getStreamId(), is(STREAM_ID));
+        assertThat(snapshot.getPositionInStream(), is(VERSION_ID));
+        assertThat(snapshot.getType(), is(TYPE));
+        assertThat(snapshot.getFormatId(), is(TaggedBinarySnapshotSerializer.FORMAT_ID));
+        assertThat(snapshot.getAggregate(snapshotSerializer), is(aggregate));
+    }
+
+    @Test
+    public void shouldDefaultToTheJavaSerializationFormat() throws Exception {
+        final AggregateSnapshot<TestAggregate> snapshot = new AggregateSnapshot<>(STREAM_ID, VERSION_ID, new TestAggregate("STATE1"));
+
+        assertThat(snapshot.getFormatId(), is(JavaSnapshotSerializer.FORMAT_ID));
+    }
+
+    @Test
+    public void shouldThrowAAggregateChangeDetectedExceptionIfTheSnapshotSerializerCannotDeserialiseTheAggregate() throws Exception {
+
+        final AggregateSnapshot<TestAggregate> aggregateSnapshot = new AggregateSnapshot<>(
+                STREAM_ID,
+                VERSION_ID,
+                TYPE,
+                "Not a serialised Aggregate".getBytes(),
+                TaggedBinarySnapshotSerializer.FORMAT_ID);
+
+        try {
+            aggregateSnapshot.getAggregate(new TaggedBinarySnapshotSerializer());
+            fail();
+        } catch (final AggregateChangeDetectedException e) {
+            assertThat(e.getLocalizedMessage(), is("Failed to deserialise Aggregate into uk.gov.justice.domain.snapshot.AggregateSnapshotTest$TestAggregate. Cause: Unknown tagged binary snapshot format version 78"));
+            assertThat(e.getPositionInStream(), is(VERSION_ID));
+        }
+    }
+
     public static class TestAggregate implements Aggregate, Serializable {
         private static final long serialVersionUID = 42L;
 
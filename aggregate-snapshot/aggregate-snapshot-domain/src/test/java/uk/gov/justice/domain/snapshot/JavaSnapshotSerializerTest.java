@@ -0,0 +1,52 @@
+package uk.gov.justice.domain.snapshot;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+public class JavaSnapshotSerializerTest {
+
+    private final JavaSnapshotSerializer snapshotSerializer = new JavaSnapshotSerializer();
+
+    @Test
+    public void shouldSerializeUsingJavaSerialization() {
+        final TestAggregate aggregate = new TestAggregate("name");
+
+        assertThat(snapshotSerializer.serialize(aggregate), is(SerializationUtils.serialize(aggregate)));
+    }
+
+    @Test
+    public void shouldDeserializeJavaSerializedAggregates() {
+        final byte[] aggregateByteRepresentation = SerializationUtils.serialize(new TestAggregate("name"));
+
+        final TestAggregate aggregate = snapshotSerializer.deserialize(aggregateByteRepresentation, TestAggregate.class);
+
+        assertThat(aggregate.name, is("name"));
+    }
+
+    @Test
+    public void shouldThrowSerializationExceptionIfTheBytesAreNotAJavaSerializedAggregate() {
+        assertThrows(SerializationException.class, () -> snapshotSerializer.deserialize("Not a serialised Aggregate".getBytes(), TestAggregate.class));
+    }
+
+    public static class TestAggregate implements Aggregate {
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        public TestAggregate(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object apply(final Object event) {
+            return event;
+        }
+    }
+}
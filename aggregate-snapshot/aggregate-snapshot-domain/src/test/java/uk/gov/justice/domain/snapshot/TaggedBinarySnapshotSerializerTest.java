@@ -0,0 +1,274 @@
+package uk.gov.justice.domain.snapshot;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+public class TaggedBinarySnapshotSerializerTest {
+
+    private final TaggedBinarySnapshotSerializer snapshotSerializer = new TaggedBinarySnapshotSerializer();
+
+    @Test
+    public void shouldRoundTripAnAggregate() {
+
+        final UUID caseId = UUID.randomUUID();
+        final Defendant defendant = new Defendant();
+        defendant.name = "Fred Bloggs";
+        defendant.dateOfBirth = LocalDate.of(1980, 1, 1);
+
+        final CaseAggregate aggregate = new CaseAggregate();
+        aggregate.caseId = caseId;
+        aggregate.status = Status.ACTIVE;
+        aggregate.version = 42L;
+        aggregate.fine = new BigDecimal("125.50");
+        aggregate.closed = true;
+        aggregate.createdAt = ZonedDateTime.parse("2020-01-01T10:00:00Z");
+        aggregate.defendants.add(defendant);
+        aggregate.defendantsByName.put(defendant.name, defendant);
+        aggregate.scores = new int[]{1, -2, 3};
+        aggregate.reference = Duration.ofMinutes(5);
+
+        final CaseAggregate deserialized = snapshotSerializer.deserialize(snapshotSerializer.serialize(aggregate), CaseAggregate.class);
+
+        assertThat(deserialized.caseId, is(caseId));
+        assertThat(deserialized.status, is(Status.ACTIVE));
+        assertThat(deserialized.version, is(42L));
+        assertThat(deserialized.fine, is(new BigDecimal("125.50")));
+        assertThat(deserialized.closed, is(true));
+        assertThat(deserialized.createdAt, is(ZonedDateTime.parse("2020-01-01T10:00:00Z")));
+        assertThat(deserialized.defendants.size(), is(1));
+        assertThat(deserialized.defendants.get(0).name, is("Fred Bloggs"));
+        assertThat(deserialized.defendants.get(0).dateOfBirth, is(LocalDate.of(1980, 1, 1)));
+        assertThat(deserialized.defendantsByName.get("Fred Bloggs"), is(sameInstance(deserialized.defendants.get(0))));
+        assertThat(deserialized.scores[1], is(-2));
+        assertThat(deserialized.reference, is(Duration.ofMinutes(5)));
+        assertThat(deserialized.transientValue, is(nullValue()));
+    }
+
+    @Test
+    public void shouldRoundTripCyclicReferences() {
+
+        final CaseAggregate aggregate = new CaseAggregate();
+        aggregate.self = aggregate;
+
+        final CaseAggregate deserialized = snapshotSerializer.deserialize(snapshotSerializer.serialize(aggregate), CaseAggregate.class);
+
+        assertThat(deserialized.self, is(sameInstance(deserialized)));
+    }
+
+    @Test
+    public void shouldEmbedJavaSerializationForClassesThatCannotBeWrittenFieldByField() {
+
+        final ImmutableAggregate aggregate = new ImmutableAggregate("name");
+
+        final ImmutableAggregate deserialized = snapshotSerializer.deserialize(snapshotSerializer.serialize(aggregate), ImmutableAggregate.class);
+
+        assertThat(deserialized.name, is("name"));
+    }
+
+    @Test
+    public void shouldReadJavaSerializedObjectsUsingTheObjectInputStreamStrategy() {
+
+        final List<ByteArrayInputStream> javaSerializedStreams = new ArrayList<>();
+        final TaggedBinarySnapshotSerializer strategySnapshotSerializer = new TaggedBinarySnapshotSerializer(byteArrayInputStream -> {
+            javaSerializedStreams.add(byteArrayInputStream);
+            return new ObjectInputStream(byteArrayInputStream);
+        });
+
+        final ImmutableAggregate aggregate = new ImmutableAggregate("name");
+
+        final ImmutableAggregate deserialized = strategySnapshotSerializer.deserialize(strategySnapshotSerializer.serialize(aggregate), ImmutableAggregate.class);
+
+        assertThat(deserialized.name, is("name"));
+        assertThat(javaSerializedStreams.size(), is(1));
+    }
+
+    @Test
+    public void shouldRejectCollectionTypesThatAreNotWrittenNatively() {
+
+        final VersionTwoAggregate aggregate = new VersionTwoAggregate();
+
+        final byte[] bytes = replace(snapshotSerializer.serialize(aggregate), "java.util.ArrayList", "java.util.Hashtable");
+
+        final SerializationException serializationException = assertThrows(SerializationException.class, () -> snapshotSerializer.deserialize(bytes, VersionTwoAggregate.class));
+
+        assertThat(serializationException.getMessage(), is("Unexpected type java.util.Hashtable in tagged binary snapshot"));
+    }
+
+    @Test
+    public void shouldRejectMapTypesThatAreNotWrittenNatively() {
+
+        final CaseAggregate aggregate = new CaseAggregate();
+
+        final byte[] bytes = replace(snapshotSerializer.serialize(aggregate), "java.util.HashMap", "java.util.TreeSet");
+
+        final SerializationException serializationException = assertThrows(SerializationException.class, () -> snapshotSerializer.deserialize(bytes, CaseAggregate.class));
+
+        assertThat(serializationException.getMessage(), is("Unexpected type java.util.TreeSet in tagged binary snapshot"));
+    }
+
+    @Test
+    public void shouldIgnoreRemovedFieldsAndKeepDefaultsOfAddedFields() {
+
+        final VersionOneAggregate aggregate = new VersionOneAggregate();
+        aggregate.name = "name";
+        aggregate.removedField = "removed";
+
+        final byte[] versionOneBytes = snapshotSerializer.serialize(aggregate);
+        final byte[] versionTwoBytes = replace(versionOneBytes, "VersionOneAggregate", "VersionTwoAggregate");
+
+        final VersionTwoAggregate deserialized = snapshotSerializer.deserialize(versionTwoBytes, VersionTwoAggregate.class);
+
+        assertThat(deserialized.name, is("name"));
+        assertThat(deserialized.addedField, contains("default"));
+    }
+
+    @Test
+    public void shouldFailIfTheTypeOfAFieldHasChanged() {
+
+        final VersionOneAggregate aggregate = new VersionOneAggregate();
+        aggregate.name = "name";
+
+        final byte[] versionOneBytes = snapshotSerializer.serialize(aggregate);
+        final byte[] changedTypeBytes = replace(versionOneBytes, "VersionOneAggregate", "VersionBadAggregate");
+
+        assertThrows(SerializationException.class, () -> snapshotSerializer.deserialize(changedTypeBytes, VersionBadAggregate.class));
+    }
+
+    @Test
+    public void shouldFailToSerializeObjectsThatJavaSerializationCannotSerialize() {
+
+        final CaseAggregate aggregate = new CaseAggregate();
+        aggregate.reference = new Object();
+
+        assertThrows(SerializationException.class, () -> snapshotSerializer.serialize(aggregate));
+    }
+
+    @Test
+    public void shouldBeSmallerThanJavaSerialization() {
+
+        final CaseAggregate aggregate = new CaseAggregate();
+        aggregate.caseId = UUID.randomUUID();
+        aggregate.status = Status.ACTIVE;
+        for (int index = 0; index < 20; index++) {
+            final Defendant defendant = new Defendant();
+            defendant.name = "Defendant " + index;
+            defendant.dateOfBirth = LocalDate.of(1980, 1, 1).plusDays(index);
+            aggregate.defendants.add(defendant);
+        }
+
+        assertThat(snapshotSerializer.serialize(aggregate).length, is(lessThan(SerializationUtils.serialize(aggregate).length)));
+    }
+
+    private byte[] replace(final byte[] bytes, final String target, final String replacement) {
+        return new String(bytes, ISO_8859_1).replace(target, replacement).getBytes(ISO_8859_1);
+    }
+
+    public enum Status {
+        ACTIVE,
+        CLOSED
+    }
+
+    public static class Defendant implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private LocalDate dateOfBirth;
+    }
+
+    public static class CaseAggregate implements Aggregate {
+        private static final long serialVersionUID = 1L;
+
+        private UUID caseId;
+        private Status status;
+        private long version;
+        private BigDecimal fine;
+        private boolean closed;
+        private ZonedDateTime createdAt;
+        private final List<Defendant> defendants = new ArrayList<>();
+        private final Map<String, Defendant> defendantsByName = new HashMap<>();
+        private int[] scores;
+        private Object reference;
+        private CaseAggregate self;
+        private transient String transientValue;
+
+        @Override
+        public Object apply(final Object event) {
+            return event;
+        }
+    }
+
+    public static class ImmutableAggregate implements Aggregate {
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+
+        public ImmutableAggregate(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object apply(final Object event) {
+            return event;
+        }
+    }
+
+    public static class VersionOneAggregate implements Aggregate {
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private String removedField;
+
+        @Override
+        public Object apply(final Object event) {
+            return event;
+        }
+    }
+
+    public static class VersionTwoAggregate implements Aggregate {
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private List<String> addedField = new ArrayList<>(List.of("default"));
+
+        @Override
+        public Object apply(final Object event) {
+            return event;
+        }
+    }
+
+    public static class VersionBadAggregate implements Aggregate {
+        private static final long serialVersionUID = 1L;
+
+        private Long name;
+
+        @Override
+        public Object apply(final Object event) {
+            return event;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package uk.gov.justice.services.eventsourcing.jdbc.snapshot;
+
+/**
+ * The bytes of a snapshot as stored in the snapshot table, and the id of the codec they were
+ * encoded with.
+ */
+public record SnapshotBytes(int codec, byte[] bytes) {
+}
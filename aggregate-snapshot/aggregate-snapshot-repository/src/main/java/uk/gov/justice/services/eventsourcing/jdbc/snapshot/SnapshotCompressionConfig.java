@@ -0,0 +1,27 @@
+package uk.gov.justice.services.eventsourcing.jdbc.snapshot;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
+
+import uk.gov.justice.services.common.configuration.Value;
+
+import javax.inject.Inject;
+
+public class SnapshotCompressionConfig {
+
+    @Inject
+    @Value(key = "snapshot.compression.enabled", defaultValue = "false")
+    private String snapshotCompressionEnabled;
+
+    @Inject
+    @Value(key = "snapshot.compression.min.size.bytes", defaultValue = "16384")
+    private String minSizeBytes;
+
+    public boolean isSnapshotCompressionEnabled() {
+        return parseBoolean(snapshotCompressionEnabled);
+    }
+
+    public int getMinSizeBytes() {
+        return parseInt(minSizeBytes);
+    }
+}
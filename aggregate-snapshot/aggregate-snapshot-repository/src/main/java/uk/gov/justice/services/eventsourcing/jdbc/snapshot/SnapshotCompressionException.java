@@ -0,0 +1,14 @@
+package uk.gov.justice.services.eventsourcing.jdbc.snapshot;
+
+public class SnapshotCompressionException extends RuntimeException {
+
+    private static final long serialVersionUID = -2947361258370013421L;
+
+    public SnapshotCompressionException(final String message) {
+        super(message);
+    }
+
+    public SnapshotCompressionException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,128 @@
+package uk.gov.justice.services.eventsourcing.jdbc.snapshot;
+
+import static java.lang.String.format;
+import static java.util.zip.Deflater.BEST_SPEED;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Compresses the serialized aggregate of a snapshot before it is stored, if compression is
+ * enabled and the aggregate is at least the configured minimum size, and decompresses it again
+ * when read. Aggregates that do not get smaller are stored uncompressed.
+ * <p>
+ * While compression is enabled, records the raw and stored sizes of each snapshot written and the
+ * time taken to compress. The time taken to decompress is recorded whenever a compressed snapshot
+ * is read.
+ */
+@ApplicationScoped
+public class SnapshotCompressor {
+
+    public static final int UNCOMPRESSED = 0;
+    public static final int DEFLATE = 1;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Inject
+    private SnapshotCompressionConfig snapshotCompressionConfig;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    public SnapshotBytes compress(final byte[] aggregateByteRepresentation) {
+
+        if (!snapshotCompressionConfig.isSnapshotCompressionEnabled()) {
+            return new SnapshotBytes(UNCOMPRESSED, aggregateByteRepresentation);
+        }
+
+        recordSize("event-store.snapshot.raw.size.bytes", "The size of serialized aggregates before compression", aggregateByteRepresentation.length);
+
+        SnapshotBytes snapshotBytes = new SnapshotBytes(UNCOMPRESSED, aggregateByteRepresentation);
+        if (aggregateByteRepresentation.length >= snapshotCompressionConfig.getMinSizeBytes()) {
+            final byte[] deflated = timer("event-store.snapshot.compression.time", "The time taken to compress serialized aggregates")
+                    .record(() -> deflate(aggregateByteRepresentation));
+            if (deflated.length < aggregateByteRepresentation.length) {
+                snapshotBytes = new SnapshotBytes(DEFLATE, deflated);
+            }
+        }
+
+        recordSize("event-store.snapshot.stored.size.bytes", "The size of serialized aggregates as stored in the snapshot table", snapshotBytes.bytes().length);
+
+        return snapshotBytes;
+    }
+
+    public byte[] decompress(final SnapshotBytes snapshotBytes) {
+
+        switch (snapshotBytes.codec()) {
+            case UNCOMPRESSED:
+                return snapshotBytes.bytes();
+            case DEFLATE:
+                return timer("event-store.snapshot.decompression.time", "The time taken to decompress serialized aggregates")
+                        .record(() -> inflate(snapshotBytes.bytes()));
+            default:
+                throw new SnapshotCompressionException(format("Unknown snapshot codec %d", snapshotBytes.codec()));
+        }
+    }
+
+    private byte[] deflate(final byte[] bytes) {
+        final Deflater deflater = new Deflater(BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+
+            final ByteArrayOutputStream deflated = new ByteArrayOutputStream(bytes.length / 2);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                deflated.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return deflated.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] inflate(final byte[] bytes) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+
+            final ByteArrayOutputStream inflated = new ByteArrayOutputStream(bytes.length * 4);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                final int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SnapshotCompressionException("Compressed snapshot is truncated");
+                }
+                inflated.write(buffer, 0, length);
+            }
+            return inflated.toByteArray();
+        } catch (final DataFormatException e) {
+            throw new SnapshotCompressionException("Failed to decompress snapshot", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private void recordSize(final String name, final String description, final int size) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    private Timer timer(final String name, final String description) {
+        return Timer.builder(name)
+                .description(description)
+                .register(meterRegistry);
+    }
+}
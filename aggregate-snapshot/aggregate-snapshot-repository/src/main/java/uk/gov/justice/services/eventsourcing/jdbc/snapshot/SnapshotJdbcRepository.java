@@ -37,8 +37,10 @@ public class SnapshotJdbcRepository implements SnapshotRepository {
     private static final String COL_TYPE = "type";
     private static final String COL_AGGREGATE = "aggregate";
     private static final String COL_CREATED_AT = "created_at";
+    private static final String COL_FORMAT_ID = "format_id";
+    private static final String COL_CODEC = "codec";
     private static final String SQL_FIND_LATEST_BY_STREAM_ID = "SELECT * FROM snapshot WHERE stream_id=? AND type=? ORDER BY version_id DESC LIMIT 1";
-    private static final String SQL_UPSERT_SNAPSHOT = "INSERT INTO snapshot AS s (stream_id, version_id, type, aggregate, created_at ) VALUES(?, ?, ?, ?, ?) ON CONFLICT ON CONSTRAINT stream_id_version_id_type DO UPDATE SET aggregate =?, created_at = ? WHERE s.created_at<=?";
+    private static final String SQL_UPSERT_SNAPSHOT = "INSERT INTO snapshot AS s (stream_id, version_id, type, aggregate, created_at, format_id, codec ) VALUES(?, ?, ?, ?, ?, ?, ?) ON CONFLICT ON CONSTRAINT stream_id_version_id_type DO UPDATE SET aggregate =?, created_at = ?, format_id = ?, codec = ? WHERE s.created_at<=?";
     private static final String DELETE_ALL_SNAPSHOTS_FOR_STREAM_ID_AND_CLASS = "delete from snapshot where stream_id =? and type=?";
     private static final String DELETE_ALL_SNAPSHOTS_OF_STREAM_ID_AND_CLASS_AND_LESS_THAN_POSITION_IN_STREAM = "delete from snapshot where stream_id =? and type=? and version_id<?";
     private static final String SQL_CURRENT_SNAPSHOT_VERSION_ID = "SELECT version_id FROM snapshot WHERE stream_id=? AND type=? ORDER BY version_id DESC LIMIT 1";
@@ -55,21 +57,29 @@ public class SnapshotJdbcRepository implements SnapshotRepository {
     @Inject
     private UtcClock clock;
 
+    @Inject
+    private SnapshotCompressor snapshotCompressor;
+
     @Override
     public boolean storeSnapshot(final AggregateSnapshot aggregateSnapshot) {
 
         try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
              final PreparedStatement ps = connection.prepareStatement(SQL_UPSERT_SNAPSHOT)) {
             final Timestamp now = toSqlTimestamp(clock.now());
+            final SnapshotBytes snapshotBytes = snapshotCompressor.compress(aggregateSnapshot.getAggregateByteRepresentation());
 
             ps.setObject(1, aggregateSnapshot.getStreamId());
             ps.setLong(2, aggregateSnapshot.getPositionInStream());
             ps.setString(3, aggregateSnapshot.getType());
-            ps.setBytes(4, aggregateSnapshot.getAggregateByteRepresentation());
+            ps.setBytes(4, snapshotBytes.bytes());
             ps.setTimestamp(5, now);
-            ps.setBytes(6, aggregateSnapshot.getAggregateByteRepresentation());
-            ps.setTimestamp(7, now);
-            ps.setTimestamp(8, now);
+            ps.setInt(6, aggregateSnapshot.getFormatId());
+            ps.setInt(7, snapshotBytes.codec());
+            ps.setBytes(8, snapshotBytes.bytes());
+            ps.setTimestamp(9, now);
+            ps.setInt(10, aggregateSnapshot.getFormatId());
+            ps.setInt(11, snapshotBytes.codec());
+            ps.setTimestamp(12, now);
 
             ps.executeUpdate();
 
@@ -92,7 +102,7 @@ public class SnapshotJdbcRepository implements SnapshotRepository {
 
             return extractResults(preparedStatement);
 
-        } catch (final SQLException e) {
+        } catch (final SQLException | SnapshotCompressionException e) {
             logger.error(format(READING_STREAM_EXCEPTION, streamId), e);
         }
         return Optional.empty();
@@ -162,8 +172,9 @@ public class SnapshotJdbcRepository implements SnapshotRepository {
                 (UUID) resultSet.getObject(COL_STREAM_ID),
                 resultSet.getLong(COL_VERSION_ID),
                 resultSet.getString(COL_TYPE),
-                resultSet.getBytes(COL_AGGREGATE),
-                fromSqlTimestamp(resultSet.getTimestamp(COL_CREATED_AT)));
+                snapshotCompressor.decompress(new SnapshotBytes(resultSet.getInt(COL_CODEC), resultSet.getBytes(COL_AGGREGATE))),
+                fromSqlTimestamp(resultSet.getTimestamp(COL_CREATED_AT)),
+                resultSet.getInt(COL_FORMAT_ID));
     }
 
     @SuppressWarnings("unchecked")
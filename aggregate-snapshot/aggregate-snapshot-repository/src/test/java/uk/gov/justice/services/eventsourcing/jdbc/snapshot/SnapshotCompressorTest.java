@@ -0,0 +1,112 @@
+package uk.gov.justice.services.eventsourcing.jdbc.snapshot;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import java.util.Arrays;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class SnapshotCompressorTest {
+
+    private static final byte[] LARGE_AGGREGATE = "A serialized aggregate. ".repeat(1000).getBytes();
+
+    @Mock
+    private SnapshotCompressionConfig snapshotCompressionConfig;
+
+    @InjectMocks
+    private SnapshotCompressor snapshotCompressor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    public void setMeterRegistry() throws Exception {
+        setField(snapshotCompressor, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    public void shouldCompressAggregatesOfAtLeastTheMinimumSizeAndDecompressThem() {
+
+        when(snapshotCompressionConfig.isSnapshotCompressionEnabled()).thenReturn(true);
+        when(snapshotCompressionConfig.getMinSizeBytes()).thenReturn(LARGE_AGGREGATE.length);
+
+        final SnapshotBytes snapshotBytes = snapshotCompressor.compress(LARGE_AGGREGATE);
+
+        assertThat(snapshotBytes.codec(), is(SnapshotCompressor.DEFLATE));
+        assertThat(snapshotBytes.bytes().length, is(lessThan(LARGE_AGGREGATE.length)));
+        assertThat(Arrays.equals(snapshotCompressor.decompress(snapshotBytes), LARGE_AGGREGATE), is(true));
+
+        assertThat(meterRegistry.get("event-store.snapshot.raw.size.bytes").summary().totalAmount(), is((double) LARGE_AGGREGATE.length));
+        assertThat(meterRegistry.get("event-store.snapshot.stored.size.bytes").summary().totalAmount(), is((double) snapshotBytes.bytes().length));
+        assertThat(meterRegistry.get("event-store.snapshot.compression.time").timer().count(), is(1L));
+        assertThat(meterRegistry.get("event-store.snapshot.decompression.time").timer().count(), is(1L));
+    }
+
+    @Test
+    public void shouldNotCompressAggregatesSmallerThanTheMinimumSize() {
+
+        when(snapshotCompressionConfig.isSnapshotCompressionEnabled()).thenReturn(true);
+        when(snapshotCompressionConfig.getMinSizeBytes()).thenReturn(LARGE_AGGREGATE.length + 1);
+
+        final SnapshotBytes snapshotBytes = snapshotCompressor.compress(LARGE_AGGREGATE);
+
+        assertThat(snapshotBytes.codec(), is(SnapshotCompressor.UNCOMPRESSED));
+        assertThat(snapshotBytes.bytes(), is(sameInstance(LARGE_AGGREGATE)));
+        assertThat(snapshotCompressor.decompress(snapshotBytes), is(sameInstance(LARGE_AGGREGATE)));
+    }
+
+    @Test
+    public void shouldNotCompressIfCompressionIsDisabled() {
+
+        when(snapshotCompressionConfig.isSnapshotCompressionEnabled()).thenReturn(false);
+
+        final SnapshotBytes snapshotBytes = snapshotCompressor.compress(LARGE_AGGREGATE);
+
+        assertThat(snapshotBytes.codec(), is(SnapshotCompressor.UNCOMPRESSED));
+        assertThat(snapshotBytes.bytes(), is(sameInstance(LARGE_AGGREGATE)));
+        assertThat(meterRegistry.getMeters().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldStoreAggregatesUncompressedIfCompressionDoesNotMakeThemSmaller() {
+
+        final byte[] aggregate = {1, 2, 3};
+        when(snapshotCompressionConfig.isSnapshotCompressionEnabled()).thenReturn(true);
+        when(snapshotCompressionConfig.getMinSizeBytes()).thenReturn(0);
+
+        final SnapshotBytes snapshotBytes = snapshotCompressor.compress(aggregate);
+
+        assertThat(snapshotBytes.codec(), is(SnapshotCompressor.UNCOMPRESSED));
+        assertThat(snapshotBytes.bytes(), is(sameInstance(aggregate)));
+    }
+
+    @Test
+    public void shouldThrowSnapshotCompressionExceptionIfTheCodecIsUnknown() {
+
+        final SnapshotCompressionException snapshotCompressionException = assertThrows(
+                SnapshotCompressionException.class,
+                () -> snapshotCompressor.decompress(new SnapshotBytes(23, new byte[0])));
+
+        assertThat(snapshotCompressionException.getMessage(), is("Unknown snapshot codec 23"));
+    }
+
+    @Test
+    public void shouldThrowSnapshotCompressionExceptionIfTheCompressedBytesAreCorrupt() {
+
+        assertThrows(
+                SnapshotCompressionException.class,
+                () -> snapshotCompressor.decompress(new SnapshotBytes(SnapshotCompressor.DEFLATE, "Not compressed".getBytes())));
+    }
+}
@@ -15,6 +15,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.common.converter.ZonedDateTimes.toSqlTimestamp;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
 
 import uk.gov.justice.domain.aggregate.Aggregate;
 import uk.gov.justice.domain.snapshot.AggregateSnapshot;
@@ -51,6 +52,7 @@ public class SnapshotJdbcRepositoryJdbcIT {
     private static final String FETCH_ALL_SNAPSHOTS_QUERY = "SELECT * FROM snapshot";
     private static final String REMOVE_ALL_SNAPSHOTS_SQL = "DELETE FROM snapshot";
     private static final String FIND_CREATED_TIME_BY_VERSION_ID = "SELECT created_at FROM snapshot where stream_id = ? and version_id = ?";
+    private static final String FIND_CODEC_AND_STORED_SIZE_BY_STREAM_ID = "SELECT codec, length(aggregate) FROM snapshot where stream_id = ?";
     private static final Long VERSION_ID = 5L;
     private static final Class<RecordingAggregate> TYPE = RecordingAggregate.class;
     private static final Class<DifferentAggregate> OTHER_TYPE = DifferentAggregate.class;
@@ -72,8 +74,16 @@ public class SnapshotJdbcRepositoryJdbcIT {
 
     private final ZonedDateTime now = new UtcClock().now();
 
+    private final SnapshotCompressionConfig snapshotCompressionConfig = new SnapshotCompressionConfig();
+
     @BeforeEach
     public void setupDatabaseConnection() throws Exception {
+        final SnapshotCompressor snapshotCompressor = new SnapshotCompressor();
+        setField(snapshotCompressionConfig, "snapshotCompressionEnabled", "false");
+        setField(snapshotCompressionConfig, "minSizeBytes", "1024");
+        setField(snapshotCompressor, "snapshotCompressionConfig", snapshotCompressionConfig);
+        setField(snapshotJdbcRepository, "snapshotCompressor", snapshotCompressor);
+
         eventStoreDataSourceProvider.setDataSource(new FrameworkTestDataSourceFactory().createEventStoreDataSource());
         removeAllSnapshots();
     }
@@ -97,6 +107,70 @@ public class SnapshotJdbcRepositoryJdbcIT {
         assertThat(createdTime.get(), is(toSqlTimestamp(now)));
     }
 
+    @Test
+    void shouldStoreAndRetrieveFormatIdOfSnapshot() {
+        when(clock.now()).thenReturn(now);
+
+        final UUID streamId = randomUUID();
+        final int formatId = 1;
+        final AggregateSnapshot aggregateSnapshot = new AggregateSnapshot(streamId, VERSION_ID, TYPE.getName(), AGGREGATE, formatId);
+
+        snapshotJdbcRepository.storeSnapshot(aggregateSnapshot);
+
+        final Optional<AggregateSnapshot<RecordingAggregate>> snapshot = snapshotJdbcRepository.getLatestSnapshot(streamId, TYPE);
+
+        assertThat(snapshot.isPresent(), is(true));
+        assertThat(snapshot.get().getFormatId(), is(formatId));
+        assertThat(snapshot.get(), is(aggregateSnapshot));
+    }
+
+    @Test
+    void shouldCompressLargeSnapshotsAndDecompressThemWhenRead() throws Exception {
+        when(clock.now()).thenReturn(now);
+        setField(snapshotCompressionConfig, "snapshotCompressionEnabled", "true");
+
+        final UUID streamId = randomUUID();
+        final byte[] largeAggregate = "Any String you want, repeated. ".repeat(1000).getBytes();
+        final AggregateSnapshot aggregateSnapshot = createSnapshot(streamId, VERSION_ID, TYPE, largeAggregate);
+
+        snapshotJdbcRepository.storeSnapshot(aggregateSnapshot);
+
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(FIND_CODEC_AND_STORED_SIZE_BY_STREAM_ID)) {
+            preparedStatement.setObject(1, streamId);
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(SnapshotCompressor.DEFLATE));
+                assertThat(resultSet.getInt(2) < largeAggregate.length, is(true));
+            }
+        }
+
+        final Optional<AggregateSnapshot<RecordingAggregate>> snapshot = snapshotJdbcRepository.getLatestSnapshot(streamId, TYPE);
+
+        assertThat(snapshot, is(Optional.of(aggregateSnapshot)));
+    }
+
+    @Test
+    void shouldNotCompressSnapshotsSmallerThanTheMinimumSize() throws Exception {
+        when(clock.now()).thenReturn(now);
+        setField(snapshotCompressionConfig, "snapshotCompressionEnabled", "true");
+
+        final UUID streamId = randomUUID();
+        final AggregateSnapshot aggregateSnapshot = createSnapshot(streamId, VERSION_ID, TYPE, AGGREGATE);
+
+        snapshotJdbcRepository.storeSnapshot(aggregateSnapshot);
+
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(FIND_CODEC_AND_STORED_SIZE_BY_STREAM_ID)) {
+            preparedStatement.setObject(1, streamId);
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(SnapshotCompressor.UNCOMPRESSED));
+                assertThat(resultSet.getInt(2), is(AGGREGATE.length));
+            }
+        }
+    }
+
     @Test
     void shouldUpsert() {
         when(clock.now()).thenReturn(now);
@@ -0,0 +1,171 @@
+package uk.gov.justice.services.core.aggregate;
+
+import static java.util.Optional.empty;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+import uk.gov.justice.domain.snapshot.SnapshotSerializer;
+import uk.gov.justice.domain.snapshot.VersionedAggregate;
+import uk.gov.justice.services.eventsourcing.source.core.StreamClearedEvent;
+import uk.gov.justice.services.eventsourcing.source.core.snapshot.SnapshotSerializerProvider;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.SerializationException;
+import org.slf4j.Logger;
+
+/**
+ * Bounded, per node LRU cache of aggregates as they were after the last command on their stream,
+ * used to avoid loading and deserializing the latest snapshot and replaying the events since it
+ * on every command.
+ *
+ * Aggregates are held serialized, so each command gets its own copy to work on, and are only
+ * cached once the transaction that appended their events has committed. The entry for a stream
+ * is removed as soon as it is appended to. A cached aggregate can be behind the event_log if
+ * another node has appended to the stream, so the events after its cached position must still be
+ * applied to it.
+ *
+ * All of the aggregates of a stream are removed when the stream is cleared by a transformation on
+ * this node. The caches of other nodes are not, so the cache should be disabled, or the other
+ * nodes restarted, when streams are transformed.
+ */
+@ApplicationScoped
+public class AggregateCache {
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final boolean ACCESS_ORDER = true;
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private AggregateCacheConfig aggregateCacheConfig;
+
+    @Inject
+    private SnapshotSerializerProvider snapshotSerializerProvider;
+
+    @Inject
+    private Event<AggregateUpdatedEvent> aggregateUpdatedEventFirer;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    private final Map<CacheKey, CachedAggregate> cachedAggregates = new LinkedHashMap<>(16, LOAD_FACTOR, ACCESS_ORDER) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<CacheKey, CachedAggregate> eldest) {
+            return size() > aggregateCacheConfig.getMaxSize();
+        }
+    };
+
+    /**
+     * @param streamId the id of the stream
+     * @param aggregateClass the type of the aggregate
+     * @return a new copy of the cached aggregate and the position in the stream it was cached at,
+     * or empty if the aggregate is not cached or the cache is disabled
+     */
+    public <T extends Aggregate> Optional<VersionedAggregate<T>> getVersionedAggregate(final UUID streamId, final Class<T> aggregateClass) {
+        if (!aggregateCacheConfig.isAggregateCacheEnabled()) {
+            return empty();
+        }
+
+        final CacheKey cacheKey = new CacheKey(streamId, aggregateClass);
+        final CachedAggregate cachedAggregate;
+        synchronized (cachedAggregates) {
+            cachedAggregate = cachedAggregates.get(cacheKey);
+        }
+
+        if (cachedAggregate == null) {
+            counter("event-store.aggregate.cache.misses", "The number of aggregates not found in the aggregate cache").increment();
+            return empty();
+        }
+
+        try {
+            final T aggregate = cachedAggregate.snapshotSerializer().deserialize(cachedAggregate.aggregateByteRepresentation(), aggregateClass);
+            counter("event-store.aggregate.cache.hits", "The number of aggregates found in the aggregate cache").increment();
+            return Optional.of(new VersionedAggregate<>(cachedAggregate.positionInStream(), aggregate));
+        } catch (final SerializationException e) {
+            logger.warn("Failed to copy cached aggregate {} of stream {}", aggregateClass.getName(), streamId, e);
+            synchronized (cachedAggregates) {
+                cachedAggregates.remove(cacheKey, cachedAggregate);
+            }
+            counter("event-store.aggregate.cache.misses", "The number of aggregates not found in the aggregate cache").increment();
+            return empty();
+        }
+    }
+
+    /**
+     * Removes the aggregate from the cache and caches a copy of it at the new position in the
+     * stream once the current transaction has successfully committed
+     *
+     * @param streamId the id of the stream appended to
+     * @param positionInStream the position of the last event appended, and applied to the aggregate
+     * @param aggregate the aggregate
+     */
+    public void aggregateUpdated(final UUID streamId, final long positionInStream, final Aggregate aggregate) {
+        if (!aggregateCacheConfig.isAggregateCacheEnabled()) {
+            return;
+        }
+
+        invalidate(streamId, aggregate.getClass());
+
+        final SnapshotSerializer snapshotSerializer = snapshotSerializerProvider.getConfiguredSnapshotSerializer();
+        try {
+            aggregateUpdatedEventFirer.fire(new AggregateUpdatedEvent(
+                    streamId,
+                    aggregate.getClass(),
+                    positionInStream,
+                    snapshotSerializer.serialize(aggregate),
+                    snapshotSerializer));
+        } catch (final SerializationException e) {
+            logger.debug("Not caching aggregate {} of stream {} as it cannot be serialized", aggregate.getClass().getName(), streamId, e);
+        }
+    }
+
+    public void invalidate(final UUID streamId, final Class<? extends Aggregate> aggregateClass) {
+        synchronized (cachedAggregates) {
+            cachedAggregates.remove(new CacheKey(streamId, aggregateClass));
+        }
+    }
+
+    void onStreamCleared(@Observes final StreamClearedEvent streamClearedEvent) {
+        synchronized (cachedAggregates) {
+            cachedAggregates.keySet().removeIf(cacheKey -> cacheKey.streamId().equals(streamClearedEvent.getStreamId()));
+        }
+    }
+
+    void onAggregateUpdated(@Observes(during = AFTER_SUCCESS) final AggregateUpdatedEvent aggregateUpdatedEvent) {
+        final CachedAggregate cachedAggregate = new CachedAggregate(
+                aggregateUpdatedEvent.getPositionInStream(),
+                aggregateUpdatedEvent.getAggregateByteRepresentation(),
+                aggregateUpdatedEvent.getSnapshotSerializer());
+
+        synchronized (cachedAggregates) {
+            cachedAggregates.merge(
+                    new CacheKey(aggregateUpdatedEvent.getStreamId(), aggregateUpdatedEvent.getAggregateClass()),
+                    cachedAggregate,
+                    (existing, updated) -> updated.positionInStream() >= existing.positionInStream() ? updated : existing);
+        }
+    }
+
+    private Counter counter(final String name, final String description) {
+        return Counter.builder(name)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private record CacheKey(UUID streamId, Class<?> aggregateClass) {
+    }
+
+    private record CachedAggregate(long positionInStream, byte[] aggregateByteRepresentation, SnapshotSerializer snapshotSerializer) {
+    }
+}
@@ -0,0 +1,27 @@
+package uk.gov.justice.services.core.aggregate;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
+
+import uk.gov.justice.services.common.configuration.Value;
+
+import javax.inject.Inject;
+
+public class AggregateCacheConfig {
+
+    @Inject
+    @Value(key = "aggregate.cache.enabled", defaultValue = "false")
+    private String aggregateCacheEnabled;
+
+    @Inject
+    @Value(key = "aggregate.cache.max.size", defaultValue = "1000")
+    private String maxSize;
+
+    public boolean isAggregateCacheEnabled() {
+        return parseBoolean(aggregateCacheEnabled);
+    }
+
+    public int getMaxSize() {
+        return parseInt(maxSize);
+    }
+}
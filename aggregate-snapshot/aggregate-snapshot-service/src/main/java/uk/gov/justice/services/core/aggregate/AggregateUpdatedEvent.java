@@ -0,0 +1,58 @@
+package uk.gov.justice.services.core.aggregate;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+import uk.gov.justice.domain.snapshot.SnapshotSerializer;
+
+import java.util.StringJoiner;
+import java.util.UUID;
+
+public class AggregateUpdatedEvent {
+
+    private final UUID streamId;
+    private final Class<? extends Aggregate> aggregateClass;
+    private final long positionInStream;
+    private final byte[] aggregateByteRepresentation;
+    private final SnapshotSerializer snapshotSerializer;
+
+    public AggregateUpdatedEvent(
+            final UUID streamId,
+            final Class<? extends Aggregate> aggregateClass,
+            final long positionInStream,
+            final byte[] aggregateByteRepresentation,
+            final SnapshotSerializer snapshotSerializer) {
+        this.streamId = streamId;
+        this.aggregateClass = aggregateClass;
+        this.positionInStream = positionInStream;
+        this.aggregateByteRepresentation = aggregateByteRepresentation;
+        this.snapshotSerializer = snapshotSerializer;
+    }
+
+    public UUID getStreamId() {
+        return streamId;
+    }
+
+    public Class<? extends Aggregate> getAggregateClass() {
+        return aggregateClass;
+    }
+
+    public long getPositionInStream() {
+        return positionInStream;
+    }
+
+    public byte[] getAggregateByteRepresentation() {
+        return aggregateByteRepresentation;
+    }
+
+    public SnapshotSerializer getSnapshotSerializer() {
+        return snapshotSerializer;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", AggregateUpdatedEvent.class.getSimpleName() + "[", "]")
+                .add("streamId=" + streamId)
+                .add("aggregateClass=" + aggregateClass.getName())
+                .add("positionInStream=" + positionInStream)
+                .toString();
+    }
+}
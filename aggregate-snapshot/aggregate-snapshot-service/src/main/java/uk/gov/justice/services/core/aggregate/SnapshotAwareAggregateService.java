@@ -37,12 +37,16 @@ public class SnapshotAwareAggregateService implements AggregateService {
     @Inject
     private AsyncSnapshotService asyncSnapshotService;
 
+    @Inject
+    private AggregateCache aggregateCache;
+
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Aggregate> T get(final EventStream stream, final Class<T> clazz) {
         logger.trace("SnapshotAwareAggregateService Recreating aggregate for instance {} of aggregate type {}", stream.getId(), clazz);
 
-        final Optional<VersionedAggregate<T>> versionedAggregate = latestOrChangedAggregateAndEvents(stream, clazz);
+        final Optional<VersionedAggregate<T>> cachedAggregate = aggregateCache.getVersionedAggregate(stream.getId(), clazz);
+        final Optional<VersionedAggregate<T>> versionedAggregate = cachedAggregate.isPresent() ? cachedAggregate : latestOrChangedAggregateAndEvents(stream, clazz);
 
         final T aggregate = aggregateOf(stream, clazz, versionedAggregate);
 
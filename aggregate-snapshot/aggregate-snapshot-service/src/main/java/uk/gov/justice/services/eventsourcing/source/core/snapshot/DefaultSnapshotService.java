@@ -1,12 +1,19 @@
 package uk.gov.justice.services.eventsourcing.source.core.snapshot;
 
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.SNAPSHOT_LOAD;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.SNAPSHOT_STORE;
+
 import uk.gov.justice.domain.aggregate.Aggregate;
 import uk.gov.justice.domain.snapshot.AggregateSnapshot;
 import uk.gov.justice.domain.snapshot.DefaultObjectInputStreamStrategy;
+import uk.gov.justice.domain.snapshot.JavaSnapshotSerializer;
 import uk.gov.justice.domain.snapshot.ObjectInputStreamStrategy;
+import uk.gov.justice.domain.snapshot.SnapshotSerializer;
+import uk.gov.justice.domain.snapshot.TaggedBinarySnapshotSerializer;
 import uk.gov.justice.domain.snapshot.VersionedAggregate;
 import uk.gov.justice.services.core.aggregate.exception.AggregateChangeDetectedException;
 import uk.gov.justice.services.eventsourcing.jdbc.snapshot.SnapshotRepository;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 
 import java.time.ZonedDateTime;
 import java.util.Optional;
@@ -15,6 +22,7 @@ import java.util.UUID;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.lang3.SerializationException;
 import org.slf4j.Logger;
 
@@ -33,6 +41,12 @@ public class DefaultSnapshotService implements SnapshotService {
     @Inject
     SnapshotStrategy snapshotStrategy;
 
+    @Inject
+    SnapshotSerializerProvider snapshotSerializerProvider;
+
+    @Inject
+    EventStoreTimers eventStoreTimers;
+
     private ObjectInputStreamStrategy streamStrategy = new DefaultObjectInputStreamStrategy();
 
     public void setStreamStrategy(ObjectInputStreamStrategy streamStrategy) {
@@ -43,15 +57,18 @@ public class DefaultSnapshotService implements SnapshotService {
     public <T extends Aggregate> void attemptAggregateStore(final UUID streamId, final long streamVersionId, final T aggregate) {
         final long currentSnapshotVersion = snapshotRepository.getLatestSnapshotVersion(streamId, aggregate.getClass());
         if (snapshotStrategy.shouldCreateSnapshot(streamVersionId, currentSnapshotVersion)) {
+            final Timer.Sample sample = eventStoreTimers.start();
             try {
                 logger.trace("Storing snapshot of aggregate: {}, streamId: {}, version: {}", aggregate.getClass().getSimpleName(), streamId, streamVersionId);
-                final AggregateSnapshot<T> aggregateSnapshot = new AggregateSnapshot<>(streamId, streamVersionId, aggregate);//createdAt is added before saving
+                final AggregateSnapshot<T> aggregateSnapshot = new AggregateSnapshot<>(streamId, streamVersionId, aggregate, snapshotSerializerProvider.getConfiguredSnapshotSerializer());//createdAt is added before saving
                 final boolean storedSuccessfully = snapshotRepository.storeSnapshot(aggregateSnapshot);
                 if (storedSuccessfully) {
                     snapshotRepository.removeAllSnapshotsOlderThan(aggregateSnapshot);
                 }
             } catch (SerializationException e) {
                 logger.error("Error creating snapshot for {}", streamId, e);
+            } finally {
+                eventStoreTimers.stop(sample, SNAPSHOT_STORE);
             }
         }
     }
@@ -60,7 +77,7 @@ public class DefaultSnapshotService implements SnapshotService {
     public <T extends Aggregate> boolean storeAggregateSimply(final UUID streamId, final long streamVersionId, final T aggregate) {
         try {
             logger.debug("Storing snapshot of aggregate: {}, streamId: {}, version: {}", aggregate.getClass().getSimpleName(), streamId, streamVersionId);
-            final AggregateSnapshot<T> aggregateSnapshot = new AggregateSnapshot<>(streamId, streamVersionId, aggregate);//createdAt is added before saving
+            final AggregateSnapshot<T> aggregateSnapshot = new AggregateSnapshot<>(streamId, streamVersionId, aggregate, snapshotSerializerProvider.getConfiguredSnapshotSerializer());//createdAt is added before saving
             final boolean storedSuccessfully = snapshotRepository.storeSnapshot(aggregateSnapshot);
             logger.debug("Stored successfully {}", storedSuccessfully);
             return storedSuccessfully;
@@ -76,15 +93,41 @@ public class DefaultSnapshotService implements SnapshotService {
             throws AggregateChangeDetectedException {
         logger.trace("Retrieving snapshot for stream id: {}, aggregate: {}", streamId, clazz.getSimpleName());
 
-        final Optional<AggregateSnapshot<T>> aggregateSnapshot = snapshotRepository.getLatestSnapshot(streamId, clazz);
+        final Timer.Sample sample = eventStoreTimers.start();
+        try {
+            final Optional<AggregateSnapshot<T>> aggregateSnapshot = snapshotRepository.getLatestSnapshot(streamId, clazz);
+
+            if (aggregateSnapshot.isPresent()) {
+                final AggregateSnapshot<T> snapshotValue = aggregateSnapshot.get();
+                final VersionedAggregate<T> versionedAggregate = new VersionedAggregate<T>(snapshotValue.getPositionInStream(), aggregateFrom(snapshotValue));
+                return Optional.of(versionedAggregate);
+            }
+
+            return Optional.empty();
+        } finally {
+            eventStoreTimers.stop(sample, SNAPSHOT_LOAD);
+        }
+    }
+
+    private <T extends Aggregate> T aggregateFrom(final AggregateSnapshot<T> aggregateSnapshot) throws AggregateChangeDetectedException {
+        final int formatId = aggregateSnapshot.getFormatId();
+        if (formatId == JavaSnapshotSerializer.FORMAT_ID) {
+            return aggregateSnapshot.getAggregate(streamStrategy);
+        }
+
+        if (formatId == TaggedBinarySnapshotSerializer.FORMAT_ID) {
+            return aggregateSnapshot.getAggregate(new TaggedBinarySnapshotSerializer(streamStrategy));
+        }
 
-        if (aggregateSnapshot.isPresent()) {
-            final AggregateSnapshot<T> snapshotValue = aggregateSnapshot.get();
-            final VersionedAggregate<T> versionedAggregate = new VersionedAggregate<T>(snapshotValue.getPositionInStream(), snapshotValue.getAggregate(streamStrategy));
-            return Optional.of(versionedAggregate);
+        final Optional<SnapshotSerializer> snapshotSerializer = snapshotSerializerProvider.getSnapshotSerializer(formatId);
+        if (snapshotSerializer.isEmpty()) {
+            throw new AggregateChangeDetectedException(
+                    "No SnapshotSerializer found for format id %d of %s snapshot".formatted(formatId, aggregateSnapshot.getType()),
+                    aggregateSnapshot.getPositionInStream(),
+                    aggregateSnapshot.getCreatedAt());
         }
 
-        return Optional.empty();
+        return aggregateSnapshot.getAggregate(snapshotSerializer.get());
     }
 
     @Override
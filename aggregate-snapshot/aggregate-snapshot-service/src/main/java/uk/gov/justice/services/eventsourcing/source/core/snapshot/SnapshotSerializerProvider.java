@@ -0,0 +1,56 @@
+package uk.gov.justice.services.eventsourcing.source.core.snapshot;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.String.format;
+
+import uk.gov.justice.domain.snapshot.JavaSnapshotSerializer;
+import uk.gov.justice.domain.snapshot.SnapshotSerializer;
+import uk.gov.justice.domain.snapshot.TaggedBinarySnapshotSerializer;
+import uk.gov.justice.services.common.configuration.Value;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+/**
+ * Provides the {@link SnapshotSerializer}s available for reading snapshots, keyed by the format
+ * id stored with each snapshot, and the one configured for writing new snapshots.
+ * <p>
+ * The Java serialization and tagged binary formats are always available. Further formats can be
+ * added by registering a {@link SnapshotSerializer} with the {@link ServiceLoader}.
+ */
+@ApplicationScoped
+public class SnapshotSerializerProvider {
+
+    @Inject
+    @Value(key = "snapshot.serializer.format.id", defaultValue = "0")
+    String snapshotSerializerFormatId;
+
+    private volatile Map<Integer, SnapshotSerializer> snapshotSerializers;
+
+    public Optional<SnapshotSerializer> getSnapshotSerializer(final int formatId) {
+        return Optional.ofNullable(snapshotSerializers().get(formatId));
+    }
+
+    public SnapshotSerializer getConfiguredSnapshotSerializer() {
+        final int formatId = parseInt(snapshotSerializerFormatId);
+        return getSnapshotSerializer(formatId)
+                .orElseThrow(() -> new IllegalStateException(format("No SnapshotSerializer found for configured format id %d", formatId)));
+    }
+
+    private Map<Integer, SnapshotSerializer> snapshotSerializers() {
+        if (snapshotSerializers == null) {
+            final Map<Integer, SnapshotSerializer> serializers = new ConcurrentHashMap<>();
+            serializers.put(JavaSnapshotSerializer.FORMAT_ID, new JavaSnapshotSerializer());
+            serializers.put(TaggedBinarySnapshotSerializer.FORMAT_ID, new TaggedBinarySnapshotSerializer());
+            ServiceLoader.load(SnapshotSerializer.class).forEach(serializer -> serializers.putIfAbsent(serializer.getFormatId(), serializer));
+            snapshotSerializers = serializers;
+        }
+
+        return snapshotSerializers;
+    }
+}
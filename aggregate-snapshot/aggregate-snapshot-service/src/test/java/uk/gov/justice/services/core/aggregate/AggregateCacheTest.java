@@ -0,0 +1,207 @@
+package uk.gov.justice.services.core.aggregate;
+
+import static co.unruly.matchers.OptionalMatchers.empty;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import uk.gov.justice.domain.aggregate.TestAggregate;
+import uk.gov.justice.domain.event.EventA;
+import uk.gov.justice.domain.snapshot.JavaSnapshotSerializer;
+import uk.gov.justice.domain.snapshot.SnapshotSerializer;
+import uk.gov.justice.domain.snapshot.VersionedAggregate;
+import uk.gov.justice.services.eventsourcing.source.core.StreamClearedEvent;
+import uk.gov.justice.services.eventsourcing.source.core.snapshot.SnapshotSerializerProvider;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.enterprise.event.Event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+@ExtendWith(MockitoExtension.class)
+public class AggregateCacheTest {
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private AggregateCacheConfig aggregateCacheConfig;
+
+    @Mock
+    private SnapshotSerializerProvider snapshotSerializerProvider;
+
+    @Mock
+    private Event<AggregateUpdatedEvent> aggregateUpdatedEventFirer;
+
+    @InjectMocks
+    private AggregateCache aggregateCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SnapshotSerializer snapshotSerializer = new JavaSnapshotSerializer();
+
+    @BeforeEach
+    public void setup() {
+        setField(aggregateCache, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    public void shouldReturnEmptyIfTheCacheIsDisabled() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(aggregateCacheConfig.isAggregateCacheEnabled()).thenReturn(false);
+
+        aggregateCache.onAggregateUpdated(aggregateUpdatedEvent(streamId, 23L, new TestAggregate()));
+
+        assertThat(aggregateCache.getVersionedAggregate(streamId, TestAggregate.class), is(empty()));
+    }
+
+    @Test
+    public void shouldCacheACopyOfTheAggregateOnceTheAppendHasCommitted() throws Exception {
+
+        final UUID streamId = randomUUID();
+        final TestAggregate aggregate = new TestAggregate();
+        aggregate.apply(new EventA("A1"));
+
+        when(aggregateCacheConfig.isAggregateCacheEnabled()).thenReturn(true);
+        when(aggregateCacheConfig.getMaxSize()).thenReturn(10);
+        when(snapshotSerializerProvider.getConfiguredSnapshotSerializer()).thenReturn(snapshotSerializer);
+
+        aggregateCache.aggregateUpdated(streamId, 23L, aggregate);
+
+        assertThat(aggregateCache.getVersionedAggregate(streamId, TestAggregate.class), is(empty()));
+
+        final ArgumentCaptor<AggregateUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(AggregateUpdatedEvent.class);
+        verify(aggregateUpdatedEventFirer).fire(eventCaptor.capture());
+
+        aggregateCache.onAggregateUpdated(eventCaptor.getValue());
+
+        final Optional<VersionedAggregate<TestAggregate>> versionedAggregate = aggregateCache.getVersionedAggregate(streamId, TestAggregate.class);
+
+        assertThat(versionedAggregate.isPresent(), is(true));
+        assertThat(versionedAggregate.get().getVersionId(), is(23L));
+        assertThat(versionedAggregate.get().getAggregate(), is(not(sameInstance(aggregate))));
+        assertThat(versionedAggregate.get().getAggregate().numberOfAppliedEvents(), is(1));
+        assertThat(meterRegistry.counter("event-store.aggregate.cache.hits").count(), is(1.0));
+        assertThat(meterRegistry.counter("event-store.aggregate.cache.misses").count(), is(1.0));
+    }
+
+    @Test
+    public void shouldReturnANewCopyOfTheAggregateOnEachGet() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(aggregateCacheConfig.isAggregateCacheEnabled()).thenReturn(true);
+        when(aggregateCacheConfig.getMaxSize()).thenReturn(10);
+
+        aggregateCache.onAggregateUpdated(aggregateUpdatedEvent(streamId, 23L, new TestAggregate()));
+
+        final TestAggregate aggregate_1 = aggregateCache.getVersionedAggregate(streamId, TestAggregate.class).get().getAggregate();
+        aggregate_1.apply(new EventA("A1"));
+        final TestAggregate aggregate_2 = aggregateCache.getVersionedAggregate(streamId, TestAggregate.class).get().getAggregate();
+
+        assertThat(aggregate_2.numberOfAppliedEvents(), is(0));
+    }
+
+    @Test
+    public void shouldNeverReplaceTheCachedAggregateWithAnOlderOne() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(aggregateCacheConfig.isAggregateCacheEnabled()).thenReturn(true);
+        when(aggregateCacheConfig.getMaxSize()).thenReturn(10);
+
+        aggregateCache.onAggregateUpdated(aggregateUpdatedEvent(streamId, 23L, new TestAggregate()));
+        aggregateCache.onAggregateUpdated(aggregateUpdatedEvent(streamId, 22L, new TestAggregate()));
+
+        assertThat(aggregateCache.getVersionedAggregate(streamId, TestAggregate.class).get().getVersionId(), is(23L));
+    }
+
+    @Test
+    public void shouldRemoveTheAggregateOnInvalidate() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(aggregateCacheConfig.isAggregateCacheEnabled()).thenReturn(true);
+        when(aggregateCacheConfig.getMaxSize()).thenReturn(10);
+
+        aggregateCache.onAggregateUpdated(aggregateUpdatedEvent(streamId, 23L, new TestAggregate()));
+        aggregateCache.invalidate(streamId, TestAggregate.class);
+
+        assertThat(aggregateCache.getVersionedAggregate(streamId, TestAggregate.class), is(empty()));
+    }
+
+    @Test
+    public void shouldRemoveTheAggregatesOfAStreamWhenTheStreamIsCleared() throws Exception {
+
+        final UUID streamId = randomUUID();
+        final UUID otherStreamId = randomUUID();
+
+        when(aggregateCacheConfig.isAggregateCacheEnabled()).thenReturn(true);
+        when(aggregateCacheConfig.getMaxSize()).thenReturn(10);
+
+        aggregateCache.onAggregateUpdated(aggregateUpdatedEvent(streamId, 23L, new TestAggregate()));
+        aggregateCache.onAggregateUpdated(aggregateUpdatedEvent(otherStreamId, 42L, new TestAggregate()));
+        aggregateCache.onStreamCleared(new StreamClearedEvent(streamId));
+
+        assertThat(aggregateCache.getVersionedAggregate(streamId, TestAggregate.class), is(empty()));
+        assertThat(aggregateCache.getVersionedAggregate(otherStreamId, TestAggregate.class).isPresent(), is(true));
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedAggregateOnceTheMaxSizeIsReached() throws Exception {
+
+        final UUID streamId_1 = randomUUID();
+        final UUID streamId_2 = randomUUID();
+        final UUID streamId_3 = randomUUID();
+
+        when(aggregateCacheConfig.isAggregateCacheEnabled()).thenReturn(true);
+        when(aggregateCacheConfig.getMaxSize()).thenReturn(2);
+
+        aggregateCache.onAggregateUpdated(aggregateUpdatedEvent(streamId_1, 1L, new TestAggregate()));
+        aggregateCache.onAggregateUpdated(aggregateUpdatedEvent(streamId_2, 2L, new TestAggregate()));
+        aggregateCache.getVersionedAggregate(streamId_1, TestAggregate.class);
+        aggregateCache.onAggregateUpdated(aggregateUpdatedEvent(streamId_3, 3L, new TestAggregate()));
+
+        assertThat(aggregateCache.getVersionedAggregate(streamId_1, TestAggregate.class).isPresent(), is(true));
+        assertThat(aggregateCache.getVersionedAggregate(streamId_2, TestAggregate.class), is(empty()));
+        assertThat(aggregateCache.getVersionedAggregate(streamId_3, TestAggregate.class).isPresent(), is(true));
+    }
+
+    @Test
+    public void shouldNotFireAnUpdateIfTheCacheIsDisabled() throws Exception {
+
+        when(aggregateCacheConfig.isAggregateCacheEnabled()).thenReturn(false);
+
+        aggregateCache.aggregateUpdated(randomUUID(), 23L, new TestAggregate());
+
+        verify(aggregateUpdatedEventFirer, never()).fire(any());
+    }
+
+    private AggregateUpdatedEvent aggregateUpdatedEvent(final UUID streamId, final long positionInStream, final TestAggregate aggregate) {
+        return new AggregateUpdatedEvent(
+                streamId,
+                TestAggregate.class,
+                positionInStream,
+                snapshotSerializer.serialize(aggregate),
+                snapshotSerializer);
+    }
+}
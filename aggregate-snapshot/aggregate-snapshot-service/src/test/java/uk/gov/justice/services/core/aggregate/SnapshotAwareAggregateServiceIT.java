@@ -41,6 +41,8 @@ import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.core.enveloper.DefaultEnveloper;
 import uk.gov.justice.services.core.extension.EventFoundEvent;
 import uk.gov.justice.services.eventsource.DefaultEventDestinationResolver;
+import uk.gov.justice.services.eventsourcing.jdbc.snapshot.SnapshotCompressionConfig;
+import uk.gov.justice.services.eventsourcing.jdbc.snapshot.SnapshotCompressor;
 import uk.gov.justice.services.eventsourcing.jdbc.snapshot.SnapshotJdbcRepository;
 import uk.gov.justice.services.eventsourcing.jdbc.snapshot.SnapshotRepository;
 import uk.gov.justice.services.eventsourcing.publisher.jms.JmsEventPublisher;
@@ -52,7 +54,11 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.PublishQueueReposit
 import uk.gov.justice.services.eventsourcing.repository.jdbc.PublishQueuesDataAccess;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventConverter;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventJdbcRepository;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.KeysetPagedEventStreamer;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.KeysetPagingConfig;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.eventstream.EventStreamJdbcRepository;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationConfig;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotifier;
 import uk.gov.justice.services.eventsourcing.source.core.EventAppender;
 import uk.gov.justice.services.eventsourcing.source.core.EventSource;
 import uk.gov.justice.services.eventsourcing.source.core.EventSourceNameProvider;
@@ -69,9 +75,13 @@ import uk.gov.justice.services.eventsourcing.source.core.SystemEventService;
 import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
 import uk.gov.justice.services.eventsourcing.source.core.snapshot.DefaultSnapshotService;
 import uk.gov.justice.services.eventsourcing.source.core.snapshot.DefaultSnapshotStrategy;
+import uk.gov.justice.services.eventsourcing.source.core.snapshot.SnapshotSerializerProvider;
 import uk.gov.justice.services.eventsourcing.source.core.snapshot.async.AsyncSnapshotService;
 import uk.gov.justice.services.eventsourcing.source.core.snapshot.async.SnapshotDeleterObserver;
 import uk.gov.justice.services.eventsourcing.source.core.snapshot.async.SnapshotSaverObserver;
+import uk.gov.justice.services.eventsourcing.source.core.streamhead.StreamHeadPositionCache;
+import uk.gov.justice.services.eventsourcing.source.core.streamhead.StreamHeadPositionCacheConfig;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.jdbc.persistence.JdbcRepositoryException;
 import uk.gov.justice.services.jdbc.persistence.JdbcResultSetStreamer;
 import uk.gov.justice.services.jdbc.persistence.JndiAppNameProvider;
@@ -82,6 +92,7 @@ import uk.gov.justice.services.messaging.jms.DefaultEnvelopeConverter;
 import uk.gov.justice.services.messaging.jms.JmsMessagingConfiguration;
 import uk.gov.justice.services.messaging.jms.OversizeMessageGuard;
 import uk.gov.justice.services.messaging.spi.DefaultJsonEnvelopeProvider;
+import uk.gov.justice.services.metrics.micrometer.config.MetricsConfiguration;
 import uk.gov.justice.services.test.utils.core.messaging.Poller;
 import uk.gov.justice.services.test.utils.messaging.jms.DummyJmsEnvelopeSender;
 import uk.gov.justice.services.test.utils.persistence.DatabaseCleaner;
@@ -110,6 +121,8 @@ import javax.enterprise.inject.Produces;
 import javax.inject.Inject;
 import javax.naming.InitialContext;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.openejb.jee.WebApp;
 import org.apache.openejb.junit5.RunWithApplicationComposer;
 import org.apache.openejb.testing.Application;
@@ -167,8 +180,11 @@ public class SnapshotAwareAggregateServiceIT {
             CustomClassLoaderObjectInputStreamStrategy.class,
             DefaultObjectInputStreamStrategy.class,
             SnapshotJdbcRepository.class,
+            SnapshotCompressor.class,
+            SnapshotCompressionConfig.class,
 
             TestEventInsertionStrategyProducer.class,
+            TestMeterRegistryProducer.class,
             JdbcResultSetStreamer.class,
             PreparedStatementWrapperFactory.class,
             LoggerProducer.class,
@@ -184,6 +200,8 @@ public class SnapshotAwareAggregateServiceIT {
             DefaultEventDestinationResolver.class,
             DefaultAggregateService.class,
             SnapshotAwareAggregateService.class,
+            AggregateCache.class,
+            AggregateCacheConfig.class,
             SnapshotAwareEventSource.class,
             SnapshotAwareEnvelopeEventStream.class,
             DefaultEnveloper.class,
@@ -194,6 +212,7 @@ public class SnapshotAwareAggregateServiceIT {
             DefaultSnapshotStrategy.class,
             ValueProducer.class,
             DefaultSnapshotService.class,
+            SnapshotSerializerProvider.class,
             UtcClock.class,
             TestServiceContextNameProvider.class,
             GlobalValueProducer.class,
@@ -219,6 +238,10 @@ public class SnapshotAwareAggregateServiceIT {
             MaxRetryProvider.class,
             EventSourceNameProvider.class,
             EventStreamManager.class,
+            StreamHeadPositionCache.class,
+            StreamHeadPositionCacheConfig.class,
+            EventStoreTimers.class,
+            MetricsConfiguration.class,
 
             JndiAppNameProvider.class,
             DefaultJsonEnvelopeProvider.class,
@@ -226,6 +249,10 @@ public class SnapshotAwareAggregateServiceIT {
             ContextNameProvider.class,
             PublishQueuesDataAccess.class,
             PrePublishQueueRepository.class,
+            EventStoreNotifier.class,
+            EventStoreNotificationConfig.class,
+            KeysetPagedEventStreamer.class,
+            KeysetPagingConfig.class,
             PublishQueueRepository.class,
             OversizeMessageGuard.class,
             JmsMessagingConfiguration.class,
@@ -594,4 +621,15 @@ public class SnapshotAwareAggregateServiceIT {
             return new AnsiSQLEventLogInsertionStrategy();
         }
     }
+
+    @ApplicationScoped
+    public static class TestMeterRegistryProducer {
+
+        private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        @Produces
+        public MeterRegistry meterRegistry() {
+            return meterRegistry;
+        }
+    }
 }
@@ -6,6 +6,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -14,6 +16,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
@@ -75,6 +78,9 @@ public class SnapshotAwareAggregateServiceTest {
     @Mock
     private AsyncSnapshotService asyncSnapshotService;
 
+    @Mock
+    private AggregateCache aggregateCache;
+
     @Spy
     private DefaultAggregateService defaultAggregateService;
 
@@ -291,4 +297,32 @@ public class SnapshotAwareAggregateServiceTest {
         assertThat(aggregate1.recordedEvents(), hasItems(eventA, eventB, eventC));
         verifyNoMoreInteractions(asyncSnapshotService);
     }
+
+    @Test
+    public void shouldReplayEventsAfterTheCachedPositionOnACachedAggregate() throws AggregateChangeDetectedException {
+        defaultAggregateService.logger = logger;
+        defaultAggregateService.jsonObjectToObjectConverter = jsonObjectToObjectConverter;
+
+        final UUID streamId = UUID.randomUUID();
+        final TestAggregate aggregate = new TestAggregate();
+        final long cachedPosition = 5L;
+
+        final JsonEnvelope jsonEventA = envelope().with(metadataWithRandomUUID("eventA")).withPayloadOf("value1", "name1").build();
+
+        registerEvent(EventA.class, "eventA");
+
+        final EventA eventA = new EventA("A1");
+
+        when(eventStream.getId()).thenReturn(streamId);
+        when(aggregateCache.getVersionedAggregate(streamId, TestAggregate.class)).thenReturn(
+                Optional.of(new VersionedAggregate<>(cachedPosition, aggregate)));
+        when(eventStream.readFrom(cachedPosition + 1)).thenReturn(of(jsonEventA));
+        when(jsonObjectToObjectConverter.convert(jsonEventA.payloadAsJsonObject(), EventA.class)).thenReturn(eventA);
+
+        final TestAggregate aggregateActual = aggregateService.get(eventStream, TestAggregate.class);
+
+        assertThat(aggregateActual, is(sameInstance(aggregate)));
+        assertThat(aggregateActual.recordedEvents(), hasItems(eventA));
+        verifyNoInteractions(snapshotService);
+    }
 }
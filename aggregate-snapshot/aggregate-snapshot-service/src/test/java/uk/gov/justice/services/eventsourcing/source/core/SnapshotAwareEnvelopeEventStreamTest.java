@@ -5,6 +5,10 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -12,6 +16,8 @@ import static uk.gov.justice.services.test.utils.core.messaging.JsonEnvelopeBuil
 import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithDefaults;
 
 import uk.gov.justice.domain.aggregate.TestAggregate;
+import uk.gov.justice.services.core.aggregate.AggregateCache;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.OptimisticLockingRetryException;
 import uk.gov.justice.services.eventsourcing.source.core.snapshot.SnapshotService;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
@@ -37,11 +43,14 @@ public class SnapshotAwareEnvelopeEventStreamTest {
     @Mock
     private SnapshotService snapshotService;
 
+    @Mock
+    private AggregateCache aggregateCache;
+
     private SnapshotAwareEnvelopeEventStream eventStream;
 
     @BeforeEach
     public void setup() {
-        eventStream = new SnapshotAwareEnvelopeEventStream(STREAM_ID, eventStreamManager, snapshotService, EVENT_SOURCE_NAME);
+        eventStream = new SnapshotAwareEnvelopeEventStream(STREAM_ID, eventStreamManager, snapshotService, aggregateCache, EVENT_SOURCE_NAME);
     }
 
     @Test
@@ -165,4 +174,63 @@ public class SnapshotAwareEnvelopeEventStreamTest {
 
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldCacheAggregatesOnAppendingEvents() throws Exception {
+        final TestAggregate aggregate = new TestAggregate();
+        eventStream.registerAggregates(TestAggregate.class, aggregate);
+
+        final long streamVersionAfterAppending = 14L;
+        final Stream<JsonEnvelope> streamOfEvents = Stream.of(envelope().build());
+        when(eventStreamManager.append(STREAM_ID, streamOfEvents)).thenReturn(streamVersionAfterAppending);
+
+        eventStream.append(streamOfEvents);
+
+        verify(aggregateCache).aggregateUpdated(STREAM_ID, streamVersionAfterAppending, aggregate);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldCacheAggregatesOnAppendingEventsFrom() throws Exception {
+        final TestAggregate aggregate = new TestAggregate();
+        eventStream.registerAggregates(TestAggregate.class, aggregate);
+
+        final long streamVersionToAppendAfter = 16L;
+        final long streamVersionAfterAppending = 17L;
+        final Stream<JsonEnvelope> streamOfEvents = Stream.of(envelope().build());
+        when(eventStreamManager.appendAfter(STREAM_ID, streamOfEvents, streamVersionToAppendAfter)).thenReturn(streamVersionAfterAppending);
+
+        eventStream.appendAfter(streamOfEvents, streamVersionToAppendAfter);
+
+        verify(aggregateCache).aggregateUpdated(STREAM_ID, streamVersionAfterAppending, aggregate);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldNotCacheAggregatesWhenAppendingWithNonConsecutiveTolerance() throws Exception {
+        eventStream.registerAggregates(TestAggregate.class, new TestAggregate());
+
+        eventStream.append(Stream.of(envelope().build()), Tolerance.NON_CONSECUTIVE);
+
+        verifyNoInteractions(aggregateCache);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldInvalidateCachedAggregatesIfAppendingFailsWithAnOptimisticLock() throws Exception {
+        final TestAggregate aggregate = new TestAggregate();
+        eventStream.registerAggregates(TestAggregate.class, aggregate);
+
+        final Stream<JsonEnvelope> streamOfEvents = Stream.of(envelope().build());
+        final OptimisticLockingRetryException optimisticLockingRetryException = new OptimisticLockingRetryException("Locking Exception");
+        when(eventStreamManager.append(STREAM_ID, streamOfEvents)).thenThrow(optimisticLockingRetryException);
+
+        final OptimisticLockingRetryException thrown = assertThrows(OptimisticLockingRetryException.class, () -> eventStream.append(streamOfEvents));
+
+        assertThat(thrown, is(optimisticLockingRetryException));
+        verify(aggregateCache).invalidate(STREAM_ID, TestAggregate.class);
+        verify(aggregateCache, never()).aggregateUpdated(any(), anyLong(), any());
+        verifyNoInteractions(snapshotService);
+    }
+
 }
@@ -5,6 +5,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.getValueOfField;
 
+import uk.gov.justice.services.core.aggregate.AggregateCache;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.EventRepository;
 import uk.gov.justice.services.eventsourcing.source.core.snapshot.SnapshotService;
 
@@ -26,6 +27,9 @@ public class SnapshotAwareEventSourceFactoryTest {
     @Mock
     private SnapshotService snapshotService;
 
+    @Mock
+    private AggregateCache aggregateCache;
+
     @InjectMocks
     private SnapshotAwareEventSourceFactory snapshotAwareEventSourceFactory;
 
@@ -41,6 +45,7 @@ public class SnapshotAwareEventSourceFactoryTest {
         assertThat(getValueOfField(eventSource, "eventStreamManager", EventStreamManager.class), is(eventStreamManager));
         assertThat(getValueOfField(eventSource, "eventRepository", EventRepository.class), is(eventRepository));
         assertThat(getValueOfField(eventSource, "snapshotService", SnapshotService.class), is(snapshotService));
+        assertThat(getValueOfField(eventSource, "aggregateCache", AggregateCache.class), is(aggregateCache));
         assertThat(getValueOfField(eventSource, "eventSourceName", String.class), is(eventSourceName));
     }
 }
@@ -4,31 +4,43 @@ import static java.util.UUID.randomUUID;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.IsNull.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.SNAPSHOT_LOAD;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.SNAPSHOT_STORE;
 
 import uk.gov.justice.domain.aggregate.NoSerializableTestAggregate;
 import uk.gov.justice.domain.aggregate.TestAggregate;
 import uk.gov.justice.domain.snapshot.AggregateSnapshot;
+import uk.gov.justice.domain.snapshot.JavaSnapshotSerializer;
+import uk.gov.justice.domain.snapshot.SnapshotSerializer;
+import uk.gov.justice.domain.snapshot.TaggedBinarySnapshotSerializer;
 import uk.gov.justice.domain.snapshot.VersionedAggregate;
 import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.core.aggregate.exception.AggregateChangeDetectedException;
 import uk.gov.justice.services.eventsourcing.jdbc.snapshot.SnapshotRepository;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 
 import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.lang3.SerializationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -45,9 +57,15 @@ public class DefaultSnapshotServiceTest {
     @Mock
     private SnapshotStrategy snapshotStrategy;
 
+    @Mock
+    private SnapshotSerializerProvider snapshotSerializerProvider;
+
     @Mock
     private Logger logger;
 
+    @Mock
+    private EventStoreTimers eventStoreTimers;
+
     @Captor
     private ArgumentCaptor<AggregateSnapshot<TestAggregate>> snapshotArgumentCaptor;
 
@@ -66,6 +84,78 @@ public class DefaultSnapshotServiceTest {
         assertThat(versionedAggregate.isPresent(), is(false));
     }
 
+    @Test
+    public void shouldTimeLoadingTheLatestSnapshot() throws AggregateChangeDetectedException {
+        final Timer.Sample sample = Timer.start();
+        when(eventStoreTimers.start()).thenReturn(sample);
+        when(snapshotRepository.getLatestSnapshot(STREAM_ID, TestAggregate.class)).thenReturn(Optional.empty());
+
+        snapshotService.getLatestVersionedAggregate(STREAM_ID, TestAggregate.class);
+
+        final InOrder inOrder = inOrder(eventStoreTimers, snapshotRepository);
+        inOrder.verify(eventStoreTimers).start();
+        inOrder.verify(snapshotRepository).getLatestSnapshot(STREAM_ID, TestAggregate.class);
+        inOrder.verify(eventStoreTimers).stop(sample, SNAPSHOT_LOAD);
+    }
+
+    @Test
+    public void shouldReadTaggedBinarySnapshotUsingTheObjectInputStreamStrategy() throws AggregateChangeDetectedException {
+        final TestAggregate aggregate = new TestAggregate();
+        final AggregateSnapshot<TestAggregate> aggregateSnapshot = new AggregateSnapshot<>(STREAM_ID, 5L, aggregate, new TaggedBinarySnapshotSerializer());
+        when(snapshotRepository.getLatestSnapshot(STREAM_ID, TestAggregate.class)).thenReturn(Optional.of(aggregateSnapshot));
+
+        final Optional<VersionedAggregate<TestAggregate>> versionedAggregate = snapshotService.getLatestVersionedAggregate(STREAM_ID, TestAggregate.class);
+
+        assertThat(versionedAggregate.isPresent(), is(true));
+        assertThat(versionedAggregate.get().getVersionId(), is(5L));
+        assertThat(versionedAggregate.get().getAggregate().numberOfAppliedEvents(), is(0));
+        verifyNoInteractions(snapshotSerializerProvider);
+    }
+
+    @Test
+    public void shouldReadSnapshotUsingTheSerializerOfItsFormat() throws AggregateChangeDetectedException {
+        final int formatId = 23;
+        final byte[] aggregateBytes = {1, 2, 3};
+        final TestAggregate aggregate = new TestAggregate();
+        final SnapshotSerializer snapshotSerializer = mock(SnapshotSerializer.class);
+        final AggregateSnapshot<TestAggregate> aggregateSnapshot = new AggregateSnapshot<>(STREAM_ID, 5L, TestAggregate.class.getName(), aggregateBytes, formatId);
+        when(snapshotRepository.getLatestSnapshot(STREAM_ID, TestAggregate.class)).thenReturn(Optional.of(aggregateSnapshot));
+        when(snapshotSerializerProvider.getSnapshotSerializer(formatId)).thenReturn(Optional.of(snapshotSerializer));
+        when(snapshotSerializer.deserialize(aggregateBytes, TestAggregate.class)).thenReturn(aggregate);
+
+        final Optional<VersionedAggregate<TestAggregate>> versionedAggregate = snapshotService.getLatestVersionedAggregate(STREAM_ID, TestAggregate.class);
+
+        assertThat(versionedAggregate.isPresent(), is(true));
+        assertThat(versionedAggregate.get().getVersionId(), is(5L));
+        assertThat(versionedAggregate.get().getAggregate(), is(aggregate));
+    }
+
+    @Test
+    public void shouldThrowAggregateChangeDetectedExceptionIfNoSerializerIsFoundForTheSnapshotFormat() {
+        final AggregateSnapshot<TestAggregate> aggregateSnapshot = new AggregateSnapshot<>(STREAM_ID, 5L, TestAggregate.class.getName(), new byte[0], 23);
+        when(snapshotRepository.getLatestSnapshot(STREAM_ID, TestAggregate.class)).thenReturn(Optional.of(aggregateSnapshot));
+        when(snapshotSerializerProvider.getSnapshotSerializer(23)).thenReturn(Optional.empty());
+
+        final AggregateChangeDetectedException aggregateChangeDetectedException = assertThrows(
+                AggregateChangeDetectedException.class,
+                () -> snapshotService.getLatestVersionedAggregate(STREAM_ID, TestAggregate.class));
+
+        assertThat(aggregateChangeDetectedException.getMessage(), is("No SnapshotSerializer found for format id 23 of uk.gov.justice.domain.aggregate.TestAggregate snapshot"));
+        assertThat(aggregateChangeDetectedException.getPositionInStream(), is(5L));
+    }
+
+    @Test
+    public void shouldStoreSnapshotUsingTheConfiguredSerializer() {
+        final TestAggregate aggregate = new TestAggregate();
+        when(snapshotSerializerProvider.getConfiguredSnapshotSerializer()).thenReturn(new TaggedBinarySnapshotSerializer());
+        when(snapshotRepository.storeSnapshot(any(AggregateSnapshot.class))).thenReturn(true);
+
+        snapshotService.storeAggregateSimply(STREAM_ID, 16L, aggregate);
+
+        verify(snapshotRepository).storeSnapshot(snapshotArgumentCaptor.capture());
+        assertThat(snapshotArgumentCaptor.getValue().getFormatId(), is(TaggedBinarySnapshotSerializer.FORMAT_ID));
+    }
+
     @Test
     public void shouldRemoveAllSnapshots() {
 
@@ -87,6 +177,7 @@ public class DefaultSnapshotServiceTest {
         final Long currentAggregateVersionId = 26l;
         when(snapshotRepository.getLatestSnapshotVersion(STREAM_ID, TestAggregate.class)).thenReturn(currentSnapshotVersion);
         when(snapshotStrategy.shouldCreateSnapshot(currentAggregateVersionId, currentSnapshotVersion)).thenReturn(true);
+        when(snapshotSerializerProvider.getConfiguredSnapshotSerializer()).thenReturn(new JavaSnapshotSerializer());
         when(snapshotRepository.storeSnapshot(any(AggregateSnapshot.class))).thenReturn(true);
 
         snapshotService.attemptAggregateStore(STREAM_ID, currentAggregateVersionId, aggregate);
@@ -102,6 +193,25 @@ public class DefaultSnapshotServiceTest {
         }));
     }
 
+    @Test
+    public void shouldTimeStoringASnapshotIfStrategyMandatesCreation() {
+        final TestAggregate aggregate = new TestAggregate();
+        final Timer.Sample sample = Timer.start();
+        when(snapshotRepository.getLatestSnapshotVersion(STREAM_ID, TestAggregate.class)).thenReturn(0L);
+        when(snapshotStrategy.shouldCreateSnapshot(26L, 0L)).thenReturn(true);
+        when(eventStoreTimers.start()).thenReturn(sample);
+        when(snapshotSerializerProvider.getConfiguredSnapshotSerializer()).thenReturn(new JavaSnapshotSerializer());
+        when(snapshotRepository.storeSnapshot(any(AggregateSnapshot.class))).thenReturn(true);
+
+        snapshotService.attemptAggregateStore(STREAM_ID, 26L, aggregate);
+
+        final InOrder inOrder = inOrder(eventStoreTimers, snapshotRepository);
+        inOrder.verify(eventStoreTimers).start();
+        inOrder.verify(snapshotRepository).storeSnapshot(any(AggregateSnapshot.class));
+        inOrder.verify(snapshotRepository).removeAllSnapshotsOlderThan(any(AggregateSnapshot.class));
+        inOrder.verify(eventStoreTimers).stop(sample, SNAPSHOT_STORE);
+    }
+
     @Test
     public void shouldNotRemoveOldSnapshotsWhenSnapshotStoreFails() {
         final TestAggregate aggregate = new TestAggregate();
@@ -109,6 +219,7 @@ public class DefaultSnapshotServiceTest {
         final Long currentAggregateVersionId = 26l;
         when(snapshotRepository.getLatestSnapshotVersion(STREAM_ID, TestAggregate.class)).thenReturn(currentSnapshotVersion);
         when(snapshotStrategy.shouldCreateSnapshot(currentAggregateVersionId, currentSnapshotVersion)).thenReturn(true);
+        when(snapshotSerializerProvider.getConfiguredSnapshotSerializer()).thenReturn(new JavaSnapshotSerializer());
         when(snapshotRepository.storeSnapshot(any(AggregateSnapshot.class))).thenReturn(false);
 
         snapshotService.attemptAggregateStore(STREAM_ID, currentAggregateVersionId, aggregate);
@@ -127,6 +238,7 @@ public class DefaultSnapshotServiceTest {
         snapshotService.attemptAggregateStore(STREAM_ID, currentAggregateVersionId, aggregate);
         verify(snapshotRepository, never()).storeSnapshot(any(AggregateSnapshot.class));
         verify(snapshotRepository, never()).removeAllSnapshotsOlderThan(any(AggregateSnapshot.class));
+        verifyNoInteractions(eventStoreTimers);
     }
 
 
@@ -137,6 +249,7 @@ public class DefaultSnapshotServiceTest {
         final Long currentAggregateVersionId = 36l;
         when(snapshotRepository.getLatestSnapshotVersion(STREAM_ID, NoSerializableTestAggregate.class)).thenReturn(currentSnapshotVersion);
         when(snapshotStrategy.shouldCreateSnapshot(currentAggregateVersionId, currentSnapshotVersion)).thenReturn(true);
+        when(snapshotSerializerProvider.getConfiguredSnapshotSerializer()).thenReturn(new JavaSnapshotSerializer());
 
         snapshotService.attemptAggregateStore(STREAM_ID, currentAggregateVersionId, aggregate);
 
@@ -148,6 +261,7 @@ public class DefaultSnapshotServiceTest {
     public void shouldStoreSnapshotSimply() {
         final TestAggregate aggregate = new TestAggregate();
         final Long currentSnapshotVersion = 16l;
+        when(snapshotSerializerProvider.getConfiguredSnapshotSerializer()).thenReturn(new JavaSnapshotSerializer());
         when(snapshotRepository.storeSnapshot(any(AggregateSnapshot.class))).thenReturn(true);
 
         final boolean storedOK = snapshotService.storeAggregateSimply(STREAM_ID, currentSnapshotVersion, aggregate);
@@ -165,6 +279,7 @@ public class DefaultSnapshotServiceTest {
         final SerializationException exception = new SerializationException("Cannot save");
         final TestAggregate aggregate = new TestAggregate();
         final Long currentSnapshotVersion = 16l;
+        when(snapshotSerializerProvider.getConfiguredSnapshotSerializer()).thenReturn(new JavaSnapshotSerializer());
         when(snapshotRepository.storeSnapshot(any(AggregateSnapshot.class))).thenThrow(exception);
 
         final boolean storedOK = snapshotService.storeAggregateSimply(STREAM_ID, currentSnapshotVersion, aggregate);
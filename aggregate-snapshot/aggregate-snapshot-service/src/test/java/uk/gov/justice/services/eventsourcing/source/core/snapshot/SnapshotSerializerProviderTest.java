@@ -0,0 +1,47 @@
+package uk.gov.justice.services.eventsourcing.source.core.snapshot;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import uk.gov.justice.domain.snapshot.JavaSnapshotSerializer;
+import uk.gov.justice.domain.snapshot.TaggedBinarySnapshotSerializer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class SnapshotSerializerProviderTest {
+
+    @InjectMocks
+    private SnapshotSerializerProvider snapshotSerializerProvider;
+
+    @Test
+    public void shouldProvideTheBuiltInSerializersByFormatId() {
+
+        assertThat(snapshotSerializerProvider.getSnapshotSerializer(JavaSnapshotSerializer.FORMAT_ID).get(), is(instanceOf(JavaSnapshotSerializer.class)));
+        assertThat(snapshotSerializerProvider.getSnapshotSerializer(TaggedBinarySnapshotSerializer.FORMAT_ID).get(), is(instanceOf(TaggedBinarySnapshotSerializer.class)));
+        assertThat(snapshotSerializerProvider.getSnapshotSerializer(23).isPresent(), is(false));
+    }
+
+    @Test
+    public void shouldProvideTheConfiguredSerializer() {
+
+        snapshotSerializerProvider.snapshotSerializerFormatId = "1";
+
+        assertThat(snapshotSerializerProvider.getConfiguredSnapshotSerializer(), is(instanceOf(TaggedBinarySnapshotSerializer.class)));
+    }
+
+    @Test
+    public void shouldFailIfTheConfiguredSerializerDoesNotExist() {
+
+        snapshotSerializerProvider.snapshotSerializerFormatId = "23";
+
+        final IllegalStateException illegalStateException = assertThrows(IllegalStateException.class, () -> snapshotSerializerProvider.getConfiguredSnapshotSerializer());
+
+        assertThat(illegalStateException.getMessage(), is("No SnapshotSerializer found for configured format id 23"));
+    }
+}
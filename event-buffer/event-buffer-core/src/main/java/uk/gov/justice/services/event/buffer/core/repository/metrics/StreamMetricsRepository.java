@@ -1,8 +1,5 @@
 package uk.gov.justice.services.event.buffer.core.repository.metrics;
 
-import static java.util.Optional.empty;
-import static java.util.Optional.of;
-
 import uk.gov.justice.services.jdbc.persistence.ViewStoreJdbcDataSourceProvider;
 
 import java.sql.Connection;
@@ -10,7 +7,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.inject.Inject;
 
@@ -22,19 +20,25 @@ public class StreamMetricsRepository {
             LOCK TABLE stream_statistic IN EXCLUSIVE MODE NOWAIT
             """;
 
-    private static final String STREAM_METRICS_SQL = """
+    private static final String ALL_STREAM_METRICS_SQL = """
             SELECT
+                source,
+                component,
                 total_count,
                 blocked_count,
                 unblocked_count,
                 stale_count,
                 fresh_count
             FROM stream_statistic
-            WHERE source = ?
-            AND component = ?;
             """;
 
+    /*
+     * Any deltas already committed are counted by the recalculation, so are discarded by it
+     */
     private static final String CALCULATE_STREAM_STATISTIC_SQL = """
+                WITH discarded AS (
+                    DELETE FROM stream_statistic_delta
+                )
                 INSERT INTO stream_statistic (source, component, total_count, blocked_count, unblocked_count, stale_count, fresh_count)
                 SELECT
                         source,
@@ -55,6 +59,36 @@ public class StreamMetricsRepository {
                     updated_at = CURRENT_TIMESTAMP
             """;
 
+    /*
+     * Leaves updated_at of existing rows as the time stream_statistic was last calculated in full
+     * from stream_status. Rows for a new source and component have never been calculated in full,
+     * so are inserted with an updated_at of the epoch, to leave MAX(updated_at) unchanged
+     */
+    private static final String APPLY_STREAM_STATISTIC_DELTAS_SQL = """
+                WITH applied AS (
+                    DELETE FROM stream_statistic_delta
+                    RETURNING source, component, total_count, blocked_count, unblocked_count, stale_count, fresh_count
+                )
+                INSERT INTO stream_statistic (source, component, total_count, blocked_count, unblocked_count, stale_count, fresh_count, updated_at)
+                SELECT
+                        source,
+                        component,
+                        SUM(total_count),
+                        SUM(blocked_count),
+                        SUM(unblocked_count),
+                        SUM(stale_count),
+                        SUM(fresh_count),
+                        TIMESTAMP 'epoch'
+                    FROM applied
+                    GROUP BY source, component
+                ON CONFLICT (source, component) DO UPDATE SET
+                    total_count = stream_statistic.total_count + EXCLUDED.total_count,
+                    blocked_count = stream_statistic.blocked_count + EXCLUDED.blocked_count,
+                    unblocked_count = stream_statistic.unblocked_count + EXCLUDED.unblocked_count,
+                    stale_count = stream_statistic.stale_count + EXCLUDED.stale_count,
+                    fresh_count = stream_statistic.fresh_count + EXCLUDED.fresh_count
+            """;
+
     private static final String MOST_RECENT_UPDATED_AT_SQL =
             "SELECT MAX(updated_at) as most_recent_updated_at FROM stream_statistic";
 
@@ -64,40 +98,32 @@ public class StreamMetricsRepository {
     @Inject
     private ViewStoreJdbcDataSourceProvider viewStoreJdbcDataSourceProvider;
 
-    public Optional<StreamMetrics> getStreamMetrics(final String source, final String component) {
-
+    /**
+     * Reads the metrics of every source and component from stream_statistic in a single query
+     *
+     * @return the metrics of all sources and components
+     */
+    public List<StreamMetrics> findAllStreamMetrics() {
         try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection();
-             final PreparedStatement preparedStatement = connection.prepareStatement(STREAM_METRICS_SQL)) {
-             preparedStatement.setString(1, source);
-             preparedStatement.setString(2, component);
-
-             try(final ResultSet resultSet = preparedStatement.executeQuery()){
-
-                if (resultSet.next()) {
-                    final int streamCount = resultSet.getInt("total_count");
-                    final int upToDateStreamsCount = resultSet.getInt("fresh_count");
-                    final int outOfDateStreamsCount = resultSet.getInt("stale_count");
-                    final int blockedStreamsCount = resultSet.getInt("blocked_count");
-                    final int unblockedStreamsCount = resultSet.getInt("unblocked_count");
-
-                    final StreamMetrics streamMetrics = new StreamMetrics(
-                            source,
-                            component,
-                            streamCount,
-                            upToDateStreamsCount,
-                            outOfDateStreamsCount,
-                            blockedStreamsCount,
-                            unblockedStreamsCount
-                    );
-
-                    return of(streamMetrics);
-                }
-
-                return empty();
+             final PreparedStatement preparedStatement = connection.prepareStatement(ALL_STREAM_METRICS_SQL);
+             final ResultSet resultSet = preparedStatement.executeQuery()) {
+
+            final List<StreamMetrics> allStreamMetrics = new ArrayList<>();
+            while (resultSet.next()) {
+                allStreamMetrics.add(new StreamMetrics(
+                        resultSet.getString("source"),
+                        resultSet.getString("component"),
+                        resultSet.getInt("total_count"),
+                        resultSet.getInt("fresh_count"),
+                        resultSet.getInt("stale_count"),
+                        resultSet.getInt("blocked_count"),
+                        resultSet.getInt("unblocked_count")
+                ));
             }
 
+            return allStreamMetrics;
         } catch (final SQLException e) {
-            throw new MetricsJdbcException("Failed to get metrics from stream_status table", e);
+            throw new MetricsJdbcException("Failed to get all metrics from stream_statistic table", e);
         }
     }
 
@@ -123,6 +149,33 @@ public class StreamMetricsRepository {
 
     }
 
+    /**
+     * Applies the changes to stream_status recorded in stream_statistic_delta since the last time
+     * they were applied to stream_statistic, without scanning stream_status. Does nothing if
+     * stream_statistic is locked by another node calculating or applying the deltas.
+     *
+     * @return false if stream_statistic could not be locked. The failed lock aborts the current
+     * transaction, so nothing else can be run in it
+     */
+    public boolean applyStreamStatisticDeltas() {
+        try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection()) {
+
+            try (final PreparedStatement streamStatisticsLockStatement = connection.prepareStatement(LOCK_TABLE_STREAM_STATISTIC_IN_EXCLUSIVE_MODE_NOWAIT)) {
+                streamStatisticsLockStatement.executeUpdate();
+            } catch (final SQLException e) {
+                logger.info("Failed to acquire the lock for stream statistics", e);
+                return false;
+            }
+
+            try (final PreparedStatement applyDeltasStatement = connection.prepareStatement(APPLY_STREAM_STATISTIC_DELTAS_SQL)) {
+                applyDeltasStatement.executeUpdate();
+                return true;
+            }
+        } catch (final SQLException e) {
+            throw new MetricsJdbcException("Failed to apply deltas to stream_statistic table", e);
+        }
+    }
+
     private boolean isUpdateNeeded(final Connection connection, final Timestamp freshnessLimit) throws SQLException {
         try (final PreparedStatement checkMostRecentStatement = connection.prepareStatement(MOST_RECENT_UPDATED_AT_SQL);
              final ResultSet resultSet = checkMostRecentStatement.executeQuery()) {
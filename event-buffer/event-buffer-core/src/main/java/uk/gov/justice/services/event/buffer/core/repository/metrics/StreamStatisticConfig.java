@@ -0,0 +1,42 @@
+package uk.gov.justice.services.event.buffer.core.repository.metrics;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Long.parseLong;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+import uk.gov.justice.services.metrics.micrometer.config.MetricsConfiguration;
+
+import javax.inject.Inject;
+
+public class StreamStatisticConfig {
+
+    @Inject
+    @GlobalValue(key = "stream.statistic.incremental.enabled", defaultValue = "false")
+    private String incrementalStreamStatisticEnabled;
+
+    @Inject
+    @GlobalValue(key = "stream.statistic.reconciliation.interval.milliseconds", defaultValue = "3600000")
+    private String reconciliationIntervalMilliseconds;
+
+    @Inject
+    private MetricsConfiguration metricsConfiguration;
+
+    /**
+     * The statistic timer only runs if micrometer metrics are enabled, so incremental stream
+     * statistics are disabled otherwise, as nothing would ever apply and delete the deltas.
+     *
+     * @return true if changes to stream_status should be recorded as deltas in the
+     * stream_statistic_delta table, to be applied to stream_statistic by the statistic timer
+     */
+    public boolean isIncrementalStreamStatisticEnabled() {
+        return parseBoolean(incrementalStreamStatisticEnabled) && metricsConfiguration.micrometerMetricsEnabled();
+    }
+
+    /**
+     * @return how often stream_statistic is recalculated in full from stream_status, to correct
+     * any drift, when incremental stream statistics are enabled
+     */
+    public long getReconciliationIntervalMilliseconds() {
+        return parseLong(reconciliationIntervalMilliseconds);
+    }
+}
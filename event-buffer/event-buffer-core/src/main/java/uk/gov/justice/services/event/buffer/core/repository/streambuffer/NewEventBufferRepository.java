@@ -13,6 +13,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -40,6 +42,24 @@ public class NewEventBufferRepository {
             AND position = ?
             """;
 
+    private static final String FIND_FROM_POSITION_SQL = """
+            SELECT position, event, buffered_at FROM stream_buffer
+            WHERE stream_id = ?
+            AND source = ?
+            AND component = ?
+            AND position >= ?
+            ORDER BY position
+            LIMIT ?
+            """;
+
+    private static final String REMOVE_UP_TO_POSITION_SQL = """
+            DELETE FROM stream_buffer
+            WHERE stream_id = ?
+            AND source = ?
+            AND component = ?
+            AND position <= ?
+            """;
+
     private static final String REMOVE_FROM_BUFFER_SQL = """
             DELETE FROM stream_buffer
             WHERE stream_id = ?
@@ -116,6 +136,99 @@ public class NewEventBufferRepository {
         }
     }
 
+    /**
+     * Finds the consecutive run of buffered events of a stream starting at fromPosition, stopping
+     * at the first missing position or after maxEvents events.
+     *
+     * @return the buffered events in position order, or an empty list if fromPosition is not buffered
+     */
+    public List<EventBufferEvent> findConsecutiveFromPosition(
+            final UUID streamId,
+            final long fromPosition,
+            final String source,
+            final String componentName,
+            final int maxEvents) {
+
+        try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(FIND_FROM_POSITION_SQL)) {
+
+            preparedStatement.setObject(1, streamId);
+            preparedStatement.setString(2, source);
+            preparedStatement.setString(3, componentName);
+            preparedStatement.setLong(4, fromPosition);
+            preparedStatement.setInt(5, maxEvents);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+
+                final List<EventBufferEvent> eventBufferEvents = new ArrayList<>();
+                long expectedPosition = fromPosition;
+
+                while (resultSet.next()) {
+                    final long position = resultSet.getLong("position");
+                    if (position != expectedPosition) {
+                        break;
+                    }
+
+                    final String event = resultSet.getString("event");
+                    final ZonedDateTime bufferedAt = fromSqlTimestamp(resultSet.getTimestamp("buffered_at"));
+
+                    eventBufferEvents.add(new EventBufferEvent(
+                            streamId,
+                            position,
+                            event,
+                            source,
+                            componentName,
+                            bufferedAt
+                    ));
+
+                    expectedPosition++;
+                }
+
+                return eventBufferEvents;
+            }
+        } catch (final SQLException e) {
+            throw new EventBufferPersistenceException(format(
+                    "Failed to get consecutive events from event buffer: streamId '%s', source '%s', componentName '%s', fromPosition '%d'",
+                    streamId,
+                    source,
+                    componentName,
+                    fromPosition),
+                    e);
+        }
+    }
+
+    /**
+     * Removes all buffered events of a stream up to and including the given position
+     *
+     * @return the number of events removed
+     */
+    public int removeUpToPosition(
+            final UUID streamId,
+            final String source,
+            final String component,
+            final long position) {
+
+        try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(REMOVE_UP_TO_POSITION_SQL)) {
+
+            preparedStatement.setObject(1, streamId);
+            preparedStatement.setString(2, source);
+            preparedStatement.setString(3, component);
+            preparedStatement.setLong(4, position);
+
+            return preparedStatement.executeUpdate();
+
+        } catch (final SQLException e) {
+            throw new EventBufferPersistenceException(
+                    format("Failed to remove events from event-buffer table. streamId '%s'. source '%s', component '%s', up to position '%d'",
+                            streamId,
+                            source,
+                            component,
+                            position),
+                    e);
+        }
+    }
+
     public void remove(
             final UUID streamId,
             final String source,
@@ -6,7 +6,6 @@ import static java.util.Optional.of;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +20,9 @@ public class StreamErrorPersistence {
     @Inject
     private StreamErrorDetailsPersistence streamErrorDetailsPersistence;
 
+    @Inject
+    private StreamErrorWithHashPersistence streamErrorWithHashPersistence;
+
     public boolean save(final StreamError streamError, final Connection connection) {
 
         try {
@@ -32,6 +34,21 @@ public class StreamErrorPersistence {
         }
     }
 
+    /**
+     * Saves the StreamError in a single statement, for when the stream_error_hash row of its hash
+     * is expected to exist already. The stream_error_hash row is still upserted by the statement,
+     * as it may have been deleted by another node since it was saved
+     */
+    public boolean saveWithPersistedHash(final StreamError streamError, final Connection connection) {
+
+        try {
+            final int rowsUpdated = streamErrorWithHashPersistence.insert(streamError, connection);
+            return rowsUpdated > 0;
+        } catch (final SQLException e) {
+            throw new StreamErrorHandlingException(format("Failed to save StreamError: %s", streamError), e);
+        }
+    }
+
     public Optional<StreamError> findByErrorId(final UUID streamErrorId, final Connection connection) {
         try {
             final Optional<StreamErrorDetails> streamErrorDetailsOptional = streamErrorDetailsPersistence.findById(streamErrorId, connection);
@@ -54,21 +71,34 @@ public class StreamErrorPersistence {
 
     public List<StreamError> findAllByStreamId(final UUID streamId, final Connection connection) {
         try {
-            final List<StreamError> streamErrors = new ArrayList<>();
-            final List<StreamErrorDetails> streamErrorDetailsList = streamErrorDetailsPersistence.findByStreamId(streamId, connection);
-            for (final StreamErrorDetails streamErrorDetails : streamErrorDetailsList) {
-                final Optional<StreamErrorHash> streamErrorHashOptional = streamErrorHashPersistence.findByHash(streamErrorDetails.hash(), connection);
-                if (streamErrorHashOptional.isPresent()) {
-                    streamErrors.add(new StreamError(streamErrorDetails, streamErrorHashOptional.get()));
-                } else {
-                    throw new StreamErrorHandlingException("No stream_error found for hash '" + streamErrorDetails.hash() + "' yet hash exists in stream_error table");
-                }
-            }
+            return streamErrorWithHashPersistence.findAllByStreamId(streamId, connection);
+        } catch (final SQLException e) {
+            throw new StreamErrorHandlingException(format("Failed find List of StreamErrors by streamId: '%s'", streamId), e);
+        }
+    }
 
-            return streamErrors;
+    /**
+     * Finds a page of the errors of a source and component in stream_id order, starting after the
+     * stream id of the last error of the previous page, if any
+     */
+    public List<StreamError> findPageBySourceAndComponent(
+            final String source,
+            final String componentName,
+            final Optional<UUID> afterStreamId,
+            final int pageSize,
+            final Connection connection) {
+        try {
+            if (afterStreamId.isPresent()) {
+                return streamErrorWithHashPersistence.findNextPageBySourceAndComponent(source, componentName, afterStreamId.get(), pageSize, connection);
+            }
 
+            return streamErrorWithHashPersistence.findFirstPageBySourceAndComponent(source, componentName, pageSize, connection);
         } catch (final SQLException e) {
-            throw new StreamErrorHandlingException(format("Failed find List of StreamErrors by streamId: '%s'", streamId), e);
+            throw new StreamErrorHandlingException(format(
+                    "Failed to find page of StreamErrors. source: '%s', component: '%s', after streamId: '%s'",
+                    source,
+                    componentName,
+                    afterStreamId.orElse(null)), e);
         }
     }
 
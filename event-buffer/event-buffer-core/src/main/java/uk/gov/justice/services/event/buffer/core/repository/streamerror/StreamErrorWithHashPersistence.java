@@ -0,0 +1,209 @@
+package uk.gov.justice.services.event.buffer.core.repository.streamerror;
+
+import static uk.gov.justice.services.common.converter.ZonedDateTimes.toSqlTimestamp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.inject.Inject;
+
+/**
+ * Reads stream_error rows joined to their stream_error_hash row, so that lists of fully populated
+ * StreamErrors are read in a single query rather than one stream_error_hash query per error, and
+ * inserts a stream_error row along with its stream_error_hash row in a single statement.
+ */
+@SuppressWarnings("java:S1192")
+public class StreamErrorWithHashPersistence {
+
+    private static final String INSERT_STREAM_ERROR_WITH_HASH_SQL = """
+            WITH stream_error_hash_upsert AS (
+                INSERT INTO stream_error_hash (
+                    hash,
+                    exception_classname,
+                    cause_classname,
+                    java_classname,
+                    java_method,
+                    java_line_number
+                )
+                VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING
+            )
+            INSERT INTO stream_error (
+                id,
+                hash,
+                exception_message,
+                cause_message,
+                event_name,
+                event_id,
+                stream_id,
+                position_in_stream,
+                date_created,
+                full_stack_trace,
+                component,
+                source
+            )
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (stream_id, component, source) DO NOTHING
+            """;
+
+    private static final String SELECT_STREAM_ERROR_WITH_HASH = """
+            SELECT
+                stream_error.id,
+                stream_error.hash,
+                stream_error.exception_message,
+                stream_error.cause_message,
+                stream_error.event_name,
+                stream_error.event_id,
+                stream_error.stream_id,
+                stream_error.position_in_stream,
+                stream_error.date_created,
+                stream_error.full_stack_trace,
+                stream_error.component,
+                stream_error.source,
+                stream_error_hash.exception_classname,
+                stream_error_hash.cause_classname,
+                stream_error_hash.java_classname,
+                stream_error_hash.java_method,
+                stream_error_hash.java_line_number
+            FROM stream_error
+            LEFT OUTER JOIN stream_error_hash ON stream_error_hash.hash = stream_error.hash
+            """;
+
+    private static final String FIND_BY_STREAM_ID_SQL = SELECT_STREAM_ERROR_WITH_HASH + """
+            WHERE stream_error.stream_id = ?
+            """;
+
+    private static final String FIND_FIRST_PAGE_BY_SOURCE_AND_COMPONENT_SQL = SELECT_STREAM_ERROR_WITH_HASH + """
+            WHERE stream_error.source = ?
+            AND stream_error.component = ?
+            ORDER BY stream_error.stream_id
+            LIMIT ?
+            """;
+
+    private static final String FIND_NEXT_PAGE_BY_SOURCE_AND_COMPONENT_SQL = SELECT_STREAM_ERROR_WITH_HASH + """
+            WHERE stream_error.source = ?
+            AND stream_error.component = ?
+            AND stream_error.stream_id > ?
+            ORDER BY stream_error.stream_id
+            LIMIT ?
+            """;
+
+    @Inject
+    private StreamErrorDetailsRowMapper streamErrorDetailsRowMapper;
+
+    @Inject
+    private StreamErrorHashRowMapper streamErrorHashRowMapper;
+
+    /**
+     * Inserts the stream_error row and, if it does not exist, its stream_error_hash row in a single
+     * statement. Foreign keys are checked at the end of the statement, so the insert succeeds even
+     * if the stream_error_hash row has been deleted since it was last saved.
+     *
+     * @return the number of stream_error rows inserted, 0 if the stream already has an error
+     */
+    public int insert(final StreamError streamError, final Connection connection) throws SQLException {
+
+        final StreamErrorHash streamErrorHash = streamError.streamErrorHash();
+        final StreamErrorDetails streamErrorDetails = streamError.streamErrorDetails();
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(INSERT_STREAM_ERROR_WITH_HASH_SQL)) {
+            preparedStatement.setString(1, streamErrorHash.hash());
+            preparedStatement.setString(2, streamErrorHash.exceptionClassName());
+            preparedStatement.setString(3, streamErrorHash.causeClassName().orElse(null));
+            preparedStatement.setString(4, streamErrorHash.javaClassName());
+            preparedStatement.setString(5, streamErrorHash.javaMethod());
+            preparedStatement.setInt(6, streamErrorHash.javaLineNumber());
+            preparedStatement.setObject(7, streamErrorDetails.id());
+            preparedStatement.setString(8, streamErrorDetails.hash());
+            preparedStatement.setString(9, streamErrorDetails.exceptionMessage());
+            preparedStatement.setString(10, streamErrorDetails.causeMessage().orElse(null));
+            preparedStatement.setString(11, streamErrorDetails.eventName());
+            preparedStatement.setObject(12, streamErrorDetails.eventId());
+            preparedStatement.setObject(13, streamErrorDetails.streamId());
+            preparedStatement.setLong(14, streamErrorDetails.positionInStream());
+            preparedStatement.setTimestamp(15, toSqlTimestamp(streamErrorDetails.dateCreated()));
+            preparedStatement.setString(16, streamErrorDetails.fullStackTrace());
+            preparedStatement.setString(17, streamErrorDetails.componentName());
+            preparedStatement.setString(18, streamErrorDetails.source());
+
+            return preparedStatement.executeUpdate();
+        }
+    }
+
+    public List<StreamError> findAllByStreamId(final UUID streamId, final Connection connection) throws SQLException {
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(FIND_BY_STREAM_ID_SQL)) {
+            preparedStatement.setObject(1, streamId);
+
+            return streamErrorsFrom(preparedStatement);
+        }
+    }
+
+    /**
+     * Finds a page of the errors of a source and component, in stream_id order. There is at most
+     * one error per stream for each source and component, so the stream_id of the last error of a
+     * page is the key of the next page.
+     *
+     * @param source the source of the errored streams
+     * @param componentName the component of the errored streams
+     * @param pageSize the maximum number of errors to return
+     * @param connection the connection to the viewstore
+     * @return the errors with the lowest stream ids
+     */
+    public List<StreamError> findFirstPageBySourceAndComponent(
+            final String source,
+            final String componentName,
+            final int pageSize,
+            final Connection connection) throws SQLException {
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(FIND_FIRST_PAGE_BY_SOURCE_AND_COMPONENT_SQL)) {
+            preparedStatement.setString(1, source);
+            preparedStatement.setString(2, componentName);
+            preparedStatement.setInt(3, pageSize);
+
+            return streamErrorsFrom(preparedStatement);
+        }
+    }
+
+    /**
+     * @param afterStreamId the stream_id of the last error of the previous page
+     * @return the errors with the lowest stream ids greater than afterStreamId
+     * @see #findFirstPageBySourceAndComponent(String, String, int, Connection)
+     */
+    public List<StreamError> findNextPageBySourceAndComponent(
+            final String source,
+            final String componentName,
+            final UUID afterStreamId,
+            final int pageSize,
+            final Connection connection) throws SQLException {
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(FIND_NEXT_PAGE_BY_SOURCE_AND_COMPONENT_SQL)) {
+            preparedStatement.setString(1, source);
+            preparedStatement.setString(2, componentName);
+            preparedStatement.setObject(3, afterStreamId);
+            preparedStatement.setInt(4, pageSize);
+
+            return streamErrorsFrom(preparedStatement);
+        }
+    }
+
+    private List<StreamError> streamErrorsFrom(final PreparedStatement preparedStatement) throws SQLException {
+
+        try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+            final List<StreamError> streamErrors = new ArrayList<>();
+            while (resultSet.next()) {
+                final StreamErrorDetails streamErrorDetails = streamErrorDetailsRowMapper.mapRow(resultSet);
+                if (resultSet.getString("exception_classname") == null) {
+                    throw new StreamErrorHandlingException("No stream_error found for hash '" + streamErrorDetails.hash() + "' yet hash exists in stream_error table");
+                }
+
+                streamErrors.add(new StreamError(streamErrorDetails, streamErrorHashRowMapper.mapRow(resultSet)));
+            }
+
+            return streamErrors;
+        }
+    }
+}
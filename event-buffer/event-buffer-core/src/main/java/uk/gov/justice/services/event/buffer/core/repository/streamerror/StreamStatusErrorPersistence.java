@@ -4,6 +4,7 @@ import static java.lang.String.format;
 import static uk.gov.justice.services.common.converter.ZonedDateTimes.toSqlTimestamp;
 
 import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamStatisticConfig;
 import uk.gov.justice.services.jdbc.persistence.JdbcRepositoryException;
 
 import java.sql.Connection;
@@ -27,6 +28,22 @@ public class StreamStatusErrorPersistence {
                     AND component = ?
                 """;
 
+    private static final String UNMARK_STREAM_AS_ERRORED_WITH_STATISTIC_DELTA_SQL = """
+                    WITH updated AS (
+                        UPDATE stream_status
+                        SET stream_error_id = NULL,
+                            stream_error_position = NULL
+                        WHERE stream_id = ?
+                        AND source = ?
+                        AND component = ?
+                        AND stream_error_id IS NOT NULL
+                        RETURNING source, component
+                    )
+                    INSERT INTO stream_statistic_delta (source, component, blocked_count, unblocked_count)
+                    SELECT source, component, -1, 1
+                    FROM updated
+                """;
+
     private static final String UPDATE_STREAM_UPDATED_AT_IF_ERROR_IS_SAME = """
                 UPDATE stream_status
                 SET updated_at = ?
@@ -47,6 +64,35 @@ public class StreamStatusErrorPersistence {
                 AND component = ?
             """;
 
+    /*
+     * The sub select locks the row and returns stream_error_id as it was before the update, so
+     * that only a stream that was not already errored is counted as becoming blocked
+     */
+    private static final String UPDATE_STREAM_STATUS_ERROR_DETAILS_WITH_STATISTIC_DELTA = """
+                WITH updated AS (
+                    UPDATE stream_status
+                    SET stream_error_id = ?,
+                        stream_error_position=?,
+                        updated_at = ?
+                    FROM (
+                        SELECT stream_id, source, component, stream_error_id
+                        FROM stream_status
+                        WHERE stream_id = ?
+                        AND source = ?
+                        AND component = ?
+                        FOR NO KEY UPDATE
+                    ) previous
+                    WHERE stream_status.stream_id = previous.stream_id
+                    AND stream_status.source = previous.source
+                    AND stream_status.component = previous.component
+                    RETURNING previous.source, previous.component, previous.stream_error_id AS previous_stream_error_id
+                )
+                INSERT INTO stream_statistic_delta (source, component, blocked_count, unblocked_count)
+                SELECT source, component, 1, -1
+                FROM updated
+                WHERE previous_stream_error_id IS NULL
+            """;
+
     private static final String SELECT_FOR_UPDATE_SQL = """
             SELECT
                 position
@@ -63,6 +109,9 @@ public class StreamStatusErrorPersistence {
     @Inject
     private UtcClock clock;
 
+    @Inject
+    private StreamStatisticConfig streamStatisticConfig;
+
     public void markStreamAsErrored(
             final UUID streamId,
             final UUID streamErrorId,
@@ -71,7 +120,7 @@ public class StreamStatusErrorPersistence {
             final String source,
             final Connection connection) {
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_STREAM_STATUS_ERROR_DETAILS)) {
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(markStreamAsErroredSql())) {
 
             final Timestamp updatedAtTimestamp = toSqlTimestamp(clock.now());
 
@@ -99,7 +148,7 @@ public class StreamStatusErrorPersistence {
             final String componentName,
             final Connection connection) {
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(UNMARK_STREAM_AS_ERRORED_SQL)) {
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(unmarkStreamAsErroredSql())) {
             preparedStatement.setObject(1, streamId);
             preparedStatement.setString(2, source);
             preparedStatement.setString(3, componentName);
@@ -158,4 +207,12 @@ public class StreamStatusErrorPersistence {
             ), e);
         }
     }
+
+    private String markStreamAsErroredSql() {
+        return streamStatisticConfig.isIncrementalStreamStatisticEnabled() ? UPDATE_STREAM_STATUS_ERROR_DETAILS_WITH_STATISTIC_DELTA : UPDATE_STREAM_STATUS_ERROR_DETAILS;
+    }
+
+    private String unmarkStreamAsErroredSql() {
+        return streamStatisticConfig.isIncrementalStreamStatisticEnabled() ? UNMARK_STREAM_AS_ERRORED_WITH_STATISTIC_DELTA_SQL : UNMARK_STREAM_AS_ERRORED_SQL;
+    }
 }
@@ -6,8 +6,9 @@ import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 import static uk.gov.justice.services.common.converter.ZonedDateTimes.toSqlTimestamp;
 
-import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetailsPersistence;
-import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorHandlingException;
+import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamStatisticConfig;
+import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetails;
+import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetailsRowMapper;
 import uk.gov.justice.services.jdbc.persistence.ViewStoreJdbcDataSourceProvider;
 
 import java.sql.Connection;
@@ -40,6 +41,24 @@ public class NewStreamStatusRepository {
             ) VALUES (?, ?, ?, ?, ?, ?, ?)
             ON CONFLICT (stream_id, source, component) DO NOTHING
             """;
+    private static final String INSERT_OR_DO_NOTHING_WITH_STATISTIC_DELTA_SQL = """
+            WITH inserted AS (
+                INSERT INTO stream_status (
+                    stream_id,
+                    position,
+                    source,
+                    component,
+                    updated_at,
+                    latest_known_position,
+                    is_up_to_date
+                ) VALUES (?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (stream_id, source, component) DO NOTHING
+                RETURNING source, component, is_up_to_date
+            )
+            INSERT INTO stream_statistic_delta (source, component, total_count, unblocked_count, stale_count, fresh_count)
+            SELECT source, component, 1, 1, (NOT is_up_to_date)::int, is_up_to_date::int
+            FROM inserted
+            """;
     private static final String SELECT_SQL = """
                 SELECT
                     stream_id,
@@ -74,13 +93,101 @@ public class NewStreamStatusRepository {
                     position,
                     latest_known_position,
                     stream_error_id,
-                    updated_at
+                    updated_at,
+                    buffer_version
             FROM stream_status
             WHERE stream_id = ?
             AND source = ?
             AND component = ?
             FOR NO KEY UPDATE 
             """;
+    private static final String LOCK_AND_GET_POSITIONS_WITH_ERROR_SQL = """
+            SELECT
+                    ss.position,
+                    ss.latest_known_position,
+                    ss.stream_error_id,
+                    ss.updated_at,
+                    ss.buffer_version,
+                    se.id,
+                    se.hash,
+                    se.exception_message,
+                    se.cause_message,
+                    se.event_name,
+                    se.event_id,
+                    se.stream_id,
+                    se.position_in_stream,
+                    se.date_created,
+                    se.full_stack_trace,
+                    se.component,
+                    se.source
+            FROM stream_status ss
+            LEFT JOIN stream_error se ON se.id = ss.stream_error_id
+            WHERE ss.stream_id = ?
+            AND ss.source = ?
+            AND ss.component = ?
+            FOR NO KEY UPDATE OF ss
+            """;
+    /*
+     * A newly inserted row is returned by the insert and is already locked by it. An existing row
+     * is not visible to the insert, so is locked and returned by the select instead.
+     */
+    private static final String INSERT_IF_NOT_EXISTS_AND_LOCK_WITH_ERROR_SQL_TEMPLATE = """
+            WITH inserted AS (
+                INSERT INTO stream_status (
+                    stream_id,
+                    position,
+                    source,
+                    component,
+                    updated_at,
+                    latest_known_position,
+                    is_up_to_date
+                ) VALUES (?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (stream_id, source, component) DO NOTHING
+                RETURNING position, latest_known_position, stream_error_id, updated_at, buffer_version, source, component, is_up_to_date
+            ),%s
+            locked AS (
+                SELECT position, latest_known_position, stream_error_id, updated_at, buffer_version
+                FROM stream_status
+                WHERE stream_id = ?
+                AND source = ?
+                AND component = ?
+                FOR NO KEY UPDATE
+            ),
+            positions AS (
+                SELECT position, latest_known_position, stream_error_id, updated_at, buffer_version FROM inserted
+                UNION ALL
+                SELECT position, latest_known_position, stream_error_id, updated_at, buffer_version FROM locked
+            )
+            SELECT
+                    p.position,
+                    p.latest_known_position,
+                    p.stream_error_id,
+                    p.updated_at,
+                    p.buffer_version,
+                    se.id,
+                    se.hash,
+                    se.exception_message,
+                    se.cause_message,
+                    se.event_name,
+                    se.event_id,
+                    se.stream_id,
+                    se.position_in_stream,
+                    se.date_created,
+                    se.full_stack_trace,
+                    se.component,
+                    se.source
+            FROM positions p
+            LEFT JOIN stream_error se ON se.id = p.stream_error_id
+            """;
+    private static final String INSERTED_STREAM_STATISTIC_DELTA_CTE = """
+
+            inserted_statistic_delta AS (
+                INSERT INTO stream_statistic_delta (source, component, total_count, unblocked_count, stale_count, fresh_count)
+                SELECT source, component, 1, 1, (NOT is_up_to_date)::int, is_up_to_date::int
+                FROM inserted
+            ),""";
+    private static final String INSERT_IF_NOT_EXISTS_AND_LOCK_WITH_ERROR_SQL = INSERT_IF_NOT_EXISTS_AND_LOCK_WITH_ERROR_SQL_TEMPLATE.formatted("");
+    private static final String INSERT_IF_NOT_EXISTS_AND_LOCK_WITH_ERROR_AND_STATISTIC_DELTA_SQL = INSERT_IF_NOT_EXISTS_AND_LOCK_WITH_ERROR_SQL_TEMPLATE.formatted(INSERTED_STREAM_STATISTIC_DELTA_CTE);
     private static final String UPDATE_CURRENT_POSITION_IN_STREAM = """
                 UPDATE stream_status
                 SET position = ?
@@ -96,12 +203,61 @@ public class NewStreamStatusRepository {
                 AND source = ?
                 AND component = ?
             """;
+    /*
+     * The sub select locks the row and returns is_up_to_date as it was before the update, so that
+     * only a stream that was up to date is counted as becoming stale
+     */
+    private static final String UPDATE_LATEST_KNOWN_POSITION_IN_STREAM_WITH_STATISTIC_DELTA = """
+            WITH updated AS (
+                UPDATE stream_status
+                SET latest_known_position = ?,
+                is_up_to_date = ?
+                FROM (
+                    SELECT stream_id, source, component, is_up_to_date
+                    FROM stream_status
+                    WHERE stream_id = ?
+                    AND source = ?
+                    AND component = ?
+                    FOR NO KEY UPDATE
+                ) previous
+                WHERE stream_status.stream_id = previous.stream_id
+                AND stream_status.source = previous.source
+                AND stream_status.component = previous.component
+                RETURNING previous.source, previous.component, previous.is_up_to_date AS was_up_to_date, stream_status.is_up_to_date
+            )
+            INSERT INTO stream_statistic_delta (source, component, stale_count, fresh_count)
+            SELECT source, component, (NOT is_up_to_date)::int - (NOT was_up_to_date)::int, is_up_to_date::int - was_up_to_date::int
+            FROM updated
+            WHERE is_up_to_date <> was_up_to_date
+            """;
+    private static final String INCREMENT_BUFFER_VERSION_SQL = """
+            UPDATE stream_status
+            SET buffer_version = buffer_version + 1
+            WHERE stream_id = ?
+            AND source = ?
+            AND component = ?
+            """;
     private static final String SET_IS_UP_TO_DATE_SQL = """
             UPDATE stream_status
             SET is_up_to_date = ?
             WHERE stream_id = ?
             AND source = ?
             AND component = ?
+            AND is_up_to_date IS DISTINCT FROM ?
+            """;
+    private static final String SET_IS_UP_TO_DATE_WITH_STATISTIC_DELTA_SQL = """
+            WITH updated AS (
+                UPDATE stream_status
+                SET is_up_to_date = ?
+                WHERE stream_id = ?
+                AND source = ?
+                AND component = ?
+                AND is_up_to_date IS DISTINCT FROM ?
+                RETURNING source, component, is_up_to_date
+            )
+            INSERT INTO stream_statistic_delta (source, component, stale_count, fresh_count)
+            SELECT source, component, (NOT is_up_to_date)::int - is_up_to_date::int, is_up_to_date::int - (NOT is_up_to_date)::int
+            FROM updated
             """;
     @Inject
     private NewStreamStatusRowMapper streamStatusRowMapper;
@@ -110,7 +266,10 @@ public class NewStreamStatusRepository {
     private ViewStoreJdbcDataSourceProvider viewStoreJdbcDataSourceProvider;
 
     @Inject
-    private StreamErrorDetailsPersistence streamErrorDetailsPersistence;
+    private StreamErrorDetailsRowMapper streamErrorDetailsRowMapper;
+
+    @Inject
+    private StreamStatisticConfig streamStatisticConfig;
 
     public int insertIfNotExists(
             final UUID streamId,
@@ -122,7 +281,7 @@ public class NewStreamStatusRepository {
         final Timestamp updatedAtTimestamp = toSqlTimestamp(updatedAt);
 
         try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection();
-             final PreparedStatement preparedStatement = connection.prepareStatement(INSERT_OR_DO_NOTHING_SQL)) {
+             final PreparedStatement preparedStatement = connection.prepareStatement(insertOrDoNothingSql())) {
 
             preparedStatement.setObject(1, streamId);
             preparedStatement.setLong(2, INITIAL_POSITION_IN_STREAM);
@@ -180,6 +339,7 @@ public class NewStreamStatusRepository {
                     final long latestKnownPosition = resultSet.getLong("latest_known_position");
                     final UUID streamErrorId = resultSet.getObject("stream_error_id", UUID.class);
                     final Timestamp lastUpdatedAt = resultSet.getObject("updated_at", Timestamp.class);
+                    final long eventBufferVersion = resultSet.getLong("buffer_version");
 
                     return new StreamUpdateContext(
                             incomingEventPosition,
@@ -187,7 +347,8 @@ public class NewStreamStatusRepository {
                             latestKnownPosition,
                             lastUpdatedAt,
                             ofNullable(streamErrorId),
-                            empty()
+                            empty(),
+                            eventBufferVersion
                     );
                 }
             }
@@ -261,7 +422,7 @@ public class NewStreamStatusRepository {
     public void updateLatestKnownPositionAndIsUpToDateToFalse(final UUID streamId, final String source, final String componentName, final long latestKnownPosition) {
 
         try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection();
-             final PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_LATEST_KNOWN_POSITION_IN_STREAM)) {
+             final PreparedStatement preparedStatement = connection.prepareStatement(updateLatestKnownPositionSql())) {
 
             preparedStatement.setLong(1, latestKnownPosition);
             preparedStatement.setBoolean(2, false);
@@ -281,17 +442,48 @@ public class NewStreamStatusRepository {
         }
     }
 
-    public void setUpToDate(final boolean upToDate, final UUID streamId, final String source, final String componentName) {
+    /**
+     * Called whenever an event of the stream is added to the stream_buffer table, so that nodes
+     * caching that the event buffer of the stream is empty can tell that it may no longer be.
+     */
+    public void incrementEventBufferVersion(final UUID streamId, final String source, final String componentName) {
+
+        try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(INCREMENT_BUFFER_VERSION_SQL)) {
+
+            preparedStatement.setObject(1, streamId);
+            preparedStatement.setString(2, source);
+            preparedStatement.setString(3, componentName);
+
+            preparedStatement.executeUpdate();
+        } catch (final SQLException e) {
+            throw new StreamStatusException(format(
+                    "Failed to increment buffer_version on stream_status; stream_id '%s', source '%s', component '%s'",
+                    streamId,
+                    source,
+                    componentName),
+                    e);
+        }
+    }
+
+    /**
+     * Only updates the row if is_up_to_date would change, so that setting a stream that is already
+     * up to date as up to date does not write a new version of the row.
+     *
+     * @return the number of rows updated
+     */
+    public int setUpToDate(final boolean upToDate, final UUID streamId, final String source, final String componentName) {
 
         try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection();
-             final PreparedStatement preparedStatement = connection.prepareStatement(SET_IS_UP_TO_DATE_SQL)) {
+             final PreparedStatement preparedStatement = connection.prepareStatement(setIsUpToDateSql())) {
 
             preparedStatement.setBoolean(1, upToDate);
             preparedStatement.setObject(2, streamId);
             preparedStatement.setString(3, source);
             preparedStatement.setString(4, componentName);
+            preparedStatement.setBoolean(5, upToDate);
 
-            preparedStatement.executeUpdate();
+            return preparedStatement.executeUpdate();
         } catch (final SQLException e) {
             throw new StreamStatusException(format(
                     "Failed to set is_up_to_date on stream_status; stream_id '%s', source '%s', component '%s'",
@@ -303,26 +495,122 @@ public class NewStreamStatusRepository {
     }
 
     public StreamUpdateContext lockStreamAndGetStreamUpdateContextWithError(final UUID streamId, final String source, final String componentName, final long incomingEventPosition) {
-        final StreamUpdateContext streamUpdateContext = lockStreamAndGetStreamUpdateContext(streamId, source, componentName, incomingEventPosition);
-
-        final Optional<UUID> streamErrorId = streamUpdateContext.streamErrorId();
-        if (streamErrorId.isPresent()) {
-            try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection()) {
-                return streamErrorDetailsPersistence.findById(streamErrorId.get(), connection)
-                        .map(streamErrorDetails -> new StreamUpdateContext(
-                                streamUpdateContext.incomingEventPosition(),
-                                streamUpdateContext.currentStreamPosition(),
-                                streamUpdateContext.latestKnownStreamPosition(),
-                                streamUpdateContext.lastUpdatedAt(),
-                                streamErrorId,
-                                of(streamErrorDetails)
-                        )).orElse(streamUpdateContext);
-
-            } catch (final SQLException e) {
-                throw new StreamErrorHandlingException(format("Failed find StreamError by streamErrorId: '%s'", streamErrorId.get()), e);
+
+        try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(LOCK_AND_GET_POSITIONS_WITH_ERROR_SQL)) {
+
+            preparedStatement.setObject(1, streamId);
+            preparedStatement.setString(2, source);
+            preparedStatement.setString(3, componentName);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    return streamUpdateContextWithErrorFrom(resultSet, incomingEventPosition);
+                }
             }
-        } else {
-            return streamUpdateContext;
+
+            throw new StreamStatusLockingException(format(
+                    "Failed to select for update from stream_status table; No stream not found with stream_id '%s', source '%s', component '%s",
+                    streamId,
+                    source,
+                    componentName));
+
+        } catch (final SQLException e) {
+            throw new StreamStatusLockingException(format(
+                    "Failed to select for update from stream_status table; stream_id '%s', source '%s', component '%s",
+                    streamId,
+                    source,
+                    componentName),
+                    e);
         }
     }
+
+    /**
+     * Inserts the stream_status row if it does not exist, locks it and gets its positions and any
+     * stream_error details in a single statement.
+     */
+    public StreamUpdateContext insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
+            final UUID streamId,
+            final String source,
+            final String componentName,
+            final ZonedDateTime updatedAt,
+            final boolean isUpToDate,
+            final long incomingEventPosition) {
+
+        try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(insertIfNotExistsAndLockWithErrorSql())) {
+
+            preparedStatement.setObject(1, streamId);
+            preparedStatement.setLong(2, INITIAL_POSITION_IN_STREAM);
+            preparedStatement.setString(3, source);
+            preparedStatement.setString(4, componentName);
+            preparedStatement.setTimestamp(5, toSqlTimestamp(updatedAt));
+            preparedStatement.setLong(6, INITIAL_POSITION_IN_STREAM);
+            preparedStatement.setBoolean(7, isUpToDate);
+            preparedStatement.setObject(8, streamId);
+            preparedStatement.setString(9, source);
+            preparedStatement.setString(10, componentName);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    return streamUpdateContextWithErrorFrom(resultSet, incomingEventPosition);
+                }
+            }
+
+        } catch (final SQLException e) {
+            throw new StreamStatusLockingException(format(
+                    "Failed to insert or select for update from stream_status table; stream_id '%s', source '%s', component '%s",
+                    streamId,
+                    source,
+                    componentName),
+                    e);
+        }
+
+        // the row was inserted by a concurrent transaction that committed after this statement
+        // started, so is visible to neither the insert nor the select
+        return lockStreamAndGetStreamUpdateContextWithError(streamId, source, componentName, incomingEventPosition);
+    }
+
+    private StreamUpdateContext streamUpdateContextWithErrorFrom(final ResultSet resultSet, final long incomingEventPosition) throws SQLException {
+
+        final long currentStreamPosition = resultSet.getLong("position");
+        final long latestKnownPosition = resultSet.getLong("latest_known_position");
+        final UUID streamErrorId = resultSet.getObject("stream_error_id", UUID.class);
+        final Timestamp lastUpdatedAt = resultSet.getObject("updated_at", Timestamp.class);
+        final long eventBufferVersion = resultSet.getLong("buffer_version");
+
+        final Optional<StreamErrorDetails> streamErrorDetails = resultSet.getObject("id", UUID.class) == null ?
+                empty() :
+                of(streamErrorDetailsRowMapper.mapRow(resultSet));
+
+        return new StreamUpdateContext(
+                incomingEventPosition,
+                currentStreamPosition,
+                latestKnownPosition,
+                lastUpdatedAt,
+                ofNullable(streamErrorId),
+                streamErrorDetails,
+                eventBufferVersion
+        );
+    }
+
+    /*
+     * When incremental stream statistics are enabled, the statements that change the counts of
+     * stream_statistic also record the change as a row in stream_statistic_delta
+     */
+    private String insertOrDoNothingSql() {
+        return streamStatisticConfig.isIncrementalStreamStatisticEnabled() ? INSERT_OR_DO_NOTHING_WITH_STATISTIC_DELTA_SQL : INSERT_OR_DO_NOTHING_SQL;
+    }
+
+    private String insertIfNotExistsAndLockWithErrorSql() {
+        return streamStatisticConfig.isIncrementalStreamStatisticEnabled() ? INSERT_IF_NOT_EXISTS_AND_LOCK_WITH_ERROR_AND_STATISTIC_DELTA_SQL : INSERT_IF_NOT_EXISTS_AND_LOCK_WITH_ERROR_SQL;
+    }
+
+    private String updateLatestKnownPositionSql() {
+        return streamStatisticConfig.isIncrementalStreamStatisticEnabled() ? UPDATE_LATEST_KNOWN_POSITION_IN_STREAM_WITH_STATISTIC_DELTA : UPDATE_LATEST_KNOWN_POSITION_IN_STREAM;
+    }
+
+    private String setIsUpToDateSql() {
+        return streamStatisticConfig.isIncrementalStreamStatisticEnabled() ? SET_IS_UP_TO_DATE_WITH_STATISTIC_DELTA_SQL : SET_IS_UP_TO_DATE_SQL;
+    }
 }
@@ -12,5 +12,6 @@ public record StreamUpdateContext(
         long latestKnownStreamPosition,
         Timestamp lastUpdatedAt,
         Optional<UUID> streamErrorId,
-        Optional<StreamErrorDetails> existingStreamErrorDetails) {
+        Optional<StreamErrorDetails> existingStreamErrorDetails,
+        long eventBufferVersion) {
 }
@@ -0,0 +1,26 @@
+package uk.gov.justice.services.event.buffer.core.service;
+
+import uk.gov.justice.services.event.buffer.api.EventBufferService;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * An {@link EventBufferService} that can also take a batch of consecutive events of a single
+ * stream. Unless overridden, the events of the batch are passed to
+ * {@link #currentOrderedEventsWith(JsonEnvelope, String)} one at a time.
+ */
+public interface BatchEventBufferService extends EventBufferService {
+
+    /**
+     * Takes consecutive incoming events of a single stream and returns a stream of json envelopes
+     * ordered in the same way as {@link #currentOrderedEventsWith(JsonEnvelope, String)}
+     *
+     * @return stream of consecutive events
+     */
+    default Stream<JsonEnvelope> currentOrderedEventsWith(final List<JsonEnvelope> incomingEvents, final String component) {
+        return incomingEvents.stream()
+                .flatMap(incomingEvent -> currentOrderedEventsWith(incomingEvent, component));
+    }
+}
@@ -5,7 +5,6 @@ import static java.util.stream.Stream.concat;
 import static java.util.stream.StreamSupport.stream;
 
 import uk.gov.justice.services.common.util.UtcClock;
-import uk.gov.justice.services.event.buffer.api.EventBufferService;
 import uk.gov.justice.services.event.buffer.core.repository.streambuffer.EventBufferEvent;
 import uk.gov.justice.services.event.buffer.core.repository.streambuffer.EventBufferJdbcRepository;
 import uk.gov.justice.services.event.buffer.core.repository.subscription.StreamStatusJdbcRepository;
@@ -15,6 +14,8 @@ import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.JsonObjectEnvelopeConverter;
 import uk.gov.justice.services.messaging.Metadata;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -28,7 +29,7 @@ import org.slf4j.Logger;
 @ApplicationScoped
 @Alternative
 @Priority(2)
-public class ConsecutiveEventBufferService implements EventBufferService {
+public class ConsecutiveEventBufferService implements BatchEventBufferService {
 
     static final long INITIAL_POSITION = 1L;
 
@@ -77,13 +78,7 @@ public class ConsecutiveEventBufferService implements EventBufferService {
                 .getPosition();
 
         if (incomingEventObsolete(incomingEventVersion, currentVersion)) {
-            logger.warn(format("Obsolete EventBuffer message: id = '%s', streamId = '%s', name = '%s', source = '%s', eventNumber = %s, component = '%s'",
-                    metadata.id(),
-                    metadata.streamId(),
-                    metadata.name(),
-                    metadata.source(),
-                    metadata.eventNumber().orElse(null),
-                    component));
+            logObsoleteEvent(metadata, component);
             return Stream.empty();
 
         } else if (incomingEventNotInOrder(incomingEventVersion, currentVersion)) {
@@ -94,10 +89,81 @@ public class ConsecutiveEventBufferService implements EventBufferService {
         } else {
             logger.trace("Message : {} version is valid sending stream to dispatcher", incomingEvent);
             streamStatusJdbcRepository.update(new Subscription(streamId, incomingEventVersion, source, component));
-            return bufferedEvents(streamId, incomingEvent, incomingEventVersion, component, source);
+            return concat(Stream.of(incomingEvent), bufferedEvents(streamId, incomingEventVersion, component, source));
         }
     }
 
+    /**
+     * Takes consecutive incoming events of a single stream and returns them as one stream of json
+     * envelopes, in the same way as {@link #currentOrderedEventsWith(JsonEnvelope, String)} but
+     * reading and writing the stream_status position only once for the whole batch. Obsolete
+     * events are skipped. If an event leaves a gap in the versions then it and the events after it
+     * are passed to {@link #currentOrderedEventsWith(JsonEnvelope, String)} one at a time, after
+     * the events before the gap have been returned, so that they are buffered as usual.
+     *
+     * <p>The position is written before the events are returned, so this must be called in the
+     * transaction that processes the returned events
+     *
+     * @return stream of consecutive events
+     */
+    @Override
+    public Stream<JsonEnvelope> currentOrderedEventsWith(final List<JsonEnvelope> incomingEvents, final String component) {
+
+        if (incomingEvents.isEmpty()) {
+            return Stream.empty();
+        }
+
+        final JsonEnvelope firstIncomingEvent = incomingEvents.get(0);
+        final UUID streamId = firstIncomingEvent.metadata().streamId().orElseThrow(() -> new IllegalStateException("Event must have a a streamId "));
+        final String source = eventSourceNameCalculator.getSource(firstIncomingEvent);
+
+        streamStatusJdbcRepository.updateSource(streamId, source, component);
+        streamStatusJdbcRepository.insertOrDoNothing(new Subscription(streamId, 0L, source, component));
+        final long currentVersion = streamStatusJdbcRepository.findByStreamIdAndSource(streamId, source, component)
+                .orElseThrow(() -> new IllegalStateException("stream status cannot be empty"))
+                .getPosition();
+
+        final List<JsonEnvelope> consecutiveEvents = new ArrayList<>();
+        long latestVersion = currentVersion;
+        int index = 0;
+        while (index < incomingEvents.size()) {
+            final JsonEnvelope incomingEvent = incomingEvents.get(index);
+            final Metadata metadata = incomingEvent.metadata();
+            final UUID incomingStreamId = metadata.streamId().orElseThrow(() -> new IllegalStateException("Event must have a a streamId "));
+            if (!streamId.equals(incomingStreamId)) {
+                throw new IllegalArgumentException(format("All events in a batch must be from the same stream. Expected streamId '%s' but found '%s'", streamId, incomingStreamId));
+            }
+
+            final long incomingEventVersion = versionOf(incomingEvent);
+            if (incomingEventNotInOrder(incomingEventVersion, latestVersion)) {
+                break;
+            }
+
+            if (incomingEventObsolete(incomingEventVersion, latestVersion)) {
+                logObsoleteEvent(metadata, component);
+            } else {
+                consecutiveEvents.add(incomingEvent);
+                latestVersion = incomingEventVersion;
+            }
+
+            index++;
+        }
+
+        final List<JsonEnvelope> eventsAfterGap = incomingEvents.subList(index, incomingEvents.size());
+        final Stream<JsonEnvelope> eventsAfterGapStream = eventsAfterGap.stream()
+                .flatMap(incomingEvent -> currentOrderedEventsWith(incomingEvent, component));
+
+        if (consecutiveEvents.isEmpty()) {
+            return eventsAfterGapStream;
+        }
+
+        streamStatusJdbcRepository.update(new Subscription(streamId, latestVersion, source, component));
+
+        return concat(
+                concat(consecutiveEvents.stream(), bufferedEvents(streamId, latestVersion, component, source)),
+                eventsAfterGapStream);
+    }
+
     private long versionOf(final JsonEnvelope event) {
         final long incomingEventVersion = event.metadata().position().orElseThrow(() -> new IllegalStateException("Event must have a version"));
 
@@ -110,19 +176,28 @@ public class ConsecutiveEventBufferService implements EventBufferService {
 
     private Stream<JsonEnvelope> bufferedEvents(
             final UUID streamId,
-            final JsonEnvelope incomingEvent,
             final long incomingEventVersion,
             final String component,
             final String source) {
         final Stream<EventBufferEvent> stream = streamBufferRepository.findStreamByIdSourceAndComponent(streamId, source, component);
-        return concat(Stream.of(incomingEvent), consecutiveEventStreamFromBuffer(stream, incomingEventVersion)
+        return consecutiveEventStreamFromBuffer(stream, incomingEventVersion)
                 .peek(streamBufferEvent -> streamBufferRepository.remove(streamBufferEvent))
                 .peek(streamBufferEvent -> streamStatusJdbcRepository.update(new Subscription(
                         streamBufferEvent.getStreamId(),
                         streamBufferEvent.getPosition(),
                         source,
                         component)))
-                .map(streamBufferEvent -> jsonObjectEnvelopeConverter.asEnvelope(streamBufferEvent.getEvent())));
+                .map(streamBufferEvent -> jsonObjectEnvelopeConverter.asEnvelope(streamBufferEvent.getEvent()));
+    }
+
+    private void logObsoleteEvent(final Metadata metadata, final String component) {
+        logger.warn(format("Obsolete EventBuffer message: id = '%s', streamId = '%s', name = '%s', source = '%s', eventNumber = %s, component = '%s'",
+                metadata.id(),
+                metadata.streamId(),
+                metadata.name(),
+                metadata.source(),
+                metadata.eventNumber().orElse(null),
+                component));
     }
 
     private void addToBuffer(
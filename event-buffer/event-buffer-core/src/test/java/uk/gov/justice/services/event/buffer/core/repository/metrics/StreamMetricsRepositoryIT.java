@@ -1,18 +1,36 @@
 package uk.gov.justice.services.event.buffer.core.repository.metrics;
 
+import static java.util.Optional.empty;
+import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
 
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetails;
+import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetailsPersistence;
+import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetailsRowMapper;
+import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorHash;
+import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorHashPersistence;
+import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamStatusErrorPersistence;
+import uk.gov.justice.services.event.buffer.core.repository.subscription.NewStreamStatusRepository;
 import uk.gov.justice.services.jdbc.persistence.ViewStoreJdbcDataSourceProvider;
 import uk.gov.justice.services.test.utils.persistence.DatabaseCleaner;
 import uk.gov.justice.services.test.utils.persistence.TestJdbcDataSourceProvider;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Optional;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
 
 import javax.sql.DataSource;
 
@@ -22,6 +40,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
 
 @ExtendWith(MockitoExtension.class)
 public class StreamMetricsRepositoryIT {
@@ -29,6 +48,12 @@ public class StreamMetricsRepositoryIT {
     @Mock
     private ViewStoreJdbcDataSourceProvider viewStoreJdbcDataSourceProvider;
 
+    @Mock
+    private StreamStatisticConfig streamStatisticConfig;
+
+    @Mock
+    private Logger logger;
+
     @InjectMocks
     private StreamMetricsRepository streamMetricsRepository;
 
@@ -36,49 +61,206 @@ public class StreamMetricsRepositoryIT {
 
     @BeforeEach
     public void cleanTables() {
-        databaseCleaner.cleanViewStoreTables("framework", "stream_statistic");
+        databaseCleaner.cleanViewStoreTables("framework", "stream_statistic", "stream_statistic_delta", "stream_status", "stream_error", "stream_error_hash");
     }
 
     @Test
-    public void shouldGetMetricsBySourceAndComponent() throws Exception {
+    public void shouldFindTheMetricsOfAllSourcesAndComponents() throws Exception {
 
         final DataSource viewStoreDataSource = new TestJdbcDataSourceProvider().getViewStoreDataSource("framework");
         when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
 
+        insertData(viewStoreDataSource, "source_1", "component_1", 23, 876, 234, 24, 2525);
+        insertData(viewStoreDataSource, "source_2", "component_2", 1, 2, 3, 4, 5);
+
+        final List<StreamMetrics> allStreamMetrics = streamMetricsRepository.findAllStreamMetrics();
+
+        assertThat(allStreamMetrics.size(), is(2));
+        assertThat(allStreamMetrics.contains(new StreamMetrics("source_1", "component_1", 23, 2525, 24, 876, 234)), is(true));
+        assertThat(allStreamMetrics.contains(new StreamMetrics("source_2", "component_2", 1, 5, 4, 2, 3)), is(true));
+    }
+
+    @Test
+    public void shouldRecordDeltasThatSumToTheCountsOfStreamStatusWhenIncrementalStreamStatisticIsEnabled() throws Exception {
+
+        final DataSource viewStoreDataSource = new TestJdbcDataSourceProvider().getViewStoreDataSource("framework");
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+        when(streamStatisticConfig.isIncrementalStreamStatisticEnabled()).thenReturn(true);
+
         final String source = "some-source";
         final String component = "some-component";
-        final int totalCount = 23;
-        final int blockedCount = 876;
-        final int unblockedCount = 234;
-        final int staleCount = 24;
-        final int freshCount = 2525;
-
-        insertData(
-                viewStoreDataSource,
-                source,
+        final UUID streamId_1 = randomUUID();
+        final UUID streamId_2 = randomUUID();
+        final UUID streamId_3 = randomUUID();
+        final UUID streamId_4 = randomUUID();
+        final ZonedDateTime updatedAt = new UtcClock().now();
+
+        final NewStreamStatusRepository newStreamStatusRepository = new NewStreamStatusRepository();
+        setField(newStreamStatusRepository, "viewStoreJdbcDataSourceProvider", viewStoreJdbcDataSourceProvider);
+        setField(newStreamStatusRepository, "streamErrorDetailsRowMapper", new StreamErrorDetailsRowMapper());
+        setField(newStreamStatusRepository, "streamStatisticConfig", streamStatisticConfig);
+
+        final StreamStatusErrorPersistence streamStatusErrorPersistence = new StreamStatusErrorPersistence();
+        setField(streamStatusErrorPersistence, "clock", new UtcClock());
+        setField(streamStatusErrorPersistence, "streamStatisticConfig", streamStatisticConfig);
+
+        newStreamStatusRepository.insertIfNotExists(streamId_1, source, component, updatedAt, false);
+        newStreamStatusRepository.insertIfNotExists(streamId_2, source, component, updatedAt, true);
+        newStreamStatusRepository.insertIfNotExists(streamId_3, source, component, updatedAt, false);
+        newStreamStatusRepository.insertIfNotExists(streamId_3, source, component, updatedAt, false);
+        newStreamStatusRepository.insertIfNotExists(streamId_1, source, "some-other-component", updatedAt, false);
+
+        newStreamStatusRepository.setUpToDate(true, streamId_1, source, component);
+        newStreamStatusRepository.setUpToDate(true, streamId_1, source, component);
+        newStreamStatusRepository.updateLatestKnownPositionAndIsUpToDateToFalse(streamId_2, source, component, 23L);
+        newStreamStatusRepository.updateLatestKnownPositionAndIsUpToDateToFalse(streamId_3, source, component, 23L);
+        newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(streamId_4, source, component, updatedAt, true, 1L);
+        newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(streamId_1, source, component, updatedAt, false, 1L);
+
+        final UUID streamErrorId_1 = insertStreamError(viewStoreDataSource, streamId_1, source, component);
+        final UUID streamErrorId_3 = insertStreamError(viewStoreDataSource, streamId_3, source, component);
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            streamStatusErrorPersistence.markStreamAsErrored(streamId_1, streamErrorId_1, 1L, component, source, connection);
+            streamStatusErrorPersistence.markStreamAsErrored(streamId_3, streamErrorId_3, 1L, component, source, connection);
+            streamStatusErrorPersistence.markStreamAsErrored(streamId_3, streamErrorId_3, 1L, component, source, connection);
+            streamStatusErrorPersistence.unmarkStreamStatusAsErrored(streamId_1, source, component, connection);
+            streamStatusErrorPersistence.unmarkStreamStatusAsErrored(streamId_1, source, component, connection);
+        }
+
+        final String sumOfDeltasSql = """
+                SELECT
+                    SUM(total_count) AS total_count,
+                    SUM(blocked_count) AS blocked_count,
+                    SUM(unblocked_count) AS unblocked_count,
+                    SUM(stale_count) AS stale_count,
+                    SUM(fresh_count) AS fresh_count
+                FROM stream_statistic_delta
+                WHERE source = ?
+                AND component = ?
+                """;
+
+        try (final Connection connection = viewStoreDataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(sumOfDeltasSql)) {
+            preparedStatement.setString(1, source);
+            preparedStatement.setString(2, component);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                assertThat(resultSet.next(), is(true));
+                assertThat(resultSet.getLong("total_count"), is(4L));
+                assertThat(resultSet.getLong("blocked_count"), is(1L));
+                assertThat(resultSet.getLong("unblocked_count"), is(3L));
+                assertThat(resultSet.getLong("stale_count"), is(2L));
+                assertThat(resultSet.getLong("fresh_count"), is(2L));
+            }
+        }
+    }
+
+    @Test
+    public void shouldLeaveTheDeltasToBeAppliedLaterIfStreamStatisticIsLockedByAnotherNode() throws Exception {
+
+        final DataSource viewStoreDataSource = new TestJdbcDataSourceProvider().getViewStoreDataSource("framework");
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+
+        insertData(viewStoreDataSource, "some-source", "some-component", 1, 0, 1, 1, 0);
+
+        final String insertDeltaSql = """
+                INSERT INTO stream_statistic_delta (source, component, total_count, unblocked_count, stale_count)
+                VALUES ('some-source', 'some-component', 1, 1, 1)
+                """;
+        try (final Connection connection = viewStoreDataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute(insertDeltaSql);
+        }
+
+        try (final Connection lockingConnection = viewStoreDataSource.getConnection()) {
+            lockingConnection.setAutoCommit(false);
+            try (final Statement statement = lockingConnection.createStatement()) {
+                statement.execute("LOCK TABLE stream_statistic IN EXCLUSIVE MODE");
+            }
+
+            assertThat(streamMetricsRepository.applyStreamStatisticDeltas(), is(false));
+
+            lockingConnection.rollback();
+        }
+
+        verify(logger).info(eq("Failed to acquire the lock for stream statistics"), any(SQLException.class));
+        assertThat(streamMetricsRepository.findAllStreamMetrics(), is(List.of(new StreamMetrics("some-source", "some-component", 1, 0, 1, 0, 1))));
+
+        assertThat(streamMetricsRepository.applyStreamStatisticDeltas(), is(true));
+
+        assertThat(streamMetricsRepository.findAllStreamMetrics(), is(List.of(new StreamMetrics("some-source", "some-component", 2, 0, 2, 0, 2))));
+    }
+
+    @Test
+    public void shouldNotMoveTheTimeOfTheLastFullCalculationForwardWhenApplyingDeltasForANewSourceAndComponent() throws Exception {
+
+        final DataSource viewStoreDataSource = new TestJdbcDataSourceProvider().getViewStoreDataSource("framework");
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+
+        final Timestamp lastCalculatedAt = Timestamp.valueOf("2024-01-01 12:00:00");
+
+        insertData(viewStoreDataSource, "some-source", "some-component", 1, 0, 1, 1, 0);
+
+        final String setUpdatedAtSql = "UPDATE stream_statistic SET updated_at = ?";
+        final String insertDeltaSql = """
+                INSERT INTO stream_statistic_delta (source, component, total_count, unblocked_count, stale_count)
+                VALUES ('some-source', 'some-other-component', 1, 1, 1)
+                """;
+        try (final Connection connection = viewStoreDataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(setUpdatedAtSql);
+             final Statement statement = connection.createStatement()) {
+            preparedStatement.setTimestamp(1, lastCalculatedAt);
+            preparedStatement.executeUpdate();
+            statement.execute(insertDeltaSql);
+        }
+
+        assertThat(streamMetricsRepository.applyStreamStatisticDeltas(), is(true));
+
+        final List<StreamMetrics> allStreamMetrics = streamMetricsRepository.findAllStreamMetrics();
+        assertThat(allStreamMetrics.size(), is(2));
+        assertThat(allStreamMetrics.contains(new StreamMetrics("some-source", "some-other-component", 1, 0, 1, 0, 1)), is(true));
+
+        try (final Connection connection = viewStoreDataSource.getConnection();
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery("SELECT MAX(updated_at) AS most_recent_updated_at FROM stream_statistic")) {
+            assertThat(resultSet.next(), is(true));
+            assertThat(resultSet.getTimestamp("most_recent_updated_at"), is(lastCalculatedAt));
+        }
+    }
+
+    private UUID insertStreamError(final DataSource viewStoreDataSource, final UUID streamId, final String source, final String component) throws SQLException {
+
+        final StreamErrorHashPersistence streamErrorHashPersistence = new StreamErrorHashPersistence();
+        final StreamErrorDetailsPersistence streamErrorDetailsPersistence = new StreamErrorDetailsPersistence();
+        final StreamErrorDetails streamErrorDetails = new StreamErrorDetails(
+                randomUUID(),
+                "some-hash",
+                "some-exception-message",
+                empty(),
+                "event-name",
+                randomUUID(),
+                streamId,
+                1L,
+                new UtcClock().now(),
+                "stack-trace",
                 component,
-                totalCount,
-                blockedCount,
-                unblockedCount,
-                staleCount,
-                freshCount);
-
-        final Optional<StreamMetrics> streamMetrics = streamMetricsRepository.getStreamMetrics(source, component);
-
-        if (streamMetrics.isPresent()) {
-            assertThat(streamMetrics.get().source(), is(source));
-            assertThat(streamMetrics.get().component(), is(component));
-            assertThat(streamMetrics.get().streamCount(), is(totalCount));
-            assertThat(streamMetrics.get().blockedStreamCount(), is(blockedCount));
-            assertThat(streamMetrics.get().unblockedStreamCount(), is(unblockedCount));
-            assertThat(streamMetrics.get().outOfDateStreamCount(), is(staleCount));
-            assertThat(streamMetrics.get().upToDateStreamCount(), is(freshCount));
-        } else {
-            fail();
+                source
+        );
+
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            streamErrorHashPersistence.upsert(new StreamErrorHash(
+                    "some-hash",
+                    "some-exception-class-name",
+                    empty(),
+                    "java-class-name",
+                    "java-method",
+                    213), connection);
+            streamErrorDetailsPersistence.insert(streamErrorDetails, connection);
         }
+
+        return streamErrorDetails.id();
     }
 
-    @SuppressWarnings("SameParameterValue")
     private void insertData(
             final DataSource viewStoreDataSource,
             final String source,
@@ -3,7 +3,6 @@ package uk.gov.justice.services.event.buffer.core.repository.metrics;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -18,7 +17,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
 import javax.sql.DataSource;
 
@@ -38,19 +37,22 @@ public class StreamMetricsRepositoryTest {
             """;
 
 
-    private static final String STREAM_METRICS_SQL = """
+    private static final String ALL_STREAM_METRICS_SQL = """
             SELECT
+                source,
+                component,
                 total_count,
                 blocked_count,
                 unblocked_count,
                 stale_count,
                 fresh_count
             FROM stream_statistic
-            WHERE source = ?
-            AND component = ?;
             """;
 
     private static final String CALCULATE_STREAM_STATISTIC = """
+                WITH discarded AS (
+                    DELETE FROM stream_statistic_delta
+                )
                 INSERT INTO stream_statistic (source, component, total_count, blocked_count, unblocked_count, stale_count, fresh_count)
                 SELECT
                         source,
@@ -71,6 +73,30 @@ public class StreamMetricsRepositoryTest {
                     updated_at = CURRENT_TIMESTAMP
             """;
 
+    private static final String APPLY_STREAM_STATISTIC_DELTAS_SQL = """
+                WITH applied AS (
+                    DELETE FROM stream_statistic_delta
+                    RETURNING source, component, total_count, blocked_count, unblocked_count, stale_count, fresh_count
+                )
+                INSERT INTO stream_statistic (source, component, total_count, blocked_count, unblocked_count, stale_count, fresh_count)
+                SELECT
+                        source,
+                        component,
+                        SUM(total_count),
+                        SUM(blocked_count),
+                        SUM(unblocked_count),
+                        SUM(stale_count),
+                        SUM(fresh_count)
+                    FROM applied
+                    GROUP BY source, component
+                ON CONFLICT (source, component) DO UPDATE SET
+                    total_count = stream_statistic.total_count + EXCLUDED.total_count,
+                    blocked_count = stream_statistic.blocked_count + EXCLUDED.blocked_count,
+                    unblocked_count = stream_statistic.unblocked_count + EXCLUDED.unblocked_count,
+                    stale_count = stream_statistic.stale_count + EXCLUDED.stale_count,
+                    fresh_count = stream_statistic.fresh_count + EXCLUDED.fresh_count
+            """;
+
     private static final String MOST_RECENT_UPDATED_AT_SQL =
             "SELECT MAX(updated_at) as most_recent_updated_at FROM stream_statistic";
 
@@ -84,15 +110,7 @@ public class StreamMetricsRepositoryTest {
     private StreamMetricsRepository streamMetricsRepository;
 
     @Test
-    public void shouldGetMetricsFromTheStreamStatusTable() throws Exception {
-
-        final String source = "some-source";
-        final String component = "some-component";
-        final int streamCount = 23;
-        final int upToDateStreamCount = 345;
-        final int outOfDateStreamCount = 9782;
-        final int blockedStreamCount = 252;
-        final int unblockedStreamCount = 727;
+    public void shouldFindTheMetricsOfAllSourcesAndComponentsInOneQuery() throws Exception {
 
         final DataSource dataSource = mock(DataSource.class);
         final Connection connection = mock(Connection.class);
@@ -101,74 +119,50 @@ public class StreamMetricsRepositoryTest {
 
         when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(dataSource);
         when(dataSource.getConnection()).thenReturn(connection);
-        when(connection.prepareStatement(STREAM_METRICS_SQL)).thenReturn(preparedStatement);
+        when(connection.prepareStatement(ALL_STREAM_METRICS_SQL)).thenReturn(preparedStatement);
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
-        when(resultSet.next()).thenReturn(true);
+        when(resultSet.next()).thenReturn(true, true, false);
 
-        when(resultSet.getInt("total_count")).thenReturn(streamCount);
-        when(resultSet.getInt("fresh_count")).thenReturn(upToDateStreamCount);
-        when(resultSet.getInt("stale_count")).thenReturn(outOfDateStreamCount);
-        when(resultSet.getInt("blocked_count")).thenReturn(blockedStreamCount);
-        when(resultSet.getInt("unblocked_count")).thenReturn(unblockedStreamCount);
-
-        final Optional<StreamMetrics> streamMetrics = streamMetricsRepository.getStreamMetrics(source, component);
-
-        if (streamMetrics.isPresent()) {
-            assertThat(streamMetrics.get().source(), is(source));
-            assertThat(streamMetrics.get().component(), is(component));
-            assertThat(streamMetrics.get().streamCount(), is(streamCount));
-            assertThat(streamMetrics.get().upToDateStreamCount(), is(upToDateStreamCount));
-            assertThat(streamMetrics.get().outOfDateStreamCount(), is(outOfDateStreamCount));
-            assertThat(streamMetrics.get().blockedStreamCount(), is(blockedStreamCount));
-            assertThat(streamMetrics.get().unblockedStreamCount(), is(unblockedStreamCount));
-        } else {
-            fail();
-        }
+        when(resultSet.getString("source")).thenReturn("source_1", "source_2");
+        when(resultSet.getString("component")).thenReturn("component_1", "component_2");
+        when(resultSet.getInt("total_count")).thenReturn(23, 24);
+        when(resultSet.getInt("fresh_count")).thenReturn(345, 346);
+        when(resultSet.getInt("stale_count")).thenReturn(9782, 9783);
+        when(resultSet.getInt("blocked_count")).thenReturn(252, 253);
+        when(resultSet.getInt("unblocked_count")).thenReturn(727, 728);
+
+        final List<StreamMetrics> allStreamMetrics = streamMetricsRepository.findAllStreamMetrics();
+
+        assertThat(allStreamMetrics.size(), is(2));
+        assertThat(allStreamMetrics.get(0), is(new StreamMetrics("source_1", "component_1", 23, 345, 9782, 252, 727)));
+        assertThat(allStreamMetrics.get(1), is(new StreamMetrics("source_2", "component_2", 24, 346, 9783, 253, 728)));
 
         final InOrder inOrder = inOrder(resultSet, preparedStatement, connection);
-        inOrder.verify(preparedStatement).setString(1, source);
-        inOrder.verify(preparedStatement).setString(2, component);
         inOrder.verify(resultSet).close();
         inOrder.verify(preparedStatement).close();
         inOrder.verify(connection).close();
     }
 
     @Test
-    public void shouldThrowMetricsJdbcExceptionIfDatabaseAccessFails() throws Exception {
+    public void shouldThrowMetricsJdbcExceptionIfFindingAllMetricsFails() throws Exception {
 
         final SQLException sqlException = new SQLException("Ooops");
-        final String source = "some-source";
-        final String component = "some-component";
-        final int streamCount = 23;
-        final int upToDateStreamCount = 345;
-        final int outOfDateStreamCount = 9782;
-        final int blockedStreamCount = 252;
 
         final DataSource dataSource = mock(DataSource.class);
         final Connection connection = mock(Connection.class);
-        final PreparedStatement preparedStatement = mock(PreparedStatement.class);
-        final ResultSet resultSet = mock(ResultSet.class);
 
         when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(dataSource);
         when(dataSource.getConnection()).thenReturn(connection);
-        when(connection.prepareStatement(STREAM_METRICS_SQL)).thenReturn(preparedStatement);
-        when(preparedStatement.executeQuery()).thenReturn(resultSet);
-        when(resultSet.next()).thenReturn(true);
-
-        when(resultSet.getInt("total_count")).thenReturn(streamCount);
-        when(resultSet.getInt("fresh_count")).thenReturn(upToDateStreamCount);
-        when(resultSet.getInt("stale_count")).thenReturn(outOfDateStreamCount);
-        when(resultSet.getInt("blocked_count")).thenReturn(blockedStreamCount);
-        when(resultSet.getInt("unblocked_count")).thenThrow(sqlException);
+        when(connection.prepareStatement(ALL_STREAM_METRICS_SQL)).thenThrow(sqlException);
 
         final MetricsJdbcException metricsJdbcException = assertThrows(
                 MetricsJdbcException.class,
-                () -> streamMetricsRepository.getStreamMetrics(source, component));
+                () -> streamMetricsRepository.findAllStreamMetrics());
 
         assertThat(metricsJdbcException.getCause(), is(sqlException));
-        assertThat(metricsJdbcException.getMessage(), is("Failed to get metrics from stream_status table"));
+        assertThat(metricsJdbcException.getMessage(), is("Failed to get all metrics from stream_statistic table"));
 
-        verify(resultSet).close();
+        verify(connection).close();
     }
 
     @Test
@@ -318,4 +312,78 @@ public class StreamMetricsRepositoryTest {
 
         verify(connection).close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldApplyStreamStatisticDeltasOnceStreamStatisticIsLocked() throws Exception {
+
+        final DataSource dataSource = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        final PreparedStatement streamStatisticsLockStatement = mock(PreparedStatement.class);
+        final PreparedStatement applyDeltasStatement = mock(PreparedStatement.class);
+
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(LOCK_TABLE_STREAM_STATISTIC_IN_EXCLUSIVE_MODE_NOWAIT)).thenReturn(streamStatisticsLockStatement);
+        when(connection.prepareStatement(APPLY_STREAM_STATISTIC_DELTAS_SQL)).thenReturn(applyDeltasStatement);
+
+        // run
+        assertThat(streamMetricsRepository.applyStreamStatisticDeltas(), is(true));
+
+        // verify
+        final InOrder inOrder = inOrder(streamStatisticsLockStatement, applyDeltasStatement, connection);
+        inOrder.verify(streamStatisticsLockStatement).executeUpdate();
+        inOrder.verify(applyDeltasStatement).executeUpdate();
+        inOrder.verify(applyDeltasStatement).close();
+        inOrder.verify(connection).close();
+    }
+
+    @Test
+    public void shouldNotApplyStreamStatisticDeltasIfLockingStreamStatisticTableFails() throws Exception {
+
+        final SQLException sqlException = new SQLException("Some locking exception");
+
+        final DataSource dataSource = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        final PreparedStatement streamStatisticsLockStatement = mock(PreparedStatement.class);
+
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(LOCK_TABLE_STREAM_STATISTIC_IN_EXCLUSIVE_MODE_NOWAIT)).thenReturn(streamStatisticsLockStatement);
+        when(streamStatisticsLockStatement.executeUpdate()).thenThrow(sqlException);
+
+        // run
+        assertThat(streamMetricsRepository.applyStreamStatisticDeltas(), is(false));
+
+        // verify
+        verify(logger).info("Failed to acquire the lock for stream statistics", sqlException);
+        verify(connection, never()).prepareStatement(APPLY_STREAM_STATISTIC_DELTAS_SQL);
+        verify(connection).close();
+    }
+
+    @Test
+    public void shouldThrowMetricsJdbcExceptionIfApplyingStreamStatisticDeltasFails() throws Exception {
+
+        final SQLException sqlException = new SQLException("Ooops");
+
+        final DataSource dataSource = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        final PreparedStatement streamStatisticsLockStatement = mock(PreparedStatement.class);
+        final PreparedStatement applyDeltasStatement = mock(PreparedStatement.class);
+
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(LOCK_TABLE_STREAM_STATISTIC_IN_EXCLUSIVE_MODE_NOWAIT)).thenReturn(streamStatisticsLockStatement);
+        when(connection.prepareStatement(APPLY_STREAM_STATISTIC_DELTAS_SQL)).thenReturn(applyDeltasStatement);
+        when(applyDeltasStatement.executeUpdate()).thenThrow(sqlException);
+
+        // run
+        final MetricsJdbcException metricsJdbcException = assertThrows(MetricsJdbcException.class,
+                () -> streamMetricsRepository.applyStreamStatisticDeltas());
+
+        // verify
+        assertThat(metricsJdbcException.getCause(), is(sqlException));
+        assertThat(metricsJdbcException.getMessage(), is("Failed to apply deltas to stream_statistic table"));
+
+        verify(connection).close();
+    }
+}
@@ -0,0 +1,60 @@
+package uk.gov.justice.services.event.buffer.core.repository.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import uk.gov.justice.services.metrics.micrometer.config.MetricsConfiguration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class StreamStatisticConfigTest {
+
+    @Mock
+    private MetricsConfiguration metricsConfiguration;
+
+    @InjectMocks
+    private StreamStatisticConfig streamStatisticConfig;
+
+    @Test
+    public void shouldEnableIncrementalStreamStatisticsIfMicrometerMetricsAreEnabled() throws Exception {
+
+        setField(streamStatisticConfig, "incrementalStreamStatisticEnabled", "true");
+        when(metricsConfiguration.micrometerMetricsEnabled()).thenReturn(true);
+
+        assertThat(streamStatisticConfig.isIncrementalStreamStatisticEnabled(), is(true));
+    }
+
+    @Test
+    public void shouldDisableIncrementalStreamStatisticsIfMicrometerMetricsAreDisabled() throws Exception {
+
+        setField(streamStatisticConfig, "incrementalStreamStatisticEnabled", "true");
+        when(metricsConfiguration.micrometerMetricsEnabled()).thenReturn(false);
+
+        assertThat(streamStatisticConfig.isIncrementalStreamStatisticEnabled(), is(false));
+    }
+
+    @Test
+    public void shouldDisableIncrementalStreamStatisticsIfNotConfigured() throws Exception {
+
+        setField(streamStatisticConfig, "incrementalStreamStatisticEnabled", "false");
+
+        assertThat(streamStatisticConfig.isIncrementalStreamStatisticEnabled(), is(false));
+        verifyNoInteractions(metricsConfiguration);
+    }
+
+    @Test
+    public void shouldGetTheReconciliationInterval() throws Exception {
+
+        setField(streamStatisticConfig, "reconciliationIntervalMilliseconds", "3600000");
+
+        assertThat(streamStatisticConfig.getReconciliationIntervalMilliseconds(), is(3600000L));
+    }
+}
@@ -13,6 +13,7 @@ import uk.gov.justice.services.test.utils.persistence.DatabaseCleaner;
 import uk.gov.justice.services.test.utils.persistence.TestJdbcDataSourceProvider;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import javax.sql.DataSource;
@@ -135,4 +136,37 @@ public class NewEventBufferRepositoryIT {
 
         assertThat(newEventBufferRepository.findByPositionAndStream(streamId, eventBufferEvent.getPosition(), source, component), is(of(eventBufferEvent)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldFindConsecutiveRunOfEventsAndRemoveUpToPosition() throws Exception {
+
+        final ZonedDateTime now = new UtcClock().now();
+        final DataSource viewStoreDataSource = new TestJdbcDataSourceProvider().getViewStoreDataSource("framework");
+
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+
+        final UUID streamId = randomUUID();
+        final String source = "some-source";
+        final String component = "some-component";
+
+        final EventBufferEvent eventBufferEvent_2 = new EventBufferEvent(streamId, 2L, "some-event-json-2", source, component, now);
+        final EventBufferEvent eventBufferEvent_3 = new EventBufferEvent(streamId, 3L, "some-event-json-3", source, component, now);
+        final EventBufferEvent eventBufferEvent_4 = new EventBufferEvent(streamId, 4L, "some-event-json-4", source, component, now);
+        final EventBufferEvent eventBufferEvent_6 = new EventBufferEvent(streamId, 6L, "some-event-json-6", source, component, now);
+
+        newEventBufferRepository.insert(eventBufferEvent_6);
+        newEventBufferRepository.insert(eventBufferEvent_4);
+        newEventBufferRepository.insert(eventBufferEvent_2);
+        newEventBufferRepository.insert(eventBufferEvent_3);
+
+        assertThat(newEventBufferRepository.findConsecutiveFromPosition(streamId, 1L, source, component, 100), is(List.of()));
+        assertThat(newEventBufferRepository.findConsecutiveFromPosition(streamId, 2L, source, component, 100), is(List.of(eventBufferEvent_2, eventBufferEvent_3, eventBufferEvent_4)));
+        assertThat(newEventBufferRepository.findConsecutiveFromPosition(streamId, 2L, source, component, 2), is(List.of(eventBufferEvent_2, eventBufferEvent_3)));
+        assertThat(newEventBufferRepository.findConsecutiveFromPosition(streamId, 6L, source, component, 100), is(List.of(eventBufferEvent_6)));
+
+        assertThat(newEventBufferRepository.removeUpToPosition(streamId, source, component, 4L), is(3));
+
+        assertThat(newEventBufferRepository.findConsecutiveFromPosition(streamId, 2L, source, component, 100), is(List.of()));
+        assertThat(newEventBufferRepository.findByPositionAndStream(streamId, 6L, source, component), is(of(eventBufferEvent_6)));
+    }
+}
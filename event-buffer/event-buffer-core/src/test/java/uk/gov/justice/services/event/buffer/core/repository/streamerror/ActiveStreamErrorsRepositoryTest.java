@@ -33,23 +33,18 @@ public class ActiveStreamErrorsRepositoryTest {
 
     private static final String SELECT_ACTIVE_ERRORS_SQL = """
             SELECT
-                hash,
-                exception_classname,
-                cause_classname,
-                java_classname,
-                java_method,
-                java_line_number,
-            (
-                SELECT COUNT(DISTINCT stream_error.stream_id)
-                FROM stream_error
-                WHERE stream_error.hash = stream_error_hash.hash
-            ) AS affected_stream_count,
-            (
-                SELECT SUM(stream_status.latest_known_position - stream_status.stream_error_position)
-                FROM stream_status, stream_error
-                WHERE stream_error.hash = stream_error_hash.hash and stream_error.id = stream_status.stream_error_id
-            ) AS affected_event_count
-            FROM stream_error_hash;
+                stream_error_hash.hash,
+                stream_error_hash.exception_classname,
+                stream_error_hash.cause_classname,
+                stream_error_hash.java_classname,
+                stream_error_hash.java_method,
+                stream_error_hash.java_line_number,
+                COUNT(DISTINCT stream_error.stream_id) AS affected_stream_count,
+                SUM(stream_status.latest_known_position - stream_status.stream_error_position) AS affected_event_count
+            FROM stream_error_hash
+            LEFT OUTER JOIN stream_error ON stream_error.hash = stream_error_hash.hash
+            LEFT OUTER JOIN stream_status ON stream_status.stream_error_id = stream_error.id
+            GROUP BY stream_error_hash.hash;
             """;
 
     @InjectMocks
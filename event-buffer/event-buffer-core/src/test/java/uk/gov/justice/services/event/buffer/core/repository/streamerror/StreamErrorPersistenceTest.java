@@ -7,6 +7,8 @@ import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
@@ -36,6 +38,9 @@ public class StreamErrorPersistenceTest {
     @Mock
     private StreamErrorDetailsPersistence streamErrorDetailsPersistence;
 
+    @Mock
+    private StreamErrorWithHashPersistence streamErrorWithHashPersistence;
+
     @InjectMocks
     private StreamErrorPersistence streamErrorPersistence;
 
@@ -59,6 +64,40 @@ public class StreamErrorPersistenceTest {
         verify(connection, never()).close();
     }
 
+    @Test
+    public void shouldInsertStreamErrorWithItsHashInASingleStatementWhenSavingWithPersistedHash() throws Exception {
+
+        final StreamErrorDetails streamErrorDetails = mock(StreamErrorDetails.class);
+        final StreamErrorHash streamErrorHash = mock(StreamErrorHash.class);
+        final StreamError streamError = new StreamError(streamErrorDetails, streamErrorHash);
+        final Connection connection = mock(Connection.class);
+
+        when(streamErrorWithHashPersistence.insert(streamError, connection)).thenReturn(1);
+
+        final boolean atLeastOneEventProcessed = streamErrorPersistence.saveWithPersistedHash(streamError, connection);
+        assertThat(atLeastOneEventProcessed, is(true));
+
+        verify(streamErrorHashPersistence, never()).upsert(streamErrorHash, connection);
+        verify(streamErrorDetailsPersistence, never()).insert(streamErrorDetails, connection);
+        verify(connection, never()).close();
+    }
+
+    @Test
+    public void shouldThrowStreamErrorHandlingExceptionIfSavingWithPersistedHashFails() throws Exception {
+
+        final SQLException sqlException = new SQLException("Ooops");
+        final StreamError streamError = new StreamError(mock(StreamErrorDetails.class), mock(StreamErrorHash.class));
+        final Connection connection = mock(Connection.class);
+
+        when(streamErrorWithHashPersistence.insert(streamError, connection)).thenThrow(sqlException);
+
+        final StreamErrorHandlingException streamErrorHandlingException = assertThrows(
+                StreamErrorHandlingException.class,
+                () -> streamErrorPersistence.saveWithPersistedHash(streamError, connection));
+
+        assertThat(streamErrorHandlingException.getCause(), is(sqlException));
+    }
+
     @Test
     public void shouldReturnFalseIfInsertIntoStreamErrorDoesNotUpdateAnyRows() throws Exception {
 
@@ -251,26 +290,20 @@ public class StreamErrorPersistenceTest {
     public void shouldFindAllStreamErrorsByStreamId() throws Exception {
 
         final UUID streamId = randomUUID();
-        final String hash = "some-hash";
 
-        final StreamErrorDetails streamErrorDetails_1 = mock(StreamErrorDetails.class);
-        final StreamErrorDetails streamErrorDetails_2 = mock(StreamErrorDetails.class);
-        final StreamErrorHash streamErrorHash = mock(StreamErrorHash.class);
+        final StreamError streamError_1 = mock(StreamError.class);
+        final StreamError streamError_2 = mock(StreamError.class);
         final Connection connection = mock(Connection.class);
 
-        when(streamErrorDetailsPersistence.findByStreamId(streamId, connection)).thenReturn(List.of(streamErrorDetails_1, streamErrorDetails_2));
-
-        when(streamErrorDetails_1.hash()).thenReturn(hash);
-        when(streamErrorDetails_2.hash()).thenReturn(hash);
-        when(streamErrorHashPersistence.findByHash(hash, connection)).thenReturn(of(streamErrorHash));
+        when(streamErrorWithHashPersistence.findAllByStreamId(streamId, connection)).thenReturn(List.of(streamError_1, streamError_2));
 
         final List<StreamError> streamErrors = streamErrorPersistence.findAllByStreamId(streamId, connection);
 
         assertThat(streamErrors.size(), is(2));
-        assertThat(streamErrors.get(0).streamErrorDetails(), is(streamErrorDetails_1));
-        assertThat(streamErrors.get(0).streamErrorHash(), is(streamErrorHash));
-        assertThat(streamErrors.get(1).streamErrorDetails(), is(streamErrorDetails_2));
-        assertThat(streamErrors.get(1).streamErrorHash(), is(streamErrorHash));
+        assertThat(streamErrors.get(0), is(streamError_1));
+        assertThat(streamErrors.get(1), is(streamError_2));
+
+        verify(streamErrorHashPersistence, never()).findByHash(anyString(), eq(connection));
         verify(connection, never()).close();
     }
 
@@ -282,7 +315,7 @@ public class StreamErrorPersistenceTest {
 
         final Connection connection = mock(Connection.class);
 
-        when(streamErrorDetailsPersistence.findByStreamId(streamId, connection)).thenThrow(sqlException);
+        when(streamErrorWithHashPersistence.findAllByStreamId(streamId, connection)).thenThrow(sqlException);
 
         final StreamErrorHandlingException streamErrorHandlingException = assertThrows(
                 StreamErrorHandlingException.class,
@@ -295,25 +328,64 @@ public class StreamErrorPersistenceTest {
     }
 
     @Test
-    public void shouldThrowStreamErrorHandlingExceptionIfNoMatchingStreamErrorHashFound() throws Exception {
+    public void shouldFindTheFirstPageOfStreamErrorsBySourceAndComponent() throws Exception {
 
-        final UUID streamId = randomUUID();
-        final String hash = "some-hash";
+        final String source = "some-source";
+        final String componentName = "some-component";
+        final int pageSize = 100;
+
+        final StreamError streamError = mock(StreamError.class);
+        final Connection connection = mock(Connection.class);
+
+        when(streamErrorWithHashPersistence.findFirstPageBySourceAndComponent(source, componentName, pageSize, connection)).thenReturn(List.of(streamError));
+
+        final List<StreamError> streamErrors = streamErrorPersistence.findPageBySourceAndComponent(source, componentName, empty(), pageSize, connection);
+
+        assertThat(streamErrors, is(List.of(streamError)));
+
+        verify(connection, never()).close();
+    }
+
+    @Test
+    public void shouldFindTheNextPageOfStreamErrorsBySourceAndComponent() throws Exception {
+
+        final String source = "some-source";
+        final String componentName = "some-component";
+        final UUID afterStreamId = randomUUID();
+        final int pageSize = 100;
 
-        final StreamErrorDetails streamErrorDetails_1 = mock(StreamErrorDetails.class);
+        final StreamError streamError = mock(StreamError.class);
         final Connection connection = mock(Connection.class);
 
-        when(streamErrorDetailsPersistence.findByStreamId(streamId, connection)).thenReturn(List.of(streamErrorDetails_1));
+        when(streamErrorWithHashPersistence.findNextPageBySourceAndComponent(source, componentName, afterStreamId, pageSize, connection)).thenReturn(List.of(streamError));
 
-        when(streamErrorDetails_1.hash()).thenReturn(hash);
-        when(streamErrorHashPersistence.findByHash(hash, connection)).thenReturn(empty());
+        final List<StreamError> streamErrors = streamErrorPersistence.findPageBySourceAndComponent(source, componentName, of(afterStreamId), pageSize, connection);
+
+        assertThat(streamErrors, is(List.of(streamError)));
+
+        verify(connection, never()).close();
+    }
+
+    @Test
+    public void shouldThrowStreamErrorHandlingExceptionIfFindingPageOfStreamErrorsFails() throws Exception {
+
+        final SQLException sqlException = new SQLException("Ooops");
+        final String source = "some-source";
+        final String componentName = "some-component";
+        final UUID afterStreamId = fromString("5d3dc2d5-8a34-4d3e-9e6b-dbdcc2d8ea13");
+        final int pageSize = 100;
+
+        final Connection connection = mock(Connection.class);
+
+        when(streamErrorWithHashPersistence.findNextPageBySourceAndComponent(source, componentName, afterStreamId, pageSize, connection)).thenThrow(sqlException);
 
         final StreamErrorHandlingException streamErrorHandlingException = assertThrows(
                 StreamErrorHandlingException.class,
-                () -> streamErrorPersistence.findAllByStreamId(streamId, connection));
+                () -> streamErrorPersistence.findPageBySourceAndComponent(source, componentName, of(afterStreamId), pageSize, connection));
 
-        assertThat(streamErrorHandlingException.getMessage(), is("No stream_error found for hash 'some-hash' yet hash exists in stream_error table"));
+        assertThat(streamErrorHandlingException.getCause(), is(sqlException));
+        assertThat(streamErrorHandlingException.getMessage(), is("Failed to find page of StreamErrors. source: 'some-source', component: 'some-component', after streamId: '5d3dc2d5-8a34-4d3e-9e6b-dbdcc2d8ea13'"));
 
         verify(connection, never()).close();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+package uk.gov.justice.services.event.buffer.core.repository.streamerror;
+
+import static java.util.Optional.of;
+import static java.util.UUID.fromString;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.test.utils.persistence.DatabaseCleaner;
+import uk.gov.justice.services.test.utils.persistence.TestJdbcDataSourceProvider;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class StreamErrorWithHashPersistenceIT {
+
+    private final TestJdbcDataSourceProvider testJdbcDataSourceProvider = new TestJdbcDataSourceProvider();
+    private final DatabaseCleaner databaseCleaner = new DatabaseCleaner();
+
+    @Spy
+    private StreamErrorDetailsRowMapper streamErrorDetailsRowMapper;
+    @Spy
+    private StreamErrorHashRowMapper streamErrorHashRowMapper;
+    @InjectMocks
+    private StreamErrorDetailsPersistence streamErrorDetailsPersistence;
+    @InjectMocks
+    private StreamErrorHashPersistence streamErrorHashPersistence;
+    @InjectMocks
+    private StreamErrorWithHashPersistence streamErrorWithHashPersistence;
+
+    @BeforeEach
+    public void cleanTables() {
+        databaseCleaner.cleanViewStoreTables("framework", "stream_error_hash", "stream_error");
+    }
+
+    @Test
+    public void shouldFindAllStreamErrorsWithTheirHashesByStreamId() throws Exception {
+
+        final UUID streamId = randomUUID();
+        final StreamErrorHash streamErrorHash_1 = aStreamErrorHash("hash_1");
+        final StreamErrorHash streamErrorHash_2 = aStreamErrorHash("hash_2");
+        final StreamErrorDetails streamErrorDetails_1 = aStreamErrorDetails("hash_1", streamId, "source_1");
+        final StreamErrorDetails streamErrorDetails_2 = aStreamErrorDetails("hash_2", randomUUID(), "source_1");
+        final StreamErrorDetails streamErrorDetails_3 = aStreamErrorDetails("hash_2", streamId, "source_2");
+
+        final DataSource viewStoreDataSource = testJdbcDataSourceProvider.getViewStoreDataSource("framework");
+
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            streamErrorHashPersistence.upsert(streamErrorHash_1, connection);
+            streamErrorHashPersistence.upsert(streamErrorHash_2, connection);
+            streamErrorDetailsPersistence.insert(streamErrorDetails_1, connection);
+            streamErrorDetailsPersistence.insert(streamErrorDetails_2, connection);
+            streamErrorDetailsPersistence.insert(streamErrorDetails_3, connection);
+        }
+
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            final List<StreamError> streamErrors = streamErrorWithHashPersistence.findAllByStreamId(streamId, connection);
+
+            assertThat(streamErrors.size(), is(2));
+            assertThat(streamErrors.contains(new StreamError(streamErrorDetails_1, streamErrorHash_1)), is(true));
+            assertThat(streamErrors.contains(new StreamError(streamErrorDetails_3, streamErrorHash_2)), is(true));
+        }
+    }
+
+    @Test
+    public void shouldFindPagesOfStreamErrorsBySourceAndComponentInStreamIdOrder() throws Exception {
+
+        final StreamErrorHash streamErrorHash = aStreamErrorHash("hash");
+        final StreamErrorDetails streamErrorDetails_1 = aStreamErrorDetails("hash", fromString("00000000-0000-0000-0000-000000000001"), "source");
+        final StreamErrorDetails streamErrorDetails_2 = aStreamErrorDetails("hash", fromString("00000000-0000-0000-0000-000000000002"), "source");
+        final StreamErrorDetails streamErrorDetails_3 = aStreamErrorDetails("hash", fromString("00000000-0000-0000-0000-000000000003"), "source");
+        final StreamErrorDetails otherSourceStreamErrorDetails = aStreamErrorDetails("hash", fromString("00000000-0000-0000-0000-000000000004"), "other-source");
+
+        final DataSource viewStoreDataSource = testJdbcDataSourceProvider.getViewStoreDataSource("framework");
+
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            streamErrorHashPersistence.upsert(streamErrorHash, connection);
+            streamErrorDetailsPersistence.insert(streamErrorDetails_3, connection);
+            streamErrorDetailsPersistence.insert(otherSourceStreamErrorDetails, connection);
+            streamErrorDetailsPersistence.insert(streamErrorDetails_1, connection);
+            streamErrorDetailsPersistence.insert(streamErrorDetails_2, connection);
+        }
+
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            final List<StreamError> firstPage = streamErrorWithHashPersistence.findFirstPageBySourceAndComponent("source", "component-name", 2, connection);
+
+            assertThat(firstPage.size(), is(2));
+            assertThat(firstPage.get(0), is(new StreamError(streamErrorDetails_1, streamErrorHash)));
+            assertThat(firstPage.get(1), is(new StreamError(streamErrorDetails_2, streamErrorHash)));
+
+            final List<StreamError> secondPage = streamErrorWithHashPersistence.findNextPageBySourceAndComponent("source", "component-name", streamErrorDetails_2.streamId(), 2, connection);
+
+            assertThat(secondPage.size(), is(1));
+            assertThat(secondPage.get(0), is(new StreamError(streamErrorDetails_3, streamErrorHash)));
+
+            final List<StreamError> lastPage = streamErrorWithHashPersistence.findNextPageBySourceAndComponent("source", "component-name", streamErrorDetails_3.streamId(), 2, connection);
+
+            assertThat(lastPage.isEmpty(), is(true));
+        }
+    }
+
+    @Test
+    public void shouldInsertStreamErrorAndItsMissingStreamErrorHashInASingleStatement() throws Exception {
+
+        final StreamError streamError = new StreamError(aStreamErrorDetails("hash", randomUUID(), "source"), aStreamErrorHash("hash"));
+
+        final DataSource viewStoreDataSource = testJdbcDataSourceProvider.getViewStoreDataSource("framework");
+
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            assertThat(streamErrorWithHashPersistence.insert(streamError, connection), is(1));
+        }
+
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            assertThat(streamErrorHashPersistence.findByHash("hash", connection), is(of(streamError.streamErrorHash())));
+            assertThat(streamErrorWithHashPersistence.findAllByStreamId(streamError.streamErrorDetails().streamId(), connection), is(List.of(streamError)));
+        }
+    }
+
+    @Test
+    public void shouldInsertStreamErrorWithAnExistingStreamErrorHashInASingleStatement() throws Exception {
+
+        final StreamErrorHash streamErrorHash = aStreamErrorHash("hash");
+        final StreamError streamError_1 = new StreamError(aStreamErrorDetails("hash", randomUUID(), "source"), streamErrorHash);
+        final StreamError streamError_2 = new StreamError(aStreamErrorDetails("hash", randomUUID(), "source"), streamErrorHash);
+
+        final DataSource viewStoreDataSource = testJdbcDataSourceProvider.getViewStoreDataSource("framework");
+
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            assertThat(streamErrorWithHashPersistence.insert(streamError_1, connection), is(1));
+            assertThat(streamErrorWithHashPersistence.insert(streamError_2, connection), is(1));
+            assertThat(streamErrorWithHashPersistence.insert(streamError_2, connection), is(0));
+        }
+
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            assertThat(streamErrorWithHashPersistence.findAllByStreamId(streamError_2.streamErrorDetails().streamId(), connection), is(List.of(streamError_2)));
+        }
+    }
+
+    private StreamErrorHash aStreamErrorHash(final String hash) {
+        return new StreamErrorHash(
+                hash,
+                "some-exception-class-name",
+                of("some-cause-class-name"),
+                "java-class-name",
+                "java-method",
+                213
+        );
+    }
+
+    private StreamErrorDetails aStreamErrorDetails(final String hash, final UUID streamId, final String source) {
+        return new StreamErrorDetails(
+                randomUUID(),
+                hash,
+                "some-exception-message",
+                of("cause-message"),
+                "event-name",
+                randomUUID(),
+                streamId,
+                23L,
+                new UtcClock().now(),
+                "stack-trace",
+                "component-name",
+                source
+        );
+    }
+}
@@ -7,6 +7,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.when;
 
 import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamStatisticConfig;
+import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetailsRowMapper;
 import uk.gov.justice.services.jdbc.persistence.ViewStoreJdbcDataSourceProvider;
 import uk.gov.justice.services.test.utils.persistence.DatabaseCleaner;
 import uk.gov.justice.services.test.utils.persistence.TestJdbcDataSourceProvider;
@@ -36,6 +38,12 @@ public class NewStreamStatusRepositoryIT {
     @Spy
     private NewStreamStatusRowMapper streamStatusRowMapper;
 
+    @Spy
+    private StreamErrorDetailsRowMapper streamErrorDetailsRowMapper;
+
+    @Mock
+    private StreamStatisticConfig streamStatisticConfig;
+
     @InjectMocks
     private NewStreamStatusRepository newStreamStatusRepository;
 
@@ -144,6 +152,58 @@ public class NewStreamStatusRepositoryIT {
         assertThat(streamUpdateContext.streamErrorId(), is(empty()));
     }
 
+    @Test
+    public void shouldInsertStreamIfNotExistsAndLockRowInOneStatement() throws Exception {
+
+        final DataSource viewStoreDataSource = new TestJdbcDataSourceProvider().getViewStoreDataSource(FRAMEWORK);
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+
+        final UUID streamId = randomUUID();
+
+        final String source = "some-source";
+        final String componentName = "some-component-name";
+        final long incomingEventPosition = 1L;
+        final ZonedDateTime updatedAt = new UtcClock().now().minusDays(2);
+
+        assertThat(newStreamStatusRepository.findAll().isEmpty(), is(true));
+
+        final StreamUpdateContext insertedStreamUpdateContext = newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
+                streamId,
+                source,
+                componentName,
+                updatedAt,
+                false,
+                incomingEventPosition);
+
+        assertThat(newStreamStatusRepository.findAll().size(), is(1));
+        assertThat(insertedStreamUpdateContext.currentStreamPosition(), is(0L));
+        assertThat(insertedStreamUpdateContext.latestKnownStreamPosition(), is(0L));
+        assertThat(insertedStreamUpdateContext.incomingEventPosition(), is(incomingEventPosition));
+        assertThat(insertedStreamUpdateContext.streamErrorId(), is(empty()));
+        assertThat(insertedStreamUpdateContext.existingStreamErrorDetails(), is(empty()));
+
+        newStreamStatusRepository.updateCurrentPosition(streamId, source, componentName, incomingEventPosition);
+
+        final StreamUpdateContext existingStreamUpdateContext = newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
+                streamId,
+                source,
+                componentName,
+                new UtcClock().now(),
+                true,
+                incomingEventPosition + 1);
+
+        assertThat(newStreamStatusRepository.findAll().size(), is(1));
+        assertThat(existingStreamUpdateContext.currentStreamPosition(), is(incomingEventPosition));
+        assertThat(existingStreamUpdateContext.incomingEventPosition(), is(incomingEventPosition + 1));
+        assertThat(existingStreamUpdateContext.streamErrorId(), is(empty()));
+        assertThat(existingStreamUpdateContext.existingStreamErrorDetails(), is(empty()));
+
+        final Optional<StreamStatus> streamStatus = newStreamStatusRepository.find(streamId, source, componentName);
+        assertThat(streamStatus.isPresent(), is(true));
+        assertThat(streamStatus.get().updatedAt(), is(updatedAt));
+        assertThat(streamStatus.get().isUpToDate(), is(false));
+    }
+
     @Test
     public void shouldUpdatePositionOfAStream() throws Exception {
 
@@ -257,4 +317,70 @@ public class NewStreamStatusRepositoryIT {
         assertThat(updatedStreamStatus.isPresent(), is(true));
         assertThat(updatedStreamStatus.get().isUpToDate(), is(true));
     }
+
+    @Test
+    public void shouldNotUpdateIsUpToDateIfUnchanged() throws Exception {
+
+        final DataSource viewStoreDataSource = new TestJdbcDataSourceProvider().getViewStoreDataSource(FRAMEWORK);
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+
+        final UUID streamId = randomUUID();
+
+        final String source = "some-source";
+        final String componentName = "some-component-name";
+        final ZonedDateTime updatedAt = new UtcClock().now();
+
+        assertThat(newStreamStatusRepository.insertIfNotExists(
+                streamId,
+                source,
+                componentName,
+                updatedAt,
+                false), is(1));
+
+        assertThat(newStreamStatusRepository.setUpToDate(true, streamId, source, componentName), is(1));
+        assertThat(newStreamStatusRepository.setUpToDate(true, streamId, source, componentName), is(0));
+
+        assertThat(newStreamStatusRepository.find(streamId, source, componentName).get().isUpToDate(), is(true));
+
+        assertThat(newStreamStatusRepository.setUpToDate(false, streamId, source, componentName), is(1));
+
+        assertThat(newStreamStatusRepository.find(streamId, source, componentName).get().isUpToDate(), is(false));
+    }
+
+    @Test
+    public void shouldIncrementEventBufferVersionAndReturnItWhenLockingRow() throws Exception {
+
+        final DataSource viewStoreDataSource = new TestJdbcDataSourceProvider().getViewStoreDataSource(FRAMEWORK);
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+
+        final UUID streamId = randomUUID();
+
+        final String source = "some-source";
+        final String componentName = "some-component-name";
+        final long incomingEventPosition = 23L;
+        final ZonedDateTime updatedAt = new UtcClock().now();
+
+        final StreamUpdateContext insertedStreamUpdateContext = newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
+                streamId,
+                source,
+                componentName,
+                updatedAt,
+                false,
+                incomingEventPosition);
+
+        assertThat(insertedStreamUpdateContext.eventBufferVersion(), is(0L));
+
+        newStreamStatusRepository.incrementEventBufferVersion(streamId, source, componentName);
+        newStreamStatusRepository.incrementEventBufferVersion(streamId, source, componentName);
+
+        assertThat(newStreamStatusRepository.lockStreamAndGetStreamUpdateContext(streamId, source, componentName, incomingEventPosition).eventBufferVersion(), is(2L));
+        assertThat(newStreamStatusRepository.lockStreamAndGetStreamUpdateContextWithError(streamId, source, componentName, incomingEventPosition).eventBufferVersion(), is(2L));
+        assertThat(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
+                streamId,
+                source,
+                componentName,
+                updatedAt,
+                false,
+                incomingEventPosition).eventBufferVersion(), is(2L));
+    }
 }
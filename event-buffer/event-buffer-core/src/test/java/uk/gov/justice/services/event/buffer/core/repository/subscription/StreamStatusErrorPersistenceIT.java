@@ -9,6 +9,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
 
 import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamStatisticConfig;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamError;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetails;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetailsPersistence;
@@ -53,6 +54,7 @@ public class StreamStatusErrorPersistenceIT {
         final StreamErrorDetailsPersistence streamErrorDetailsPersistence = new StreamErrorDetailsPersistence();
 
         setField(streamStatusErrorPersistence, "clock", new UtcClock());
+        setField(streamStatusErrorPersistence, "streamStatisticConfig", new StreamStatisticConfig());
         setField(streamErrorPersistence, "streamErrorDetailsPersistence", streamErrorDetailsPersistence);
         setField(streamErrorPersistence, "streamErrorHashPersistence", streamErrorHashPersistence);
     }
@@ -8,8 +8,10 @@ import static javax.json.Json.createObjectBuilder;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -27,6 +29,7 @@ import uk.gov.justice.services.messaging.JsonObjectEnvelopeConverter;
 import uk.gov.justice.services.test.utils.common.stream.StreamCloseSpy;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -363,4 +366,145 @@ public class ConsecutiveEventBufferServiceTest {
         verify(streamBufferRepository).remove(event5);
         verify(streamBufferRepository).remove(event6);
     }
+
+    @Test
+    public void shouldReturnBatchOfConsecutiveEventsAndUpdateTheStreamPositionOnce() {
+
+        final UUID streamId = randomUUID();
+        final String source = "source";
+        final String eventName = "source.event.name";
+        final String component = EVENT_LISTENER;
+
+        final JsonEnvelope incomingEvent_5 = envelopeFrom(
+                metadataBuilder().withId(randomUUID()).withName(eventName).withStreamId(streamId).withPosition(5L),
+                createObjectBuilder()
+        );
+        final JsonEnvelope incomingEvent_6 = envelopeFrom(
+                metadataBuilder().withId(randomUUID()).withName(eventName).withStreamId(streamId).withPosition(6L),
+                createObjectBuilder()
+        );
+        final JsonEnvelope incomingEvent_7 = envelopeFrom(
+                metadataBuilder().withId(randomUUID()).withName(eventName).withStreamId(streamId).withPosition(7L),
+                createObjectBuilder()
+        );
+
+        final Subscription subscription = mock(Subscription.class);
+
+        when(eventSourceNameCalculator.getSource(incomingEvent_5)).thenReturn(source);
+        when(streamStatusJdbcRepository.findByStreamIdAndSource(streamId, source, component)).thenReturn(of(subscription));
+        when(subscription.getPosition()).thenReturn(4L);
+        when(streamBufferRepository.findStreamByIdSourceAndComponent(streamId, source, component)).thenReturn(Stream.empty());
+
+        final Stream<JsonEnvelope> returnedEvents = bufferService.currentOrderedEventsWith(List.of(incomingEvent_5, incomingEvent_6, incomingEvent_7), component);
+
+        assertThat(returnedEvents, contains(incomingEvent_5, incomingEvent_6, incomingEvent_7));
+
+        final InOrder inOrder = inOrder(streamStatusJdbcRepository);
+
+        inOrder.verify(streamStatusJdbcRepository).updateSource(streamId, source, component);
+        inOrder.verify(streamStatusJdbcRepository).insertOrDoNothing(new Subscription(streamId, 0L, source, component));
+        inOrder.verify(streamStatusJdbcRepository).findByStreamIdAndSource(streamId, source, component);
+        inOrder.verify(streamStatusJdbcRepository).update(new Subscription(streamId, 7L, source, component));
+
+        verify(streamStatusJdbcRepository, times(1)).update(any(Subscription.class));
+    }
+
+    @Test
+    public void shouldSkipObsoleteEventsInBatch() {
+
+        final UUID streamId = randomUUID();
+        final String source = "source";
+        final String eventName = "source.event.name";
+        final String component = EVENT_LISTENER;
+
+        final JsonEnvelope incomingEvent_4 = envelopeFrom(
+                metadataBuilder().withId(randomUUID()).withName(eventName).withStreamId(streamId).withPosition(4L),
+                createObjectBuilder()
+        );
+        final JsonEnvelope incomingEvent_5 = envelopeFrom(
+                metadataBuilder().withId(randomUUID()).withName(eventName).withStreamId(streamId).withPosition(5L),
+                createObjectBuilder()
+        );
+        final JsonEnvelope incomingEvent_6 = envelopeFrom(
+                metadataBuilder().withId(randomUUID()).withName(eventName).withStreamId(streamId).withPosition(6L),
+                createObjectBuilder()
+        );
+
+        final Subscription subscription = mock(Subscription.class);
+
+        when(eventSourceNameCalculator.getSource(incomingEvent_4)).thenReturn(source);
+        when(streamStatusJdbcRepository.findByStreamIdAndSource(streamId, source, component)).thenReturn(of(subscription));
+        when(subscription.getPosition()).thenReturn(5L);
+        when(streamBufferRepository.findStreamByIdSourceAndComponent(streamId, source, component)).thenReturn(Stream.empty());
+
+        final Stream<JsonEnvelope> returnedEvents = bufferService.currentOrderedEventsWith(List.of(incomingEvent_4, incomingEvent_5, incomingEvent_6), component);
+
+        assertThat(returnedEvents, contains(incomingEvent_6));
+
+        verify(streamStatusJdbcRepository).update(new Subscription(streamId, 6L, source, component));
+    }
+
+    @Test
+    public void shouldBufferEventsAfterAGapInTheBatchOneAtATime() {
+
+        final UUID streamId = randomUUID();
+        final String source = "source";
+        final String eventName = "source.event.name";
+        final String component = EVENT_LISTENER;
+        final ZonedDateTime bufferedAt = new UtcClock().now();
+
+        final JsonEnvelope incomingEvent_5 = envelopeFrom(
+                metadataBuilder().withId(randomUUID()).withName(eventName).withStreamId(streamId).withPosition(5L),
+                createObjectBuilder()
+        );
+        final JsonEnvelope incomingEvent_7 = envelopeFrom(
+                metadataBuilder().withId(randomUUID()).withName(eventName).withStreamId(streamId).withPosition(7L),
+                createObjectBuilder()
+        );
+
+        final Subscription subscription = mock(Subscription.class);
+
+        when(eventSourceNameCalculator.getSource(incomingEvent_5)).thenReturn(source);
+        when(eventSourceNameCalculator.getSource(incomingEvent_7)).thenReturn(source);
+        when(streamStatusJdbcRepository.findByStreamIdAndSource(streamId, source, component)).thenReturn(of(subscription));
+        when(subscription.getPosition()).thenReturn(4L, 5L);
+        when(streamBufferRepository.findStreamByIdSourceAndComponent(streamId, source, component)).thenReturn(Stream.empty());
+        when(clock.now()).thenReturn(bufferedAt);
+        when(jsonObjectEnvelopeConverter.asJsonString(incomingEvent_7)).thenReturn("someStringRepresentation");
+
+        final Stream<JsonEnvelope> returnedEvents = bufferService.currentOrderedEventsWith(List.of(incomingEvent_5, incomingEvent_7), component);
+
+        assertThat(returnedEvents, contains(incomingEvent_5));
+
+        final InOrder inOrder = inOrder(streamStatusJdbcRepository, streamBufferRepository);
+
+        inOrder.verify(streamStatusJdbcRepository).update(new Subscription(streamId, 5L, source, component));
+        inOrder.verify(streamBufferRepository).insert(new EventBufferEvent(streamId, 7L, "someStringRepresentation", source, component, bufferedAt));
+
+        verify(streamStatusJdbcRepository, times(1)).update(any(Subscription.class));
+    }
+
+    @Test
+    public void shouldNotAllowBatchOfEventsFromDifferentStreams() {
+
+        final String source = "source";
+        final String eventName = "source.event.name";
+
+        final JsonEnvelope incomingEvent_1 = envelopeFrom(
+                metadataBuilder().withId(randomUUID()).withName(eventName).withStreamId(randomUUID()).withPosition(5L),
+                createObjectBuilder()
+        );
+        final JsonEnvelope incomingEvent_2 = envelopeFrom(
+                metadataBuilder().withId(randomUUID()).withName(eventName).withStreamId(randomUUID()).withPosition(6L),
+                createObjectBuilder()
+        );
+
+        final Subscription subscription = mock(Subscription.class);
+
+        when(eventSourceNameCalculator.getSource(incomingEvent_1)).thenReturn(source);
+        when(streamStatusJdbcRepository.findByStreamIdAndSource(incomingEvent_1.metadata().streamId().get(), source, EVENT_LISTENER)).thenReturn(of(subscription));
+        when(subscription.getPosition()).thenReturn(4L);
+
+        assertThrows(IllegalArgumentException.class, () -> bufferService.currentOrderedEventsWith(List.of(incomingEvent_1, incomingEvent_2), EVENT_LISTENER));
+    }
 }
@@ -0,0 +1,3 @@
+-- Roll back liquibase script '018-add-buffer-version-column-to-stream-status-table.changelog.xml'
+ALTER TABLE stream_status DROP COLUMN buffer_version;
+DELETE FROM databasechangelog WHERE id = 'stream_buffer-018';
@@ -0,0 +1,3 @@
+-- Roll back liquibase script '019-add-stream-statistic-delta-table.changelog.xml'
+DROP TABLE IF EXISTS stream_statistic_delta;
+DELETE FROM databasechangelog WHERE id = 'stream_buffer-019';
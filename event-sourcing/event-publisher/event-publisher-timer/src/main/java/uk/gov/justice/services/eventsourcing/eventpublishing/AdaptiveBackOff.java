@@ -0,0 +1,46 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Calculates the wait before the next worker run. Drops straight to the minimum interval
+ * whenever a run finds work, and doubles the interval after each run that finds nothing, up to
+ * the maximum interval, so that idle nodes stop querying the event store every few hundred
+ * milliseconds
+ */
+public class AdaptiveBackOff {
+
+    private final long minIntervalMilliseconds;
+    private final long maxIntervalMilliseconds;
+
+    private volatile long currentIntervalMilliseconds;
+    private volatile long consecutiveIdleRuns;
+
+    public AdaptiveBackOff(final long minIntervalMilliseconds, final long maxIntervalMilliseconds) {
+        this.minIntervalMilliseconds = minIntervalMilliseconds;
+        this.maxIntervalMilliseconds = max(minIntervalMilliseconds, maxIntervalMilliseconds);
+        this.currentIntervalMilliseconds = minIntervalMilliseconds;
+    }
+
+    public synchronized long nextIntervalMilliseconds(final boolean workFound) {
+
+        if (workFound) {
+            consecutiveIdleRuns = 0;
+            currentIntervalMilliseconds = minIntervalMilliseconds;
+        } else {
+            consecutiveIdleRuns++;
+            currentIntervalMilliseconds = min(max(currentIntervalMilliseconds * 2, 1), maxIntervalMilliseconds);
+        }
+
+        return currentIntervalMilliseconds;
+    }
+
+    public long getCurrentIntervalMilliseconds() {
+        return currentIntervalMilliseconds;
+    }
+
+    public long getConsecutiveIdleRuns() {
+        return consecutiveIdleRuns;
+    }
+}
@@ -0,0 +1,35 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Creates an {@link AdaptiveBackOff} for a worker and registers gauges reporting its current
+ * interval and number of consecutive idle runs
+ */
+public class AdaptiveBackOffFactory {
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    public AdaptiveBackOff createNew(
+            final String workerName,
+            final long minIntervalMilliseconds,
+            final long maxIntervalMilliseconds) {
+
+        final AdaptiveBackOff adaptiveBackOff = new AdaptiveBackOff(minIntervalMilliseconds, maxIntervalMilliseconds);
+
+        Gauge.builder("event-store." + workerName + ".worker.interval.milliseconds", adaptiveBackOff, AdaptiveBackOff::getCurrentIntervalMilliseconds)
+                .description("The current wait between runs of the " + workerName + " worker")
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder("event-store." + workerName + ".worker.consecutive.idle.runs", adaptiveBackOff, AdaptiveBackOff::getConsecutiveIdleRuns)
+                .description("The number of consecutive runs of the " + workerName + " worker that found no work")
+                .strongReference(true)
+                .register(meterRegistry);
+
+        return adaptiveBackOff;
+    }
+}
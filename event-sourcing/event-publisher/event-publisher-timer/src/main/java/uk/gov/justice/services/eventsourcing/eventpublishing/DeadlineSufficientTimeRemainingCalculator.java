@@ -0,0 +1,22 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * A {@link SufficientTimeRemainingCalculator} for worker runs that are not started by a
+ * {@link javax.ejb.Timer}, which calculates the time remaining from a fixed deadline instead
+ */
+public class DeadlineSufficientTimeRemainingCalculator extends SufficientTimeRemainingCalculator {
+
+    private final long deadlineMillis;
+
+    public DeadlineSufficientTimeRemainingCalculator(final long deadlineMillis, final Long timeBetweenRunsMillis) {
+        super(null, timeBetweenRunsMillis);
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    @Override
+    protected long getTimeRemainingMillis() {
+        return deadlineMillis - currentTimeMillis();
+    }
+}
@@ -1,5 +1,7 @@
 package uk.gov.justice.services.eventsourcing.eventpublishing;
 
+import static uk.gov.justice.services.eventsourcing.eventpublishing.WorkerRunResult.eventsProcessed;
+
 import uk.gov.justice.services.ejb.timer.TimerServiceManager;
 import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventLinkingWorkerConfig;
 
@@ -9,6 +11,7 @@ import javax.ejb.Singleton;
 import javax.ejb.Startup;
 import javax.ejb.Timeout;
 import javax.ejb.Timer;
+import javax.ejb.TimerConfig;
 import javax.ejb.TimerService;
 import javax.inject.Inject;
 
@@ -33,22 +36,74 @@ public class EventLinkingTimerBean {
     @Inject
     private SufficientTimeRemainingCalculatorFactory sufficientTimeRemainingCalculatorFactory;
 
+    @Inject
+    private AdaptiveBackOffFactory adaptiveBackOffFactory;
+
+    private AdaptiveBackOff adaptiveBackOff;
+
     @PostConstruct
     public void startTimerService() {
-        timerServiceManager.createIntervalTimer(
-                TIMER_JOB_NAME,
-                eventLinkingWorkerConfig.getTimerStartWaitMilliseconds(),
-                eventLinkingWorkerConfig.getTimerIntervalMilliseconds(),
-                timerService);
+
+        eventLinkingWorkerConfig.validate();
+
+        if (eventLinkingWorkerConfig.isAdaptiveBackOffEnabled()) {
+            adaptiveBackOff = adaptiveBackOffFactory.createNew(
+                    "event-linking",
+                    eventLinkingWorkerConfig.getAdaptiveBackOffMinIntervalMilliseconds(),
+                    eventLinkingWorkerConfig.getAdaptiveBackOffMaxIntervalMilliseconds());
+            scheduleNextRun(eventLinkingWorkerConfig.getTimerStartWaitMilliseconds());
+        } else {
+            timerServiceManager.createIntervalTimer(
+                    TIMER_JOB_NAME,
+                    eventLinkingWorkerConfig.getTimerStartWaitMilliseconds(),
+                    eventLinkingWorkerConfig.getTimerIntervalMilliseconds(),
+                    timerService);
+        }
     }
 
     @Timeout
     public void runEventLinkingWorker(final Timer timer) {
 
+        if (adaptiveBackOff != null) {
+            runWithAdaptiveBackOff();
+            return;
+        }
+
         final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = sufficientTimeRemainingCalculatorFactory.createNew(
                 timer,
                 eventLinkingWorkerConfig.getTimeBetweenRunsMilliseconds());
 
         eventLinkingWorker.linkNewEvents(sufficientTimeRemainingCalculator);
     }
+
+    private void runWithAdaptiveBackOff() {
+
+        WorkerRunResult workerRunResult = eventsProcessed(0);
+        try {
+            final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = sufficientTimeRemainingCalculatorFactory.createNewWithMaxRunTime(
+                    eventLinkingWorkerConfig.getTimerIntervalMilliseconds(),
+                    eventLinkingWorkerConfig.getTimeBetweenRunsMilliseconds());
+
+            workerRunResult = eventLinkingWorker.linkNewEvents(sufficientTimeRemainingCalculator);
+        } finally {
+            scheduleNextRun(nextIntervalMilliseconds(workerRunResult));
+        }
+    }
+
+    /**
+     * A skipped run says nothing about whether there is work to do, as another run was already in
+     * progress, so the interval is left as it is rather than backed off
+     */
+    private long nextIntervalMilliseconds(final WorkerRunResult workerRunResult) {
+
+        if (workerRunResult.skipped()) {
+            return adaptiveBackOff.getCurrentIntervalMilliseconds();
+        }
+
+        return adaptiveBackOff.nextIntervalMilliseconds(workerRunResult.workFound());
+    }
+
+    private void scheduleNextRun(final long delayMilliseconds) {
+        timerService.createSingleActionTimer(delayMilliseconds, new TimerConfig(TIMER_JOB_NAME, false));
+    }
 }
@@ -1,18 +1,58 @@
 package uk.gov.justice.services.eventsourcing.eventpublishing;
 
+import static uk.gov.justice.services.eventsourcing.eventpublishing.WorkerRunResult.SKIPPED;
+import static uk.gov.justice.services.eventsourcing.eventpublishing.WorkerRunResult.eventsProcessed;
+
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventLinkingWorkerConfig;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+/**
+ * Links new events until none are left or the time runs out. Runs may be started by both the
+ * {@link EventLinkingTimerBean} and the {@link EventStoreNotificationListener}, so a run started
+ * while another is still in progress on this node returns immediately; the run in progress will
+ * find the new events anyway
+ */
+@ApplicationScoped
 public class EventLinkingWorker {
 
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
     @Inject
     private EventNumberLinker eventNumberLinker;
 
-    public void linkNewEvents(final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator) {
+    @Inject
+    private EventLinkingWorkerConfig eventLinkingWorkerConfig;
+
+    /**
+     * @return the number of events linked by this run, or {@link WorkerRunResult#SKIPPED} if another
+     * run was already in progress
+     */
+    public WorkerRunResult linkNewEvents(final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator) {
+
+        if (!running.compareAndSet(false, true)) {
+            return SKIPPED;
+        }
+
+        try {
+            final int batchSize = eventLinkingWorkerConfig.getBatchSize();
+
+            int eventsLinked = 0;
+            while (sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining()) {
+                final int linked = eventNumberLinker.findAndLinkNextUnlinkedEvents(batchSize);
+                if (linked == 0) {
+                    break;
+                }
+
+                eventsLinked += linked;
+            }
 
-        boolean continueRunning = true;
-        while (continueRunning) {
-            continueRunning = sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining()
-                              && eventNumberLinker.findAndAndLinkNextUnlinkedEvent();
+            return eventsProcessed(eventsLinked);
+        } finally {
+            running.set(false);
         }
     }
 }
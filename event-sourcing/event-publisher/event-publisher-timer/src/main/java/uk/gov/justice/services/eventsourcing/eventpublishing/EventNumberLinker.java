@@ -1,14 +1,23 @@
 package uk.gov.justice.services.eventsourcing.eventpublishing;
 
+import static java.util.stream.Collectors.toList;
 import static javax.transaction.Transactional.TxType.REQUIRES_NEW;
+import static uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel.PUBLISH_QUEUE_CHANNEL;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.LINK;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.LINKED_LAG;
 
 import uk.gov.justice.services.common.converter.StringToJsonObjectConverter;
+import uk.gov.justice.services.eventsourcing.publishedevent.jdbc.EventLinkDetails;
 import uk.gov.justice.services.eventsourcing.publishedevent.jdbc.LinkEventsInEventLogDatabaseAccess;
 import uk.gov.justice.services.eventsourcing.publishedevent.jdbc.LinkableEventDetails;
 import uk.gov.justice.services.eventsourcing.publishedevent.prepublish.MetadataEventNumberUpdater;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotifier;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.Metadata;
 import uk.gov.justice.services.messaging.spi.DefaultJsonEnvelopeProvider;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,6 +25,8 @@ import javax.inject.Inject;
 import javax.json.JsonObject;
 import javax.transaction.Transactional;
 
+import io.micrometer.core.instrument.Timer;
+
 public class EventNumberLinker {
 
     @Inject
@@ -30,9 +41,44 @@ public class EventNumberLinker {
     @Inject
     private StringToJsonObjectConverter stringToJsonObjectConverter;
 
+    @Inject
+    private EventStoreNotifier eventStoreNotifier;
+
+    @Inject
+    private EventStoreTimers eventStoreTimers;
+
     @Transactional(REQUIRES_NEW)
     public boolean findAndAndLinkNextUnlinkedEvent() {
 
+        final Timer.Sample sample = eventStoreTimers.start();
+        try {
+            return linkNextUnlinkedEvent();
+        } finally {
+            eventStoreTimers.stop(sample, LINK);
+        }
+    }
+
+    /**
+     * Links the next batch of unlinked events in a single transaction. The unlinked events are
+     * locked in event_number order and each event's previous_event_number is chained from the
+     * event before it, starting from the latest linked event in the event_log.
+     *
+     * @param batchSize the maximum number of events to link
+     * @return the number of events linked
+     */
+    @Transactional(REQUIRES_NEW)
+    public int findAndLinkNextUnlinkedEvents(final int batchSize) {
+
+        final Timer.Sample sample = eventStoreTimers.start();
+        try {
+            return linkNextUnlinkedEvents(batchSize);
+        } finally {
+            eventStoreTimers.stop(sample, LINK);
+        }
+    }
+
+    private boolean linkNextUnlinkedEvent() {
+
         final Optional<LinkableEventDetails> nextUnlinkedEvent =
                 linkEventsInEventLogDatabaseAccess.findNextUnlinkedEvent();
 
@@ -43,23 +89,68 @@ public class EventNumberLinker {
             final UUID eventId = linkableEventDetails.eventId();
             final Long previousEventNumber = linkEventsInEventLogDatabaseAccess.findNextUnlinkedPreviousEventNumber();
 
-            final JsonObject metadataJsonObject = stringToJsonObjectConverter.convert(linkableEventDetails.metadata());
-            final Metadata metadata = defaultJsonEnvelopeProvider.metadataFrom(metadataJsonObject).build();
-            final Metadata updatedMetadata = metadataEventNumberUpdater.updateMetadataJson(
-                    metadata,
+            final Metadata updatedMetadata = updateMetadata(
+                    linkableEventDetails.metadata(),
                     previousEventNumber,
                     eventNumber);
 
-            final String updatedMetadataJson = updatedMetadata.asJsonObject().toString();
-
             linkEventsInEventLogDatabaseAccess.linkEventInEventLogTable(
                     eventId,
                     previousEventNumber,
-                    updatedMetadataJson);
+                    updatedMetadata.asJsonObject().toString());
+            eventStoreTimers.recordLagOnceCommitted(LINKED_LAG, updatedMetadata::createdAt);
 
             linkEventsInEventLogDatabaseAccess.insertLinkedEventIntoPublishQueue(eventId);
+            eventStoreNotifier.notifyOf(PUBLISH_QUEUE_CHANNEL);
         }
 
         return nextUnlinkedEvent.isPresent();
     }
+
+    private int linkNextUnlinkedEvents(final int batchSize) {
+
+        final List<LinkableEventDetails> unlinkedEvents =
+                linkEventsInEventLogDatabaseAccess.findNextUnlinkedEvents(batchSize);
+
+        if (unlinkedEvents.isEmpty()) {
+            return 0;
+        }
+
+        Long previousEventNumber = linkEventsInEventLogDatabaseAccess.findNextUnlinkedPreviousEventNumber();
+
+        final List<EventLinkDetails> eventLinkDetailsList = new ArrayList<>();
+        for (final LinkableEventDetails linkableEventDetails : unlinkedEvents) {
+            final Long eventNumber = linkableEventDetails.eventNumber();
+            final Metadata updatedMetadata = updateMetadata(
+                    linkableEventDetails.metadata(),
+                    previousEventNumber,
+                    eventNumber);
+
+            eventLinkDetailsList.add(new EventLinkDetails(
+                    linkableEventDetails.eventId(),
+                    previousEventNumber,
+                    updatedMetadata.asJsonObject().toString()));
+            eventStoreTimers.recordLagOnceCommitted(LINKED_LAG, updatedMetadata::createdAt);
+
+            previousEventNumber = eventNumber;
+        }
+
+        linkEventsInEventLogDatabaseAccess.linkEventsInEventLogTable(eventLinkDetailsList);
+        linkEventsInEventLogDatabaseAccess.insertLinkedEventsIntoPublishQueue(eventLinkDetailsList.stream()
+                .map(EventLinkDetails::eventId)
+                .collect(toList()));
+        eventStoreNotifier.notifyOf(PUBLISH_QUEUE_CHANNEL);
+
+        return eventLinkDetailsList.size();
+    }
+
+    private Metadata updateMetadata(final String metadataJson, final Long previousEventNumber, final Long eventNumber) {
+        final JsonObject metadataJsonObject = stringToJsonObjectConverter.convert(metadataJson);
+        final Metadata metadata = defaultJsonEnvelopeProvider.metadataFrom(metadataJsonObject).build();
+
+        return metadataEventNumberUpdater.updateMetadataJson(
+                metadata,
+                previousEventNumber,
+                eventNumber);
+    }
 }
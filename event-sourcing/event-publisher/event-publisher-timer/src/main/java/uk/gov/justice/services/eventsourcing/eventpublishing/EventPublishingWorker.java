@@ -1,18 +1,71 @@
 package uk.gov.justice.services.eventsourcing.eventpublishing;
 
+import static uk.gov.justice.services.eventsourcing.eventpublishing.WorkerRunResult.SKIPPED;
+import static uk.gov.justice.services.eventsourcing.eventpublishing.WorkerRunResult.eventsProcessed;
+
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventPublishingWorkerConfig;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+/**
+ * Publishes new events until none are left or the time runs out. Runs may be started by both the
+ * {@link EventPublishingTimerBean} and the {@link EventStoreNotificationListener}, so a run started
+ * while another is still in progress on this node returns immediately. This also stops two runs
+ * on the same node from publishing the same stream out of order when ordered publishing is enabled
+ */
+@ApplicationScoped
 public class EventPublishingWorker {
 
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
     @Inject
     private LinkedEventPublisher linkedEventPublisher;
 
-    public void publishNewEvents(final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator) {
+    @Inject
+    private EventPublishingWorkerConfig eventPublishingWorkerConfig;
+
+    /**
+     * @return the number of events published by this run, or {@link WorkerRunResult#SKIPPED} if
+     * another run was already in progress
+     */
+    public WorkerRunResult publishNewEvents(final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator) {
+
+        if (!running.compareAndSet(false, true)) {
+            return SKIPPED;
+        }
+
+        try {
+            final int batchSize = eventPublishingWorkerConfig.getBatchSize();
+            final boolean orderedPublishingEnabled = eventPublishingWorkerConfig.isOrderedPublishingEnabled();
+
+            int eventsPublished = 0;
+            while (sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining()) {
+                final int published = publishNextNewEvents(batchSize, orderedPublishingEnabled);
+                if (published == 0) {
+                    break;
+                }
+
+                eventsPublished += published;
+            }
+
+            return eventsProcessed(eventsPublished);
+        } finally {
+            running.set(false);
+        }
+    }
 
-        boolean continueRunning = true;
-        while (continueRunning) {
-            continueRunning = sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining()
-                              && linkedEventPublisher.publishNextNewEvent();
+    private int publishNextNewEvents(final int batchSize, final boolean orderedPublishingEnabled) {
+
+        if (orderedPublishingEnabled) {
+            return linkedEventPublisher.publishNextNewEventsInEventNumberOrder(
+                    batchSize,
+                    eventPublishingWorkerConfig.getPartitionCount(),
+                    eventPublishingWorkerConfig.getPartitionIndex());
         }
+
+        return linkedEventPublisher.publishNextNewEvents(batchSize);
     }
 }
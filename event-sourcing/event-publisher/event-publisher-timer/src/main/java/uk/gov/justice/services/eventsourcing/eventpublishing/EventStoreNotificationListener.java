@@ -0,0 +1,145 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+import static java.lang.String.format;
+import static uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel.EVENT_LOG_CHANNEL;
+import static uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel.PUBLISH_QUEUE_CHANNEL;
+
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventLinkingWorkerConfig;
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventPublishingWorkerConfig;
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventStoreNotificationListenerConfig;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel;
+import uk.gov.justice.services.eventsourcing.source.core.EventStoreDataSourceProvider;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.inject.Inject;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+
+/**
+ * Listens on the {@link EventStoreNotificationChannel}s and runs the {@link EventLinkingWorker}
+ * or {@link EventPublishingWorker} as soon as a notification arrives, rather than waiting for
+ * their next timer run. The timers keep running as a fallback, so a lost notification or a
+ * dropped listener connection only delays events until the next timer run.
+ *
+ * Both workers are also run each time the listener (re)connects, to pick up anything stored
+ * while it was not listening.
+ */
+public class EventStoreNotificationListener implements Runnable {
+
+    private final AtomicBoolean running = new AtomicBoolean(true);
+
+    @Inject
+    private EventStoreDataSourceProvider eventStoreDataSourceProvider;
+
+    @Inject
+    private EventLinkingWorker eventLinkingWorker;
+
+    @Inject
+    private EventPublishingWorker eventPublishingWorker;
+
+    @Inject
+    private EventLinkingWorkerConfig eventLinkingWorkerConfig;
+
+    @Inject
+    private EventPublishingWorkerConfig eventPublishingWorkerConfig;
+
+    @Inject
+    private EventStoreNotificationListenerConfig eventStoreNotificationListenerConfig;
+
+    @Inject
+    private SufficientTimeRemainingCalculatorFactory sufficientTimeRemainingCalculatorFactory;
+
+    @Inject
+    private Logger logger;
+
+    @Override
+    public void run() {
+        while (isRunning()) {
+            try {
+                listen();
+            } catch (final SQLException | RuntimeException e) {
+                logger.warn(format("Event store notification listener failed. Reconnecting in %d milliseconds", eventStoreNotificationListenerConfig.getReconnectWaitMilliseconds()), e);
+                waitBeforeReconnecting();
+            }
+        }
+    }
+
+    public void stop() {
+        running.set(false);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void listen() throws SQLException {
+
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final Statement statement = connection.createStatement()) {
+
+            for (final EventStoreNotificationChannel eventStoreNotificationChannel : EventStoreNotificationChannel.values()) {
+                statement.execute("LISTEN " + eventStoreNotificationChannel.getChannelName());
+            }
+
+            try {
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                final int pollTimeoutMilliseconds = (int) eventStoreNotificationListenerConfig.getPollTimeoutMilliseconds();
+
+                runWorkersFor(EnumSet.allOf(EventStoreNotificationChannel.class));
+
+                while (isRunning()) {
+                    final PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMilliseconds);
+                    if (notifications != null && notifications.length > 0) {
+                        runWorkersFor(channelsOf(notifications));
+                    }
+                }
+            } finally {
+                statement.execute("UNLISTEN *");
+            }
+        }
+    }
+
+    private Set<EventStoreNotificationChannel> channelsOf(final PGNotification[] notifications) {
+
+        final Set<EventStoreNotificationChannel> channels = EnumSet.noneOf(EventStoreNotificationChannel.class);
+        for (final PGNotification notification : notifications) {
+            EventStoreNotificationChannel.fromChannelName(notification.getName()).ifPresent(channels::add);
+        }
+
+        return channels;
+    }
+
+    private void runWorkersFor(final Set<EventStoreNotificationChannel> channels) {
+
+        final long maxRunTimeMilliseconds = eventStoreNotificationListenerConfig.getMaxRunTimeMilliseconds();
+
+        if (channels.contains(EVENT_LOG_CHANNEL)) {
+            eventLinkingWorker.linkNewEvents(sufficientTimeRemainingCalculatorFactory.createNewWithMaxRunTime(
+                    maxRunTimeMilliseconds,
+                    eventLinkingWorkerConfig.getTimeBetweenRunsMilliseconds()));
+        }
+
+        if (channels.contains(PUBLISH_QUEUE_CHANNEL)) {
+            eventPublishingWorker.publishNewEvents(sufficientTimeRemainingCalculatorFactory.createNewWithMaxRunTime(
+                    maxRunTimeMilliseconds,
+                    eventPublishingWorkerConfig.getTimeBetweenRunsMilliseconds()));
+        }
+    }
+
+    private void waitBeforeReconnecting() {
+        try {
+            Thread.sleep(eventStoreNotificationListenerConfig.getReconnectWaitMilliseconds());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationConfig;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.inject.Inject;
+
+/**
+ * Starts the {@link EventStoreNotificationListener} on its own managed thread if event store
+ * notifications are enabled, and stops it on shutdown
+ */
+@Singleton
+@Startup
+public class EventStoreNotificationListenerBean {
+
+    @Resource
+    private ManagedExecutorService managedExecutorService;
+
+    @Inject
+    private EventStoreNotificationConfig eventStoreNotificationConfig;
+
+    @Inject
+    private EventStoreNotificationListener eventStoreNotificationListener;
+
+    @PostConstruct
+    public void startListening() {
+        if (eventStoreNotificationConfig.isEventStoreNotificationsEnabled()) {
+            managedExecutorService.execute(eventStoreNotificationListener);
+        }
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        eventStoreNotificationListener.stop();
+    }
+}
@@ -1,21 +1,29 @@
 package uk.gov.justice.services.eventsourcing.eventpublishing;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+import static java.util.Optional.ofNullable;
 import static javax.transaction.Transactional.TxType.REQUIRES_NEW;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.PUBLISH;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.PUBLISHED_LAG;
 
 import uk.gov.justice.services.eventsourcing.publishedevent.EventPublishingException;
 import uk.gov.justice.services.eventsourcing.publishedevent.jdbc.EventPublishingRepository;
 import uk.gov.justice.services.eventsourcing.publisher.jms.EventPublisher;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventConverter;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
+import io.micrometer.core.instrument.Timer;
+
 public class LinkedEventPublisher {
 
     @Inject
@@ -27,9 +35,22 @@ public class LinkedEventPublisher {
     @Inject
     private EventPublishingRepository eventPublishingRepository;
 
+    @Inject
+    private EventStoreTimers eventStoreTimers;
+
     @Transactional(REQUIRES_NEW)
     public boolean publishNextNewEvent() {
 
+        final Timer.Sample sample = eventStoreTimers.start();
+        try {
+            return publishNextEvent();
+        } finally {
+            eventStoreTimers.stop(sample, PUBLISH);
+        }
+    }
+
+    private boolean publishNextEvent() {
+
         final Optional<UUID> eventId = eventPublishingRepository.getNextEventIdFromPublishQueue();
         if (eventId.isPresent()) {
             final Optional<LinkedEvent> linkedEvent = eventPublishingRepository.findEventFromEventLog(eventId.get());
@@ -37,6 +58,7 @@ public class LinkedEventPublisher {
             if (linkedEvent.isPresent()) {
                 final JsonEnvelope jsonEnvelope = eventConverter.envelopeOf(linkedEvent.get());
                 eventPublisher.publish(jsonEnvelope);
+                eventStoreTimers.recordLagOnceCommitted(PUBLISHED_LAG, () -> ofNullable(linkedEvent.get().getCreatedAt()));
                 eventPublishingRepository.removeFromPublishQueue(eventId.get());
 
                 return true;
@@ -47,4 +69,68 @@ public class LinkedEventPublisher {
 
         return false;
     }
+
+    /**
+     * Claims up to batchSize event ids from the publish_queue, fetches all of their events from
+     * the event_log in a single query, publishes them in event_number order and then removes them
+     * all from the publish_queue, in a single transaction
+     *
+     * @param batchSize the maximum number of events to publish
+     * @return the number of events published
+     */
+    @Transactional(REQUIRES_NEW)
+    public int publishNextNewEvents(final int batchSize) {
+
+        final List<UUID> eventIds = eventPublishingRepository.getNextEventIdsFromPublishQueue(batchSize);
+
+        return publish(eventIds);
+    }
+
+    /**
+     * As publishNextNewEvents, but claims the event ids from the publish_queue in event_number
+     * order, and only for the streams in this node's stream id partition
+     *
+     * @param batchSize the maximum number of events to publish
+     * @param partitionCount the total number of stream id partitions
+     * @param partitionIndex the partition owned by this node
+     * @return the number of events published
+     */
+    @Transactional(REQUIRES_NEW)
+    public int publishNextNewEventsInEventNumberOrder(final int batchSize, final int partitionCount, final int partitionIndex) {
+
+        final List<UUID> eventIds = eventPublishingRepository.getNextEventIdsFromPublishQueueInEventNumberOrder(
+                batchSize,
+                partitionCount,
+                partitionIndex);
+
+        return publish(eventIds);
+    }
+
+    private int publish(final List<UUID> eventIds) {
+
+        if (eventIds.isEmpty()) {
+            return 0;
+        }
+
+        final List<LinkedEvent> linkedEvents = eventPublishingRepository.findEventsFromEventLog(eventIds);
+        if (linkedEvents.size() != eventIds.size()) {
+            final List<UUID> foundEventIds = linkedEvents.stream()
+                    .map(LinkedEvent::getId)
+                    .collect(toList());
+            final List<UUID> missingEventIds = eventIds.stream()
+                    .filter(eventId -> !foundEventIds.contains(eventId))
+                    .collect(toList());
+            throw new EventPublishingException(format("Failed to find LinkedEvents in event_log with ids %s when ids exist in publish_queue table", missingEventIds));
+        }
+
+        for (final LinkedEvent linkedEvent : linkedEvents) {
+            final JsonEnvelope jsonEnvelope = eventConverter.envelopeOf(linkedEvent);
+            eventPublisher.publish(jsonEnvelope);
+            eventStoreTimers.recordLagOnceCommitted(PUBLISHED_LAG, () -> ofNullable(linkedEvent.getCreatedAt()));
+        }
+
+        eventPublishingRepository.removeFromPublishQueue(eventIds);
+
+        return linkedEvents.size();
+    }
 }
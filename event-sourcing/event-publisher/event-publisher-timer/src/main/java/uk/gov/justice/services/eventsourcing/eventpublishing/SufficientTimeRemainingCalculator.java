@@ -13,6 +13,10 @@ public class SufficientTimeRemainingCalculator {
     }
 
     public boolean hasSufficientProcessingTimeRemaining() {
-        return timer.getTimeRemaining() > timeBetweenRunsMillis;
+        return getTimeRemainingMillis() > timeBetweenRunsMillis;
+    }
+
+    protected long getTimeRemainingMillis() {
+        return timer.getTimeRemaining();
     }
 }
@@ -1,5 +1,7 @@
 package uk.gov.justice.services.eventsourcing.eventpublishing;
 
+import static java.lang.System.currentTimeMillis;
+
 import javax.ejb.Timer;
 
 public class SufficientTimeRemainingCalculatorFactory {
@@ -7,4 +9,8 @@ public class SufficientTimeRemainingCalculatorFactory {
     public SufficientTimeRemainingCalculator createNew(final Timer timer, final Long timeBetweenRunsMillis) {
         return new SufficientTimeRemainingCalculator(timer, timeBetweenRunsMillis);
     }
+
+    public SufficientTimeRemainingCalculator createNewWithMaxRunTime(final long maxRunTimeMillis, final Long timeBetweenRunsMillis) {
+        return new DeadlineSufficientTimeRemainingCalculator(currentTimeMillis() + maxRunTimeMillis, timeBetweenRunsMillis);
+    }
 }
@@ -0,0 +1,22 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+/**
+ * The outcome of a single run of the {@link EventLinkingWorker} or {@link EventPublishingWorker}.
+ * A run is skipped if another run was already in progress on this node, in which case nothing is
+ * known about whether there is work to do
+ *
+ * @param skipped true if the run did nothing because another run was already in progress
+ * @param eventCount the number of events linked or published by this run
+ */
+public record WorkerRunResult(boolean skipped, int eventCount) {
+
+    public static final WorkerRunResult SKIPPED = new WorkerRunResult(true, 0);
+
+    public static WorkerRunResult eventsProcessed(final int eventCount) {
+        return new WorkerRunResult(false, eventCount);
+    }
+
+    public boolean workFound() {
+        return eventCount > 0;
+    }
+}
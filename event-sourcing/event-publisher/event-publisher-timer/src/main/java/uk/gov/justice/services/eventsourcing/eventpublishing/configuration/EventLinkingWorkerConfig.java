@@ -1,6 +1,9 @@
 package uk.gov.justice.services.eventsourcing.eventpublishing.configuration;
 
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
 import static java.lang.Long.parseLong;
+import static java.lang.String.format;
 
 import uk.gov.justice.services.common.configuration.GlobalValue;
 import uk.gov.justice.services.common.configuration.Value;
@@ -21,6 +24,29 @@ public class EventLinkingWorkerConfig {
     @Value(key = "event.linking.worker.time.between.runs.milliseconds", defaultValue = "100")
     private String timeBetweenRunsMilliseconds;
 
+    @Inject
+    @Value(key = "event.linking.worker.batch.size", defaultValue = "100")
+    private String batchSize;
+
+    @Inject
+    @Value(key = "event.linking.worker.adaptive.backoff.enabled", defaultValue = "false")
+    private String adaptiveBackOffEnabled;
+
+    @Inject
+    @Value(key = "event.linking.worker.adaptive.backoff.min.interval.milliseconds", defaultValue = "100")
+    private String adaptiveBackOffMinIntervalMilliseconds;
+
+    @Inject
+    @Value(key = "event.linking.worker.adaptive.backoff.max.interval.milliseconds", defaultValue = "10000")
+    private String adaptiveBackOffMaxIntervalMilliseconds;
+
+    /**
+     * Fails fast on startup, rather than leaving the linker looking idle, if the configuration is invalid
+     */
+    public void validate() {
+        getBatchSize();
+    }
+
     public long getTimerStartWaitMilliseconds() {
         return parseLong(timerStartWaitMilliseconds);
     }
@@ -32,4 +58,25 @@ public class EventLinkingWorkerConfig {
     public long getTimeBetweenRunsMilliseconds() {
         return parseLong(timeBetweenRunsMilliseconds);
     }
+
+    public int getBatchSize() {
+        final int eventLinkingBatchSize = parseInt(batchSize);
+        if (eventLinkingBatchSize < 1) {
+            throw new InvalidWorkerConfigurationException(format("Invalid jndi value 'event.linking.worker.batch.size' of '%s'. Batch size must be at least 1", batchSize));
+        }
+
+        return eventLinkingBatchSize;
+    }
+
+    public boolean isAdaptiveBackOffEnabled() {
+        return parseBoolean(adaptiveBackOffEnabled);
+    }
+
+    public long getAdaptiveBackOffMinIntervalMilliseconds() {
+        return parseLong(adaptiveBackOffMinIntervalMilliseconds);
+    }
+
+    public long getAdaptiveBackOffMaxIntervalMilliseconds() {
+        return parseLong(adaptiveBackOffMaxIntervalMilliseconds);
+    }
 }
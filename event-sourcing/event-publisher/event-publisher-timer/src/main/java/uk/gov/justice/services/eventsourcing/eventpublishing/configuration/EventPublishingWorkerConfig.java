@@ -1,6 +1,9 @@
 package uk.gov.justice.services.eventsourcing.eventpublishing.configuration;
 
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
 import static java.lang.Long.parseLong;
+import static java.lang.String.format;
 
 import uk.gov.justice.services.common.configuration.GlobalValue;
 import uk.gov.justice.services.common.configuration.Value;
@@ -23,6 +26,43 @@ public class EventPublishingWorkerConfig {
     @Value(key = "event.publishing.worker.time.between.runs.milliseconds", defaultValue = "100")
     private String timeBetweenRunsMilliseconds;
 
+    @Inject
+    @Value(key = "event.publishing.worker.batch.size", defaultValue = "100")
+    private String batchSize;
+
+    @Inject
+    @Value(key = "event.publishing.worker.adaptive.backoff.enabled", defaultValue = "false")
+    private String adaptiveBackOffEnabled;
+
+    @Inject
+    @Value(key = "event.publishing.worker.adaptive.backoff.min.interval.milliseconds", defaultValue = "100")
+    private String adaptiveBackOffMinIntervalMilliseconds;
+
+    @Inject
+    @Value(key = "event.publishing.worker.adaptive.backoff.max.interval.milliseconds", defaultValue = "10000")
+    private String adaptiveBackOffMaxIntervalMilliseconds;
+
+    @Inject
+    @Value(key = "event.publishing.worker.ordered.publishing.enabled", defaultValue = "false")
+    private String orderedPublishingEnabled;
+
+    @Inject
+    @Value(key = "event.publishing.worker.partition.count", defaultValue = "1")
+    private String partitionCount;
+
+    @Inject
+    @Value(key = "event.publishing.worker.partition.index", defaultValue = "0")
+    private String partitionIndex;
+
+    /**
+     * Fails fast on startup, rather than leaving the publisher looking idle or silently publishing
+     * nothing, if the configuration is invalid
+     */
+    public void validate() {
+        getBatchSize();
+        getPartitionIndex();
+    }
+
     public long getTimerStartWaitMilliseconds() {
         return parseLong(timerStartWaitMilliseconds);
     }
@@ -34,4 +74,48 @@ public class EventPublishingWorkerConfig {
     public long getTimeBetweenRunsMilliseconds() {
         return parseLong(timeBetweenRunsMilliseconds);
     }
+
+    public int getBatchSize() {
+        final int eventPublishingBatchSize = parseInt(batchSize);
+        if (eventPublishingBatchSize < 1) {
+            throw new InvalidWorkerConfigurationException(format("Invalid jndi value 'event.publishing.worker.batch.size' of '%s'. Batch size must be at least 1", batchSize));
+        }
+
+        return eventPublishingBatchSize;
+    }
+
+    public boolean isOrderedPublishingEnabled() {
+        return parseBoolean(orderedPublishingEnabled);
+    }
+
+    public int getPartitionCount() {
+        final int eventPublishingPartitionCount = parseInt(partitionCount);
+        if (eventPublishingPartitionCount < 1) {
+            throw new InvalidWorkerConfigurationException(format("Invalid jndi value 'event.publishing.worker.partition.count' of '%s'. Partition count must be at least 1", partitionCount));
+        }
+
+        return eventPublishingPartitionCount;
+    }
+
+    public int getPartitionIndex() {
+        final int eventPublishingPartitionCount = getPartitionCount();
+        final int eventPublishingPartitionIndex = parseInt(partitionIndex);
+        if (eventPublishingPartitionIndex < 0 || eventPublishingPartitionIndex >= eventPublishingPartitionCount) {
+            throw new InvalidWorkerConfigurationException(format("Invalid jndi value 'event.publishing.worker.partition.index' of '%s'. Partition index must be from 0 to one less than the partition count of %d", partitionIndex, eventPublishingPartitionCount));
+        }
+
+        return eventPublishingPartitionIndex;
+    }
+
+    public boolean isAdaptiveBackOffEnabled() {
+        return parseBoolean(adaptiveBackOffEnabled);
+    }
+
+    public long getAdaptiveBackOffMinIntervalMilliseconds() {
+        return parseLong(adaptiveBackOffMinIntervalMilliseconds);
+    }
+
+    public long getAdaptiveBackOffMaxIntervalMilliseconds() {
+        return parseLong(adaptiveBackOffMaxIntervalMilliseconds);
+    }
 }
@@ -0,0 +1,36 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing.configuration;
+
+import static java.lang.Long.parseLong;
+
+import uk.gov.justice.services.common.configuration.Value;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+@Singleton
+public class EventStoreNotificationListenerConfig {
+
+    @Inject
+    @Value(key = "event.store.notification.listener.poll.timeout.milliseconds", defaultValue = "1000")
+    private String pollTimeoutMilliseconds;
+
+    @Inject
+    @Value(key = "event.store.notification.listener.reconnect.wait.milliseconds", defaultValue = "5000")
+    private String reconnectWaitMilliseconds;
+
+    @Inject
+    @Value(key = "event.store.notification.listener.max.run.time.milliseconds", defaultValue = "5000")
+    private String maxRunTimeMilliseconds;
+
+    public long getPollTimeoutMilliseconds() {
+        return parseLong(pollTimeoutMilliseconds);
+    }
+
+    public long getReconnectWaitMilliseconds() {
+        return parseLong(reconnectWaitMilliseconds);
+    }
+
+    public long getMaxRunTimeMilliseconds() {
+        return parseLong(maxRunTimeMilliseconds);
+    }
+}
@@ -0,0 +1,8 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing.configuration;
+
+public class InvalidWorkerConfigurationException extends RuntimeException {
+
+    public InvalidWorkerConfigurationException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveBackOffFactoryTest {
+
+    @Test
+    public void shouldCreateAdaptiveBackOffAndRegisterGaugesForItsState() throws Exception {
+
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final AdaptiveBackOffFactory adaptiveBackOffFactory = new AdaptiveBackOffFactory();
+        setField(adaptiveBackOffFactory, "meterRegistry", meterRegistry);
+
+        final AdaptiveBackOff adaptiveBackOff = adaptiveBackOffFactory.createNew("event-linking", 100L, 1000L);
+        adaptiveBackOff.nextIntervalMilliseconds(false);
+
+        assertThat(meterRegistry.get("event-store.event-linking.worker.interval.milliseconds").gauge().value(), is(200.0));
+        assertThat(meterRegistry.get("event-store.event-linking.worker.consecutive.idle.runs").gauge().value(), is(1.0));
+    }
+}
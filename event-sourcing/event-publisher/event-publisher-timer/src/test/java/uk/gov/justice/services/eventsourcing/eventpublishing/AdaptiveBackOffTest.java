@@ -0,0 +1,43 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveBackOffTest {
+
+    @Test
+    public void shouldDoubleTheIntervalAfterEachIdleRunUpToTheMaximum() throws Exception {
+
+        final AdaptiveBackOff adaptiveBackOff = new AdaptiveBackOff(100L, 500L);
+
+        assertThat(adaptiveBackOff.getCurrentIntervalMilliseconds(), is(100L));
+        assertThat(adaptiveBackOff.nextIntervalMilliseconds(false), is(200L));
+        assertThat(adaptiveBackOff.nextIntervalMilliseconds(false), is(400L));
+        assertThat(adaptiveBackOff.nextIntervalMilliseconds(false), is(500L));
+        assertThat(adaptiveBackOff.nextIntervalMilliseconds(false), is(500L));
+        assertThat(adaptiveBackOff.getConsecutiveIdleRuns(), is(4L));
+    }
+
+    @Test
+    public void shouldDropToTheMinimumIntervalAsSoonAsWorkIsFound() throws Exception {
+
+        final AdaptiveBackOff adaptiveBackOff = new AdaptiveBackOff(100L, 10_000L);
+
+        adaptiveBackOff.nextIntervalMilliseconds(false);
+        adaptiveBackOff.nextIntervalMilliseconds(false);
+
+        assertThat(adaptiveBackOff.nextIntervalMilliseconds(true), is(100L));
+        assertThat(adaptiveBackOff.getConsecutiveIdleRuns(), is(0L));
+    }
+
+    @Test
+    public void shouldStillBackOffIfTheMinimumIntervalIsZero() throws Exception {
+
+        final AdaptiveBackOff adaptiveBackOff = new AdaptiveBackOff(0L, 10L);
+
+        assertThat(adaptiveBackOff.nextIntervalMilliseconds(false), is(1L));
+        assertThat(adaptiveBackOff.nextIntervalMilliseconds(false), is(2L));
+    }
+}
@@ -1,10 +1,21 @@
 package uk.gov.justice.services.eventsourcing.eventpublishing;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.eventpublishing.WorkerRunResult.SKIPPED;
+import static uk.gov.justice.services.eventsourcing.eventpublishing.WorkerRunResult.eventsProcessed;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.getValueOfField;
+
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventLinkingWorkerConfig;
+
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,33 +29,40 @@ public class EventLinkingWorkerTest {
     @Mock
     private EventNumberLinker eventNumberLinker;
 
+    @Mock
+    private EventLinkingWorkerConfig eventLinkingWorkerConfig;
+
     @InjectMocks
     private EventLinkingWorker eventLinkingWorker;
 
     @Test
-    public void shouldLinkNewEventsUntilNoMoreUnlinkedEventsAreFound() throws Exception {
+    public void shouldLinkNewEventsInBatchesUntilNoMoreUnlinkedEventsAreFound() throws Exception {
 
+        final int batchSize = 10;
         final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = mock(SufficientTimeRemainingCalculator.class);
 
+        when(eventLinkingWorkerConfig.getBatchSize()).thenReturn(batchSize);
         when(sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining()).thenReturn(true);
-        when(eventNumberLinker.findAndAndLinkNextUnlinkedEvent()).thenReturn(true, true, false);
+        when(eventNumberLinker.findAndLinkNextUnlinkedEvents(batchSize)).thenReturn(10, 3, 0);
 
-        eventLinkingWorker.linkNewEvents(sufficientTimeRemainingCalculator);
+        assertThat(eventLinkingWorker.linkNewEvents(sufficientTimeRemainingCalculator), is(eventsProcessed(13)));
 
-        verify(eventNumberLinker, times(3)).findAndAndLinkNextUnlinkedEvent();
+        verify(eventNumberLinker, times(3)).findAndLinkNextUnlinkedEvents(batchSize);
     }
 
     @Test
     public void shouldContinueLinkingEventsUntilMaxTimeIsExceeded() throws Exception {
 
+        final int batchSize = 10;
         final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = mock(SufficientTimeRemainingCalculator.class);
 
+        when(eventLinkingWorkerConfig.getBatchSize()).thenReturn(batchSize);
         when(sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining()).thenReturn(true, true, false);
-        when(eventNumberLinker.findAndAndLinkNextUnlinkedEvent()).thenReturn(true);
+        when(eventNumberLinker.findAndLinkNextUnlinkedEvents(batchSize)).thenReturn(batchSize);
 
         eventLinkingWorker.linkNewEvents(sufficientTimeRemainingCalculator);
 
-        verify(eventNumberLinker, times(2)).findAndAndLinkNextUnlinkedEvent();
+        verify(eventNumberLinker, times(2)).findAndLinkNextUnlinkedEvents(batchSize);
     }
 
     @Test
@@ -56,6 +74,19 @@ public class EventLinkingWorkerTest {
 
         eventLinkingWorker.linkNewEvents(sufficientTimeRemainingCalculator);
 
-        verify(eventNumberLinker, never()).findAndAndLinkNextUnlinkedEvent();
+        verify(eventNumberLinker, never()).findAndLinkNextUnlinkedEvents(anyInt());
+    }
+
+    @Test
+    public void shouldDoNothingIfAlreadyRunningOnThisNode() throws Exception {
+
+        final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = mock(SufficientTimeRemainingCalculator.class);
+
+        getValueOfField(eventLinkingWorker, "running", AtomicBoolean.class).set(true);
+
+        assertThat(eventLinkingWorker.linkNewEvents(sufficientTimeRemainingCalculator), is(SKIPPED));
+
+        verifyNoInteractions(sufficientTimeRemainingCalculator);
+        verify(eventNumberLinker, never()).findAndLinkNextUnlinkedEvents(anyInt());
     }
-}
\ No newline at end of file
+}
@@ -5,26 +5,41 @@ import static java.util.Optional.of;
 import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel.PUBLISH_QUEUE_CHANNEL;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.LINK;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.LINKED_LAG;
 
 import uk.gov.justice.services.common.converter.StringToJsonObjectConverter;
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.eventsourcing.publishedevent.jdbc.EventLinkDetails;
 import uk.gov.justice.services.eventsourcing.publishedevent.jdbc.LinkEventsInEventLogDatabaseAccess;
 import uk.gov.justice.services.eventsourcing.publishedevent.jdbc.LinkableEventDetails;
 import uk.gov.justice.services.eventsourcing.publishedevent.prepublish.MetadataEventNumberUpdater;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotifier;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.Metadata;
 import uk.gov.justice.services.messaging.MetadataBuilder;
 import uk.gov.justice.services.messaging.spi.DefaultJsonEnvelopeProvider;
 
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import javax.json.JsonObject;
 
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -45,6 +60,15 @@ public class EventNumberLinkerTest {
     @Mock
     private StringToJsonObjectConverter stringToJsonObjectConverter;
 
+    @Mock
+    private EventStoreNotifier eventStoreNotifier;
+
+    @Mock
+    private EventStoreTimers eventStoreTimers;
+
+    @Captor
+    private ArgumentCaptor<Supplier<Optional<ZonedDateTime>>> createdAtCaptor;
+
     @InjectMocks
     private EventNumberLinker eventNumberLinker;
 
@@ -60,6 +84,8 @@ public class EventNumberLinkerTest {
         final JsonObject updatedMetadataJsonObject = mock(JsonObject.class);
         final Metadata metadata = mock(Metadata.class);
         final Metadata updatedMetadata = mock(Metadata.class);
+        final ZonedDateTime createdAt = new UtcClock().now();
+        final Timer.Sample sample = Timer.start();
 
         final LinkableEventDetails linkableEventDetails = new LinkableEventDetails(
                 eventId,
@@ -81,17 +107,24 @@ public class EventNumberLinkerTest {
                 eventNumber)).thenReturn(updatedMetadata);
         when(updatedMetadata.asJsonObject()).thenReturn(updatedMetadataJsonObject);
         when(updatedMetadataJsonObject.toString()).thenReturn(updatedMetadataJson);
+        when(updatedMetadata.createdAt()).thenReturn(of(createdAt));
+        when(eventStoreTimers.start()).thenReturn(sample);
 
         assertThat(eventNumberLinker.findAndAndLinkNextUnlinkedEvent(), is(true));
 
-        final InOrder inOrder = inOrder(linkEventsInEventLogDatabaseAccess);
+        final InOrder inOrder = inOrder(linkEventsInEventLogDatabaseAccess, eventStoreNotifier, eventStoreTimers);
 
+        inOrder.verify(eventStoreTimers).start();
         inOrder.verify(linkEventsInEventLogDatabaseAccess).linkEventInEventLogTable(
                 eventId,
                 previousEventNumber,
                 updatedMetadataJson);
-
+        inOrder.verify(eventStoreTimers).recordLagOnceCommitted(eq(LINKED_LAG), createdAtCaptor.capture());
         inOrder.verify(linkEventsInEventLogDatabaseAccess).insertLinkedEventIntoPublishQueue(eventId);
+        inOrder.verify(eventStoreNotifier).notifyOf(PUBLISH_QUEUE_CHANNEL);
+        inOrder.verify(eventStoreTimers).stop(sample, LINK);
+
+        assertThat(createdAtCaptor.getValue().get(), is(of(createdAt)));
     }
 
     @Test
@@ -105,5 +138,81 @@ public class EventNumberLinkerTest {
         verifyNoInteractions(stringToJsonObjectConverter);
         verifyNoInteractions(defaultJsonEnvelopeProvider);
         verifyNoInteractions(metadataEventNumberUpdater);
+        verifyNoInteractions(eventStoreNotifier);
+    }
+
+    @Test
+    public void shouldLinkBatchOfUnlinkedEventsByChainingPreviousEventNumbersInEventNumberOrder() throws Exception {
+
+        final int batchSize = 10;
+        final UUID eventId_1 = randomUUID();
+        final UUID eventId_2 = randomUUID();
+        final UUID eventId_3 = randomUUID();
+        final Long previousEventNumber = 22L;
+
+        final LinkableEventDetails linkableEventDetails_1 = new LinkableEventDetails(eventId_1, 23L, "metadata-json_1");
+        final LinkableEventDetails linkableEventDetails_2 = new LinkableEventDetails(eventId_2, 24L, "metadata-json_2");
+        final LinkableEventDetails linkableEventDetails_3 = new LinkableEventDetails(eventId_3, 26L, "metadata-json_3");
+
+        when(linkEventsInEventLogDatabaseAccess.findNextUnlinkedEvents(batchSize)).thenReturn(List.of(
+                linkableEventDetails_1,
+                linkableEventDetails_2,
+                linkableEventDetails_3));
+        when(linkEventsInEventLogDatabaseAccess.findNextUnlinkedPreviousEventNumber()).thenReturn(previousEventNumber);
+
+        givenMetadataIsUpdated("metadata-json_1", 22L, 23L, "updated-metadata-json_1");
+        givenMetadataIsUpdated("metadata-json_2", 23L, 24L, "updated-metadata-json_2");
+        givenMetadataIsUpdated("metadata-json_3", 24L, 26L, "updated-metadata-json_3");
+
+        assertThat(eventNumberLinker.findAndLinkNextUnlinkedEvents(batchSize), is(3));
+
+        final InOrder inOrder = inOrder(linkEventsInEventLogDatabaseAccess, eventStoreNotifier);
+
+        inOrder.verify(linkEventsInEventLogDatabaseAccess).linkEventsInEventLogTable(List.of(
+                new EventLinkDetails(eventId_1, 22L, "updated-metadata-json_1"),
+                new EventLinkDetails(eventId_2, 23L, "updated-metadata-json_2"),
+                new EventLinkDetails(eventId_3, 24L, "updated-metadata-json_3")));
+
+        inOrder.verify(linkEventsInEventLogDatabaseAccess).insertLinkedEventsIntoPublishQueue(List.of(eventId_1, eventId_2, eventId_3));
+        inOrder.verify(eventStoreNotifier).notifyOf(PUBLISH_QUEUE_CHANNEL);
+    }
+
+    @Test
+    public void shouldDoNothingIfNoBatchOfUnlinkedEventsFound() throws Exception {
+
+        final int batchSize = 10;
+
+        when(linkEventsInEventLogDatabaseAccess.findNextUnlinkedEvents(batchSize)).thenReturn(List.of());
+
+        assertThat(eventNumberLinker.findAndLinkNextUnlinkedEvents(batchSize), is(0));
+
+        verifyNoMoreInteractions(linkEventsInEventLogDatabaseAccess);
+        verifyNoInteractions(stringToJsonObjectConverter);
+        verifyNoInteractions(defaultJsonEnvelopeProvider);
+        verifyNoInteractions(metadataEventNumberUpdater);
+        verifyNoInteractions(eventStoreNotifier);
+    }
+
+    private void givenMetadataIsUpdated(
+            final String metadataString,
+            final Long previousEventNumber,
+            final Long eventNumber,
+            final String updatedMetadataJson) {
+
+        final JsonObject metadataJsonObject = mock(JsonObject.class);
+        final JsonObject updatedMetadataJsonObject = mock(JsonObject.class);
+        final Metadata metadata = mock(Metadata.class);
+        final Metadata updatedMetadata = mock(Metadata.class);
+        final MetadataBuilder metadataBuilder = mock(MetadataBuilder.class);
+
+        when(stringToJsonObjectConverter.convert(metadataString)).thenReturn(metadataJsonObject);
+        when(defaultJsonEnvelopeProvider.metadataFrom(metadataJsonObject)).thenReturn(metadataBuilder);
+        when(metadataBuilder.build()).thenReturn(metadata);
+        when(metadataEventNumberUpdater.updateMetadataJson(
+                metadata,
+                previousEventNumber,
+                eventNumber)).thenReturn(updatedMetadata);
+        when(updatedMetadata.asJsonObject()).thenReturn(updatedMetadataJsonObject);
+        when(updatedMetadataJsonObject.toString()).thenReturn(updatedMetadataJson);
     }
-}
\ No newline at end of file
+}
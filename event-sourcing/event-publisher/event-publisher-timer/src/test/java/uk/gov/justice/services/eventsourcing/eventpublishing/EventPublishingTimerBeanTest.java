@@ -1,18 +1,29 @@
 package uk.gov.justice.services.eventsourcing.eventpublishing;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.eventsourcing.eventpublishing.EventPublishingTimerBean.TIMER_JOB_NAME;
+import static uk.gov.justice.services.eventsourcing.eventpublishing.WorkerRunResult.SKIPPED;
+import static uk.gov.justice.services.eventsourcing.eventpublishing.WorkerRunResult.eventsProcessed;
 
 import uk.gov.justice.services.ejb.timer.TimerServiceManager;
 import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventPublishingWorkerConfig;
 
 import javax.ejb.Timer;
+import javax.ejb.TimerConfig;
 import javax.ejb.TimerService;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -35,6 +46,9 @@ public class EventPublishingTimerBeanTest {
     @Mock
     private EventPublishingWorker eventPublishingWorker;
 
+    @Mock
+    private AdaptiveBackOffFactory adaptiveBackOffFactory;
+
     @InjectMocks
     private EventPublishingTimerBean eventPublishingTimerBean;
 
@@ -48,6 +62,7 @@ public class EventPublishingTimerBeanTest {
 
         eventPublishingTimerBean.startTimerService();
 
+        verify(eventPublishingWorkerConfig).validate();
         verify(timerServiceManager).createIntervalTimer(
                 TIMER_JOB_NAME,
                 timerStartWaitMilliseconds,
@@ -72,4 +87,76 @@ public class EventPublishingTimerBeanTest {
 
         verify(eventPublishingWorker).publishNewEvents(sufficientTimeRemainingCalculator);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldScheduleSingleActionTimerInsteadOfIntervalTimerIfAdaptiveBackOffEnabled() throws Exception {
+
+        final long timerStartWaitMilliseconds = 23L;
+        final AdaptiveBackOff adaptiveBackOff = mock(AdaptiveBackOff.class);
+
+        when(eventPublishingWorkerConfig.isAdaptiveBackOffEnabled()).thenReturn(true);
+        when(eventPublishingWorkerConfig.getAdaptiveBackOffMinIntervalMilliseconds()).thenReturn(100L);
+        when(eventPublishingWorkerConfig.getAdaptiveBackOffMaxIntervalMilliseconds()).thenReturn(10_000L);
+        when(eventPublishingWorkerConfig.getTimerStartWaitMilliseconds()).thenReturn(timerStartWaitMilliseconds);
+        when(adaptiveBackOffFactory.createNew("event-publishing", 100L, 10_000L)).thenReturn(adaptiveBackOff);
+
+        eventPublishingTimerBean.startTimerService();
+
+        final ArgumentCaptor<TimerConfig> timerConfigCaptor = ArgumentCaptor.forClass(TimerConfig.class);
+        verify(timerService).createSingleActionTimer(eq(timerStartWaitMilliseconds), timerConfigCaptor.capture());
+        assertThat(timerConfigCaptor.getValue().getInfo(), is(TIMER_JOB_NAME));
+        assertThat(timerConfigCaptor.getValue().isPersistent(), is(false));
+        verifyNoInteractions(timerServiceManager);
+    }
+
+    @Test
+    public void shouldRescheduleNextRunUsingAdaptiveBackOffIfAdaptiveBackOffEnabled() throws Exception {
+
+        final long timerIntervalMilliseconds = 500L;
+        final long timeBetweenRunsMilliseconds = 23L;
+        final AdaptiveBackOff adaptiveBackOff = mock(AdaptiveBackOff.class);
+        final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = mock(SufficientTimeRemainingCalculator.class);
+
+        when(eventPublishingWorkerConfig.isAdaptiveBackOffEnabled()).thenReturn(true);
+        when(eventPublishingWorkerConfig.getAdaptiveBackOffMinIntervalMilliseconds()).thenReturn(100L);
+        when(eventPublishingWorkerConfig.getAdaptiveBackOffMaxIntervalMilliseconds()).thenReturn(10_000L);
+        when(eventPublishingWorkerConfig.getTimerStartWaitMilliseconds()).thenReturn(7250L);
+        when(eventPublishingWorkerConfig.getTimerIntervalMilliseconds()).thenReturn(timerIntervalMilliseconds);
+        when(eventPublishingWorkerConfig.getTimeBetweenRunsMilliseconds()).thenReturn(timeBetweenRunsMilliseconds);
+        when(adaptiveBackOffFactory.createNew("event-publishing", 100L, 10_000L)).thenReturn(adaptiveBackOff);
+        when(sufficientTimeRemainingCalculatorFactory.createNewWithMaxRunTime(timerIntervalMilliseconds, timeBetweenRunsMilliseconds)).thenReturn(sufficientTimeRemainingCalculator);
+        when(eventPublishingWorker.publishNewEvents(sufficientTimeRemainingCalculator)).thenReturn(eventsProcessed(0));
+        when(adaptiveBackOff.nextIntervalMilliseconds(false)).thenReturn(200L);
+
+        eventPublishingTimerBean.startTimerService();
+        eventPublishingTimerBean.runEventPublishing(mock(Timer.class));
+
+        verify(timerService).createSingleActionTimer(eq(200L), any(TimerConfig.class));
+    }
+
+    @Test
+    public void shouldRescheduleNextRunWithoutBackingOffIfTheRunWasSkipped() throws Exception {
+
+        final long timerIntervalMilliseconds = 500L;
+        final long timeBetweenRunsMilliseconds = 23L;
+        final AdaptiveBackOff adaptiveBackOff = mock(AdaptiveBackOff.class);
+        final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = mock(SufficientTimeRemainingCalculator.class);
+
+        when(eventPublishingWorkerConfig.isAdaptiveBackOffEnabled()).thenReturn(true);
+        when(eventPublishingWorkerConfig.getAdaptiveBackOffMinIntervalMilliseconds()).thenReturn(100L);
+        when(eventPublishingWorkerConfig.getAdaptiveBackOffMaxIntervalMilliseconds()).thenReturn(10_000L);
+        when(eventPublishingWorkerConfig.getTimerStartWaitMilliseconds()).thenReturn(7250L);
+        when(eventPublishingWorkerConfig.getTimerIntervalMilliseconds()).thenReturn(timerIntervalMilliseconds);
+        when(eventPublishingWorkerConfig.getTimeBetweenRunsMilliseconds()).thenReturn(timeBetweenRunsMilliseconds);
+        when(adaptiveBackOffFactory.createNew("event-publishing", 100L, 10_000L)).thenReturn(adaptiveBackOff);
+        when(sufficientTimeRemainingCalculatorFactory.createNewWithMaxRunTime(timerIntervalMilliseconds, timeBetweenRunsMilliseconds)).thenReturn(sufficientTimeRemainingCalculator);
+        when(eventPublishingWorker.publishNewEvents(sufficientTimeRemainingCalculator)).thenReturn(SKIPPED);
+        when(adaptiveBackOff.getCurrentIntervalMilliseconds()).thenReturn(400L);
+
+        eventPublishingTimerBean.startTimerService();
+        eventPublishingTimerBean.runEventPublishing(mock(Timer.class));
+
+        verify(timerService).createSingleActionTimer(eq(400L), any(TimerConfig.class));
+        verify(adaptiveBackOff, never()).nextIntervalMilliseconds(anyBoolean());
+    }
+}
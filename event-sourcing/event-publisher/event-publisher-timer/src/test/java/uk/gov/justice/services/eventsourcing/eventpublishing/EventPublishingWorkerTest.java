@@ -0,0 +1,115 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.eventpublishing.WorkerRunResult.SKIPPED;
+import static uk.gov.justice.services.eventsourcing.eventpublishing.WorkerRunResult.eventsProcessed;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.getValueOfField;
+
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventPublishingWorkerConfig;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class EventPublishingWorkerTest {
+
+    @Mock
+    private LinkedEventPublisher linkedEventPublisher;
+
+    @Mock
+    private EventPublishingWorkerConfig eventPublishingWorkerConfig;
+
+    @InjectMocks
+    private EventPublishingWorker eventPublishingWorker;
+
+    @Test
+    public void shouldPublishNewEventsInBatchesUntilNoMoreEventsAreFound() throws Exception {
+
+        final int batchSize = 10;
+        final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = mock(SufficientTimeRemainingCalculator.class);
+
+        when(eventPublishingWorkerConfig.getBatchSize()).thenReturn(batchSize);
+        when(eventPublishingWorkerConfig.isOrderedPublishingEnabled()).thenReturn(false);
+        when(sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining()).thenReturn(true);
+        when(linkedEventPublisher.publishNextNewEvents(batchSize)).thenReturn(10, 3, 0);
+
+        assertThat(eventPublishingWorker.publishNewEvents(sufficientTimeRemainingCalculator), is(eventsProcessed(13)));
+
+        verify(linkedEventPublisher, times(3)).publishNextNewEvents(batchSize);
+        verify(linkedEventPublisher, never()).publishNextNewEventsInEventNumberOrder(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldPublishNewEventsInEventNumberOrderForThisNodesPartitionIfOrderedPublishingEnabled() throws Exception {
+
+        final int batchSize = 10;
+        final int partitionCount = 3;
+        final int partitionIndex = 2;
+        final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = mock(SufficientTimeRemainingCalculator.class);
+
+        when(eventPublishingWorkerConfig.getBatchSize()).thenReturn(batchSize);
+        when(eventPublishingWorkerConfig.isOrderedPublishingEnabled()).thenReturn(true);
+        when(eventPublishingWorkerConfig.getPartitionCount()).thenReturn(partitionCount);
+        when(eventPublishingWorkerConfig.getPartitionIndex()).thenReturn(partitionIndex);
+        when(sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining()).thenReturn(true);
+        when(linkedEventPublisher.publishNextNewEventsInEventNumberOrder(batchSize, partitionCount, partitionIndex)).thenReturn(10, 0);
+
+        eventPublishingWorker.publishNewEvents(sufficientTimeRemainingCalculator);
+
+        verify(linkedEventPublisher, times(2)).publishNextNewEventsInEventNumberOrder(batchSize, partitionCount, partitionIndex);
+        verify(linkedEventPublisher, never()).publishNextNewEvents(anyInt());
+    }
+
+    @Test
+    public void shouldContinuePublishingEventsUntilMaxTimeIsExceeded() throws Exception {
+
+        final int batchSize = 10;
+        final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = mock(SufficientTimeRemainingCalculator.class);
+
+        when(eventPublishingWorkerConfig.getBatchSize()).thenReturn(batchSize);
+        when(sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining()).thenReturn(true, true, false);
+        when(linkedEventPublisher.publishNextNewEvents(batchSize)).thenReturn(batchSize);
+
+        eventPublishingWorker.publishNewEvents(sufficientTimeRemainingCalculator);
+
+        verify(linkedEventPublisher, times(2)).publishNextNewEvents(batchSize);
+    }
+
+    @Test
+    public void shouldNotPublishNextEventsIfNoSufficientProcessingTimeRemaining() throws Exception {
+
+        final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = mock(SufficientTimeRemainingCalculator.class);
+
+        when(sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining()).thenReturn(false);
+
+        eventPublishingWorker.publishNewEvents(sufficientTimeRemainingCalculator);
+
+        verify(linkedEventPublisher, never()).publishNextNewEvents(anyInt());
+    }
+
+    @Test
+    public void shouldDoNothingIfAlreadyRunningOnThisNode() throws Exception {
+
+        final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator = mock(SufficientTimeRemainingCalculator.class);
+
+        getValueOfField(eventPublishingWorker, "running", AtomicBoolean.class).set(true);
+
+        assertThat(eventPublishingWorker.publishNewEvents(sufficientTimeRemainingCalculator), is(SKIPPED));
+
+        verifyNoInteractions(sufficientTimeRemainingCalculator);
+        verify(linkedEventPublisher, never()).publishNextNewEvents(anyInt());
+    }
+}
@@ -0,0 +1,59 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationConfig;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class EventStoreNotificationListenerBeanTest {
+
+    @Mock
+    private ManagedExecutorService managedExecutorService;
+
+    @Mock
+    private EventStoreNotificationConfig eventStoreNotificationConfig;
+
+    @Mock
+    private EventStoreNotificationListener eventStoreNotificationListener;
+
+    @InjectMocks
+    private EventStoreNotificationListenerBean eventStoreNotificationListenerBean;
+
+    @Test
+    public void shouldStartTheListenerIfNotificationsEnabled() throws Exception {
+
+        when(eventStoreNotificationConfig.isEventStoreNotificationsEnabled()).thenReturn(true);
+
+        eventStoreNotificationListenerBean.startListening();
+
+        verify(managedExecutorService).execute(eventStoreNotificationListener);
+    }
+
+    @Test
+    public void shouldNotStartTheListenerIfNotificationsDisabled() throws Exception {
+
+        when(eventStoreNotificationConfig.isEventStoreNotificationsEnabled()).thenReturn(false);
+
+        eventStoreNotificationListenerBean.startListening();
+
+        verifyNoInteractions(managedExecutorService);
+    }
+
+    @Test
+    public void shouldStopTheListener() throws Exception {
+
+        eventStoreNotificationListenerBean.stopListening();
+
+        verify(eventStoreNotificationListener).stop();
+    }
+}
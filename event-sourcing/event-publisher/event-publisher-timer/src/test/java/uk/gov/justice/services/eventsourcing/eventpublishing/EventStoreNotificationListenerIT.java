@@ -0,0 +1,167 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel.EVENT_LOG_CHANNEL;
+import static uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel.PUBLISH_QUEUE_CHANNEL;
+
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventLinkingWorkerConfig;
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventPublishingWorkerConfig;
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventStoreNotificationListenerConfig;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel;
+import uk.gov.justice.services.eventsourcing.source.core.EventStoreDataSourceProvider;
+import uk.gov.justice.services.test.utils.persistence.FrameworkTestDataSourceFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+@ExtendWith(MockitoExtension.class)
+public class EventStoreNotificationListenerIT {
+
+    private static final long VERIFY_TIMEOUT_MILLISECONDS = 10_000L;
+
+    private final DataSource eventStoreDataSource = new FrameworkTestDataSourceFactory().createEventStoreDataSource();
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    @Mock
+    private EventStoreDataSourceProvider eventStoreDataSourceProvider;
+
+    @Mock
+    private EventLinkingWorker eventLinkingWorker;
+
+    @Mock
+    private EventPublishingWorker eventPublishingWorker;
+
+    @Mock
+    private EventLinkingWorkerConfig eventLinkingWorkerConfig;
+
+    @Mock
+    private EventPublishingWorkerConfig eventPublishingWorkerConfig;
+
+    @Mock
+    private EventStoreNotificationListenerConfig eventStoreNotificationListenerConfig;
+
+    @Mock
+    private SufficientTimeRemainingCalculatorFactory sufficientTimeRemainingCalculatorFactory;
+
+    @Mock
+    private Logger logger;
+
+    @InjectMocks
+    private EventStoreNotificationListener eventStoreNotificationListener;
+
+    @BeforeEach
+    public void startListening() {
+
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(eventStoreDataSource);
+        when(eventStoreNotificationListenerConfig.getPollTimeoutMilliseconds()).thenReturn(100L);
+        when(eventStoreNotificationListenerConfig.getMaxRunTimeMilliseconds()).thenReturn(1000L);
+
+        executorService.execute(eventStoreNotificationListener);
+    }
+
+    @AfterEach
+    public void stopListening() throws Exception {
+        eventStoreNotificationListener.stop();
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(10, SECONDS), is(true));
+    }
+
+    @Test
+    public void shouldRunTheEventLinkingWorkerWhenNotifiedOfNewEventsInTheEventLog() throws Exception {
+
+        verify(eventLinkingWorker, timeout(VERIFY_TIMEOUT_MILLISECONDS).times(1)).linkNewEvents(any());
+        verify(eventPublishingWorker, timeout(VERIFY_TIMEOUT_MILLISECONDS).times(1)).publishNewEvents(any());
+
+        notifyOn(EVENT_LOG_CHANNEL);
+
+        verify(eventLinkingWorker, timeout(VERIFY_TIMEOUT_MILLISECONDS).times(2)).linkNewEvents(any());
+        verify(eventPublishingWorker, after(500).times(1)).publishNewEvents(any());
+    }
+
+    @Test
+    public void shouldRunTheEventPublishingWorkerWhenNotifiedOfNewEventsInThePublishQueue() throws Exception {
+
+        verify(eventLinkingWorker, timeout(VERIFY_TIMEOUT_MILLISECONDS).times(1)).linkNewEvents(any());
+        verify(eventPublishingWorker, timeout(VERIFY_TIMEOUT_MILLISECONDS).times(1)).publishNewEvents(any());
+
+        notifyOn(PUBLISH_QUEUE_CHANNEL);
+
+        verify(eventPublishingWorker, timeout(VERIFY_TIMEOUT_MILLISECONDS).times(2)).publishNewEvents(any());
+        verify(eventLinkingWorker, after(500).times(1)).linkNewEvents(any());
+    }
+
+    @Test
+    public void shouldReconnectAndKeepListeningIfTheListenerConnectionIsDropped() throws Exception {
+
+        when(eventStoreNotificationListenerConfig.getReconnectWaitMilliseconds()).thenReturn(100L);
+
+        verify(eventLinkingWorker, timeout(VERIFY_TIMEOUT_MILLISECONDS).times(1)).linkNewEvents(any());
+
+        assertThat(terminateListenerConnection(), is(1));
+
+        verify(logger, timeout(VERIFY_TIMEOUT_MILLISECONDS)).warn(anyString(), any(SQLException.class));
+        verify(eventLinkingWorker, timeout(VERIFY_TIMEOUT_MILLISECONDS).times(2)).linkNewEvents(any());
+
+        notifyOn(EVENT_LOG_CHANNEL);
+
+        verify(eventLinkingWorker, timeout(VERIFY_TIMEOUT_MILLISECONDS).times(3)).linkNewEvents(any());
+    }
+
+    private void notifyOn(final EventStoreNotificationChannel eventStoreNotificationChannel) throws SQLException {
+        try (final Connection connection = eventStoreDataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute("NOTIFY " + eventStoreNotificationChannel.getChannelName());
+        }
+    }
+
+    /**
+     * The last statement run on the listener connection before it starts polling for
+     * notifications is a LISTEN, so it can be found by its query in pg_stat_activity
+     */
+    private int terminateListenerConnection() throws SQLException {
+        final String sql = """
+                SELECT pg_terminate_backend(pid)
+                FROM pg_stat_activity
+                WHERE datname = current_database()
+                AND pid <> pg_backend_pid()
+                AND query LIKE 'LISTEN %'
+                """;
+        try (final Connection connection = eventStoreDataSource.getConnection();
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery(sql)) {
+
+            int terminated = 0;
+            while (resultSet.next()) {
+                if (resultSet.getBoolean(1)) {
+                    terminated++;
+                }
+            }
+
+            return terminated;
+        }
+    }
+}
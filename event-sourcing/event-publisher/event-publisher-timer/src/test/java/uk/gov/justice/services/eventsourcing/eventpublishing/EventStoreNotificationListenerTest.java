@@ -0,0 +1,129 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventLinkingWorkerConfig;
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventPublishingWorkerConfig;
+import uk.gov.justice.services.eventsourcing.eventpublishing.configuration.EventStoreNotificationListenerConfig;
+import uk.gov.justice.services.eventsourcing.source.core.EventStoreDataSourceProvider;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+
+@ExtendWith(MockitoExtension.class)
+public class EventStoreNotificationListenerTest {
+
+    @Mock
+    private EventStoreDataSourceProvider eventStoreDataSourceProvider;
+
+    @Mock
+    private EventLinkingWorker eventLinkingWorker;
+
+    @Mock
+    private EventPublishingWorker eventPublishingWorker;
+
+    @Mock
+    private EventLinkingWorkerConfig eventLinkingWorkerConfig;
+
+    @Mock
+    private EventPublishingWorkerConfig eventPublishingWorkerConfig;
+
+    @Mock
+    private EventStoreNotificationListenerConfig eventStoreNotificationListenerConfig;
+
+    @Mock
+    private SufficientTimeRemainingCalculatorFactory sufficientTimeRemainingCalculatorFactory;
+
+    @Mock
+    private Logger logger;
+
+    @InjectMocks
+    private EventStoreNotificationListener eventStoreNotificationListener;
+
+    @Test
+    public void shouldListenOnBothChannelsAndRunTheWorkerForEachNotifiedChannel() throws Exception {
+
+        final long maxRunTime = 5000L;
+        final long linkingTimeBetweenRuns = 100L;
+        final long publishingTimeBetweenRuns = 200L;
+        final DataSource dataSource = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        final Statement statement = mock(Statement.class);
+        final PGConnection pgConnection = mock(PGConnection.class);
+        final PGNotification publishQueueNotification = mock(PGNotification.class);
+        final SufficientTimeRemainingCalculator linkingCalculator = mock(SufficientTimeRemainingCalculator.class);
+        final SufficientTimeRemainingCalculator publishingCalculator = mock(SufficientTimeRemainingCalculator.class);
+
+        when(eventStoreNotificationListenerConfig.getPollTimeoutMilliseconds()).thenReturn(1000L);
+        when(eventStoreNotificationListenerConfig.getMaxRunTimeMilliseconds()).thenReturn(maxRunTime);
+        when(eventLinkingWorkerConfig.getTimeBetweenRunsMilliseconds()).thenReturn(linkingTimeBetweenRuns);
+        when(eventPublishingWorkerConfig.getTimeBetweenRunsMilliseconds()).thenReturn(publishingTimeBetweenRuns);
+        when(sufficientTimeRemainingCalculatorFactory.createNewWithMaxRunTime(maxRunTime, linkingTimeBetweenRuns)).thenReturn(linkingCalculator);
+        when(sufficientTimeRemainingCalculatorFactory.createNewWithMaxRunTime(maxRunTime, publishingTimeBetweenRuns)).thenReturn(publishingCalculator);
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(publishQueueNotification.getName()).thenReturn("publish_queue_new_events");
+        when(pgConnection.getNotifications(1000)).thenReturn(null).thenAnswer(invocationOnMock -> {
+            eventStoreNotificationListener.stop();
+            return new PGNotification[]{publishQueueNotification};
+        });
+
+        eventStoreNotificationListener.run();
+
+        final InOrder inOrder = inOrder(statement, eventLinkingWorker, eventPublishingWorker, connection);
+        inOrder.verify(statement).execute("LISTEN event_log_new_events");
+        inOrder.verify(statement).execute("LISTEN publish_queue_new_events");
+        inOrder.verify(eventLinkingWorker).linkNewEvents(linkingCalculator);
+        inOrder.verify(eventPublishingWorker, times(2)).publishNewEvents(publishingCalculator);
+        inOrder.verify(statement).execute("UNLISTEN *");
+        inOrder.verify(connection).close();
+
+        verify(eventLinkingWorker, times(1)).linkNewEvents(any(SufficientTimeRemainingCalculator.class));
+        assertThat(eventStoreNotificationListener.isRunning(), is(false));
+    }
+
+    @Test
+    public void shouldLogAndReconnectIfListeningFails() throws Exception {
+
+        final SQLException sqlException = new SQLException("Ooops");
+        final DataSource dataSource = mock(DataSource.class);
+
+        when(eventStoreNotificationListenerConfig.getReconnectWaitMilliseconds()).thenReturn(0L);
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenThrow(sqlException);
+        doAnswer(invocationOnMock -> {
+            eventStoreNotificationListener.stop();
+            return null;
+        }).when(logger).warn("Event store notification listener failed. Reconnecting in 0 milliseconds", sqlException);
+
+        eventStoreNotificationListener.run();
+
+        verify(logger).warn("Event store notification listener failed. Reconnecting in 0 milliseconds", sqlException);
+        verify(eventLinkingWorker, never()).linkNewEvents(any(SufficientTimeRemainingCalculator.class));
+        verify(eventPublishingWorker, never()).publishNewEvents(any(SufficientTimeRemainingCalculator.class));
+    }
+}
@@ -7,23 +7,38 @@ import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.PUBLISH;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.PUBLISHED_LAG;
 
+import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.eventsourcing.publishedevent.EventPublishingException;
 import uk.gov.justice.services.eventsourcing.publishedevent.jdbc.EventPublishingRepository;
 import uk.gov.justice.services.eventsourcing.publisher.jms.EventPublisher;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventConverter;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -41,6 +56,12 @@ public class LinkedEventPublisherTest {
     @Mock
     private EventPublishingRepository eventPublishingRepository;
 
+    @Mock
+    private EventStoreTimers eventStoreTimers;
+
+    @Captor
+    private ArgumentCaptor<Supplier<Optional<ZonedDateTime>>> createdAtCaptor;
+
     @InjectMocks
     private LinkedEventPublisher linkedEventPublisher;
 
@@ -62,6 +83,32 @@ public class LinkedEventPublisherTest {
         inOrder.verify(eventPublishingRepository).removeFromPublishQueue(eventId);
     }
 
+    @Test
+    public void shouldTimePublishingTheNextEventAndRecordHowLongAfterItsCreationItWasPublished() throws Exception {
+
+        final UUID eventId = randomUUID();
+        final ZonedDateTime createdAt = new UtcClock().now();
+        final Timer.Sample sample = Timer.start();
+        final LinkedEvent linkedEvent = mock(LinkedEvent.class);
+        final JsonEnvelope jsonEnvelope = mock(JsonEnvelope.class);
+
+        when(eventStoreTimers.start()).thenReturn(sample);
+        when(eventPublishingRepository.getNextEventIdFromPublishQueue()).thenReturn(of(eventId));
+        when(eventPublishingRepository.findEventFromEventLog(eventId)).thenReturn(of(linkedEvent));
+        when(eventConverter.envelopeOf(linkedEvent)).thenReturn(jsonEnvelope);
+        when(linkedEvent.getCreatedAt()).thenReturn(createdAt);
+
+        assertThat(linkedEventPublisher.publishNextNewEvent(), is(true));
+
+        final InOrder inOrder = inOrder(eventStoreTimers, eventPublisher);
+        inOrder.verify(eventStoreTimers).start();
+        inOrder.verify(eventPublisher).publish(jsonEnvelope);
+        inOrder.verify(eventStoreTimers).recordLagOnceCommitted(eq(PUBLISHED_LAG), createdAtCaptor.capture());
+        inOrder.verify(eventStoreTimers).stop(sample, PUBLISH);
+
+        assertThat(createdAtCaptor.getValue().get(), is(of(createdAt)));
+    }
+
     @Test
     public void shouldDoNothingIfNoEventIdsFoundInPublishQueue() throws Exception {
 
@@ -87,4 +134,65 @@ public class LinkedEventPublisherTest {
 
         assertThat(eventPublishingException.getMessage(), is("Failed to find LinkedEvent in event_log with id '933248cd-a5d4-417c-b28c-709ab009ab50' when id exists in publish_queue table"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldGetBatchOfEventIdsFromPublishQueueFetchEventsFromEventLogInOneQueryAndPublishInOrder() throws Exception {
+
+        final int batchSize = 10;
+        final UUID eventId_1 = randomUUID();
+        final UUID eventId_2 = randomUUID();
+        final LinkedEvent linkedEvent_1 = mock(LinkedEvent.class);
+        final LinkedEvent linkedEvent_2 = mock(LinkedEvent.class);
+        final JsonEnvelope jsonEnvelope_1 = mock(JsonEnvelope.class);
+        final JsonEnvelope jsonEnvelope_2 = mock(JsonEnvelope.class);
+        final List<UUID> eventIds = List.of(eventId_2, eventId_1);
+
+        when(eventPublishingRepository.getNextEventIdsFromPublishQueue(batchSize)).thenReturn(eventIds);
+        when(eventPublishingRepository.findEventsFromEventLog(eventIds)).thenReturn(List.of(linkedEvent_1, linkedEvent_2));
+        when(eventConverter.envelopeOf(linkedEvent_1)).thenReturn(jsonEnvelope_1);
+        when(eventConverter.envelopeOf(linkedEvent_2)).thenReturn(jsonEnvelope_2);
+
+        assertThat(linkedEventPublisher.publishNextNewEvents(batchSize), is(2));
+
+        final InOrder inOrder = inOrder(eventPublisher, eventPublishingRepository);
+        inOrder.verify(eventPublisher).publish(jsonEnvelope_1);
+        inOrder.verify(eventPublisher).publish(jsonEnvelope_2);
+        inOrder.verify(eventPublishingRepository).removeFromPublishQueue(eventIds);
+    }
+
+    @Test
+    public void shouldReturnZeroIfNoEventIdsFoundInPublishQueueWhenPublishingBatch() throws Exception {
+
+        final int batchSize = 10;
+
+        when(eventPublishingRepository.getNextEventIdsFromPublishQueue(batchSize)).thenReturn(List.of());
+
+        assertThat(linkedEventPublisher.publishNextNewEvents(batchSize), is(0));
+
+        verifyNoMoreInteractions(eventPublishingRepository);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void shouldThrowEventPublishingExceptionIfEventIdsFoundInPublishQueueButEventsMissingFromEventLog() throws Exception {
+
+        final int batchSize = 10;
+        final UUID eventId_1 = randomUUID();
+        final UUID eventId_2 = fromString("1b5c9ac3-8a3e-4a86-a4bd-6a1e1d8e5c70");
+        final LinkedEvent linkedEvent_1 = mock(LinkedEvent.class);
+        final List<UUID> eventIds = List.of(eventId_1, eventId_2);
+
+        when(eventPublishingRepository.getNextEventIdsFromPublishQueue(batchSize)).thenReturn(eventIds);
+        when(eventPublishingRepository.findEventsFromEventLog(eventIds)).thenReturn(List.of(linkedEvent_1));
+        when(linkedEvent_1.getId()).thenReturn(eventId_1);
+
+        final EventPublishingException eventPublishingException = assertThrows(
+                EventPublishingException.class,
+                () -> linkedEventPublisher.publishNextNewEvents(batchSize));
+
+        assertThat(eventPublishingException.getMessage(), is("Failed to find LinkedEvents in event_log with ids [1b5c9ac3-8a3e-4a86-a4bd-6a1e1d8e5c70] when ids exist in publish_queue table"));
+
+        verifyNoInteractions(eventPublisher);
+        verify(eventPublishingRepository, never()).removeFromPublishQueue(any(List.class));
+    }
+}
@@ -30,4 +30,14 @@ public class SufficientTimeRemainingCalculatorFactoryTest {
         assertThat(getValueOfField(sufficientTimeRemainingCalculator, "timer", Timer.class), is(timer));
         assertThat(getValueOfField(sufficientTimeRemainingCalculator, "timeBetweenRunsMillis", Long.class), is(timeBetweenRunsMillis));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCreateNewSufficientTimeRemainingCalculatorWithMaxRunTime() throws Exception {
+
+        final SufficientTimeRemainingCalculator sufficientTimeRemainingCalculator =
+                sufficientTimeRemainingCalculatorFactory.createNewWithMaxRunTime(60_000L, 10L);
+
+        assertThat(sufficientTimeRemainingCalculator instanceof DeadlineSufficientTimeRemainingCalculator, is(true));
+        assertThat(sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining(), is(true));
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.justice.services.eventsourcing.eventpublishing;
 
+import static java.lang.System.currentTimeMillis;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
@@ -25,4 +26,14 @@ public class SufficientTimeRemainingCalculatorTest {
         assertThat(sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining(), is(false));
         assertThat(sufficientTimeRemainingCalculator.hasSufficientProcessingTimeRemaining(), is(false));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldCalculateIfThereIsSufficientTimeRemainingBeforeDeadline() throws Exception {
+
+        final Long timeBetweenRuns = 10L;
+
+        assertThat(new DeadlineSufficientTimeRemainingCalculator(currentTimeMillis() + 60_000L, timeBetweenRuns).hasSufficientProcessingTimeRemaining(), is(true));
+        assertThat(new DeadlineSufficientTimeRemainingCalculator(currentTimeMillis() + 5L, timeBetweenRuns).hasSufficientProcessingTimeRemaining(), is(false));
+        assertThat(new DeadlineSufficientTimeRemainingCalculator(currentTimeMillis() - 5L, timeBetweenRuns).hasSufficientProcessingTimeRemaining(), is(false));
+    }
+}
@@ -2,6 +2,7 @@ package uk.gov.justice.services.eventsourcing.eventpublishing.configuration;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
 
 import org.junit.jupiter.api.Test;
@@ -44,4 +45,46 @@ public class EventLinkingWorkerConfigTest {
 
         assertThat(eventLinkingWorkerConfig.getTimeBetweenRunsMilliseconds(), is(milliseconds));
     }
+
+    @Test
+    public void shouldGetTheBatchSize() throws Exception {
+
+        final int batchSize = 234;
+
+        setField(eventLinkingWorkerConfig, "batchSize", "" + batchSize);
+
+        assertThat(eventLinkingWorkerConfig.getBatchSize(), is(batchSize));
+    }
+
+    @Test
+    public void shouldFailValidationIfTheBatchSizeIsLessThanOne() throws Exception {
+
+        setField(eventLinkingWorkerConfig, "batchSize", "0");
+
+        final InvalidWorkerConfigurationException invalidWorkerConfigurationException = assertThrows(
+                InvalidWorkerConfigurationException.class,
+                () -> eventLinkingWorkerConfig.validate());
+
+        assertThat(invalidWorkerConfigurationException.getMessage(), is("Invalid jndi value 'event.linking.worker.batch.size' of '0'. Batch size must be at least 1"));
+    }
+
+    @Test
+    public void shouldPassValidationIfTheBatchSizeIsAtLeastOne() throws Exception {
+
+        setField(eventLinkingWorkerConfig, "batchSize", "1");
+
+        eventLinkingWorkerConfig.validate();
+    }
+
+    @Test
+    public void shouldGetTheAdaptiveBackOffSettings() throws Exception {
+
+        setField(eventLinkingWorkerConfig, "adaptiveBackOffEnabled", "true");
+        setField(eventLinkingWorkerConfig, "adaptiveBackOffMinIntervalMilliseconds", "50");
+        setField(eventLinkingWorkerConfig, "adaptiveBackOffMaxIntervalMilliseconds", "30000");
+
+        assertThat(eventLinkingWorkerConfig.isAdaptiveBackOffEnabled(), is(true));
+        assertThat(eventLinkingWorkerConfig.getAdaptiveBackOffMinIntervalMilliseconds(), is(50L));
+        assertThat(eventLinkingWorkerConfig.getAdaptiveBackOffMaxIntervalMilliseconds(), is(30000L));
+    }
 }
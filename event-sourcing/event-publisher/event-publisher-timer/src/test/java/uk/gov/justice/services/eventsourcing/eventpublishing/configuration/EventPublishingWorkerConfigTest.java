@@ -2,6 +2,7 @@ package uk.gov.justice.services.eventsourcing.eventpublishing.configuration;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
 
 import org.junit.jupiter.api.Test;
@@ -44,4 +45,106 @@ public class EventPublishingWorkerConfigTest {
 
         assertThat(eventPublishingWorkerConfig.getTimeBetweenRunsMilliseconds(), is(milliseconds));
     }
+
+    @Test
+    public void shouldGetTheBatchSize() throws Exception {
+
+        final int batchSize = 250;
+
+        setField(eventPublishingWorkerConfig, "batchSize", "" + batchSize);
+
+        assertThat(eventPublishingWorkerConfig.getBatchSize(), is(batchSize));
+    }
+
+    @Test
+    public void shouldGetWhetherOrderedPublishingIsEnabled() throws Exception {
+
+        setField(eventPublishingWorkerConfig, "orderedPublishingEnabled", "true");
+        assertThat(eventPublishingWorkerConfig.isOrderedPublishingEnabled(), is(true));
+
+        setField(eventPublishingWorkerConfig, "orderedPublishingEnabled", "false");
+        assertThat(eventPublishingWorkerConfig.isOrderedPublishingEnabled(), is(false));
+    }
+
+    @Test
+    public void shouldGetThePartitionCountAndIndex() throws Exception {
+
+        setField(eventPublishingWorkerConfig, "partitionCount", "4");
+        setField(eventPublishingWorkerConfig, "partitionIndex", "3");
+
+        assertThat(eventPublishingWorkerConfig.getPartitionCount(), is(4));
+        assertThat(eventPublishingWorkerConfig.getPartitionIndex(), is(3));
+    }
+
+    @Test
+    public void shouldPassValidationIfTheBatchSizeAndPartitionsAreValid() throws Exception {
+
+        setField(eventPublishingWorkerConfig, "batchSize", "1");
+        setField(eventPublishingWorkerConfig, "partitionCount", "4");
+        setField(eventPublishingWorkerConfig, "partitionIndex", "0");
+
+        eventPublishingWorkerConfig.validate();
+    }
+
+    @Test
+    public void shouldFailValidationIfTheBatchSizeIsLessThanOne() throws Exception {
+
+        setField(eventPublishingWorkerConfig, "batchSize", "0");
+
+        final InvalidWorkerConfigurationException invalidWorkerConfigurationException = assertThrows(
+                InvalidWorkerConfigurationException.class,
+                () -> eventPublishingWorkerConfig.validate());
+
+        assertThat(invalidWorkerConfigurationException.getMessage(), is("Invalid jndi value 'event.publishing.worker.batch.size' of '0'. Batch size must be at least 1"));
+    }
+
+    @Test
+    public void shouldFailValidationIfThePartitionCountIsLessThanOne() throws Exception {
+
+        setField(eventPublishingWorkerConfig, "batchSize", "100");
+        setField(eventPublishingWorkerConfig, "partitionCount", "0");
+        setField(eventPublishingWorkerConfig, "partitionIndex", "0");
+
+        final InvalidWorkerConfigurationException invalidWorkerConfigurationException = assertThrows(
+                InvalidWorkerConfigurationException.class,
+                () -> eventPublishingWorkerConfig.validate());
+
+        assertThat(invalidWorkerConfigurationException.getMessage(), is("Invalid jndi value 'event.publishing.worker.partition.count' of '0'. Partition count must be at least 1"));
+    }
+
+    @Test
+    public void shouldFailValidationIfThePartitionIndexIsNotLessThanThePartitionCount() throws Exception {
+
+        setField(eventPublishingWorkerConfig, "batchSize", "100");
+        setField(eventPublishingWorkerConfig, "partitionCount", "4");
+        setField(eventPublishingWorkerConfig, "partitionIndex", "4");
+
+        final InvalidWorkerConfigurationException invalidWorkerConfigurationException = assertThrows(
+                InvalidWorkerConfigurationException.class,
+                () -> eventPublishingWorkerConfig.validate());
+
+        assertThat(invalidWorkerConfigurationException.getMessage(), is("Invalid jndi value 'event.publishing.worker.partition.index' of '4'. Partition index must be from 0 to one less than the partition count of 4"));
+    }
+
+    @Test
+    public void shouldFailValidationIfThePartitionIndexIsNegative() throws Exception {
+
+        setField(eventPublishingWorkerConfig, "batchSize", "100");
+        setField(eventPublishingWorkerConfig, "partitionCount", "4");
+        setField(eventPublishingWorkerConfig, "partitionIndex", "-1");
+
+        assertThrows(InvalidWorkerConfigurationException.class, () -> eventPublishingWorkerConfig.validate());
+    }
+
+    @Test
+    public void shouldGetTheAdaptiveBackOffSettings() throws Exception {
+
+        setField(eventPublishingWorkerConfig, "adaptiveBackOffEnabled", "true");
+        setField(eventPublishingWorkerConfig, "adaptiveBackOffMinIntervalMilliseconds", "50");
+        setField(eventPublishingWorkerConfig, "adaptiveBackOffMaxIntervalMilliseconds", "30000");
+
+        assertThat(eventPublishingWorkerConfig.isAdaptiveBackOffEnabled(), is(true));
+        assertThat(eventPublishingWorkerConfig.getAdaptiveBackOffMinIntervalMilliseconds(), is(50L));
+        assertThat(eventPublishingWorkerConfig.getAdaptiveBackOffMaxIntervalMilliseconds(), is(30000L));
+    }
 }
@@ -0,0 +1,41 @@
+package uk.gov.justice.services.eventsourcing.eventpublishing.configuration;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class EventStoreNotificationListenerConfigTest {
+
+    @InjectMocks
+    private EventStoreNotificationListenerConfig eventStoreNotificationListenerConfig;
+
+    @Test
+    public void shouldGetThePollTimeout() throws Exception {
+
+        setField(eventStoreNotificationListenerConfig, "pollTimeoutMilliseconds", "2374");
+
+        assertThat(eventStoreNotificationListenerConfig.getPollTimeoutMilliseconds(), is(2374L));
+    }
+
+    @Test
+    public void shouldGetTheReconnectWait() throws Exception {
+
+        setField(eventStoreNotificationListenerConfig, "reconnectWaitMilliseconds", "8723");
+
+        assertThat(eventStoreNotificationListenerConfig.getReconnectWaitMilliseconds(), is(8723L));
+    }
+
+    @Test
+    public void shouldGetTheMaxRunTime() throws Exception {
+
+        setField(eventStoreNotificationListenerConfig, "maxRunTimeMilliseconds", "4500");
+
+        assertThat(eventStoreNotificationListenerConfig.getMaxRunTimeMilliseconds(), is(4500L));
+    }
+}
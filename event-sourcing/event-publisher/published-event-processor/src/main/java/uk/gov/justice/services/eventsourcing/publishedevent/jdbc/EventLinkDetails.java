@@ -0,0 +1,6 @@
+package uk.gov.justice.services.eventsourcing.publishedevent.jdbc;
+
+import java.util.UUID;
+
+public record EventLinkDetails(UUID eventId, Long previousEventNumber, String metadata) {
+}
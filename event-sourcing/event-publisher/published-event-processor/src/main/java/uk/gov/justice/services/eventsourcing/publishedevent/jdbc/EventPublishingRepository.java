@@ -9,11 +9,14 @@ import uk.gov.justice.services.eventsourcing.publishedevent.EventPublishingExcep
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
 import uk.gov.justice.services.eventsourcing.source.core.EventStoreDataSourceProvider;
 
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -80,6 +83,65 @@ public class EventPublishingRepository {
         return empty();
     }
 
+    public List<LinkedEvent> findEventsFromEventLog(final List<UUID> eventIds) {
+
+        final String sql = """
+                SELECT
+                    id,
+                    stream_id,
+                    position_in_stream,
+                    name,
+                    payload,
+                    metadata,
+                    date_created,
+                    event_number,
+                    previous_event_number
+                FROM event_log
+                WHERE id = ANY(?)
+                ORDER BY event_number
+                """;
+
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+            final Array eventIdArray = connection.createArrayOf("uuid", eventIds.toArray());
+            preparedStatement.setArray(1, eventIdArray);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+
+                final List<LinkedEvent> linkedEvents = new ArrayList<>();
+                while (resultSet.next()) {
+                    final UUID eventId = resultSet.getObject("id", UUID.class);
+                    final UUID streamId = resultSet.getObject("stream_id", UUID.class);
+                    final long positionInStream = resultSet.getLong("position_in_stream");
+                    final String name = resultSet.getString("name");
+                    final String metadata = resultSet.getString("metadata");
+                    final String payload = resultSet.getString("payload");
+                    final ZonedDateTime createdAt = fromSqlTimestamp(resultSet.getTimestamp("date_created"));
+                    final long eventNumber = resultSet.getLong("event_number");
+                    final long previousEventNumber = resultSet.getLong("previous_event_number");
+
+                    linkedEvents.add(new LinkedEvent(
+                            eventId,
+                            streamId,
+                            positionInStream,
+                            name,
+                            metadata,
+                            payload,
+                            createdAt,
+                            eventNumber,
+                            previousEventNumber
+                    ));
+                }
+
+                return linkedEvents;
+            }
+
+        } catch (final SQLException e) {
+            throw new EventPublishingException(format("Failed to find %d events in event_log", eventIds.size()), e);
+        }
+    }
+
     public Optional<UUID> getNextEventIdFromPublishQueue() {
 
         final String sql = """
@@ -119,4 +181,92 @@ public class EventPublishingRepository {
             throw new EventPublishingException(format("Failed to delete from publish_queue table. eventId: '%s'", eventId), e);
         }
     }
+
+    public List<UUID> getNextEventIdsFromPublishQueue(final int batchSize) {
+
+        final String sql = """
+                SELECT event_log_id
+                FROM publish_queue
+                FOR UPDATE SKIP LOCKED
+                LIMIT ?
+                """;
+
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+            preparedStatement.setInt(1, batchSize);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                final List<UUID> eventIds = new ArrayList<>();
+                while (resultSet.next()) {
+                    eventIds.add(resultSet.getObject(1, UUID.class));
+                }
+
+                return eventIds;
+            }
+
+        } catch (final SQLException e) {
+            throw new EventPublishingException("Failed to find event ids in publish_queue table", e);
+        }
+    }
+
+    /**
+     * Claims up to batchSize event ids from the publish_queue in event_number order, restricted
+     * to the streams whose hashed stream id falls into the given partition. Giving each node its
+     * own partition index means the events of any one stream are only ever published by one node,
+     * and so reach JMS in event_number order
+     *
+     * @param batchSize the maximum number of event ids to claim
+     * @param partitionCount the total number of stream id partitions
+     * @param partitionIndex the partition owned by this node, from 0 to partitionCount - 1
+     * @return the claimed event ids, in event_number order
+     */
+    public List<UUID> getNextEventIdsFromPublishQueueInEventNumberOrder(final int batchSize, final int partitionCount, final int partitionIndex) {
+
+        final String sql = """
+                SELECT publish_queue.event_log_id
+                FROM publish_queue
+                INNER JOIN event_log ON event_log.id = publish_queue.event_log_id
+                WHERE (hashtext(event_log.stream_id::text)::bigint & 2147483647) % ? = ?
+                ORDER BY event_log.event_number
+                LIMIT ?
+                FOR UPDATE OF publish_queue SKIP LOCKED
+                """;
+
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+            preparedStatement.setInt(1, partitionCount);
+            preparedStatement.setInt(2, partitionIndex);
+            preparedStatement.setInt(3, batchSize);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                final List<UUID> eventIds = new ArrayList<>();
+                while (resultSet.next()) {
+                    eventIds.add(resultSet.getObject(1, UUID.class));
+                }
+
+                return eventIds;
+            }
+
+        } catch (final SQLException e) {
+            throw new EventPublishingException(format("Failed to find event ids in publish_queue table for partition %d of %d", partitionIndex, partitionCount), e);
+        }
+    }
+
+    public void removeFromPublishQueue(final List<UUID> eventIds) {
+
+        final String sql = """
+                DELETE FROM publish_queue where event_log_id = ANY(?)
+                """;
+
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            final Array eventIdArray = connection.createArrayOf("uuid", eventIds.toArray());
+            preparedStatement.setArray(1, eventIdArray);
+            preparedStatement.executeUpdate();
+        } catch (final SQLException e) {
+            throw new EventPublishingException(format("Failed to delete %d events from publish_queue table", eventIds.size()), e);
+        }
+    }
 }
@@ -12,6 +12,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,6 +34,12 @@ public class LinkEventsInEventLogDatabaseAccess {
             ORDER BY event_number LIMIT 1 FOR UPDATE SKIP LOCKED
             """;
 
+    private static final String GET_EARLIEST_UNSEQUENCED_BATCH_QUERY = """
+            SELECT id, event_number, metadata FROM event_log
+            WHERE previous_event_number is NULL
+            ORDER BY event_number LIMIT ? FOR UPDATE SKIP LOCKED
+            """;
+
     private static final String LINK_EVENTS_QUERY = """
             UPDATE event_log SET
             previous_event_number = ?,
@@ -92,6 +101,34 @@ public class LinkEventsInEventLogDatabaseAccess {
         }
     }
 
+    public List<LinkableEventDetails> findNextUnlinkedEvents(final int batchSize) {
+
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(GET_EARLIEST_UNSEQUENCED_BATCH_QUERY)) {
+
+            preparedStatement.setInt(1, batchSize);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+
+                final List<LinkableEventDetails> linkableEventDetailsList = new ArrayList<>();
+                while (resultSet.next()) {
+                    final UUID eventId = resultSet.getObject("id", UUID.class);
+                    final Long eventNumber = resultSet.getLong("event_number");
+                    final String metadata = resultSet.getString("metadata");
+                    linkableEventDetailsList.add(new LinkableEventDetails(
+                            eventId,
+                            eventNumber,
+                            metadata));
+                }
+
+                return linkableEventDetailsList;
+            }
+
+        } catch (final SQLException e) {
+            throw new EventNumberLinkingException(format("Failed to find next %d unlinked events in event_log table.", batchSize), e);
+        }
+    }
+
     public void linkEventInEventLogTable(
             final UUID eventId,
             final Long previousEventNumber,
@@ -124,4 +161,42 @@ public class LinkEventsInEventLogDatabaseAccess {
             throw new EventNumberLinkingException(format("Failed to insert linked event into publish_queue table. eventId: '%s'", eventId), e);
         }
     }
+
+    public void linkEventsInEventLogTable(final List<EventLinkDetails> eventLinkDetailsList) {
+
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(LINK_EVENTS_QUERY)) {
+
+            for (final EventLinkDetails eventLinkDetails : eventLinkDetailsList) {
+                preparedStatement.setLong(1, eventLinkDetails.previousEventNumber());
+                preparedStatement.setString(2, eventLinkDetails.metadata());
+                preparedStatement.setObject(3, eventLinkDetails.eventId());
+                preparedStatement.addBatch();
+            }
+
+            preparedStatement.executeBatch();
+
+        } catch (final SQLException e) {
+            throw new EventNumberLinkingException(format("Failed to link batch of %d events in event_log table", eventLinkDetailsList.size()), e);
+        }
+    }
+
+    public void insertLinkedEventsIntoPublishQueue(final List<UUID> eventIds) {
+
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(INSERT_EVENT_INTO_PUBLISH_QUEUE_QUERY)) {
+
+            final Timestamp dateQueued = toSqlTimestamp(clock.now());
+            for (final UUID eventId : eventIds) {
+                preparedStatement.setObject(1, eventId);
+                preparedStatement.setTimestamp(2, dateQueued);
+                preparedStatement.addBatch();
+            }
+
+            preparedStatement.executeBatch();
+
+        } catch (final SQLException e) {
+            throw new EventNumberLinkingException(format("Failed to insert batch of %d linked events into publish_queue table", eventIds.size()), e);
+        }
+    }
 }
@@ -17,6 +17,7 @@ import uk.gov.justice.services.test.utils.persistence.FrameworkTestDataSourceFac
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -120,6 +121,113 @@ public class EventPublishingRepositoryTest {
         assertThat(eventPublishingRepository.getNextEventIdFromPublishQueue(), is(empty()));
     }
 
+    @Test
+    public void shouldGetLinkedEventsFromEventLogTableInEventNumberOrder() throws Exception {
+
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(eventStoreDataSource);
+
+        final UUID eventId_1 = randomUUID();
+        final UUID eventId_2 = randomUUID();
+        final UUID eventId_3 = randomUUID();
+
+        final UUID streamId = randomUUID();
+
+        insertEvent(eventId_1, streamId, 1);
+        insertEvent(eventId_2, streamId, 2);
+        insertEvent(eventId_3, streamId, 3);
+
+        final List<LinkedEvent> linkedEvents = eventPublishingRepository.findEventsFromEventLog(List.of(eventId_3, eventId_1));
+
+        assertThat(linkedEvents.size(), is(2));
+        assertThat(linkedEvents.get(0).getId(), is(eventId_1));
+        assertThat(linkedEvents.get(0).getPayload(), is("some-payload-1"));
+        assertThat(linkedEvents.get(0).getEventNumber(), is(of(1L)));
+        assertThat(linkedEvents.get(1).getId(), is(eventId_3));
+        assertThat(linkedEvents.get(1).getPayload(), is("some-payload-3"));
+        assertThat(linkedEvents.get(1).getEventNumber(), is(of(3L)));
+        assertThat(linkedEvents.get(1).getPreviousEventNumber(), is(2L));
+    }
+
+    @Test
+    public void shouldGetBatchOfNextEventIdsFromPublishQueue() throws Exception {
+
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(eventStoreDataSource);
+
+        final UUID eventId_1 = randomUUID();
+        final UUID eventId_2 = randomUUID();
+        final UUID eventId_3 = randomUUID();
+        insertIntoPublishQueue(eventId_1);
+        insertIntoPublishQueue(eventId_2);
+        insertIntoPublishQueue(eventId_3);
+
+        final List<UUID> nextEventIds = eventPublishingRepository.getNextEventIdsFromPublishQueue(2);
+
+        assertThat(nextEventIds.size(), is(2));
+        assertThat(List.of(eventId_1, eventId_2, eventId_3).containsAll(nextEventIds), is(true));
+    }
+
+    @Test
+    public void shouldDeleteBatchOfEventIdsFromPublishQueue() throws Exception {
+
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(eventStoreDataSource);
+
+        final UUID eventId_1 = randomUUID();
+        final UUID eventId_2 = randomUUID();
+        final UUID eventId_3 = randomUUID();
+        insertIntoPublishQueue(eventId_1);
+        insertIntoPublishQueue(eventId_2);
+        insertIntoPublishQueue(eventId_3);
+
+        eventPublishingRepository.removeFromPublishQueue(List.of(eventId_1, eventId_3));
+
+        assertThat(eventPublishingRepository.getNextEventIdsFromPublishQueue(10), is(List.of(eventId_2)));
+    }
+
+    @Test
+    public void shouldGetNextEventIdsFromPublishQueueInEventNumberOrder() throws Exception {
+
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(eventStoreDataSource);
+
+        final UUID eventId_1 = randomUUID();
+        final UUID eventId_2 = randomUUID();
+        final UUID eventId_3 = randomUUID();
+        final UUID streamId = randomUUID();
+
+        insertEvent(eventId_1, streamId, 1);
+        insertEvent(eventId_2, streamId, 2);
+        insertEvent(eventId_3, streamId, 3);
+        insertIntoPublishQueue(eventId_3);
+        insertIntoPublishQueue(eventId_1);
+        insertIntoPublishQueue(eventId_2);
+
+        final List<UUID> nextEventIds = eventPublishingRepository.getNextEventIdsFromPublishQueueInEventNumberOrder(2, 1, 0);
+
+        assertThat(nextEventIds, is(List.of(eventId_1, eventId_2)));
+    }
+
+    @Test
+    public void shouldOnlyGetEventIdsFromPublishQueueForStreamsInTheGivenPartition() throws Exception {
+
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(eventStoreDataSource);
+
+        final int partitionCount = 2;
+        final UUID eventId_1 = randomUUID();
+        final UUID eventId_2 = randomUUID();
+        final UUID streamId_1 = randomUUID();
+        final UUID streamId_2 = randomUUID();
+
+        insertEvent(eventId_1, streamId_1, 1);
+        insertEvent(eventId_2, streamId_2, 2);
+        insertIntoPublishQueue(eventId_1);
+        insertIntoPublishQueue(eventId_2);
+
+        final List<UUID> partition_0 = eventPublishingRepository.getNextEventIdsFromPublishQueueInEventNumberOrder(10, partitionCount, 0);
+        final List<UUID> partition_1 = eventPublishingRepository.getNextEventIdsFromPublishQueueInEventNumberOrder(10, partitionCount, 1);
+
+        assertThat(partition_0.size() + partition_1.size(), is(2));
+        assertThat(partition_0.stream().anyMatch(partition_1::contains), is(false));
+    }
+
     private void insertEvent(final UUID eventId, final UUID streamId, final int eventNumber) throws Exception {
 
         final String sql = """
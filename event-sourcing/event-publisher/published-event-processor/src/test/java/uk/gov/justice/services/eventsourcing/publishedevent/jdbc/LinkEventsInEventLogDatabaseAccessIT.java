@@ -18,6 +18,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -151,6 +152,77 @@ public class LinkEventsInEventLogDatabaseAccessIT {
        }
     }
 
+    @Test
+    public void shouldFindTheEarliestBatchOfEventsWithoutPreviousEventNumberInEventNumberOrder() throws Exception {
+
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(eventStoreDataSource);
+
+        insertEventAndGetItsEventNumber();
+
+        final UUID firstUnlinkedEventId = insertNewEventWithoutPreviousEventNumber(1);
+        final UUID secondUnlinkedEventId = insertNewEventWithoutPreviousEventNumber(2);
+        insertNewEventWithoutPreviousEventNumber(3);
+
+        final List<LinkableEventDetails> nextUnlinkedEvents = linkEventsInEventLogDatabaseAccess.findNextUnlinkedEvents(2);
+
+        assertThat(nextUnlinkedEvents.size(), is(2));
+        assertThat(nextUnlinkedEvents.get(0).eventId(), is(firstUnlinkedEventId));
+        assertThat(nextUnlinkedEvents.get(0).metadata(), is("some-event-metadata_1"));
+        assertThat(nextUnlinkedEvents.get(1).eventId(), is(secondUnlinkedEventId));
+        assertThat(nextUnlinkedEvents.get(1).metadata(), is("some-event-metadata_2"));
+        assertThat(nextUnlinkedEvents.get(0).eventNumber() < nextUnlinkedEvents.get(1).eventNumber(), is(true));
+    }
+
+    @Test
+    public void shouldLinkBatchOfEventsAndAddThemToPublishQueue() throws Exception {
+
+        final ZonedDateTime now = new UtcClock().now();
+
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(eventStoreDataSource);
+        when(clock.now()).thenReturn(now);
+
+        final Long previousEventNumber = insertEventAndGetItsEventNumber();
+        final UUID unlinkedEventId_1 = insertNewEventWithoutPreviousEventNumber(1);
+        final UUID unlinkedEventId_2 = insertNewEventWithoutPreviousEventNumber(2);
+
+        linkEventsInEventLogDatabaseAccess.linkEventsInEventLogTable(List.of(
+                new EventLinkDetails(unlinkedEventId_1, previousEventNumber, "new-metadata_1"),
+                new EventLinkDetails(unlinkedEventId_2, previousEventNumber + 1, "new-metadata_2")));
+        linkEventsInEventLogDatabaseAccess.insertLinkedEventsIntoPublishQueue(List.of(unlinkedEventId_1, unlinkedEventId_2));
+
+        final String sql = """
+            SELECT e.previous_event_number, e.metadata, p.date_queued
+            FROM event_log e
+            JOIN publish_queue p ON p.event_log_id = e.id
+            WHERE e.id = ?
+        """;
+        try (final Connection connection = eventStoreDataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+            preparedStatement.setObject(1, unlinkedEventId_1);
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    assertThat(resultSet.getLong(1), is(previousEventNumber));
+                    assertThat(resultSet.getString(2), is("new-metadata_1"));
+                    assertThat(fromSqlTimestamp(resultSet.getTimestamp(3)), is(now));
+                } else {
+                    fail();
+                }
+            }
+
+            preparedStatement.setObject(1, unlinkedEventId_2);
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    assertThat(resultSet.getLong(1), is(previousEventNumber + 1));
+                    assertThat(resultSet.getString(2), is("new-metadata_2"));
+                    assertThat(fromSqlTimestamp(resultSet.getTimestamp(3)), is(now));
+                } else {
+                    fail();
+                }
+            }
+        }
+    }
+
     private Long insertEventAndGetItsEventNumber() throws Exception {
 
         final UUID eventId = randomUUID();
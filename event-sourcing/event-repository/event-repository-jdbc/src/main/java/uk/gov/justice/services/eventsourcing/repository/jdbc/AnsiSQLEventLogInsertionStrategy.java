@@ -4,7 +4,9 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.event.Event;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.InvalidPositionException;
 import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapper;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 import javax.enterprise.inject.Alternative;
 
@@ -26,4 +28,15 @@ public class AnsiSQLEventLogInsertionStrategy extends BaseEventInsertStrategy {
     public void insert(final PreparedStatementWrapper ps, final Event event) throws SQLException, InvalidPositionException {
         executeStatement(ps, event);
     }
+
+    /**
+     * Insert all of the given events into the event log in a single batch.
+     *
+     * @param events the events to insert
+     * @throws InvalidPositionException if any of the events has no position.
+     */
+    @Override
+    public void insertBatch(final PreparedStatement ps, final List<Event> events) throws SQLException, InvalidPositionException {
+        executeBatch(ps, events);
+    }
 }
@@ -7,7 +7,9 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.event.Event;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.InvalidPositionException;
 import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapper;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 public abstract class BaseEventInsertStrategy implements EventInsertionStrategy {
 
@@ -37,4 +39,33 @@ public abstract class BaseEventInsertStrategy implements EventInsertionStrategy
         preparedStatement.setTimestamp(7, toSqlTimestamp(event.getCreatedAt()));
         return preparedStatement.executeUpdate();
     }
+
+    /**
+     * Adds each of the events to the statement's batch and executes the batch in a single round
+     * trip to the database.
+     *
+     * @param preparedStatement the prepared statement to use for executing the batch
+     * @param events            the events to insert, in position order
+     * @return the update counts of each insert, in the same order as the events
+     * @throws SQLException             if thrown by the execute batch
+     * @throws InvalidPositionException if any of the events has no position
+     */
+    protected int[] executeBatch(final PreparedStatement preparedStatement, final List<Event> events) throws SQLException, InvalidPositionException {
+        for (final Event event : events) {
+            if (event.getPositionInStream() == null) {
+                throw new InvalidPositionException(format("Version is null for stream %s", event.getStreamId()));
+            }
+
+            preparedStatement.setObject(1, event.getId());
+            preparedStatement.setObject(2, event.getStreamId());
+            preparedStatement.setLong(3, event.getPositionInStream());
+            preparedStatement.setString(4, event.getName());
+            preparedStatement.setString(5, event.getMetadata());
+            preparedStatement.setString(6, event.getPayload());
+            preparedStatement.setTimestamp(7, toSqlTimestamp(event.getCreatedAt()));
+            preparedStatement.addBatch();
+        }
+
+        return preparedStatement.executeBatch();
+    }
 }
@@ -4,7 +4,9 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.event.Event;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.InvalidPositionException;
 import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapper;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 public interface EventInsertionStrategy {
 
@@ -16,4 +18,12 @@ public interface EventInsertionStrategy {
     String insertStatement();
 
     void insert(final PreparedStatementWrapper ps, final Event event) throws SQLException, InvalidPositionException;
+
+    /**
+     * Inserts all of the given events using a single JDBC batch on the given insert statement
+     *
+     * @param ps the prepared statement created from {@link #insertStatement()}
+     * @param events the events to insert, in position order
+     */
+    void insertBatch(final PreparedStatement ps, final List<Event> events) throws SQLException, InvalidPositionException;
 }
@@ -3,6 +3,7 @@ package uk.gov.justice.services.eventsourcing.repository.jdbc;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.StoreEventRequestFailedException;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -55,6 +56,15 @@ public interface EventRepository {
      */
     void storeEvent(final JsonEnvelope envelope) throws StoreEventRequestFailedException;
 
+    /**
+     * Stores all of the given envelopes into the event stream in a single batch.
+     *
+     * @param envelopes the envelopes containing the events and their metadata, in position order
+     * @throws StoreEventRequestFailedException If there was a failure in storing the events, this
+     *                                          will wrap the underlying cause.
+     */
+    void storeEvents(final List<JsonEnvelope> envelopes) throws StoreEventRequestFailedException;
+
     /**
      * Returns the position for the given stream id.
      *
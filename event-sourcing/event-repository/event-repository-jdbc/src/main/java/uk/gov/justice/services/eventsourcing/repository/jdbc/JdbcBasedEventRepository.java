@@ -1,5 +1,8 @@
 package uk.gov.justice.services.eventsourcing.repository.jdbc;
 
+import static java.util.stream.Collectors.toList;
+import static uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel.EVENT_LOG_CHANNEL;
+
 import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.Event;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventConverter;
@@ -10,6 +13,7 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.InvalidPo
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.InvalidStreamIdException;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.OptimisticLockingRetryException;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.StoreEventRequestFailedException;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotifier;
 import uk.gov.justice.services.jdbc.persistence.JdbcRepositoryException;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
@@ -44,6 +48,9 @@ public class JdbcBasedEventRepository implements EventRepository {
     @Inject
     private PrePublishQueueRepository prePublishQueueRepository;
 
+    @Inject
+    private EventStoreNotifier eventStoreNotifier;
+
     @Inject
     private UtcClock clock;
 
@@ -102,12 +109,37 @@ public class JdbcBasedEventRepository implements EventRepository {
             logger.trace("Storing event {} into stream {} at position {}", event.getName(), event.getStreamId(), event.getPositionInStream());
             eventJdbcRepository.insert(event);
             prePublishQueueRepository.addToQueue(event.getId(), clock.now());
+            eventStoreNotifier.notifyOf(EVENT_LOG_CHANNEL);
         } catch (InvalidPositionException ex) {
             throw new StoreEventRequestFailedException(String.format("Could not store event for position %d of stream %s",
                     envelope.metadata().position().orElse(null), envelope.metadata().streamId().orElse(null)), ex);
         }
     }
 
+    @Override
+    @Transactional(dontRollbackOn = OptimisticLockingRetryException.class)
+    public void storeEvents(final List<JsonEnvelope> envelopes) throws StoreEventRequestFailedException {
+        if (envelopes.isEmpty()) {
+            return;
+        }
+
+        final List<Event> events = envelopes.stream()
+                .map(eventConverter::eventOf)
+                .collect(toList());
+
+        try {
+            final Event firstEvent = events.get(0);
+            logger.trace("Storing {} events into stream {} from position {}", events.size(), firstEvent.getStreamId(), firstEvent.getPositionInStream());
+            eventJdbcRepository.insertBatch(events);
+            prePublishQueueRepository.addAllToQueue(events.stream().map(Event::getId).collect(toList()), clock.now());
+            eventStoreNotifier.notifyOf(EVENT_LOG_CHANNEL);
+        } catch (InvalidPositionException ex) {
+            final JsonEnvelope firstEnvelope = envelopes.get(0);
+            throw new StoreEventRequestFailedException(String.format("Could not store %d events from position %d of stream %s",
+                    envelopes.size(), firstEnvelope.metadata().position().orElse(null), firstEnvelope.metadata().streamId().orElse(null)), ex);
+        }
+    }
+
     @Override
     public long getStreamSize(final UUID streamId) {
         return eventJdbcRepository.getStreamSize(streamId);
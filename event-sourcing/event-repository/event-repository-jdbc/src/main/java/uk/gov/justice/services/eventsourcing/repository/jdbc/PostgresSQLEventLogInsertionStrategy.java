@@ -1,19 +1,29 @@
 package uk.gov.justice.services.eventsourcing.repository.jdbc;
 
 import static java.lang.String.format;
+import static java.sql.Statement.SUCCESS_NO_INFO;
 
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.Event;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.InvalidPositionException;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.OptimisticLockingRetryException;
 import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapper;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import javax.enterprise.inject.Alternative;
 
 @Alternative
 public class PostgresSQLEventLogInsertionStrategy extends BaseEventInsertStrategy {
 
+    private static final String SQL_FIND_INSERTED_EVENT_IDS = "SELECT id FROM event_log WHERE id = ANY(?)";
+
     @Override
     public String insertStatement() {
         return SQL_INSERT_EVENT + " ON CONFLICT DO NOTHING";
@@ -32,8 +42,66 @@ public class PostgresSQLEventLogInsertionStrategy extends BaseEventInsertStrateg
         final int updatedRows = executeStatement(ps, event);
 
         if (updatedRows == 0) {
-            throw new OptimisticLockingRetryException(format("Locking Exception while storing sequence %s of stream %s",
-                    event.getPositionInStream(), event.getStreamId()));
+            throw optimisticLockingRetryExceptionFor(event);
+        }
+    }
+
+    /**
+     * Inserts all events in a single batch. As each insert uses 'ON CONFLICT DO NOTHING', an update
+     * count of zero means another transaction has already stored an event at that position. If the
+     * driver does not report the update counts, for example when it rewrites the batch into a
+     * single multi row insert, the event ids are looked up in the event_log to find any that were
+     * not inserted.
+     *
+     * @param events the events to insert, in position order
+     * @throws SQLException             if thrown from {@link BaseEventInsertStrategy#executeBatch}
+     * @throws InvalidPositionException if any of the events has no position
+     * @throws OptimisticLockingRetryException with the first position that conflicted
+     */
+    @Override
+    public void insertBatch(final PreparedStatement ps, final List<Event> events) throws SQLException, InvalidPositionException {
+        final int[] updatedRows = executeBatch(ps, events);
+
+        boolean updateCountsUnknown = false;
+        for (int index = 0; index < updatedRows.length; index++) {
+            if (updatedRows[index] == SUCCESS_NO_INFO) {
+                updateCountsUnknown = true;
+            } else if (updatedRows[index] != 1) {
+                throw optimisticLockingRetryExceptionFor(events.get(index));
+            }
         }
+
+        if (updateCountsUnknown) {
+            final Set<UUID> insertedEventIds = findInsertedEventIds(ps.getConnection(), events);
+            for (final Event event : events) {
+                if (!insertedEventIds.contains(event.getId())) {
+                    throw optimisticLockingRetryExceptionFor(event);
+                }
+            }
+        }
+    }
+
+    private Set<UUID> findInsertedEventIds(final Connection connection, final List<Event> events) throws SQLException {
+        final Object[] eventIds = events.stream()
+                .map(Event::getId)
+                .toArray();
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_INSERTED_EVENT_IDS)) {
+            preparedStatement.setArray(1, connection.createArrayOf("uuid", eventIds));
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                final Set<UUID> insertedEventIds = new HashSet<>();
+                while (resultSet.next()) {
+                    insertedEventIds.add(resultSet.getObject("id", UUID.class));
+                }
+
+                return insertedEventIds;
+            }
+        }
+    }
+
+    private OptimisticLockingRetryException optimisticLockingRetryExceptionFor(final Event event) {
+        return new OptimisticLockingRetryException(format("Locking Exception while storing sequence %s of stream %s",
+                event.getPositionInStream(), event.getStreamId()));
     }
 }
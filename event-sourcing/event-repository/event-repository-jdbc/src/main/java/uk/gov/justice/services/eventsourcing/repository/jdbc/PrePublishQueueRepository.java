@@ -3,6 +3,7 @@ package uk.gov.justice.services.eventsourcing.repository.jdbc;
 import static uk.gov.justice.services.eventsourcing.repository.jdbc.PublishQueue.PublishQueueTableName.PRE_PUBLISH_QUEUE_TABLE;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,6 +19,11 @@ public class PrePublishQueueRepository implements PublishQueue {
         publishQueuesDataAccess.addToQueue(eventId, queuedAt, PRE_PUBLISH_QUEUE_TABLE);
     }
 
+    @Override
+    public void addAllToQueue(final List<UUID> eventIds, final ZonedDateTime queuedAt) {
+        publishQueuesDataAccess.addAllToQueue(eventIds, queuedAt, PRE_PUBLISH_QUEUE_TABLE);
+    }
+
     @Override
     public Optional<UUID> popNextEventId() {
         return publishQueuesDataAccess.popNextEventId(PRE_PUBLISH_QUEUE_TABLE);
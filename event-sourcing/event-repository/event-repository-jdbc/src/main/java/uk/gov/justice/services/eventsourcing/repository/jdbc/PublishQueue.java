@@ -1,6 +1,7 @@
 package uk.gov.justice.services.eventsourcing.repository.jdbc;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,6 +24,7 @@ public interface PublishQueue {
     }
 
     void addToQueue(final UUID eventId, final ZonedDateTime queuedAt);
+    void addAllToQueue(final List<UUID> eventIds, final ZonedDateTime queuedAt);
     Optional<UUID> popNextEventId();
     int getSizeOfQueue();
 }
@@ -3,6 +3,7 @@ package uk.gov.justice.services.eventsourcing.repository.jdbc;
 import static uk.gov.justice.services.eventsourcing.repository.jdbc.PublishQueue.PublishQueueTableName.PUBLISH_QUEUE_TABLE;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,6 +19,11 @@ public class PublishQueueRepository implements PublishQueue {
         publishQueuesDataAccess.addToQueue(eventId, queuedAt, PUBLISH_QUEUE_TABLE);
     }
 
+    @Override
+    public void addAllToQueue(final List<UUID> eventIds, final ZonedDateTime queuedAt) {
+        publishQueuesDataAccess.addAllToQueue(eventIds, queuedAt, PUBLISH_QUEUE_TABLE);
+    }
+
     @Override
     public Optional<UUID> popNextEventId() {
         return publishQueuesDataAccess.popNextEventId(PUBLISH_QUEUE_TABLE);
@@ -16,6 +16,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -52,6 +53,33 @@ public class PublishQueuesDataAccess {
         }
     }
 
+    /**
+     * Adds all of the given event ids to the queue using a single JDBC batch
+     */
+    @Transactional(MANDATORY)
+    public void addAllToQueue(final List<UUID> eventIds, final ZonedDateTime queuedAt, final PublishQueueTableName publishQueueTableName) {
+
+        if (eventIds.isEmpty()) {
+            return;
+        }
+
+        final String sql = format(INSERT_INTO_PUBLISH_TABLE_QUERY_PATTERN, publishQueueTableName.getTableName());
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+            for (final UUID eventId : eventIds) {
+                preparedStatement.setObject(1, eventId);
+                preparedStatement.setObject(2, toSqlTimestamp(queuedAt));
+                preparedStatement.addBatch();
+            }
+
+            preparedStatement.executeBatch();
+
+        } catch (final SQLException e) {
+            throw new PublishedEventException(format("Failed to add %d eventIds to %s table", eventIds.size(), publishQueueTableName.getTableName()), e);
+        }
+    }
+
     /**
      * Method that gets the next event to process by
      * querying the pre_publish_queue table for id & event_log_id,
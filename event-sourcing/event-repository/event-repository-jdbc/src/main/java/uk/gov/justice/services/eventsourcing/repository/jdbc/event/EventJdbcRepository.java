@@ -20,6 +20,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
@@ -50,11 +52,9 @@ public class EventJdbcRepository {
     /**
      * Statements
      */
-    static final String SQL_FIND_ALL = "SELECT * FROM event_log ORDER BY position_in_stream ASC";
     static final String SQL_FIND_BY_ID = "SELECT stream_id, position_in_stream, name, payload, metadata, date_created FROM event_log WHERE id = ?";
     static final String SQL_FIND_BY_STREAM_ID = "SELECT * FROM event_log WHERE stream_id=? ORDER BY position_in_stream ASC";
     static final String SQL_FIND_BY_STREAM_ID_AND_POSITION = "SELECT * FROM event_log WHERE stream_id=? AND position_in_stream>=? ORDER BY position_in_stream ASC";
-    static final String SQL_FIND_ALL_ORDERED_BY_EVENT_NUMBER = "SELECT * FROM event_log ORDER BY event_number ASC";
     static final String SQL_FIND_BY_STREAM_ID_AND_POSITION_BY_PAGE = "SELECT * FROM event_log WHERE stream_id=? AND position_in_stream>=? ORDER BY position_in_stream ASC LIMIT ?";
     static final String SQL_FIND_LATEST_POSITION = "SELECT MAX(position_in_stream) FROM event_log WHERE stream_id=?";
     static final String SQL_DISTINCT_STREAM_ID = "SELECT DISTINCT stream_id FROM event_log";
@@ -85,6 +85,12 @@ public class EventJdbcRepository {
     @Inject
     private EventStoreDataSourceProvider eventStoreDataSourceProvider;
 
+    @Inject
+    private KeysetPagedEventStreamer keysetPagedEventStreamer;
+
+    @Inject
+    private KeysetPagingConfig keysetPagingConfig;
+
     @Inject
     private Logger logger;
 
@@ -107,6 +113,31 @@ public class EventJdbcRepository {
         }
     }
 
+    /**
+     * Insert all of the given events into the event log using a single JDBC batch.
+     *
+     * @param events the events to insert, in position order
+     * @throws InvalidPositionException if any of the versions is null.
+     */
+    public void insertBatch(final List<Event> events) throws InvalidPositionException {
+
+        if (events.isEmpty()) {
+            return;
+        }
+
+        final DataSource dataSource = eventStoreDataSourceProvider.getDefaultDataSource();
+
+        try (final Connection connection = dataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(eventInsertionStrategy.insertStatement())) {
+            eventInsertionStrategy.insertBatch(preparedStatement, events);
+        } catch (final SQLException e) {
+            final Event firstEvent = events.get(0);
+            logger.error("Error persisting batch of events to the database", e);
+            throw new JdbcRepositoryException(format("Exception while storing %d events from sequence %s of stream %s",
+                    events.size(), firstEvent.getPositionInStream(), firstEvent.getStreamId()), e);
+        }
+    }
+
     public Optional<Event> findById(final UUID id) {
 
         final DataSource dataSource = eventStoreDataSourceProvider.getDefaultDataSource();
@@ -212,24 +243,18 @@ public class EventJdbcRepository {
     }
 
     /**
-     * Returns a Stream of all events in the event_log table ordered by event_number.
+     * Returns a lazy Stream of all events in the event_log table ordered by event_number.
+     * The events are read in pages of 'event.log.keyset.page.size' on short-lived connections,
+     * so the Stream should be closed once finished with.
      *
      * @return a Stream of all events ordered by event_number
      */
     public Stream<Event> findAllOrderedByEventNumber() {
-
-        final DataSource defaultDataSource = eventStoreDataSourceProvider.getDefaultDataSource();
-        try {
-            final PreparedStatementWrapper preparedStatementWrapper = preparedStatementWrapperFactory.preparedStatementWrapperOf(
-                    defaultDataSource,
-                    SQL_FIND_ALL_ORDERED_BY_EVENT_NUMBER);
-
-            return jdbcResultSetStreamer.streamOf(preparedStatementWrapper, asEvent());
-
-        } catch (final SQLException e) {
-            logger.error("Failed to get stream of events", e);
-            throw new JdbcRepositoryException("Failed to get stream of events", e);
-        }
+        return keysetPagedEventStreamer.streamOf(
+                0L,
+                keysetPagingConfig.getPageSize(),
+                this::findPageFromEventNumber,
+                this::eventNumberOf);
     }
 
     /**
@@ -276,21 +301,13 @@ public class EventJdbcRepository {
     }
 
     /**
-     * Returns a Stream of {@link Event}
+     * Returns a Stream of {@link Event} ordered by event_number, and so in position order
+     * within each stream.
      *
      * @return a stream of {@link Event}. Never returns null.
      */
     public Stream<Event> findAll() {
-
-        final DataSource dataSource = eventStoreDataSourceProvider.getDefaultDataSource();
-
-        try {
-            return jdbcResultSetStreamer
-                    .streamOf(preparedStatementWrapperFactory
-                            .preparedStatementWrapperOf(dataSource, SQL_FIND_ALL), asEvent());
-        } catch (final SQLException e) {
-            throw new JdbcRepositoryException(READING_STREAM_ALL_EXCEPTION, e);
-        }
+        return findAllOrderedByEventNumber();
     }
 
     /**
@@ -373,6 +390,35 @@ public class EventJdbcRepository {
         });
     }
 
+    private List<Event> findPageFromEventNumber(final long eventNumber, final int pageSize) {
+
+        final DataSource dataSource = eventStoreDataSourceProvider.getDefaultDataSource();
+
+        try (final Connection connection = dataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_FROM_EVENT_NUMBER_WITH_PAGE)) {
+
+            preparedStatement.setLong(1, eventNumber);
+            preparedStatement.setInt(2, pageSize);
+
+            final List<Event> events = new ArrayList<>(pageSize);
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    events.add(asEvent().apply(resultSet));
+                }
+            }
+
+            return events;
+        } catch (final SQLException e) {
+            logger.error(format("Failed to read page of events from event_log from event number : '%s' with page size : '%s'", eventNumber, pageSize), e);
+            throw new JdbcRepositoryException(format("Failed to read page of events from event_log from event number : '%s' with page size : '%s'", eventNumber, pageSize), e);
+        }
+    }
+
+    private long eventNumberOf(final Event event) {
+        return event.getEventNumber()
+                .orElseThrow(() -> new JdbcRepositoryException(format("Event with id '%s' has no event_number", event.getId())));
+    }
+
     private Function<ResultSet, Event> asEvent() {
         return resultSet -> {
             try {
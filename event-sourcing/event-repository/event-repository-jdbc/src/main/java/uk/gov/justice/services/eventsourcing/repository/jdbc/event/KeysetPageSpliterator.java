@@ -0,0 +1,111 @@
+package uk.gov.justice.services.eventsourcing.repository.jdbc.event;
+
+import static java.util.Collections.emptyIterator;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.KeysetPagedEventStreamer.PageFetcher;
+import uk.gov.justice.services.jdbc.persistence.JdbcRepositoryException;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Spliterator over keyset paged results. Not thread safe; intended to be consumed
+ * sequentially by a single thread.
+ */
+class KeysetPageSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private final int pageSize;
+    private final PageFetcher<T> pageFetcher;
+    private final ToLongFunction<T> keyOf;
+    private final Executor prefetchExecutor;
+
+    private long nextKey;
+    private boolean lastPageFetched = false;
+    private Iterator<T> currentPage = emptyIterator();
+    private CompletableFuture<List<T>> prefetchedPage;
+
+    KeysetPageSpliterator(
+            final long fromKeyExclusive,
+            final int pageSize,
+            final PageFetcher<T> pageFetcher,
+            final ToLongFunction<T> keyOf,
+            final Executor prefetchExecutor) {
+        super(Long.MAX_VALUE, ORDERED | NONNULL);
+
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Keyset page size must be greater than zero but was " + pageSize);
+        }
+
+        this.nextKey = fromKeyExclusive;
+        this.pageSize = pageSize;
+        this.pageFetcher = pageFetcher;
+        this.keyOf = keyOf;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+
+        if (!currentPage.hasNext() && !loadNextPage()) {
+            return false;
+        }
+
+        action.accept(currentPage.next());
+        return true;
+    }
+
+    void close() {
+        if (prefetchedPage != null) {
+            prefetchedPage.cancel(true);
+            prefetchedPage = null;
+        }
+    }
+
+    private boolean loadNextPage() {
+
+        if (lastPageFetched) {
+            return false;
+        }
+
+        final List<T> page = prefetchedPage != null ? await(prefetchedPage) : pageFetcher.fetchPageAfter(nextKey, pageSize);
+        prefetchedPage = null;
+
+        if (page.size() < pageSize) {
+            lastPageFetched = true;
+        }
+
+        if (page.isEmpty()) {
+            return false;
+        }
+
+        nextKey = keyOf.applyAsLong(page.get(page.size() - 1));
+
+        if (!lastPageFetched && prefetchExecutor != null) {
+            final long fromKeyExclusive = nextKey;
+            prefetchedPage = supplyAsync(() -> pageFetcher.fetchPageAfter(fromKeyExclusive, pageSize), prefetchExecutor);
+        }
+
+        currentPage = page.iterator();
+
+        return true;
+    }
+
+    private List<T> await(final CompletableFuture<List<T>> page) {
+        try {
+            return page.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new JdbcRepositoryException("Failed to fetch next page of events from event_log", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.justice.services.eventsourcing.repository.jdbc.event;
+
+import static java.util.stream.StreamSupport.stream;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+/**
+ * Streams rows from the event_log a page at a time, using the last event_number of each
+ * page as the key for the next page ('WHERE event_number > ? ORDER BY event_number LIMIT ?').
+ *
+ * Each page is read on its own short-lived connection, so no connection is held open
+ * while the returned Stream is being consumed. Whilst a page is being consumed the next page
+ * is fetched in the background using the container's ManagedExecutorService. If no
+ * executor is available pages are fetched synchronously as they are needed.
+ */
+public class KeysetPagedEventStreamer {
+
+    @Resource
+    private ManagedExecutorService managedExecutorService;
+
+    /**
+     * Returns a lazy Stream of all rows with a key greater than fromKeyExclusive.
+     * The Stream should be closed once finished with to cancel any outstanding prefetch.
+     *
+     * @param fromKeyExclusive return all rows with a key greater than this
+     * @param pageSize the maximum number of rows to fetch with each query
+     * @param pageFetcher fetches a page of rows with keys greater than the given key
+     * @param keyOf extracts the key (event_number) from a row
+     * @return a lazy Stream of all rows in key order
+     */
+    public <T> Stream<T> streamOf(
+            final long fromKeyExclusive,
+            final int pageSize,
+            final PageFetcher<T> pageFetcher,
+            final ToLongFunction<T> keyOf) {
+
+        final Executor prefetchExecutor = managedExecutorService;
+        final KeysetPageSpliterator<T> keysetPageSpliterator = new KeysetPageSpliterator<>(
+                fromKeyExclusive,
+                pageSize,
+                pageFetcher,
+                keyOf,
+                prefetchExecutor);
+
+        return stream(keysetPageSpliterator, false)
+                .onClose(keysetPageSpliterator::close);
+    }
+
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+
+        /**
+         * @param fromKeyExclusive fetch rows with a key greater than this
+         * @param pageSize the maximum number of rows to fetch
+         * @return the page of rows in key order
+         */
+        List<T> fetchPageAfter(final long fromKeyExclusive, final int pageSize);
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.justice.services.eventsourcing.repository.jdbc.event;
+
+import static java.lang.Integer.parseInt;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+
+import javax.inject.Inject;
+
+public class KeysetPagingConfig {
+
+    @Inject
+    @GlobalValue(key = "event.log.keyset.page.size", defaultValue = "1000")
+    private String eventLogKeysetPageSize;
+
+    public int getPageSize() {
+        return parseInt(eventLogKeysetPageSize);
+    }
+}
@@ -16,6 +16,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
@@ -25,7 +27,7 @@ import javax.sql.DataSource;
 
 public class MultipleDataSourceEventRepository {
 
-    private static final String SQL_FIND_ALL_SINCE = "SELECT * FROM event_log WHERE event_number > ? ORDER BY event_number ASC";
+    private static final String SQL_FIND_PAGE_SINCE = "SELECT * FROM event_log WHERE event_number > ? ORDER BY event_number ASC LIMIT ?";
     private static final String SQL_FIND_RANGE = "SELECT * FROM event_log WHERE event_number >= ? AND event_number < ? ORDER BY event_number ASC";
     private static final String SQL_FIND_BY_ID = "SELECT * FROM event_log WHERE id = ?";
     private static final String SQL_FIND_LATEST_LINKED_EVENT = """
@@ -47,34 +49,36 @@ public class MultipleDataSourceEventRepository {
 
     private final JdbcResultSetStreamer jdbcResultSetStreamer;
     private final PreparedStatementWrapperFactory preparedStatementWrapperFactory;
+    private final KeysetPagedEventStreamer keysetPagedEventStreamer;
+    private final int pageSize;
     private final DataSource dataSource;
 
     public MultipleDataSourceEventRepository(
             final JdbcResultSetStreamer jdbcResultSetStreamer,
             final PreparedStatementWrapperFactory preparedStatementWrapperFactory,
+            final KeysetPagedEventStreamer keysetPagedEventStreamer,
+            final int pageSize,
             final DataSource dataSource) {
         this.jdbcResultSetStreamer = jdbcResultSetStreamer;
         this.preparedStatementWrapperFactory = preparedStatementWrapperFactory;
+        this.keysetPagedEventStreamer = keysetPagedEventStreamer;
+        this.pageSize = pageSize;
         this.dataSource = dataSource;
     }
 
     /**
-     * Returns a Stream of PublishedEvent of all events since eventNumber.
+     * Returns a lazy Stream of PublishedEvent of all events since eventNumber. The events are
+     * read in pages on short-lived connections, so the Stream should be closed once finished with.
      *
      * @param eventNumber - exclusive start of events to return
      * @return a Stream of PublishedEvent
      */
     public Stream<LinkedEvent> findEventsSince(final long eventNumber) {
-
-        try {
-            final PreparedStatementWrapper psWrapper = preparedStatementWrapperFactory.preparedStatementWrapperOf(dataSource, SQL_FIND_ALL_SINCE);
-
-            psWrapper.setLong(1, eventNumber);
-
-            return jdbcResultSetStreamer.streamOf(psWrapper, asEvent());
-        } catch (final SQLException e) {
-            throw new JdbcRepositoryException(format("Failed to find events since event_number %d", eventNumber), e);
-        }
+        return keysetPagedEventStreamer.streamOf(
+                eventNumber,
+                pageSize,
+                this::findPageSince,
+                this::eventNumberOf);
     }
 
     /**
@@ -161,6 +165,32 @@ public class MultipleDataSourceEventRepository {
         }
     }
 
+    private List<LinkedEvent> findPageSince(final long eventNumber, final int pageSize) {
+
+        try (final Connection connection = dataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_PAGE_SINCE)) {
+
+            preparedStatement.setLong(1, eventNumber);
+            preparedStatement.setInt(2, pageSize);
+
+            final List<LinkedEvent> linkedEvents = new ArrayList<>(pageSize);
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    linkedEvents.add(asEvent().apply(resultSet));
+                }
+            }
+
+            return linkedEvents;
+        } catch (final SQLException e) {
+            throw new JdbcRepositoryException(format("Failed to find events since event_number %d", eventNumber), e);
+        }
+    }
+
+    private long eventNumberOf(final LinkedEvent linkedEvent) {
+        return linkedEvent.getEventNumber()
+                .orElseThrow(() -> new JdbcRepositoryException(format("Event with id '%s' has no event_number", linkedEvent.getId())));
+    }
+
     private Function<ResultSet, LinkedEvent> asEvent() {
         return resultSet -> {
             try {
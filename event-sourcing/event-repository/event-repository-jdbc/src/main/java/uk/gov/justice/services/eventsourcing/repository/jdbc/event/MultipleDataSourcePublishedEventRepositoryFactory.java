@@ -14,10 +14,18 @@ public class MultipleDataSourcePublishedEventRepositoryFactory {
     @Inject
     private PreparedStatementWrapperFactory preparedStatementWrapperFactory;
 
+    @Inject
+    private KeysetPagedEventStreamer keysetPagedEventStreamer;
+
+    @Inject
+    private KeysetPagingConfig keysetPagingConfig;
+
     public MultipleDataSourceEventRepository create(final DataSource dataSource) {
         return new MultipleDataSourceEventRepository(
                 jdbcResultSetStreamer,
                 preparedStatementWrapperFactory,
+                keysetPagedEventStreamer,
+                keysetPagingConfig.getPageSize(),
                 dataSource);
     }
 }
@@ -0,0 +1,31 @@
+package uk.gov.justice.services.eventsourcing.repository.jdbc.notification;
+
+import static java.util.Arrays.stream;
+
+import java.util.Optional;
+
+/**
+ * The Postgres LISTEN/NOTIFY channels used to wake the event linking and event publishing
+ * workers as soon as there is new work for them, rather than waiting for their next timer run
+ */
+public enum EventStoreNotificationChannel {
+
+    EVENT_LOG_CHANNEL("event_log_new_events"),
+    PUBLISH_QUEUE_CHANNEL("publish_queue_new_events");
+
+    private final String channelName;
+
+    EventStoreNotificationChannel(final String channelName) {
+        this.channelName = channelName;
+    }
+
+    public String getChannelName() {
+        return channelName;
+    }
+
+    public static Optional<EventStoreNotificationChannel> fromChannelName(final String channelName) {
+        return stream(values())
+                .filter(channel -> channel.channelName.equals(channelName))
+                .findFirst();
+    }
+}
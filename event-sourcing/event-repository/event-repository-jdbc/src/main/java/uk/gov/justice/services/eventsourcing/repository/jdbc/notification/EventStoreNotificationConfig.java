@@ -0,0 +1,18 @@
+package uk.gov.justice.services.eventsourcing.repository.jdbc.notification;
+
+import static java.lang.Boolean.parseBoolean;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+
+import javax.inject.Inject;
+
+public class EventStoreNotificationConfig {
+
+    @Inject
+    @GlobalValue(key = "event.store.notifications.enabled", defaultValue = "false")
+    private String eventStoreNotificationsEnabled;
+
+    public boolean isEventStoreNotificationsEnabled() {
+        return parseBoolean(eventStoreNotificationsEnabled);
+    }
+}
@@ -0,0 +1,47 @@
+package uk.gov.justice.services.eventsourcing.repository.jdbc.notification;
+
+import static java.lang.String.format;
+import static javax.transaction.Transactional.TxType.MANDATORY;
+
+import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.PublishedEventException;
+import uk.gov.justice.services.eventsourcing.source.core.EventStoreDataSourceProvider;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+/**
+ * Issues a Postgres NOTIFY on one of the {@link EventStoreNotificationChannel}s, if event store
+ * notifications are enabled. As NOTIFY is transactional the notification is only delivered to
+ * listeners once the current transaction commits, and Postgres folds repeated notifications on
+ * the same channel in one transaction into one
+ */
+public class EventStoreNotifier {
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, NULL)";
+
+    @Inject
+    private EventStoreDataSourceProvider eventStoreDataSourceProvider;
+
+    @Inject
+    private EventStoreNotificationConfig eventStoreNotificationConfig;
+
+    @Transactional(MANDATORY)
+    public void notifyOf(final EventStoreNotificationChannel eventStoreNotificationChannel) {
+
+        if (!eventStoreNotificationConfig.isEventStoreNotificationsEnabled()) {
+            return;
+        }
+
+        try (final Connection connection = eventStoreDataSourceProvider.getDefaultDataSource().getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(NOTIFY_SQL)) {
+            preparedStatement.setString(1, eventStoreNotificationChannel.getChannelName());
+            preparedStatement.execute();
+        } catch (final SQLException e) {
+            throw new PublishedEventException(format("Failed to notify channel '%s'", eventStoreNotificationChannel.getChannelName()), e);
+        }
+    }
+}
@@ -15,6 +15,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel.EVENT_LOG_CHANNEL;
 
 import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.Event;
@@ -25,6 +26,7 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.eventstream.EventSt
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.InvalidPositionException;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.InvalidStreamIdException;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.StoreEventRequestFailedException;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotifier;
 import uk.gov.justice.services.jdbc.persistence.JdbcRepositoryException;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.Metadata;
@@ -79,6 +81,9 @@ public class JdbcBasedEventRepositoryTest {
     @Mock
     private UtcClock clock;
 
+    @Mock
+    private EventStoreNotifier eventStoreNotifier;
+
     @InjectMocks
     private JdbcBasedEventRepository jdbcBasedEventRepository;
 
@@ -310,9 +315,41 @@ public class JdbcBasedEventRepositoryTest {
 
         verify(eventJdbcRepository).insert(event);
         verify(prePublishQueueRepository).addToQueue(event.getId(), clock.now());
+        verify(eventStoreNotifier).notifyOf(EVENT_LOG_CHANNEL);
         verify(logger).trace("Storing event {} into stream {} at position {}", name, STREAM_ID, POSITION);
     }
 
+    @Test
+    public void shouldStoreAllEventEnvelopesInOneBatch() throws Exception {
+        final JsonEnvelope envelope2 = mock(JsonEnvelope.class);
+        final Event event1 = new Event(randomUUID(), STREAM_ID, POSITION, "name123", null, null, now());
+        final Event event2 = new Event(randomUUID(), STREAM_ID, POSITION + 1, "name456", null, null, now());
+        final ZonedDateTime queuedAt = new UtcClock().now();
+
+        when(eventConverter.eventOf(envelope)).thenReturn(event1);
+        when(eventConverter.eventOf(envelope2)).thenReturn(event2);
+        when(clock.now()).thenReturn(queuedAt);
+
+        jdbcBasedEventRepository.storeEvents(List.of(envelope, envelope2));
+
+        verify(eventJdbcRepository).insertBatch(List.of(event1, event2));
+        verify(prePublishQueueRepository).addAllToQueue(List.of(event1.getId(), event2.getId()), queuedAt);
+        verify(eventStoreNotifier).notifyOf(EVENT_LOG_CHANNEL);
+        verify(logger).trace("Storing {} events into stream {} from position {}", 2, STREAM_ID, POSITION);
+    }
+
+    @Test
+    public void shouldThrowExceptionOnInvalidPositionWhenStoringEventsInOneBatch() throws Exception {
+        when(eventConverter.eventOf(envelope)).thenReturn(event);
+        when(envelope.metadata()).thenReturn(metadata);
+        when(metadata.streamId()).thenReturn(Optional.of(STREAM_ID));
+        when(metadata.position()).thenReturn(Optional.of(POSITION));
+
+        doThrow(InvalidPositionException.class).when(eventJdbcRepository).insertBatch(List.of(event));
+
+        assertThrows(StoreEventRequestFailedException.class, () -> jdbcBasedEventRepository.storeEvents(List.of(envelope)));
+    }
+
     @Test
     public void shouldThrowExceptionOnDuplicatePosition() throws Exception {
         when(eventConverter.eventOf(envelope)).thenReturn(event);
@@ -1,8 +1,11 @@
 package uk.gov.justice.services.eventsourcing.repository.jdbc;
 
+import static java.sql.Statement.SUCCESS_NO_INFO;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.common.converter.ZonedDateTimes.toSqlTimestamp;
@@ -13,7 +16,12 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.event.Event;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.OptimisticLockingRetryException;
 import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapper;
 
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -27,6 +35,7 @@ public class PostgresSQLEventInsertionStrategyTest {
 
     private static final int INSERTED = 1;
     private static final int CONFLICT_OCCURRED = 0;
+    private static final int UPDATE_COUNT_UNKNOWN = SUCCESS_NO_INFO;
 
     private static final UUID ID = UUID.randomUUID();
     private static final UUID STREAM_ID = UUID.randomUUID();
@@ -99,4 +108,110 @@ public class PostgresSQLEventInsertionStrategyTest {
     public void shouldReturnTheDefaultSqlInsertStatementWithPostgresDoNothingSuffix() throws Exception {
         assertThat(strategy.insertStatement(), is(SQL_INSERT_EVENT + " ON CONFLICT DO NOTHING"));
     }
+
+    @Test
+    public void shouldExecuteAllEventsInOneBatch() throws Exception {
+
+        final PreparedStatement batchStatement = mock(PreparedStatement.class);
+        final Event event1 = new Event(ID, STREAM_ID, 1L, NAME, METADATA, PAYLOAD, createdAt);
+        final Event event2 = new Event(UUID.randomUUID(), STREAM_ID, 2L, NAME, METADATA, PAYLOAD, createdAt);
+
+        when(batchStatement.executeBatch()).thenReturn(new int[]{INSERTED, INSERTED});
+
+        strategy.insertBatch(batchStatement, List.of(event1, event2));
+
+        verify(batchStatement).setLong(3, 1L);
+        verify(batchStatement).setLong(3, 2L);
+        verify(batchStatement, times(2)).addBatch();
+        verify(batchStatement).executeBatch();
+    }
+
+    @Test
+    public void shouldThrowExceptionWithTheFirstConflictingPositionIfAnyRowOfTheBatchWasNotInserted() throws Exception {
+
+        final PreparedStatement batchStatement = mock(PreparedStatement.class);
+        final Event event1 = new Event(ID, STREAM_ID, 1L, NAME, METADATA, PAYLOAD, createdAt);
+        final Event event2 = new Event(UUID.randomUUID(), STREAM_ID, 2L, NAME, METADATA, PAYLOAD, createdAt);
+        final Event event3 = new Event(UUID.randomUUID(), STREAM_ID, 3L, NAME, METADATA, PAYLOAD, createdAt);
+
+        when(batchStatement.executeBatch()).thenReturn(new int[]{INSERTED, CONFLICT_OCCURRED, CONFLICT_OCCURRED});
+
+        final OptimisticLockingRetryException optimisticLockingRetryException = assertThrows(OptimisticLockingRetryException.class, () ->
+                strategy.insertBatch(batchStatement, List.of(event1, event2, event3))
+        );
+
+        assertThat(optimisticLockingRetryException.getMessage(), is("Locking Exception while storing sequence 2 of stream " + STREAM_ID));
+    }
+
+    @Test
+    public void shouldLookUpTheInsertedEventIdsIfTheUpdateCountsOfTheBatchAreUnknown() throws Exception {
+
+        final PreparedStatement batchStatement = mock(PreparedStatement.class);
+        final Connection connection = mock(Connection.class);
+        final PreparedStatement findStatement = mock(PreparedStatement.class);
+        final Array eventIdsArray = mock(Array.class);
+        final ResultSet resultSet = mock(ResultSet.class);
+        final UUID id2 = UUID.randomUUID();
+        final Event event1 = new Event(ID, STREAM_ID, 1L, NAME, METADATA, PAYLOAD, createdAt);
+        final Event event2 = new Event(id2, STREAM_ID, 2L, NAME, METADATA, PAYLOAD, createdAt);
+
+        when(batchStatement.executeBatch()).thenReturn(new int[]{UPDATE_COUNT_UNKNOWN, UPDATE_COUNT_UNKNOWN});
+        when(batchStatement.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT id FROM event_log WHERE id = ANY(?)")).thenReturn(findStatement);
+        when(connection.createArrayOf("uuid", new Object[]{ID, id2})).thenReturn(eventIdsArray);
+        when(findStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject("id", UUID.class)).thenReturn(ID, id2);
+
+        strategy.insertBatch(batchStatement, List.of(event1, event2));
+
+        verify(findStatement).setArray(1, eventIdsArray);
+        verify(findStatement).close();
+        verify(resultSet).close();
+    }
+
+    @Test
+    public void shouldThrowExceptionWithTheFirstPositionNotFoundInTheEventLogIfTheUpdateCountsOfTheBatchAreUnknown() throws Exception {
+
+        final PreparedStatement batchStatement = mock(PreparedStatement.class);
+        final Connection connection = mock(Connection.class);
+        final PreparedStatement findStatement = mock(PreparedStatement.class);
+        final Array eventIdsArray = mock(Array.class);
+        final ResultSet resultSet = mock(ResultSet.class);
+        final UUID id2 = UUID.randomUUID();
+        final UUID id3 = UUID.randomUUID();
+        final Event event1 = new Event(ID, STREAM_ID, 1L, NAME, METADATA, PAYLOAD, createdAt);
+        final Event event2 = new Event(id2, STREAM_ID, 2L, NAME, METADATA, PAYLOAD, createdAt);
+        final Event event3 = new Event(id3, STREAM_ID, 3L, NAME, METADATA, PAYLOAD, createdAt);
+
+        when(batchStatement.executeBatch()).thenReturn(new int[]{UPDATE_COUNT_UNKNOWN, UPDATE_COUNT_UNKNOWN, UPDATE_COUNT_UNKNOWN});
+        when(batchStatement.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT id FROM event_log WHERE id = ANY(?)")).thenReturn(findStatement);
+        when(connection.createArrayOf("uuid", new Object[]{ID, id2, id3})).thenReturn(eventIdsArray);
+        when(findStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getObject("id", UUID.class)).thenReturn(ID);
+
+        final OptimisticLockingRetryException optimisticLockingRetryException = assertThrows(OptimisticLockingRetryException.class, () ->
+                strategy.insertBatch(batchStatement, List.of(event1, event2, event3))
+        );
+
+        assertThat(optimisticLockingRetryException.getMessage(), is("Locking Exception while storing sequence 2 of stream " + STREAM_ID));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfAnyUpdateCountOfTheBatchIsNeitherOneNorUnknown() throws Exception {
+
+        final PreparedStatement batchStatement = mock(PreparedStatement.class);
+        final Event event1 = new Event(ID, STREAM_ID, 1L, NAME, METADATA, PAYLOAD, createdAt);
+        final Event event2 = new Event(UUID.randomUUID(), STREAM_ID, 2L, NAME, METADATA, PAYLOAD, createdAt);
+
+        when(batchStatement.executeBatch()).thenReturn(new int[]{UPDATE_COUNT_UNKNOWN, 2});
+
+        final OptimisticLockingRetryException optimisticLockingRetryException = assertThrows(OptimisticLockingRetryException.class, () ->
+                strategy.insertBatch(batchStatement, List.of(event1, event2))
+        );
+
+        assertThat(optimisticLockingRetryException.getMessage(), is("Locking Exception while storing sequence 2 of stream " + STREAM_ID));
+    }
 }
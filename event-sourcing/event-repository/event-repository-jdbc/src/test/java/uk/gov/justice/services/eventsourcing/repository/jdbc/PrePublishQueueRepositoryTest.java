@@ -10,6 +10,7 @@ import static uk.gov.justice.services.eventsourcing.repository.jdbc.PublishQueue
 import uk.gov.justice.services.common.util.UtcClock;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -46,6 +47,17 @@ public class PrePublishQueueRepositoryTest {
         verify(publishQueuesDataAccess).addToQueue(eventId, queuedAt, PRE_PUBLISH_QUEUE_TABLE);
     }
 
+    @Test
+    public void shouldAddAllToQueueOfThePrePublishQueueTable() throws Exception {
+
+        final List<UUID> eventIds = List.of(randomUUID(), randomUUID());
+        final ZonedDateTime queuedAt = new UtcClock().now();
+
+        prePublishQueueRepository.addAllToQueue(eventIds, queuedAt);
+
+        verify(publishQueuesDataAccess).addAllToQueue(eventIds, queuedAt, PRE_PUBLISH_QUEUE_TABLE);
+    }
+
     @Test
     public void shouldGetSizeOfQueueFromThePrePublishQueueTable() throws Exception {
 
@@ -8,7 +8,6 @@ import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventJdbcRepository.SQL_FIND_ALL_ORDERED_BY_EVENT_NUMBER;
 import static uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventJdbcRepository.SQL_FIND_BY_STREAM_ID;
 import static uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventJdbcRepository.SQL_FIND_BY_STREAM_ID_AND_POSITION;
 import static uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventJdbcRepository.SQL_FIND_BY_STREAM_ID_AND_POSITION_BY_PAGE;
@@ -22,6 +21,7 @@ import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapperFactory;
 
 import java.sql.SQLException;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -29,6 +29,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 
@@ -47,6 +48,12 @@ public class EventJdbcRepositoryExceptionsTest {
     @Mock
     private EventStoreDataSourceProvider eventStoreDataSourceProvider;
 
+    @Spy
+    private KeysetPagedEventStreamer keysetPagedEventStreamer = new KeysetPagedEventStreamer();
+
+    @Mock
+    private KeysetPagingConfig keysetPagingConfig;
+
     @Mock
     private Logger logger;
 
@@ -100,26 +107,23 @@ public class EventJdbcRepositoryExceptionsTest {
     }
 
     @Test
-    public void shouldLogAndThrowExceptionIfSqlExceptionIsThrownInGetOrderedStreamOfEvents() throws Exception {
+    public void shouldLogAndThrowExceptionIfSqlExceptionIsThrownWhenReadingPageOfOrderedStreamOfEvents() throws Exception {
 
         final SQLException sqlException = new SQLException();
 
-        final String statement = "STATEMENT";
         final DataSource dataSource = mock(DataSource.class);
 
+        when(keysetPagingConfig.getPageSize()).thenReturn(100);
         when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(dataSource);
-        when(preparedStatementWrapperFactory.preparedStatementWrapperOf(
-                dataSource,
-                SQL_FIND_ALL_ORDERED_BY_EVENT_NUMBER))
-                .thenThrow(sqlException);
+        when(dataSource.getConnection()).thenThrow(sqlException);
 
-        try {
-            eventJdbcRepository.findAllOrderedByEventNumber();
+        try (final Stream<Event> events = eventJdbcRepository.findAllOrderedByEventNumber()) {
+            events.findFirst();
             fail();
         } catch (final JdbcRepositoryException expected) {
-            assertThat(expected.getMessage(), is("Failed to get stream of events"));
+            assertThat(expected.getMessage(), is("Failed to read page of events from event_log from event number : '0' with page size : '100'"));
             assertThat(expected.getCause(), is(sqlException));
-            verify(logger).error("Failed to get stream of events", sqlException);
+            verify(logger).error("Failed to read page of events from event_log from event number : '0' with page size : '100'", sqlException);
         }
     }
 
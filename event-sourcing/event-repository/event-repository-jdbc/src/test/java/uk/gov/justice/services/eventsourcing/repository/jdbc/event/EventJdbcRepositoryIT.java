@@ -9,11 +9,14 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.test.utils.events.EventBuilder.eventBuilder;
 
 import uk.gov.justice.services.eventsourcing.repository.jdbc.AnsiSQLEventLogInsertionStrategy;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.EventInsertionStrategy;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.PostgresSQLEventLogInsertionStrategy;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.InvalidPositionException;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.OptimisticLockingRetryException;
 import uk.gov.justice.services.jdbc.persistence.JdbcRepositoryException;
 import uk.gov.justice.services.jdbc.persistence.JdbcResultSetStreamer;
 import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapperFactory;
@@ -22,6 +25,8 @@ import uk.gov.justice.services.test.utils.persistence.FrameworkTestDataSourceFac
 import uk.gov.justice.services.test.utils.persistence.SequenceSetter;
 import uk.gov.justice.services.test.utils.persistence.SettableEventStoreDataSourceProvider;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
@@ -38,6 +43,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.ds.PGSimpleDataSource;
 import org.slf4j.Logger;
 
 @ExtendWith(MockitoExtension.class)
@@ -63,6 +69,13 @@ public class EventJdbcRepositoryIT {
     @Spy
     private SettableEventStoreDataSourceProvider eventStoreDDataSourceProvider = new SettableEventStoreDataSourceProvider();
 
+    @SuppressWarnings("unused")
+    @Spy
+    private KeysetPagedEventStreamer keysetPagedEventStreamer = new KeysetPagedEventStreamer();
+
+    @Mock
+    private KeysetPagingConfig keysetPagingConfig;
+
     @SuppressWarnings("unused")
     @Mock
     private Logger logger;
@@ -148,6 +161,8 @@ public class EventJdbcRepositoryIT {
         jdbcRepository.insert(eventBuilder().withName("event 3").build());
         jdbcRepository.insert(eventBuilder().withName("event 4").build());
 
+        when(keysetPagingConfig.getPageSize()).thenReturn(3);
+
         try (final Stream<Event> events = jdbcRepository.findAllOrderedByEventNumber()) {
 
             final List<Event> eventList = events.collect(toList());
@@ -208,19 +223,33 @@ public class EventJdbcRepositoryIT {
     }
 
     @Test
-    public void shouldReturnAllEventsOrderedBySequenceId() throws InvalidPositionException {
+    public void shouldReturnAllEventsOrderedByEventNumber() throws InvalidPositionException {
 
-        jdbcRepository.insert(eventBuilder().withStreamId(randomUUID()).withPositionInStream(1L).build());
-        jdbcRepository.insert(eventBuilder().withStreamId(STREAM_ID).withPositionInStream(4L).build());
+        final UUID otherStreamId = randomUUID();
+
+        jdbcRepository.insert(eventBuilder().withStreamId(STREAM_ID).withPositionInStream(1L).build());
+        jdbcRepository.insert(eventBuilder().withStreamId(otherStreamId).withPositionInStream(1L).build());
         jdbcRepository.insert(eventBuilder().withStreamId(STREAM_ID).withPositionInStream(2L).build());
+        jdbcRepository.insert(eventBuilder().withStreamId(otherStreamId).withPositionInStream(2L).build());
+        jdbcRepository.insert(eventBuilder().withStreamId(STREAM_ID).withPositionInStream(3L).build());
 
-        final Stream<Event> events = jdbcRepository.findAll();
+        when(keysetPagingConfig.getPageSize()).thenReturn(2);
 
-        final List<Event> eventList = events.collect(toList());
-        assertThat(eventList, hasSize(3));
-        assertThat(eventList.get(0).getPositionInStream(), is(1L));
-        assertThat(eventList.get(1).getPositionInStream(), is(2L));
-        assertThat(eventList.get(2).getPositionInStream(), is(4L));
+        try (final Stream<Event> events = jdbcRepository.findAll()) {
+
+            final List<Event> eventList = events.collect(toList());
+            assertThat(eventList, hasSize(5));
+            assertThat(eventList.get(0).getStreamId(), is(STREAM_ID));
+            assertThat(eventList.get(0).getPositionInStream(), is(1L));
+            assertThat(eventList.get(1).getStreamId(), is(otherStreamId));
+            assertThat(eventList.get(1).getPositionInStream(), is(1L));
+            assertThat(eventList.get(2).getStreamId(), is(STREAM_ID));
+            assertThat(eventList.get(2).getPositionInStream(), is(2L));
+            assertThat(eventList.get(3).getStreamId(), is(otherStreamId));
+            assertThat(eventList.get(3).getPositionInStream(), is(2L));
+            assertThat(eventList.get(4).getStreamId(), is(STREAM_ID));
+            assertThat(eventList.get(4).getPositionInStream(), is(3L));
+        }
     }
 
     @Test
@@ -329,4 +358,30 @@ public class EventJdbcRepositoryIT {
         final Long deletedStreamLatestSequenceId = jdbcRepository.getStreamSize(STREAM_ID);
         assertThat(deletedStreamLatestSequenceId, equalTo(0L));
     }
+
+    @Test
+    public void shouldDetectAConflictingPositionInABatchRewrittenIntoAMultiRowInsertByTheDriver() throws Exception {
+
+        final PGSimpleDataSource rewritingDataSource = (PGSimpleDataSource) new FrameworkTestDataSourceFactory().createEventStoreDataSource();
+        rewritingDataSource.setReWriteBatchedInserts(true);
+
+        final PostgresSQLEventLogInsertionStrategy postgresSQLEventLogInsertionStrategy = new PostgresSQLEventLogInsertionStrategy();
+
+        jdbcRepository.insert(eventBuilder().withStreamId(STREAM_ID).withPositionInStream(2L).build());
+
+        final List<Event> events = List.of(
+                eventBuilder().withStreamId(STREAM_ID).withPositionInStream(1L).build(),
+                eventBuilder().withStreamId(STREAM_ID).withPositionInStream(2L).build(),
+                eventBuilder().withStreamId(STREAM_ID).withPositionInStream(3L).build());
+
+        try (final Connection connection = rewritingDataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(postgresSQLEventLogInsertionStrategy.insertStatement())) {
+
+            final OptimisticLockingRetryException optimisticLockingRetryException = assertThrows(
+                    OptimisticLockingRetryException.class,
+                    () -> postgresSQLEventLogInsertionStrategy.insertBatch(preparedStatement, events));
+
+            assertThat(optimisticLockingRetryException.getMessage(), is("Locking Exception while storing sequence 2 of stream " + STREAM_ID));
+        }
+    }
 }
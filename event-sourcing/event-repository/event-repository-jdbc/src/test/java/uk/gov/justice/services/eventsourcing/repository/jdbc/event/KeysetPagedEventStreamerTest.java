@@ -0,0 +1,138 @@
+package uk.gov.justice.services.eventsourcing.repository.jdbc.event;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.KeysetPagedEventStreamer.PageFetcher;
+import uk.gov.justice.services.jdbc.persistence.JdbcRepositoryException;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class KeysetPagedEventStreamerTest {
+
+    @InjectMocks
+    private KeysetPagedEventStreamer keysetPagedEventStreamer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldStreamAllPagesUsingTheLastKeyOfEachPageAsTheStartOfTheNextPage() throws Exception {
+
+        final PageFetcher<Long> pageFetcher = mock(PageFetcher.class);
+
+        when(pageFetcher.fetchPageAfter(10L, 3)).thenReturn(List.of(11L, 12L, 13L));
+        when(pageFetcher.fetchPageAfter(13L, 3)).thenReturn(List.of(14L, 15L, 16L));
+        when(pageFetcher.fetchPageAfter(16L, 3)).thenReturn(List.of(17L));
+
+        try (final Stream<Long> stream = keysetPagedEventStreamer.streamOf(10L, 3, pageFetcher, key -> key)) {
+            assertThat(stream.collect(toList()), is(List.of(11L, 12L, 13L, 14L, 15L, 16L, 17L)));
+        }
+
+        verify(pageFetcher, never()).fetchPageAfter(17L, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldStopWhenAFullPageIsFollowedByAnEmptyPage() throws Exception {
+
+        final PageFetcher<Long> pageFetcher = mock(PageFetcher.class);
+
+        when(pageFetcher.fetchPageAfter(0L, 2)).thenReturn(List.of(1L, 2L));
+        when(pageFetcher.fetchPageAfter(2L, 2)).thenReturn(List.of());
+
+        try (final Stream<Long> stream = keysetPagedEventStreamer.streamOf(0L, 2, pageFetcher, key -> key)) {
+            assertThat(stream.collect(toList()), is(List.of(1L, 2L)));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldNotFetchAnyPagesUntilTheStreamIsConsumed() throws Exception {
+
+        final PageFetcher<Long> pageFetcher = mock(PageFetcher.class);
+
+        try (final Stream<Long> ignored = keysetPagedEventStreamer.streamOf(0L, 2, pageFetcher, key -> key)) {
+            verifyNoInteractions(pageFetcher);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldPrefetchTheNextPageUsingTheManagedExecutorService() throws Exception {
+
+        final ManagedExecutorService managedExecutorService = mock(ManagedExecutorService.class);
+        final PageFetcher<Long> pageFetcher = mock(PageFetcher.class);
+
+        setField(keysetPagedEventStreamer, "managedExecutorService", managedExecutorService);
+
+        doAnswer(invocationOnMock -> {
+            invocationOnMock.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(managedExecutorService).execute(any(Runnable.class));
+
+        when(pageFetcher.fetchPageAfter(0L, 2)).thenReturn(List.of(1L, 2L));
+        when(pageFetcher.fetchPageAfter(2L, 2)).thenReturn(List.of(3L));
+
+        try (final Stream<Long> stream = keysetPagedEventStreamer.streamOf(0L, 2, pageFetcher, key -> key)) {
+            assertThat(stream.findFirst().orElse(0L), is(1L));
+        }
+
+        verify(managedExecutorService).execute(any(Runnable.class));
+        verify(pageFetcher).fetchPageAfter(2L, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRethrowExceptionsThrownWhenPrefetchingTheNextPage() throws Exception {
+
+        final ManagedExecutorService managedExecutorService = mock(ManagedExecutorService.class);
+        final PageFetcher<Long> pageFetcher = mock(PageFetcher.class);
+        final JdbcRepositoryException jdbcRepositoryException = new JdbcRepositoryException("Ooops");
+
+        setField(keysetPagedEventStreamer, "managedExecutorService", managedExecutorService);
+
+        doAnswer(invocationOnMock -> {
+            invocationOnMock.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(managedExecutorService).execute(any(Runnable.class));
+
+        when(pageFetcher.fetchPageAfter(0L, 2)).thenReturn(List.of(1L, 2L));
+        when(pageFetcher.fetchPageAfter(2L, 2)).thenThrow(jdbcRepositoryException);
+
+        try (final Stream<Long> stream = keysetPagedEventStreamer.streamOf(0L, 2, pageFetcher, key -> key)) {
+            final JdbcRepositoryException thrown = assertThrows(JdbcRepositoryException.class, () -> stream.collect(toList()));
+            assertThat(thrown, is(jdbcRepositoryException));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFailIfThePageSizeIsLessThanOne() throws Exception {
+
+        final PageFetcher<Long> pageFetcher = mock(PageFetcher.class);
+
+        final IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> keysetPagedEventStreamer.streamOf(0L, 0, pageFetcher, key -> key));
+
+        assertThat(illegalArgumentException.getMessage(), is("Keyset page size must be greater than zero but was 0"));
+    }
+}
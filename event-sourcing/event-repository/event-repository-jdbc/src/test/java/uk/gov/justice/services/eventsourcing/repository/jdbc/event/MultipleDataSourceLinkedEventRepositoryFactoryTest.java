@@ -3,6 +3,7 @@ package uk.gov.justice.services.eventsourcing.repository.jdbc.event;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.getValueOfField;
 
 import uk.gov.justice.services.jdbc.persistence.JdbcResultSetStreamer;
@@ -25,18 +26,29 @@ public class MultipleDataSourceLinkedEventRepositoryFactoryTest {
     @Mock
     private PreparedStatementWrapperFactory preparedStatementWrapperFactory;
 
+    @Mock
+    private KeysetPagedEventStreamer keysetPagedEventStreamer;
+
+    @Mock
+    private KeysetPagingConfig keysetPagingConfig;
+
     @InjectMocks
     private MultipleDataSourcePublishedEventRepositoryFactory multipleDataSourcePublishedEventRepositoryFactory;
 
     @Test
     public void shouldCreateAPublishedEventFinder() throws Exception {
 
+        final int pageSize = 500;
         final DataSource dataSource = mock(DataSource.class);
 
+        when(keysetPagingConfig.getPageSize()).thenReturn(pageSize);
+
         final MultipleDataSourceEventRepository multipleDataSourceEventRepository = multipleDataSourcePublishedEventRepositoryFactory.create(dataSource);
 
         assertThat(getValueOfField(multipleDataSourceEventRepository, "jdbcResultSetStreamer", JdbcResultSetStreamer.class), is(jdbcResultSetStreamer));
         assertThat(getValueOfField(multipleDataSourceEventRepository, "preparedStatementWrapperFactory", PreparedStatementWrapperFactory.class), is(preparedStatementWrapperFactory));
+        assertThat(getValueOfField(multipleDataSourceEventRepository, "keysetPagedEventStreamer", KeysetPagedEventStreamer.class), is(keysetPagedEventStreamer));
+        assertThat(getValueOfField(multipleDataSourceEventRepository, "pageSize", Integer.class), is(pageSize));
         assertThat(getValueOfField(multipleDataSourceEventRepository, "dataSource", DataSource.class), is(dataSource));
     }
 }
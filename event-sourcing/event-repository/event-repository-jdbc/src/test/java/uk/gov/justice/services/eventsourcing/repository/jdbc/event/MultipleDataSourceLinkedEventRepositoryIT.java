@@ -44,6 +44,8 @@ public class MultipleDataSourceLinkedEventRepositoryIT {
         multipleDataSourceEventRepository = new MultipleDataSourceEventRepository(
                 jdbcResultSetStreamer,
                 preparedStatementWrapperFactory,
+                new KeysetPagedEventStreamer(),
+                2,
                 dataSource);
     }
 
@@ -0,0 +1,89 @@
+package uk.gov.justice.services.eventsourcing.repository.jdbc.notification;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel.EVENT_LOG_CHANNEL;
+import static uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationChannel.PUBLISH_QUEUE_CHANNEL;
+
+import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.PublishedEventException;
+import uk.gov.justice.services.eventsourcing.source.core.EventStoreDataSourceProvider;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class EventStoreNotifierTest {
+
+    @Mock
+    private EventStoreDataSourceProvider eventStoreDataSourceProvider;
+
+    @Mock
+    private EventStoreNotificationConfig eventStoreNotificationConfig;
+
+    @InjectMocks
+    private EventStoreNotifier eventStoreNotifier;
+
+    @Test
+    public void shouldNotifyTheChannelIfNotificationsEnabled() throws Exception {
+
+        final DataSource dataSource = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+        when(eventStoreNotificationConfig.isEventStoreNotificationsEnabled()).thenReturn(true);
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT pg_notify(?, NULL)")).thenReturn(preparedStatement);
+
+        eventStoreNotifier.notifyOf(PUBLISH_QUEUE_CHANNEL);
+
+        final InOrder inOrder = inOrder(preparedStatement, connection);
+        inOrder.verify(preparedStatement).setString(1, "publish_queue_new_events");
+        inOrder.verify(preparedStatement).execute();
+        inOrder.verify(preparedStatement).close();
+        inOrder.verify(connection).close();
+    }
+
+    @Test
+    public void shouldDoNothingIfNotificationsDisabled() throws Exception {
+
+        when(eventStoreNotificationConfig.isEventStoreNotificationsEnabled()).thenReturn(false);
+
+        eventStoreNotifier.notifyOf(EVENT_LOG_CHANNEL);
+
+        verifyNoInteractions(eventStoreDataSourceProvider);
+    }
+
+    @Test
+    public void shouldThrowPublishedEventExceptionIfNotifyingFails() throws Exception {
+
+        final SQLException sqlException = new SQLException("Ooops");
+        final DataSource dataSource = mock(DataSource.class);
+
+        when(eventStoreNotificationConfig.isEventStoreNotificationsEnabled()).thenReturn(true);
+        when(eventStoreDataSourceProvider.getDefaultDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenThrow(sqlException);
+
+        final PublishedEventException publishedEventException = assertThrows(
+                PublishedEventException.class,
+                () -> eventStoreNotifier.notifyOf(EVENT_LOG_CHANNEL));
+
+        assertThat(publishedEventException.getMessage(), is("Failed to notify channel 'event_log_new_events'"));
+        assertThat(publishedEventException.getCause(), is(sqlException));
+    }
+}
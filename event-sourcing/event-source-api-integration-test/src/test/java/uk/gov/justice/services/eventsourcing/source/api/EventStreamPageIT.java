@@ -45,8 +45,12 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.PublishQueueReposit
 import uk.gov.justice.services.eventsourcing.repository.jdbc.PublishQueuesDataAccess;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventConverter;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventJdbcRepository;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.KeysetPagedEventStreamer;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.KeysetPagingConfig;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.MultipleDataSourceEventRepository;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.eventstream.EventStreamJdbcRepository;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationConfig;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotifier;
 import uk.gov.justice.services.eventsourcing.source.api.resource.EventSourceApiApplication;
 import uk.gov.justice.services.eventsourcing.source.api.resource.EventStreamPageResource;
 import uk.gov.justice.services.eventsourcing.source.api.security.AccessController;
@@ -69,6 +73,9 @@ import uk.gov.justice.services.eventsourcing.source.core.JdbcEventSourceFactory;
 import uk.gov.justice.services.eventsourcing.source.core.MaxRetryProvider;
 import uk.gov.justice.services.eventsourcing.source.core.PublishingEventAppender;
 import uk.gov.justice.services.eventsourcing.source.core.SystemEventService;
+import uk.gov.justice.services.eventsourcing.source.core.streamhead.StreamHeadPositionCache;
+import uk.gov.justice.services.eventsourcing.source.core.streamhead.StreamHeadPositionCacheConfig;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.jdbc.persistence.JdbcResultSetStreamer;
 import uk.gov.justice.services.jdbc.persistence.JndiAppNameProvider;
 import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapperFactory;
@@ -81,6 +88,7 @@ import uk.gov.justice.services.messaging.jms.OversizeMessageGuard;
 import uk.gov.justice.services.messaging.logging.DefaultTraceLogger;
 import uk.gov.justice.services.messaging.logging.TraceLogger;
 import uk.gov.justice.services.messaging.spi.DefaultJsonEnvelopeProvider;
+import uk.gov.justice.services.metrics.micrometer.config.MetricsConfiguration;
 import uk.gov.justice.services.test.utils.messaging.jms.DummyJmsEnvelopeSender;
 import uk.gov.justice.services.test.utils.persistence.OpenEjbEventStoreDataSourceProvider;
 import uk.gov.justice.services.yaml.YamlParser;
@@ -100,6 +108,8 @@ import javax.enterprise.inject.Produces;
 import javax.inject.Inject;
 
 import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import liquibase.Liquibase;
 import liquibase.database.jvm.JdbcConnection;
 import liquibase.resource.ClassLoaderResourceAccessor;
@@ -167,6 +177,17 @@ public class EventStreamPageIT {
         }
     }
 
+    @ApplicationScoped
+    public static class TestMeterRegistryProducer {
+
+        private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        @Produces
+        public MeterRegistry meterRegistry() {
+            return meterRegistry;
+        }
+    }
+
     @Module
     @Classes(cdi = true, value = {
             ObjectMapperProducer.class,
@@ -178,6 +199,7 @@ public class EventStreamPageIT {
             TestSystemUserProvider.class,
             ForbiddenRequestExceptionMapper.class,
             TestEventInsertionStrategyProducer.class,
+            TestMeterRegistryProducer.class,
             EventStreamPageService.class,
             LoggerProducer.class,
             PositionFactory.class,
@@ -230,6 +252,10 @@ public class EventStreamPageIT {
             MaxRetryProvider.class,
             EventSourceNameProvider.class,
             EventStreamManager.class,
+            StreamHeadPositionCache.class,
+            StreamHeadPositionCacheConfig.class,
+            EventStoreTimers.class,
+            MetricsConfiguration.class,
 
             JndiAppNameProvider.class,
             DefaultJsonEnvelopeProvider.class,
@@ -239,6 +265,10 @@ public class EventStreamPageIT {
             JndiBasedServiceContextNameProvider.class,
             PublishQueuesDataAccess.class,
             PrePublishQueueRepository.class,
+            EventStoreNotifier.class,
+            EventStoreNotificationConfig.class,
+            KeysetPagedEventStreamer.class,
+            KeysetPagingConfig.class,
             PublishQueueRepository.class,
             OversizeMessageGuard.class,
             JmsMessagingConfiguration.class,
@@ -47,9 +47,13 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.PublishQueuesDataAc
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.Event;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventConverter;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventJdbcRepository;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.KeysetPagedEventStreamer;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.KeysetPagingConfig;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.MultipleDataSourceEventRepository;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.eventstream.EventStreamJdbcRepository;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.InvalidPositionException;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotificationConfig;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.notification.EventStoreNotifier;
 import uk.gov.justice.services.eventsourcing.source.api.resource.EventPageResource;
 import uk.gov.justice.services.eventsourcing.source.api.resource.EventSourceApiApplication;
 import uk.gov.justice.services.eventsourcing.source.api.security.AccessController;
@@ -72,6 +76,9 @@ import uk.gov.justice.services.eventsourcing.source.core.JdbcEventSourceFactory;
 import uk.gov.justice.services.eventsourcing.source.core.MaxRetryProvider;
 import uk.gov.justice.services.eventsourcing.source.core.PublishingEventAppender;
 import uk.gov.justice.services.eventsourcing.source.core.SystemEventService;
+import uk.gov.justice.services.eventsourcing.source.core.streamhead.StreamHeadPositionCache;
+import uk.gov.justice.services.eventsourcing.source.core.streamhead.StreamHeadPositionCacheConfig;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.jdbc.persistence.JdbcResultSetStreamer;
 import uk.gov.justice.services.jdbc.persistence.JndiAppNameProvider;
 import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapperFactory;
@@ -86,6 +93,7 @@ import uk.gov.justice.services.messaging.jms.OversizeMessageGuard;
 import uk.gov.justice.services.messaging.logging.DefaultTraceLogger;
 import uk.gov.justice.services.messaging.logging.TraceLogger;
 import uk.gov.justice.services.messaging.spi.DefaultJsonEnvelopeProvider;
+import uk.gov.justice.services.metrics.micrometer.config.MetricsConfiguration;
 import uk.gov.justice.services.test.utils.messaging.jms.DummyJmsEnvelopeSender;
 import uk.gov.justice.services.test.utils.persistence.OpenEjbEventStoreDataSourceProvider;
 import uk.gov.justice.services.yaml.YamlParser;
@@ -105,6 +113,8 @@ import javax.enterprise.inject.Produces;
 import javax.inject.Inject;
 
 import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import liquibase.Liquibase;
 import liquibase.database.jvm.JdbcConnection;
 import liquibase.resource.ClassLoaderResourceAccessor;
@@ -174,6 +184,17 @@ public class EventsPageIT {
         }
     }
 
+    @ApplicationScoped
+    public static class TestMeterRegistryProducer {
+
+        private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        @Produces
+        public MeterRegistry meterRegistry() {
+            return meterRegistry;
+        }
+    }
+
     @Module
     @Classes(cdi = true, value = {
             ObjectMapperProducer.class,
@@ -184,6 +205,7 @@ public class EventsPageIT {
             TestSystemUserProvider.class,
             ForbiddenRequestExceptionMapper.class,
             TestEventInsertionStrategyProducer.class,
+            TestMeterRegistryProducer.class,
             EventsPageService.class,
             LoggerProducer.class,
             PositionFactory.class,
@@ -237,6 +259,10 @@ public class EventsPageIT {
             MaxRetryProvider.class,
             EventSourceNameProvider.class,
             EventStreamManager.class,
+            StreamHeadPositionCache.class,
+            StreamHeadPositionCacheConfig.class,
+            EventStoreTimers.class,
+            MetricsConfiguration.class,
 
             JndiAppNameProvider.class,
             DefaultJsonEnvelopeProvider.class,
@@ -246,6 +272,10 @@ public class EventsPageIT {
             JndiBasedServiceContextNameProvider.class,
             PublishQueuesDataAccess.class,
             PrePublishQueueRepository.class,
+            EventStoreNotifier.class,
+            EventStoreNotificationConfig.class,
+            KeysetPagedEventStreamer.class,
+            KeysetPagingConfig.class,
             PublishQueueRepository.class,
             OversizeMessageGuard.class,
             JmsMessagingConfiguration.class,
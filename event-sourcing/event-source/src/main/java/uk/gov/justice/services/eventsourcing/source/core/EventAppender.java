@@ -6,6 +6,7 @@ import static uk.gov.justice.services.messaging.JsonEnvelope.metadataFrom;
 import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface EventAppender {
@@ -19,6 +20,15 @@ public interface EventAppender {
      */
     void append(final JsonEnvelope event, final UUID streamId, final long version, final String eventSourceName) throws EventStreamException;
 
+    /**
+     * Stores all of the events in the event store, at consecutive versions
+     *
+     * @param events       - the events to be appended, in order
+     * @param streamId     - id of the stream the events will be part of
+     * @param firstVersion - version id of the first event in the stream
+     */
+    void appendAll(final List<JsonEnvelope> events, final UUID streamId, final long firstVersion, final String eventSourceName) throws EventStreamException;
+
     default JsonEnvelope eventFrom(final JsonEnvelope event, final UUID streamId, final long version, final String eventSourceName) {
         return envelopeFrom(metadataFrom(event.metadata()).withStreamId(streamId).withVersion(version).withSource(eventSourceName), event.payloadAsJsonObject());
     }
@@ -6,12 +6,15 @@ import static java.util.UUID.randomUUID;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Stream.concat;
 import static java.util.stream.Stream.of;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.APPEND;
 
 import uk.gov.justice.services.core.enveloper.Enveloper;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.EventRepository;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.OptimisticLockingRetryException;
 import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
 import uk.gov.justice.services.eventsourcing.source.core.exception.VersionMismatchException;
+import uk.gov.justice.services.eventsourcing.source.core.streamhead.StreamHeadPositionCache;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
 import java.util.List;
@@ -19,9 +22,11 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
 
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 
 /**
@@ -50,6 +55,15 @@ public class EventStreamManager {
     @Inject
     private EventSourceNameProvider eventSourceNameProvider;
 
+    @Inject
+    private StreamHeadPositionCache streamHeadPositionCache;
+
+    @Inject
+    private EventStoreTimers eventStoreTimers;
+
+    @Inject
+    private Event<StreamClearedEvent> streamClearedEventFirer;
+
     /**
      * Get the stream of events.
      *
@@ -126,6 +140,7 @@ public class EventStreamManager {
                             eventSourceNameProvider.getDefaultEventSourceName());
                     appendedSuccessfully = true;
                 } catch (final OptimisticLockingRetryException e) {
+                    streamHeadPositionCache.invalidate(streamId);
                     retryCount++;
                     if (retryCount > maxRetryProvider.getMaxRetry()) {
                         logger.warn("Failed to append to stream {} due to concurrency issues, returning to handler.", streamId);
@@ -136,6 +151,8 @@ public class EventStreamManager {
                 }
             }
         }
+
+        streamHeadPositionCache.streamAppended(streamId, currentVersion);
         return currentVersion;
     }
 
@@ -184,10 +201,13 @@ public class EventStreamManager {
 
     /**
      * Clears the stream, deleting all associated events from the event_log, it does not update the
-     * event_stream.
+     * event_stream. Anything cached from the stream on this node is discarded by the observers of
+     * the fired {@link StreamClearedEvent}.
      */
     public void clear(final UUID id) {
+        streamHeadPositionCache.invalidate(id);
         eventRepository.clearEventsForStream(id);
+        streamClearedEventFirer.fire(new StreamClearedEvent(id));
     }
 
     /**
@@ -210,18 +230,41 @@ public class EventStreamManager {
     }
 
     private long append(final UUID id, final Stream<JsonEnvelope> events, final Optional<Long> positionFrom) throws EventStreamException {
+        final String eventSourceName = eventSourceNameProvider.getDefaultEventSourceName();
+        final Timer.Sample sample = eventStoreTimers.start();
+        try {
+            return append(id, events, positionFrom, eventSourceName);
+        } finally {
+            eventStoreTimers.stop(sample, APPEND, eventSourceName);
+        }
+    }
+
+    private long append(final UUID id, final Stream<JsonEnvelope> events, final Optional<Long> positionFrom, final String eventSourceName) throws EventStreamException {
         final List<JsonEnvelope> envelopeList = events.collect(toList());
 
-        long currentPosition = eventRepository.getStreamSize(id);
-        if (positionFrom.isPresent()) {
-            validateVersion(id, positionFrom.get(), currentPosition);
-        }
-        validateEvents(id, envelopeList);
+        // the cached head is only trusted if it agrees with the expected position, as it is behind the
+        // event_log if another node has appended to the stream, and ahead of it if another node has
+        // cleared the stream, when appending after it would leave a gap in the stream
+        final Optional<Long> cachedPosition = positionFrom.flatMap(expectedPosition -> streamHeadPositionCache.getStreamHeadPosition(id)
+                .filter(expectedPosition::equals));
+        final long currentPosition = cachedPosition.orElseGet(() -> eventRepository.getStreamSize(id));
 
-        for (final JsonEnvelope event : envelopeList) {
-            publishingEventAppender.append(event, id, ++currentPosition, eventSourceNameProvider.getDefaultEventSourceName());
+        try {
+            if (positionFrom.isPresent()) {
+                validateVersion(id, positionFrom.get(), currentPosition);
+            }
+            validateEvents(id, envelopeList);
+
+            publishingEventAppender.appendAll(envelopeList, id, currentPosition + 1, eventSourceName);
+        } catch (final OptimisticLockingRetryException e) {
+            streamHeadPositionCache.invalidate(id);
+            throw e;
         }
-        return currentPosition;
+
+        final long headPosition = currentPosition + envelopeList.size();
+        streamHeadPositionCache.streamAppended(id, headPosition);
+
+        return headPosition;
     }
 
     private void validateEvents(final UUID id, final List<JsonEnvelope> envelopeList) throws EventStreamException {
@@ -1,6 +1,7 @@
 package uk.gov.justice.services.eventsourcing.source.core;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 import static uk.gov.justice.services.eventsourcing.source.core.EventSourceConstants.INITIAL_EVENT_VERSION;
 
 import uk.gov.justice.services.eventsourcing.repository.jdbc.EventRepository;
@@ -8,7 +9,9 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.StoreEven
 import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.LongStream;
 
 import javax.inject.Inject;
 
@@ -36,4 +39,30 @@ public class PublishingEventAppender implements EventAppender {
             throw new EventStreamException(format("Failed to append event to the event store %s", event.metadata().id()), e);
         }
     }
+
+    /**
+     * Stores all of the events in the event store with a single batch insert.
+     *
+     * @param events       - the events to be appended, in order
+     * @param streamId     - id of the stream the events will be part of
+     * @param firstVersion - version id of the first event in the stream
+     */
+    @Override
+    public void appendAll(final List<JsonEnvelope> events, final UUID streamId, final long firstVersion, final String eventSourceName) throws EventStreamException {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (firstVersion == INITIAL_EVENT_VERSION) {
+                eventRepository.createEventStream(streamId);
+            }
+            final List<JsonEnvelope> eventsWithStreamIdAndVersion = LongStream.range(0, events.size())
+                    .mapToObj(index -> eventFrom(events.get((int) index), streamId, firstVersion + index, eventSourceName))
+                    .collect(toList());
+            eventRepository.storeEvents(eventsWithStreamIdAndVersion);
+        } catch (StoreEventRequestFailedException e) {
+            throw new EventStreamException(format("Failed to append %d events to the event store from %s", events.size(), events.get(0).metadata().id()), e);
+        }
+    }
 }
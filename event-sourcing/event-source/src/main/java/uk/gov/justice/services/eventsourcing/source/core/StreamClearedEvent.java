@@ -0,0 +1,28 @@
+package uk.gov.justice.services.eventsourcing.source.core;
+
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Fired when all of the events of a stream are deleted from the event_log, so that anything
+ * cached from the stream on this node can be discarded
+ */
+public class StreamClearedEvent {
+
+    private final UUID streamId;
+
+    public StreamClearedEvent(final UUID streamId) {
+        this.streamId = streamId;
+    }
+
+    public UUID getStreamId() {
+        return streamId;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", StreamClearedEvent.class.getSimpleName() + "[", "]")
+                .add("streamId=" + streamId)
+                .toString();
+    }
+}
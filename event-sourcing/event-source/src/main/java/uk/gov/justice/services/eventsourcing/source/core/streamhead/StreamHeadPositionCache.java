@@ -0,0 +1,90 @@
+package uk.gov.justice.services.eventsourcing.source.core.streamhead;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.ofNullable;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+/**
+ * Bounded, per node cache of the latest position_in_stream of recently appended streams, used to
+ * avoid querying the event_log for the head of the stream on every append.
+ *
+ * Positions are only ever cached once the transaction that appended them has committed, and the
+ * entry for a stream is removed as soon as it is appended to, so a rolled back transaction can
+ * never leave a cached head that is ahead of the event_log on its own. A cached head can still be
+ * behind the event_log if another node has appended to the stream, or ahead of it if another node
+ * has cleared the stream, so a cached head is only used when appending after an expected position
+ * that it agrees with.
+ */
+@ApplicationScoped
+public class StreamHeadPositionCache {
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final boolean ACCESS_ORDER = true;
+
+    @Inject
+    private StreamHeadPositionCacheConfig streamHeadPositionCacheConfig;
+
+    @Inject
+    private Event<StreamHeadPositionUpdatedEvent> streamHeadPositionUpdatedEventFirer;
+
+    private final Map<UUID, Long> streamHeadPositions = new LinkedHashMap<>(16, LOAD_FACTOR, ACCESS_ORDER) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<UUID, Long> eldest) {
+            return size() > streamHeadPositionCacheConfig.getStreamHeadPositionCacheMaxSize();
+        }
+    };
+
+    /**
+     * @param streamId the id of the stream
+     * @return the cached head position of the stream, or empty if the stream is not cached or the
+     * cache is disabled
+     */
+    public Optional<Long> getStreamHeadPosition(final UUID streamId) {
+        if (!streamHeadPositionCacheConfig.isStreamHeadPositionCacheEnabled()) {
+            return empty();
+        }
+
+        synchronized (streamHeadPositions) {
+            return ofNullable(streamHeadPositions.get(streamId));
+        }
+    }
+
+    /**
+     * Removes the stream from the cache and caches the new head position of the stream once the
+     * current transaction has successfully committed
+     *
+     * @param streamId the id of the stream appended to
+     * @param headPosition the position of the last event appended
+     */
+    public void streamAppended(final UUID streamId, final long headPosition) {
+        if (streamHeadPositionCacheConfig.isStreamHeadPositionCacheEnabled()) {
+            invalidate(streamId);
+            streamHeadPositionUpdatedEventFirer.fire(new StreamHeadPositionUpdatedEvent(streamId, headPosition));
+        }
+    }
+
+    public void invalidate(final UUID streamId) {
+        synchronized (streamHeadPositions) {
+            streamHeadPositions.remove(streamId);
+        }
+    }
+
+    void onStreamHeadPositionUpdated(@Observes(during = AFTER_SUCCESS) final StreamHeadPositionUpdatedEvent streamHeadPositionUpdatedEvent) {
+        synchronized (streamHeadPositions) {
+            streamHeadPositions.merge(
+                    streamHeadPositionUpdatedEvent.getStreamId(),
+                    streamHeadPositionUpdatedEvent.getHeadPosition(),
+                    Math::max);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package uk.gov.justice.services.eventsourcing.source.core.streamhead;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+
+import javax.inject.Inject;
+
+public class StreamHeadPositionCacheConfig {
+
+    @Inject
+    @GlobalValue(key = "event.stream.head.position.cache.enabled", defaultValue = "false")
+    private String streamHeadPositionCacheEnabled;
+
+    @Inject
+    @GlobalValue(key = "event.stream.head.position.cache.max.size", defaultValue = "10000")
+    private String streamHeadPositionCacheMaxSize;
+
+    public boolean isStreamHeadPositionCacheEnabled() {
+        return parseBoolean(streamHeadPositionCacheEnabled);
+    }
+
+    public int getStreamHeadPositionCacheMaxSize() {
+        return parseInt(streamHeadPositionCacheMaxSize);
+    }
+}
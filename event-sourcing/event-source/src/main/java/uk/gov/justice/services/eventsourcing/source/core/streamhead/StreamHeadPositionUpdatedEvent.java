@@ -0,0 +1,31 @@
+package uk.gov.justice.services.eventsourcing.source.core.streamhead;
+
+import java.util.StringJoiner;
+import java.util.UUID;
+
+public class StreamHeadPositionUpdatedEvent {
+
+    private final UUID streamId;
+    private final long headPosition;
+
+    public StreamHeadPositionUpdatedEvent(final UUID streamId, final long headPosition) {
+        this.streamId = streamId;
+        this.headPosition = headPosition;
+    }
+
+    public UUID getStreamId() {
+        return streamId;
+    }
+
+    public long getHeadPosition() {
+        return headPosition;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", StreamHeadPositionUpdatedEvent.class.getSimpleName() + "[", "]")
+                .add("streamId=" + streamId)
+                .add("headPosition=" + headPosition)
+                .toString();
+    }
+}
@@ -14,10 +14,12 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.APPEND;
 import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
 import static uk.gov.justice.services.messaging.JsonEnvelope.metadataBuilder;
 import static uk.gov.justice.services.test.utils.core.enveloper.EnveloperFactory.createEnveloper;
@@ -27,16 +29,23 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.JdbcBasedEventRepos
 import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.OptimisticLockingRetryException;
 import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
 import uk.gov.justice.services.eventsourcing.source.core.exception.VersionMismatchException;
+import uk.gov.justice.services.eventsourcing.source.core.streamhead.StreamHeadPositionCache;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
 
+import javax.enterprise.event.Event;
+
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -80,14 +89,23 @@ public class EventStreamManagerTest {
     @Mock
     private Logger logger;
 
-    @InjectMocks
-    private EventStreamManager eventStreamManager;
+    @Mock
+    private StreamHeadPositionCache streamHeadPositionCache;
+
+    @Mock
+    private EventStoreTimers eventStoreTimers;
+
+    @Mock
+    private Event<StreamClearedEvent> streamClearedEventFirer;
 
     @Captor
-    private ArgumentCaptor<JsonEnvelope> eventCaptor;
+    private ArgumentCaptor<StreamClearedEvent> streamClearedEventCaptor;
+
+    @InjectMocks
+    private EventStreamManager eventStreamManager;
 
     @Captor
-    private ArgumentCaptor<Long> versionCaptor;
+    private ArgumentCaptor<List<JsonEnvelope>> eventsCaptor;
 
     @Test
     public void shouldAppendToStream() throws Exception {
@@ -100,10 +118,128 @@ public class EventStreamManagerTest {
 
         eventStreamManager.append(STREAM_ID, Stream.of(event));
 
-        verify(publishingEventAppender).append(event, STREAM_ID, INITIAL_VERSION + 1, EVENT_SOURCE_NAME);
+        verify(publishingEventAppender).appendAll(List.of(event), STREAM_ID, INITIAL_VERSION + 1, EVENT_SOURCE_NAME);
 
     }
 
+    @Test
+    public void shouldTimeTheAppendTaggedByEventSource() throws Exception {
+
+        final Timer.Sample sample = Timer.start();
+
+        when(eventSourceNameProvider.getDefaultEventSourceName()).thenReturn(EVENT_SOURCE_NAME);
+        when(eventStoreTimers.start()).thenReturn(sample);
+
+        final JsonEnvelope event = buildEnvelope("test.events.event1");
+
+        eventStreamManager.append(STREAM_ID, Stream.of(event));
+
+        final InOrder inOrder = inOrder(eventStoreTimers, publishingEventAppender);
+        inOrder.verify(eventStoreTimers).start();
+        inOrder.verify(publishingEventAppender).appendAll(List.of(event), STREAM_ID, INITIAL_VERSION + 1, EVENT_SOURCE_NAME);
+        inOrder.verify(eventStoreTimers).stop(sample, APPEND, EVENT_SOURCE_NAME);
+    }
+
+    @Test
+    public void shouldAppendAllEventsToStreamInOneBatch() throws Exception {
+
+        when(eventRepository.getStreamSize(STREAM_ID)).thenReturn(CURRENT_VERSION);
+        when(eventSourceNameProvider.getDefaultEventSourceName()).thenReturn(EVENT_SOURCE_NAME);
+
+        final JsonEnvelope event1 = buildEnvelope("test.events.event1");
+        final JsonEnvelope event2 = buildEnvelope("test.events.event2");
+        final JsonEnvelope event3 = buildEnvelope("test.events.event3");
+
+        final long returnedVersion = eventStreamManager.append(STREAM_ID, Stream.of(event1, event2, event3));
+
+        assertThat(returnedVersion, is(CURRENT_VERSION + 3));
+        verify(publishingEventAppender).appendAll(List.of(event1, event2, event3), STREAM_ID, CURRENT_VERSION + 1, EVENT_SOURCE_NAME);
+        verifyNoMoreInteractions(publishingEventAppender);
+    }
+
+    @Test
+    public void shouldAppendFromTheCachedStreamHeadPositionWithoutQueryingTheEventLog() throws Exception {
+
+        when(streamHeadPositionCache.getStreamHeadPosition(STREAM_ID)).thenReturn(Optional.of(CURRENT_VERSION));
+        when(eventSourceNameProvider.getDefaultEventSourceName()).thenReturn(EVENT_SOURCE_NAME);
+
+        final JsonEnvelope event = buildEnvelope("test.events.event1");
+
+        final long returnedVersion = eventStreamManager.appendAfter(STREAM_ID, Stream.of(event), CURRENT_VERSION);
+
+        assertThat(returnedVersion, is(CURRENT_VERSION + 1));
+        verify(publishingEventAppender).appendAll(List.of(event), STREAM_ID, CURRENT_VERSION + 1, EVENT_SOURCE_NAME);
+        verify(streamHeadPositionCache).streamAppended(STREAM_ID, CURRENT_VERSION + 1);
+        verifyNoMoreInteractions(eventRepository);
+    }
+
+    @Test
+    public void shouldNotUseTheCachedStreamHeadPositionIfAppendingWithoutAnExpectedVersion() throws Exception {
+
+        final long versionAfterClearOnOtherNode = 2L;
+
+        when(eventRepository.getStreamSize(STREAM_ID)).thenReturn(versionAfterClearOnOtherNode);
+        when(eventSourceNameProvider.getDefaultEventSourceName()).thenReturn(EVENT_SOURCE_NAME);
+
+        final JsonEnvelope event = buildEnvelope("test.events.event1");
+
+        final long returnedVersion = eventStreamManager.append(STREAM_ID, Stream.of(event));
+
+        assertThat(returnedVersion, is(versionAfterClearOnOtherNode + 1));
+        verify(publishingEventAppender).appendAll(List.of(event), STREAM_ID, versionAfterClearOnOtherNode + 1, EVENT_SOURCE_NAME);
+        verify(streamHeadPositionCache, never()).getStreamHeadPosition(STREAM_ID);
+        verify(streamHeadPositionCache).streamAppended(STREAM_ID, versionAfterClearOnOtherNode + 1);
+    }
+
+    @Test
+    public void shouldReadTheStreamSizeFromTheEventLogIfTheCachedStreamHeadPositionIsAheadOfTheExpectedVersion() throws Exception {
+
+        final long versionAfterClearOnOtherNode = 2L;
+
+        when(streamHeadPositionCache.getStreamHeadPosition(STREAM_ID)).thenReturn(Optional.of(CURRENT_VERSION));
+        when(eventRepository.getStreamSize(STREAM_ID)).thenReturn(versionAfterClearOnOtherNode);
+        when(eventSourceNameProvider.getDefaultEventSourceName()).thenReturn(EVENT_SOURCE_NAME);
+
+        final JsonEnvelope event = buildEnvelope("test.events.event1");
+
+        final long returnedVersion = eventStreamManager.appendAfter(STREAM_ID, Stream.of(event), versionAfterClearOnOtherNode);
+
+        assertThat(returnedVersion, is(versionAfterClearOnOtherNode + 1));
+        verify(publishingEventAppender).appendAll(List.of(event), STREAM_ID, versionAfterClearOnOtherNode + 1, EVENT_SOURCE_NAME);
+    }
+
+    @Test
+    public void shouldReadTheStreamSizeFromTheEventLogIfTheCachedStreamHeadPositionIsBehindTheExpectedVersion() throws Exception {
+
+        final long versionFromOtherNode = CURRENT_VERSION + 2;
+
+        when(streamHeadPositionCache.getStreamHeadPosition(STREAM_ID)).thenReturn(Optional.of(CURRENT_VERSION));
+        when(eventRepository.getStreamSize(STREAM_ID)).thenReturn(versionFromOtherNode);
+        when(eventSourceNameProvider.getDefaultEventSourceName()).thenReturn(EVENT_SOURCE_NAME);
+
+        final JsonEnvelope event = buildEnvelope("test.events.event1");
+
+        final long returnedVersion = eventStreamManager.appendAfter(STREAM_ID, Stream.of(event), versionFromOtherNode);
+
+        assertThat(returnedVersion, is(versionFromOtherNode + 1));
+        verify(publishingEventAppender).appendAll(List.of(event), STREAM_ID, versionFromOtherNode + 1, EVENT_SOURCE_NAME);
+    }
+
+    @Test
+    public void shouldInvalidateTheCachedStreamHeadPositionOnOptimisticLockingFailure() throws Exception {
+
+        when(streamHeadPositionCache.getStreamHeadPosition(STREAM_ID)).thenReturn(Optional.of(CURRENT_VERSION));
+        when(eventSourceNameProvider.getDefaultEventSourceName()).thenReturn(EVENT_SOURCE_NAME);
+
+        final JsonEnvelope event = buildEnvelope("test.events.event1");
+
+        doThrow(OptimisticLockingRetryException.class).when(publishingEventAppender).appendAll(List.of(event), STREAM_ID, CURRENT_VERSION + 1, EVENT_SOURCE_NAME);
+
+        assertThrows(OptimisticLockingRetryException.class, () -> eventStreamManager.appendAfter(STREAM_ID, Stream.of(event), CURRENT_VERSION));
+
+        verify(streamHeadPositionCache).invalidate(STREAM_ID);
+    }
+
     @Test
     public void shouldThrowExceptionWhenEnvelopeContainsVersion() throws Exception {
         final JsonEnvelope event = envelopeFrom(
@@ -127,7 +263,7 @@ public class EventStreamManagerTest {
         eventStreamManager.appendAfter(STREAM_ID, Stream.of(event), CURRENT_VERSION);
 
 
-        verify(publishingEventAppender).append(event, STREAM_ID, expectedVersion, EVENT_SOURCE_NAME);
+        verify(publishingEventAppender).appendAll(List.of(event), STREAM_ID, expectedVersion, EVENT_SOURCE_NAME);
     }
 
     @Test
@@ -410,10 +546,10 @@ public class EventStreamManagerTest {
         assertThat(clonedId, is(notNullValue()));
         assertThat(clonedId, is(not(STREAM_ID)));
 
-        verify(publishingEventAppender, times(2)).append(eventCaptor.capture(), eq(clonedId), versionCaptor.capture(), eq(EVENT_SOURCE_NAME));
-        final List<JsonEnvelope> clonedEvents = eventCaptor.getAllValues();
+        verify(publishingEventAppender).appendAll(eventsCaptor.capture(), eq(clonedId), eq(1L), eq(EVENT_SOURCE_NAME));
+        final List<JsonEnvelope> clonedEvents = eventsCaptor.getValue();
 
-        assertThat(versionCaptor.getAllValues(), hasItems(1L, 2L));
+        assertThat(clonedEvents.size(), is(2));
         assertThat(clonedEvents, hasItems(systemEvent));
         final JsonEnvelope clonedEvent = clonedEvents.get(0);
         assertThat(clonedEvent.metadata().name(), is("test.events.event1"));
@@ -438,8 +574,8 @@ public class EventStreamManagerTest {
         assertThat(clonedId, is(notNullValue()));
         assertThat(clonedId, is(not(STREAM_ID)));
 
-        verify(publishingEventAppender, times(3)).append(eventCaptor.capture(), eq(clonedId), versionCaptor.capture(), eq(EVENT_SOURCE_NAME));
-        assertThat(versionCaptor.getAllValues(), hasItems(1L, 2L, 3L));
+        verify(publishingEventAppender).appendAll(eventsCaptor.capture(), eq(clonedId), eq(1L), eq(EVENT_SOURCE_NAME));
+        assertThat(eventsCaptor.getValue().size(), is(3));
 
         verify(eventRepository).markEventStreamActive(clonedId, false);
     }
@@ -452,6 +588,18 @@ public class EventStreamManagerTest {
         verifyNoMoreInteractions(eventRepository, publishingEventAppender);
     }
 
+    @Test
+    public void shouldInvalidateTheStreamHeadPositionAndFireAStreamClearedEventOnClear() throws Exception {
+        eventStreamManager.clear(STREAM_ID);
+
+        final InOrder inOrder = inOrder(streamHeadPositionCache, eventRepository, streamClearedEventFirer);
+        inOrder.verify(streamHeadPositionCache).invalidate(STREAM_ID);
+        inOrder.verify(eventRepository).clearEventsForStream(STREAM_ID);
+        inOrder.verify(streamClearedEventFirer).fire(streamClearedEventCaptor.capture());
+
+        assertThat(streamClearedEventCaptor.getValue().getStreamId(), is(STREAM_ID));
+    }
+
     @Test
     public void shouldGetTheStreamPositionFromTheEventStreamManager() throws Exception {
 
@@ -18,6 +18,7 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.exception.StoreEven
 import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -131,4 +132,67 @@ public class PublishingEventAppenderTest {
         verify(eventRepository, times(0)).
                 createEventStream(streamId);
     }
+
+    @Test
+    public void shouldStoreAllEventsInRepoAtConsecutiveVersions() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        final JsonEnvelope event1 = envelopeFrom(
+                metadataBuilder()
+                        .withName("name123")
+                        .withId(randomUUID()),
+                createObjectBuilder());
+        final JsonEnvelope event2 = envelopeFrom(
+                metadataBuilder()
+                        .withName("name456")
+                        .withId(randomUUID()),
+                createObjectBuilder());
+
+        eventAppender.appendAll(List.of(event1, event2), streamId, 3L, DEFAULT_EVENT_SOURCE_NAME);
+
+        final ArgumentCaptor<List<JsonEnvelope>> envelopesCaptor = ArgumentCaptor.forClass(List.class);
+
+        verify(eventRepository).storeEvents(envelopesCaptor.capture());
+        verify(eventRepository, times(0)).createEventStream(streamId);
+
+        final List<JsonEnvelope> storedEnvelopes = envelopesCaptor.getValue();
+        assertThat(storedEnvelopes.size(), is(2));
+        assertThat(storedEnvelopes.get(0).metadata().streamId(), contains(streamId));
+        assertThat(storedEnvelopes.get(0).metadata().position(), contains(3L));
+        assertThat(storedEnvelopes.get(0).metadata().name(), is("name123"));
+        assertThat(storedEnvelopes.get(1).metadata().streamId(), contains(streamId));
+        assertThat(storedEnvelopes.get(1).metadata().position(), contains(4L));
+        assertThat(storedEnvelopes.get(1).metadata().name(), is("name456"));
+    }
+
+    @Test
+    public void shouldCreateANewEventStreamWhenAppendingAllFromTheFirstVersion() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        final JsonEnvelope event = envelopeFrom(
+                metadataBuilder()
+                        .withName("name123")
+                        .withId(randomUUID()),
+                createObjectBuilder());
+
+        eventAppender.appendAll(List.of(event), streamId, 1L, DEFAULT_EVENT_SOURCE_NAME);
+
+        verify(eventRepository).createEventStream(streamId);
+        verify(eventRepository).storeEvents(any());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenStoreEventsRequestFails() throws Exception {
+        doThrow(StoreEventRequestFailedException.class).when(eventRepository).storeEvents(any());
+
+        final JsonEnvelope jsonEnvelope = envelopeFrom(
+                metadataBuilder()
+                        .withName("name123")
+                        .withId(randomUUID()),
+                createObjectBuilder());
+
+        assertThrows(EventStreamException.class, () -> eventAppender.appendAll(List.of(jsonEnvelope), randomUUID(), 2L, DEFAULT_EVENT_SOURCE_NAME));
+    }
 }
@@ -0,0 +1,125 @@
+package uk.gov.justice.services.eventsourcing.source.core.streamhead;
+
+import static co.unruly.matchers.OptionalMatchers.contains;
+import static co.unruly.matchers.OptionalMatchers.empty;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import javax.enterprise.event.Event;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class StreamHeadPositionCacheTest {
+
+    @Mock
+    private StreamHeadPositionCacheConfig streamHeadPositionCacheConfig;
+
+    @Mock
+    private Event<StreamHeadPositionUpdatedEvent> streamHeadPositionUpdatedEventFirer;
+
+    @InjectMocks
+    private StreamHeadPositionCache streamHeadPositionCache;
+
+    @Test
+    public void shouldReturnEmptyIfTheCacheIsDisabled() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(streamHeadPositionCacheConfig.isStreamHeadPositionCacheEnabled()).thenReturn(false);
+
+        streamHeadPositionCache.onStreamHeadPositionUpdated(new StreamHeadPositionUpdatedEvent(streamId, 23L));
+
+        assertThat(streamHeadPositionCache.getStreamHeadPosition(streamId), is(empty()));
+    }
+
+    @Test
+    public void shouldCacheTheStreamHeadPositionOnceTheAppendHasCommitted() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(streamHeadPositionCacheConfig.isStreamHeadPositionCacheEnabled()).thenReturn(true);
+        when(streamHeadPositionCacheConfig.getStreamHeadPositionCacheMaxSize()).thenReturn(10);
+
+        streamHeadPositionCache.streamAppended(streamId, 23L);
+
+        assertThat(streamHeadPositionCache.getStreamHeadPosition(streamId), is(empty()));
+
+        final ArgumentCaptor<StreamHeadPositionUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(StreamHeadPositionUpdatedEvent.class);
+        verify(streamHeadPositionUpdatedEventFirer).fire(eventCaptor.capture());
+
+        streamHeadPositionCache.onStreamHeadPositionUpdated(eventCaptor.getValue());
+
+        assertThat(streamHeadPositionCache.getStreamHeadPosition(streamId), contains(23L));
+    }
+
+    @Test
+    public void shouldNeverMoveTheCachedStreamHeadPositionBackwards() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(streamHeadPositionCacheConfig.isStreamHeadPositionCacheEnabled()).thenReturn(true);
+        when(streamHeadPositionCacheConfig.getStreamHeadPositionCacheMaxSize()).thenReturn(10);
+
+        streamHeadPositionCache.onStreamHeadPositionUpdated(new StreamHeadPositionUpdatedEvent(streamId, 23L));
+        streamHeadPositionCache.onStreamHeadPositionUpdated(new StreamHeadPositionUpdatedEvent(streamId, 22L));
+
+        assertThat(streamHeadPositionCache.getStreamHeadPosition(streamId), contains(23L));
+    }
+
+    @Test
+    public void shouldRemoveTheStreamHeadPositionOnInvalidate() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(streamHeadPositionCacheConfig.isStreamHeadPositionCacheEnabled()).thenReturn(true);
+        when(streamHeadPositionCacheConfig.getStreamHeadPositionCacheMaxSize()).thenReturn(10);
+
+        streamHeadPositionCache.onStreamHeadPositionUpdated(new StreamHeadPositionUpdatedEvent(streamId, 23L));
+        streamHeadPositionCache.invalidate(streamId);
+
+        assertThat(streamHeadPositionCache.getStreamHeadPosition(streamId), is(empty()));
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedStreamOnceTheMaxSizeIsReached() throws Exception {
+
+        final UUID streamId_1 = randomUUID();
+        final UUID streamId_2 = randomUUID();
+        final UUID streamId_3 = randomUUID();
+
+        when(streamHeadPositionCacheConfig.isStreamHeadPositionCacheEnabled()).thenReturn(true);
+        when(streamHeadPositionCacheConfig.getStreamHeadPositionCacheMaxSize()).thenReturn(2);
+
+        streamHeadPositionCache.onStreamHeadPositionUpdated(new StreamHeadPositionUpdatedEvent(streamId_1, 1L));
+        streamHeadPositionCache.onStreamHeadPositionUpdated(new StreamHeadPositionUpdatedEvent(streamId_2, 2L));
+        streamHeadPositionCache.getStreamHeadPosition(streamId_1);
+        streamHeadPositionCache.onStreamHeadPositionUpdated(new StreamHeadPositionUpdatedEvent(streamId_3, 3L));
+
+        assertThat(streamHeadPositionCache.getStreamHeadPosition(streamId_1), contains(1L));
+        assertThat(streamHeadPositionCache.getStreamHeadPosition(streamId_2), is(empty()));
+        assertThat(streamHeadPositionCache.getStreamHeadPosition(streamId_3), contains(3L));
+    }
+
+    @Test
+    public void shouldNotFireAnUpdateIfTheCacheIsDisabled() throws Exception {
+
+        when(streamHeadPositionCacheConfig.isStreamHeadPositionCacheEnabled()).thenReturn(false);
+
+        streamHeadPositionCache.streamAppended(randomUUID(), 23L);
+
+        verify(streamHeadPositionUpdatedEventFirer, never()).fire(any());
+    }
+}
@@ -2,7 +2,25 @@ package uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.man
 
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
 
+import java.util.List;
+
 public interface CatchupEventProcessor {
 
     int processWithEventBuffer(final LinkedEvent event, final String subscriptionName);
+
+    /**
+     * Processes consecutive events of a single stream. By default each event is processed on its
+     * own, implementations that can should override this to process the whole batch in a single
+     * transaction, so that if any event fails none of the batch is committed.
+     *
+     * @param events consecutive events from the same stream
+     * @param subscriptionName the name of the subscription
+     *
+     * @return the number of events processed
+     */
+    default int processBatchWithEventBuffer(final List<LinkedEvent> events, final String subscriptionName) {
+        return events.stream()
+                .mapToInt(event -> processWithEventBuffer(event, subscriptionName))
+                .sum();
+    }
 }
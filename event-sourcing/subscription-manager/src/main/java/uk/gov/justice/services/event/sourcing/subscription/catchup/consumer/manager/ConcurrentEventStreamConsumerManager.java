@@ -1,7 +1,5 @@
 package uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager;
 
-import static java.lang.Thread.currentThread;
-
 import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.task.ConsumeEventQueueTaskManager;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
 import uk.gov.justice.services.eventstore.management.commands.CatchupCommand;
@@ -9,7 +7,6 @@ import uk.gov.justice.services.eventstore.management.commands.CatchupCommand;
 import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -20,14 +17,14 @@ import javax.inject.Singleton;
  * This uses the ManagedExecutorService for concurrency and Queues events according to the Stream
  * Id.
  * <p>
- * When the add method is called
+ * No lock is shared between the thread adding events and the threads consuming them. Whether
+ * the Queue of a stream is being consumed is tracked atomically on the EventStreamQueue itself
+ * and the maximum number of events in process is enforced by the EventsInProcessCounter.
  */
 @Singleton
 public class ConcurrentEventStreamConsumerManager implements EventStreamConsumerManager, EventStreamConsumptionResolver {
 
-    private static final Object EXCLUSIVE_LOCK = new Object();
-
-    private final ConcurrentHashMap<UUID, Queue<LinkedEvent>> allEventStreams = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, EventStreamQueue> allEventStreams = new ConcurrentHashMap<>();
 
     @Inject
     private EventsInProcessCounterProvider eventsInProcessCounterProvider;
@@ -39,12 +36,13 @@ public class ConcurrentEventStreamConsumerManager implements EventStreamConsumer
     private ConsumeEventQueueTaskManager consumeEventQueueTaskManager;
 
     /**
-     * A ConcurrentLinkedQueue is created for each Stream Id and added to a ConcurrentHashMap.  An
-     * event is added to the Queue for a Stream Id.
+     * An EventStreamQueue is created for each Stream Id and added to a ConcurrentHashMap.  An
+     * event is added to the Queue for a Stream Id, blocking first whilst the maximum number of
+     * events are already in process.
      * <p>
      * If the Queue is not currently being processed a new ConsumeEventQueueTask is created and
      * submitted to the ManagedExecutorService.  The Queue is then added to the
-     * eventStreamsInProgress Queue.
+     * eventStreamsInProgress list.
      * <p>
      * If the Queue is currently being processed no further action is taken, as the event will be
      * processed by the current ConsumeEventQueueTask.
@@ -62,53 +60,42 @@ public class ConcurrentEventStreamConsumerManager implements EventStreamConsumer
 
         final UUID streamId = linkedEvent.getStreamId();
 
-        final Queue<LinkedEvent> events = allEventStreams.computeIfAbsent(streamId, id -> new ConcurrentLinkedQueue<>());
-
-        final EventsInProcessCounter eventsInProcessCounter = eventsInProcessCounterProvider.getInstance();
-
-        synchronized (EXCLUSIVE_LOCK) {
+        final EventStreamQueue events = allEventStreams.computeIfAbsent(streamId, id -> new EventStreamQueue());
 
-            while (eventsInProcessCounter.maxNumberOfEventsInProcess()) {
-                try {
-                    EXCLUSIVE_LOCK.wait();
-                } catch (final InterruptedException e) {
-                    currentThread().interrupt();
-                    break;
-                }
-            }
+        eventsInProcessCounterProvider.getInstance().incrementEventsInProcessCount();
 
-            events.offer(linkedEvent);
+        events.offer(linkedEvent);
 
-            if (notInProgress(events)) {
-                createAndSubmitTaskFor(events, subscriptionName, catchupCommand, commandId);
-            }
-
-            eventsInProcessCounter.incrementEventsInProcessCount();
+        if (events.startProcessing()) {
+            createAndSubmitTaskFor(events, subscriptionName, catchupCommand, commandId);
         }
 
         return 1;
     }
 
     /**
-     * When a ConsumeEventQueueTask has finished consuming an event Queue, the event Queue is
-     * removed from the eventStreamsInProgress Queue
+     * When a ConsumeEventQueueTask has finished consuming an event Queue, the Queue is marked as
+     * no longer in progress. If an event was added to the Queue whilst this was happening, the
+     * current task takes the Queue back and carries on consuming it, unless the thread adding
+     * the event has already submitted a new task. Only once the task has given up the Queue is it
+     * removed from the eventStreamsInProgress list.
      *
      * @param finishedProcessingMessage - the message containing the Queue that has been consumed.
      */
     @Override
     public boolean isEventConsumptionComplete(final FinishedProcessingMessage finishedProcessingMessage) {
 
-        synchronized (EXCLUSIVE_LOCK) {
-            final Queue<LinkedEvent> finishedProcessingMessageQueue = finishedProcessingMessage.getQueue();
-
-            final boolean finishedProcessingMessageQueueEmpty = finishedProcessingMessageQueue.isEmpty();
+        final EventStreamQueue finishedProcessingMessageQueue = (EventStreamQueue) finishedProcessingMessage.getQueue();
 
-            if (finishedProcessingMessageQueueEmpty) {
-                eventStreamsInProgressList.remove(finishedProcessingMessageQueue);
-            }
+        finishedProcessingMessageQueue.finishProcessing();
 
-            return finishedProcessingMessageQueueEmpty;
+        if (!finishedProcessingMessageQueue.isEmpty() && finishedProcessingMessageQueue.startProcessing()) {
+            return false;
         }
+
+        eventStreamsInProgressList.remove(finishedProcessingMessageQueue);
+
+        return true;
     }
 
     @Override
@@ -118,27 +105,12 @@ public class ConcurrentEventStreamConsumerManager implements EventStreamConsumer
 
     @Override
     public void decrementEventsInProcessCount() {
-
-        final EventsInProcessCounter eventsInProcessCounter = eventsInProcessCounterProvider.getInstance();
-
-        synchronized (EXCLUSIVE_LOCK) {
-            eventsInProcessCounter.decrementEventsInProcessCount();
-            EXCLUSIVE_LOCK.notify();
-        }
+        eventsInProcessCounterProvider.getInstance().decrementEventsInProcessCount();
     }
 
     @Override
     public void decrementEventsInProcessCountBy(final int count) {
-        final EventsInProcessCounter eventsInProcessCounter = eventsInProcessCounterProvider.getInstance();
-
-        synchronized (EXCLUSIVE_LOCK) {
-            eventsInProcessCounter.decrementEventsInProcessCountBy(count);
-            EXCLUSIVE_LOCK.notify();
-        }
-    }
-
-    private boolean notInProgress(final Queue<LinkedEvent> eventStream) {
-        return !eventStreamsInProgressList.contains(eventStream);
+        eventsInProcessCounterProvider.getInstance().decrementEventsInProcessCountBy(count);
     }
 
     private void createAndSubmitTaskFor(
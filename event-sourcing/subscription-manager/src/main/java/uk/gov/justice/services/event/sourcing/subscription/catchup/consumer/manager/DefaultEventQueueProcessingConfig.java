@@ -16,8 +16,17 @@ public class DefaultEventQueueProcessingConfig implements EventQueueProcessingCo
     @GlobalValue(key = "catchup.event.processing.max.total.events.in.process", defaultValue = "100000")
     private String maxTotalEventsInProcess;
 
+    @Inject
+    @GlobalValue(key = "catchup.event.processing.batch.size", defaultValue = "1")
+    private String batchSize;
+
     @Override
     public int getMaxTotalEventsInProcess() {
         return parseInt(maxTotalEventsInProcess);
     }
+
+    @Override
+    public int getBatchSize() {
+        return parseInt(batchSize);
+    }
 }
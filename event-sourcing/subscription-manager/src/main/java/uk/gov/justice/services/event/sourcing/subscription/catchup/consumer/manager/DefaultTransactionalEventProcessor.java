@@ -7,6 +7,8 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventConverte
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
+
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
@@ -24,4 +26,13 @@ public class DefaultTransactionalEventProcessor {
         catchupEventBufferProcessor.processWithEventBuffer(eventEnvelope, subscriptionName);
         return 1;
     }
+
+    @Transactional(REQUIRES_NEW)
+    public int processBatchWithEventBuffer(final List<LinkedEvent> linkedEvents, final String subscriptionName) {
+        final List<JsonEnvelope> eventEnvelopes = linkedEvents.stream()
+                .map(eventConverter::envelopeOf)
+                .toList();
+        catchupEventBufferProcessor.processBatchWithEventBuffer(eventEnvelopes, subscriptionName);
+        return linkedEvents.size();
+    }
 }
@@ -2,4 +2,6 @@ package uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.man
 
 public interface EventQueueProcessingConfig {
     int getMaxTotalEventsInProcess();
+
+    int getBatchSize();
 }
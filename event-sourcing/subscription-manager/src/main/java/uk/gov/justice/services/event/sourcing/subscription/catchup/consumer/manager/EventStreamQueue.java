@@ -0,0 +1,33 @@
+package uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager;
+
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The Queue of events for a single stream, which also tracks whether a ConsumeEventQueueTask
+ * is currently consuming it.
+ * <p>
+ * Only the caller that successfully calls startProcessing() may submit a task to consume the
+ * Queue, so there is never more than one task consuming the events of a stream.
+ */
+public class EventStreamQueue extends ConcurrentLinkedQueue<LinkedEvent> {
+
+    private final AtomicBoolean inProgress = new AtomicBoolean(false);
+
+    /**
+     * @return true if the Queue was not in progress and is now in progress
+     */
+    public boolean startProcessing() {
+        return inProgress.compareAndSet(false, true);
+    }
+
+    public void finishProcessing() {
+        inProgress.set(false);
+    }
+
+    public boolean isInProgress() {
+        return inProgress.get();
+    }
+}
@@ -4,54 +4,98 @@ import static java.lang.Thread.currentThread;
 
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
 
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * The event stream Queues currently being consumed.
+ * <p>
+ * Queues are held by identity, not by Queue.equals(), in a ConcurrentHashMap so add, remove and
+ * contains take constant time. A Queue added more than once stays in progress until it has been
+ * removed the same number of times. Threads blocked in blockUntilEmpty() are only woken when the
+ * number of Queues in progress drops to zero.
+ */
 public class EventStreamsInProgressList {
 
-    private static final Object EXCLUSIVE_LOCK = new Object();
+    private final ConcurrentHashMap<QueueIdentity, Integer> eventStreamsInProgress = new ConcurrentHashMap<>();
+    private final AtomicInteger inProgressCount = new AtomicInteger(0);
 
-    private final List<Queue<LinkedEvent>> eventStreamsInProgress = new LinkedList<>();
+    private final ReentrantLock emptyLock = new ReentrantLock();
+    private final Condition empty = emptyLock.newCondition();
 
     public void add(final Queue<LinkedEvent> eventStream) {
-
-        synchronized (EXCLUSIVE_LOCK) {
-            eventStreamsInProgress.add(eventStream);
-            EXCLUSIVE_LOCK.notify();
-        }
+        inProgressCount.incrementAndGet();
+        eventStreamsInProgress.merge(new QueueIdentity(eventStream), 1, Integer::sum);
     }
 
     public void remove(final Queue<LinkedEvent> eventStream) {
-        synchronized (EXCLUSIVE_LOCK) {
-            eventStreamsInProgress.remove(eventStream);
-            EXCLUSIVE_LOCK.notify();
+
+        final AtomicBoolean removed = new AtomicBoolean(false);
+
+        eventStreamsInProgress.computeIfPresent(new QueueIdentity(eventStream), (key, count) -> {
+            removed.set(true);
+            return count == 1 ? null : count - 1;
+        });
+
+        if (removed.get() && inProgressCount.decrementAndGet() == 0) {
+            signalEmpty();
         }
     }
 
     public boolean isEmpty() {
-        synchronized (EXCLUSIVE_LOCK) {
-            return eventStreamsInProgress.isEmpty();
-        }
+        return inProgressCount.get() == 0;
     }
 
     public void blockUntilEmpty() {
 
-        synchronized (EXCLUSIVE_LOCK) {
-            while (!eventStreamsInProgress.isEmpty()) {
+        emptyLock.lock();
+        try {
+            while (!isEmpty()) {
                 try {
-                    EXCLUSIVE_LOCK.wait();
+                    empty.await();
                 } catch (final InterruptedException e) {
                     currentThread().interrupt();
                     break;
                 }
             }
+        } finally {
+            emptyLock.unlock();
         }
     }
 
     public boolean contains(final Queue<LinkedEvent> eventStream) {
-        synchronized (EXCLUSIVE_LOCK) {
-            return eventStreamsInProgress.contains(eventStream);
+        return eventStreamsInProgress.containsKey(new QueueIdentity(eventStream));
+    }
+
+    private void signalEmpty() {
+        emptyLock.lock();
+        try {
+            empty.signalAll();
+        } finally {
+            emptyLock.unlock();
+        }
+    }
+
+    private static final class QueueIdentity {
+
+        private final Queue<LinkedEvent> queue;
+
+        private QueueIdentity(final Queue<LinkedEvent> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof QueueIdentity && ((QueueIdentity) o).queue == queue;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(queue);
         }
     }
 }
@@ -1,13 +1,19 @@
 package uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager;
 
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.CATCHUP_EVENT_PROCESSING;
+
 import uk.gov.justice.services.event.sourcing.subscription.manager.NewSubscriptionManagerDelegate;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventConverter;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
+import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.subscription.registry.SubscriptionsDescriptorsRegistry;
 
 import javax.inject.Inject;
 
+import io.micrometer.core.instrument.Timer;
+
 public class NewSubscriptionAwareEventProcessor {
 
     @Inject
@@ -19,10 +25,22 @@ public class NewSubscriptionAwareEventProcessor {
     @Inject
     private NewSubscriptionManagerDelegate newSubscriptionManagerDelegate;
 
+    @Inject
+    private EventSourceNameCalculator eventSourceNameCalculator;
+
+    @Inject
+    private EventStoreTimers eventStoreTimers;
+
     public int processWithEventBuffer(final LinkedEvent linkedEvent, final String subscriptionName) {
         final String componentName = subscriptionsDescriptorsRegistry.findComponentNameBy(subscriptionName);
         final JsonEnvelope eventEnvelope = eventConverter.envelopeOf(linkedEvent);
-        newSubscriptionManagerDelegate.process(eventEnvelope, componentName);
+
+        final Timer.Sample sample = eventStoreTimers.start();
+        try {
+            newSubscriptionManagerDelegate.process(eventEnvelope, componentName);
+        } finally {
+            eventStoreTimers.stop(sample, CATCHUP_EVENT_PROCESSING, eventSourceNameCalculator.getSource(eventEnvelope), componentName);
+        }
         return 1;
     }
 }
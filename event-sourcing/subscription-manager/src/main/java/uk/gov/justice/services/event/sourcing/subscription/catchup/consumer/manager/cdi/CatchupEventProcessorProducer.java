@@ -4,6 +4,9 @@ import uk.gov.justice.services.common.configuration.errors.event.EventErrorHandl
 import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.CatchupEventProcessor;
 import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.DefaultTransactionalEventProcessor;
 import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.NewSubscriptionAwareEventProcessor;
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
+
+import java.util.List;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Produces;
@@ -21,15 +24,28 @@ public class CatchupEventProcessorProducer {
     @Inject
     private DefaultTransactionalEventProcessor defaultTransactionalEventProcessor;
 
+    /**
+     * With event stream self healing enabled each event manages its own transactions and stream
+     * error handling, so batches are processed one event at a time. Otherwise a batch is processed
+     * in a single transaction, writing the stream position once for the whole batch
+     */
     @Produces
     public CatchupEventProcessor transactionalEventProcessor() {
         if (eventErrorHandlingConfiguration.isEventStreamSelfHealingEnabled()) {
             return newSubscriptionAwareEventProcessor::processWithEventBuffer;
         } else {
-            return defaultTransactionalEventProcessor::processWithEventBuffer;
+            return new CatchupEventProcessor() {
+
+                @Override
+                public int processWithEventBuffer(final LinkedEvent event, final String subscriptionName) {
+                    return defaultTransactionalEventProcessor.processWithEventBuffer(event, subscriptionName);
+                }
+
+                @Override
+                public int processBatchWithEventBuffer(final List<LinkedEvent> events, final String subscriptionName) {
+                    return defaultTransactionalEventProcessor.processBatchWithEventBuffer(events, subscriptionName);
+                }
+            };
         }
     }
 }
-
-
-
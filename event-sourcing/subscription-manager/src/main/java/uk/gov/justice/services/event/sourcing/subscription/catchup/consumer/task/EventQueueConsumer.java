@@ -1,16 +1,21 @@
 package uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.task;
 
 import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.CatchupEventProcessor;
+import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.EventQueueProcessingConfig;
 import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.EventStreamConsumptionResolver;
 import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.FinishedProcessingMessage;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
 import uk.gov.justice.services.eventstore.management.commands.CatchupCommand;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.UUID;
 
 import javax.inject.Inject;
 
+import org.slf4j.Logger;
+
 public class EventQueueConsumer {
 
     @Inject
@@ -22,24 +27,88 @@ public class EventQueueConsumer {
     @Inject
     private EventProcessingFailedHandler eventProcessingFailedHandler;
 
+    @Inject
+    private EventQueueProcessingConfig eventQueueProcessingConfig;
+
+    @Inject
+    private Logger logger;
+
     public boolean consumeEventQueue(
             final UUID commandId,
             final Queue<LinkedEvent> events,
             final String subscriptionName,
             final CatchupCommand catchupCommand) {
 
+        final int batchSize = eventQueueProcessingConfig.getBatchSize();
+
         while (!events.isEmpty()) {
+            if (batchSize > 1) {
+                consumeBatch(commandId, pollBatch(events, batchSize), subscriptionName, catchupCommand);
+            } else {
+                consumeEvent(commandId, events.poll(), subscriptionName, catchupCommand);
+            }
+        }
+
+        return eventStreamConsumptionResolver.isEventConsumptionComplete(new FinishedProcessingMessage(events));
+    }
+
+    private void consumeEvent(
+            final UUID commandId,
+            final LinkedEvent linkedEvent,
+            final String subscriptionName,
+            final CatchupCommand catchupCommand) {
+        try {
+            processEvent(commandId, linkedEvent, subscriptionName, catchupCommand);
+        } finally {
+            eventStreamConsumptionResolver.decrementEventsInProcessCount();
+        }
+    }
+
+    /**
+     * All events in a Queue belong to the same stream, so the batch is processed in a single
+     * transaction. If the batch fails then nothing in it has been committed, and each event is
+     * processed again in its own transaction so that only the events that fail are reported.
+     */
+    private void consumeBatch(
+            final UUID commandId,
+            final List<LinkedEvent> batch,
+            final String subscriptionName,
+            final CatchupCommand catchupCommand) {
+        try {
+            if (batch.size() == 1) {
+                processEvent(commandId, batch.get(0), subscriptionName, catchupCommand);
+                return;
+            }
 
-            final LinkedEvent linkedEvent = events.poll();
             try {
-                catchupEventProcessor.processWithEventBuffer(linkedEvent, subscriptionName);
+                catchupEventProcessor.processBatchWithEventBuffer(batch, subscriptionName);
             } catch (final Exception e) {
-                eventProcessingFailedHandler.handleEventFailure(e, linkedEvent, subscriptionName, catchupCommand, commandId);
-            } finally {
-                eventStreamConsumptionResolver.decrementEventsInProcessCount();
+                logger.warn("Failed to process batch of {} events in a single transaction, processing each event in its own transaction", batch.size(), e);
+                batch.forEach(linkedEvent -> processEvent(commandId, linkedEvent, subscriptionName, catchupCommand));
             }
+        } finally {
+            eventStreamConsumptionResolver.decrementEventsInProcessCountBy(batch.size());
         }
+    }
 
-        return eventStreamConsumptionResolver.isEventConsumptionComplete(new FinishedProcessingMessage(events));
+    private void processEvent(
+            final UUID commandId,
+            final LinkedEvent linkedEvent,
+            final String subscriptionName,
+            final CatchupCommand catchupCommand) {
+        try {
+            catchupEventProcessor.processWithEventBuffer(linkedEvent, subscriptionName);
+        } catch (final Exception e) {
+            eventProcessingFailedHandler.handleEventFailure(e, linkedEvent, subscriptionName, catchupCommand, commandId);
+        }
+    }
+
+    private List<LinkedEvent> pollBatch(final Queue<LinkedEvent> events, final int batchSize) {
+        final List<LinkedEvent> batch = new ArrayList<>(batchSize);
+        LinkedEvent linkedEvent;
+        while (batch.size() < batchSize && (linkedEvent = events.poll()) != null) {
+            batch.add(linkedEvent);
+        }
+        return batch;
     }
 }
@@ -9,6 +9,9 @@ public class ExceptionHashGenerator {
     @Inject
     private HashFromStringGenerator hashFromStringGenerator;
 
+    @Inject
+    private StreamErrorHashCache streamErrorHashCache;
+
     public String createHashStringFrom(
             final StackTraceElement stackTraceElement,
             final String exceptionClassName,
@@ -27,6 +30,13 @@ public class ExceptionHashGenerator {
         causeClassName.ifPresent(causeClass -> stringBuilder.append("_").append(causeClass));
 
         final String string = stringBuilder.toString();
-        return hashFromStringGenerator.createHashFrom(string);
+        final Optional<String> cachedHash = streamErrorHashCache.getHash(string);
+        if (cachedHash.isPresent()) {
+            return cachedHash.get();
+        }
+
+        final String hash = hashFromStringGenerator.createHashFrom(string);
+        streamErrorHashCache.hashCreated(string, hash);
+        return hash;
     }
 }
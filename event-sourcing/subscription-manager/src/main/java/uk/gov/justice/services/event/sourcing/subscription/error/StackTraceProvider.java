@@ -1,15 +1,66 @@
 package uk.gov.justice.services.event.sourcing.subscription.error;
 
+import static java.lang.System.lineSeparator;
+import static java.util.Collections.newSetFromMap;
+
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import javax.inject.Inject;
 
 public class StackTraceProvider {
 
+    private static final String CAUSED_BY = "Caused by: ";
+
+    @Inject
+    private StreamErrorCaptureConfig streamErrorCaptureConfig;
+
     public String getStackTraceFrom(final Throwable exception) {
+
+        final int stackTraceMaxDepth = streamErrorCaptureConfig.getStackTraceMaxDepth();
+        if (stackTraceMaxDepth > 0) {
+            return getTruncatedStackTraceFrom(exception, stackTraceMaxDepth);
+        }
+
         final StringWriter stringWriter = new StringWriter();
         try(final PrintWriter printWriter = new PrintWriter(stringWriter)) {
             exception.printStackTrace(printWriter);
             return stringWriter.toString();
         }
     }
+
+    /**
+     * Renders the stack trace in the same format as Throwable.printStackTrace(), but with at most
+     * maxDepth frames for the exception and each of its causes. Suppressed exceptions are omitted.
+     * Frames left out are noted as "... N frames truncated", as printStackTrace()'s "... N more"
+     * means frames in common with the enclosing trace.
+     */
+    private String getTruncatedStackTraceFrom(final Throwable exception, final int maxDepth) {
+
+        final StringBuilder stackTrace = new StringBuilder();
+        final Set<Throwable> rendered = newSetFromMap(new IdentityHashMap<>());
+
+        Throwable current = exception;
+        String prefix = "";
+        while (current != null && rendered.add(current)) {
+            stackTrace.append(prefix).append(current).append(lineSeparator());
+
+            final StackTraceElement[] stackTraceElements = current.getStackTrace();
+            final int depth = Math.min(maxDepth, stackTraceElements.length);
+            for (int index = 0; index < depth; index++) {
+                stackTrace.append("\tat ").append(stackTraceElements[index]).append(lineSeparator());
+            }
+
+            if (stackTraceElements.length > depth) {
+                stackTrace.append("\t... ").append(stackTraceElements.length - depth).append(" frames truncated").append(lineSeparator());
+            }
+
+            current = current.getCause();
+            prefix = CAUSED_BY;
+        }
+
+        return stackTrace.toString();
+    }
 }
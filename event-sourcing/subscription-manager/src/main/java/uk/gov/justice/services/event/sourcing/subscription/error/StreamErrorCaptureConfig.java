@@ -0,0 +1,39 @@
+package uk.gov.justice.services.event.sourcing.subscription.error;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+
+import javax.inject.Inject;
+
+public class StreamErrorCaptureConfig {
+
+    @Inject
+    @GlobalValue(key = "stream.error.deduplication.enabled", defaultValue = "false")
+    private String streamErrorDeduplicationEnabled;
+
+    @Inject
+    @GlobalValue(key = "stream.error.deduplication.cache.max.size", defaultValue = "1000")
+    private String deduplicationCacheMaxSize;
+
+    @Inject
+    @GlobalValue(key = "stream.error.stack.trace.max.depth", defaultValue = "0")
+    private String stackTraceMaxDepth;
+
+    public boolean isStreamErrorDeduplicationEnabled() {
+        return parseBoolean(streamErrorDeduplicationEnabled);
+    }
+
+    public int getDeduplicationCacheMaxSize() {
+        return parseInt(deduplicationCacheMaxSize);
+    }
+
+    /**
+     * @return the maximum number of stack frames stored for the exception and for each of its
+     * causes, or 0 to store the full stack trace
+     */
+    public int getStackTraceMaxDepth() {
+        return parseInt(stackTraceMaxDepth);
+    }
+}
@@ -0,0 +1,124 @@
+package uk.gov.justice.services.event.sourcing.subscription.error;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.ofNullable;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded, per node cache used to make recording the same stream error over and over again, as
+ * happens when many streams fail on the same poison event, cheaper.
+ *
+ * Caches the hash of each exception site (the exception and cause classes plus the line they were
+ * thrown from) so it is only computed once, and the hashes known to have been committed to the
+ * stream_error_hash table, so their stream error can be saved with a single statement. Hashes
+ * are only cached as committed once the transaction that saved them has committed. A
+ * stream_error_hash row is deleted once the last error referencing it is fixed, so all committed
+ * hashes are forgotten when an error is fixed on this node; as the row may also be deleted by
+ * another node, the single statement still upserts the stream_error_hash row.
+ */
+@ApplicationScoped
+public class StreamErrorHashCache {
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final boolean ACCESS_ORDER = true;
+
+    @Inject
+    private StreamErrorCaptureConfig streamErrorCaptureConfig;
+
+    @Inject
+    private Event<StreamErrorHashPersistedEvent> streamErrorHashPersistedEventFirer;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, String> hashesByExceptionSite = new LinkedHashMap<>(16, LOAD_FACTOR, ACCESS_ORDER) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+            return size() > streamErrorCaptureConfig.getDeduplicationCacheMaxSize();
+        }
+    };
+
+    private final Map<String, Boolean> persistedHashes = new LinkedHashMap<>(16, LOAD_FACTOR, ACCESS_ORDER) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+            return size() > streamErrorCaptureConfig.getDeduplicationCacheMaxSize();
+        }
+    };
+
+    public Optional<String> getHash(final String exceptionSite) {
+        if (!streamErrorCaptureConfig.isStreamErrorDeduplicationEnabled()) {
+            return empty();
+        }
+
+        synchronized (hashesByExceptionSite) {
+            return ofNullable(hashesByExceptionSite.get(exceptionSite));
+        }
+    }
+
+    public void hashCreated(final String exceptionSite, final String hash) {
+        if (streamErrorCaptureConfig.isStreamErrorDeduplicationEnabled()) {
+            synchronized (hashesByExceptionSite) {
+                hashesByExceptionSite.put(exceptionSite, hash);
+            }
+        }
+    }
+
+    /**
+     * @return true if the stream_error_hash row of the hash is known to exist, counting the
+     * stream error as deduplicated
+     */
+    public boolean isHashPersisted(final String hash) {
+        if (!streamErrorCaptureConfig.isStreamErrorDeduplicationEnabled()) {
+            return false;
+        }
+
+        final boolean hashPersisted;
+        synchronized (persistedHashes) {
+            hashPersisted = persistedHashes.containsKey(hash);
+        }
+
+        if (hashPersisted) {
+            Counter.builder("event-store.stream.errors.deduplicated")
+                    .description("The number of stream errors saved along with their stream_error_hash row in a single statement")
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        return hashPersisted;
+    }
+
+    /**
+     * Caches the hash as persisted once the current transaction has successfully committed
+     *
+     * @param hash the hash of the stream_error_hash row saved
+     */
+    public void hashPersisted(final String hash) {
+        if (streamErrorCaptureConfig.isStreamErrorDeduplicationEnabled()) {
+            streamErrorHashPersistedEventFirer.fire(new StreamErrorHashPersistedEvent(hash));
+        }
+    }
+
+    public void invalidatePersistedHashes() {
+        synchronized (persistedHashes) {
+            persistedHashes.clear();
+        }
+    }
+
+    void onStreamErrorHashPersisted(@Observes(during = AFTER_SUCCESS) final StreamErrorHashPersistedEvent streamErrorHashPersistedEvent) {
+        synchronized (persistedHashes) {
+            persistedHashes.put(streamErrorHashPersistedEvent.hash(), true);
+        }
+    }
+}
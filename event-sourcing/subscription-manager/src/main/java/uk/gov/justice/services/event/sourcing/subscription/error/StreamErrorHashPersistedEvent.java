@@ -0,0 +1,4 @@
+package uk.gov.justice.services.event.sourcing.subscription.error;
+
+public record StreamErrorHashPersistedEvent(String hash) {
+}
@@ -1,5 +1,7 @@
 package uk.gov.justice.services.event.sourcing.subscription.error;
 
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
 import static javax.transaction.Transactional.TxType.MANDATORY;
 import static javax.transaction.Transactional.TxType.REQUIRED;
 
@@ -18,6 +20,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 import javax.transaction.Transactional;
@@ -39,6 +43,9 @@ public class StreamErrorRepository {
     @Inject
     private StreamErrorDetailsPersistence streamErrorDetailsPersistence;
 
+    @Inject
+    private StreamErrorHashCache streamErrorHashCache;
+
     @Inject
     private Logger logger;
 
@@ -56,7 +63,7 @@ public class StreamErrorRepository {
             final Long currentPositionInStream = streamStatusErrorPersistence.lockStreamForUpdate(streamId, source, componentName, connection);
 
             if (checkStreamStatusPositionNotChanged(expectedPositionInStream, currentPositionInStream)) {
-                if (streamErrorPersistence.save(streamError, connection)) {
+                if (save(streamError, connection)) {
                     streamStatusErrorPersistence.markStreamAsErrored(
                             streamId,
                             streamErrorId,
@@ -75,6 +82,18 @@ public class StreamErrorRepository {
         }
     }
 
+    private boolean save(final StreamError streamError, final Connection connection) {
+
+        final String hash = streamError.streamErrorHash().hash();
+        if (streamErrorHashCache.isHashPersisted(hash)) {
+            return streamErrorPersistence.saveWithPersistedHash(streamError, connection);
+        }
+
+        final boolean saved = streamErrorPersistence.save(streamError, connection);
+        streamErrorHashCache.hashPersisted(hash);
+        return saved;
+    }
+
     private static boolean checkStreamStatusPositionNotChanged(final Long expectedPositionInStream, final Long currentPositionInStream) {
         return Objects.equals(expectedPositionInStream, currentPositionInStream);
     }
@@ -85,6 +104,7 @@ public class StreamErrorRepository {
         try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection()) {
             streamStatusErrorPersistence.unmarkStreamStatusAsErrored(streamId, source, componentName, connection);
             streamErrorPersistence.removeErrorForStream(streamErrorId, streamId, source, componentName, connection);
+            streamErrorHashCache.invalidatePersistedHashes();
         } catch (final SQLException e) {
             throw new StreamErrorHandlingException("Failed to get connection to view-store", e);
         }
@@ -100,6 +120,43 @@ public class StreamErrorRepository {
         }
     }
 
+    /**
+     * Lazily streams all errors of a source and component, reading them a page at a time in
+     * stream_id order, so that the errors of a component with a large number of errored streams
+     * are never all held in memory at once. Nothing is read until the Stream is consumed, and each
+     * page is read using its own connection
+     *
+     * @param source the source of the errored streams
+     * @param componentName the component of the errored streams
+     * @param pageSize the number of errors read from the viewstore at a time
+     * @return a Stream of all errors of the source and component
+     */
+    public Stream<StreamError> streamAllBySourceAndComponent(final String source, final String componentName, final int pageSize) {
+
+        final Supplier<List<StreamError>> firstPage = () -> findPageBySourceAndComponent(source, componentName, empty(), pageSize);
+
+        return Stream.of(firstPage)
+                .map(Supplier::get)
+                .flatMap(page -> Stream.iterate(
+                        page,
+                        currentPage -> !currentPage.isEmpty(),
+                        currentPage -> currentPage.size() < pageSize ? List.<StreamError>of() : findPageBySourceAndComponent(source, componentName, of(lastStreamIdOf(currentPage)), pageSize)))
+                .flatMap(List::stream);
+    }
+
+    private List<StreamError> findPageBySourceAndComponent(final String source, final String componentName, final Optional<UUID> afterStreamId, final int pageSize) {
+
+        try (final Connection connection = viewStoreJdbcDataSourceProvider.getDataSource().getConnection()) {
+            return streamErrorPersistence.findPageBySourceAndComponent(source, componentName, afterStreamId, pageSize, connection);
+        } catch (final SQLException e) {
+            throw new StreamErrorHandlingException("Failed to get connection to view-store", e);
+        }
+    }
+
+    private static UUID lastStreamIdOf(final List<StreamError> page) {
+        return page.get(page.size() - 1).streamErrorDetails().streamId();
+    }
+
     @Transactional(REQUIRED)
     public Optional<StreamError> findByErrorId(final UUID errorId) {
 
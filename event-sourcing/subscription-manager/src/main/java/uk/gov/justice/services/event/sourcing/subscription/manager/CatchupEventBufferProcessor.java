@@ -1,17 +1,25 @@
 package uk.gov.justice.services.event.sourcing.subscription.manager;
 
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.CATCHUP_EVENT_PROCESSING;
+
 import uk.gov.justice.services.core.interceptor.InterceptorChainProcessor;
 import uk.gov.justice.services.core.interceptor.InterceptorChainProcessorProducer;
 import uk.gov.justice.services.core.interceptor.InterceptorContext;
 import uk.gov.justice.services.event.buffer.api.EventBufferService;
+import uk.gov.justice.services.event.buffer.core.service.BatchEventBufferService;
 import uk.gov.justice.services.event.sourcing.subscription.manager.cdi.InterceptorContextProvider;
+import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.subscription.registry.SubscriptionsDescriptorsRegistry;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
+import io.micrometer.core.instrument.Timer;
+
 public class CatchupEventBufferProcessor {
 
     @Inject
@@ -26,18 +34,64 @@ public class CatchupEventBufferProcessor {
     @Inject
     private InterceptorChainProcessorProducer interceptorChainProcessorProducer;
 
+    @Inject
+    private EventSourceNameCalculator eventSourceNameCalculator;
+
+    @Inject
+    private EventStoreTimers eventStoreTimers;
+
     public void processWithEventBuffer(final JsonEnvelope incomingJsonEnvelope, final String subscriptionName) {
         final String componentName = subscriptionsDescriptorsRegistry.findComponentNameBy(subscriptionName);
 
         final InterceptorChainProcessor interceptorChainProcessor = interceptorChainProcessorProducer.produceLocalProcessor(componentName);
 
         try (final Stream<JsonEnvelope> jsonEnvelopeStream = eventBufferService.currentOrderedEventsWith(incomingJsonEnvelope, componentName)) {
-            jsonEnvelopeStream.forEach(incomingJsonEnvelope1 -> {
+            process(jsonEnvelopeStream, interceptorChainProcessor, componentName);
+        }
+    }
 
-                final InterceptorContext interceptorContext = interceptorContextProvider.getInterceptorContext(incomingJsonEnvelope1);
-                interceptorChainProcessor.process(interceptorContext);
-            });
+    /**
+     * Processes consecutive events of a single stream, writing the stream's position to
+     * stream_status once for the whole batch rather than once per event. Must be called in a
+     * transaction, so that the position is rolled back if any of the events fail
+     */
+    public void processBatchWithEventBuffer(final List<JsonEnvelope> incomingJsonEnvelopes, final String subscriptionName) {
+        final String componentName = subscriptionsDescriptorsRegistry.findComponentNameBy(subscriptionName);
+
+        final InterceptorChainProcessor interceptorChainProcessor = interceptorChainProcessorProducer.produceLocalProcessor(componentName);
+
+        try (final Stream<JsonEnvelope> jsonEnvelopeStream = batchEventBufferService().currentOrderedEventsWith(incomingJsonEnvelopes, componentName)) {
+            process(jsonEnvelopeStream, interceptorChainProcessor, componentName);
+        }
+    }
+
+    /**
+     * The deployed {@link EventBufferService} if it can take a batch of events, otherwise the
+     * deployed {@link EventBufferService} taking the events of the batch one at a time
+     */
+    private BatchEventBufferService batchEventBufferService() {
+        if (eventBufferService instanceof BatchEventBufferService batchEventBufferService) {
+            return batchEventBufferService;
         }
+
+        return eventBufferService::currentOrderedEventsWith;
+    }
+
+    /**
+     * Each event is timed separately, as the stream can hold any events released from the event
+     * buffer as well as the incoming events
+     */
+    private void process(final Stream<JsonEnvelope> jsonEnvelopeStream, final InterceptorChainProcessor interceptorChainProcessor, final String componentName) {
+        jsonEnvelopeStream.forEach(jsonEnvelope -> {
+
+            final Timer.Sample sample = eventStoreTimers.start();
+            try {
+                final InterceptorContext interceptorContext = interceptorContextProvider.getInterceptorContext(jsonEnvelope);
+                interceptorChainProcessor.process(interceptorContext);
+            } finally {
+                eventStoreTimers.stop(sample, CATCHUP_EVENT_PROCESSING, eventSourceNameCalculator.getSource(jsonEnvelope), componentName);
+            }
+        });
     }
 }
 
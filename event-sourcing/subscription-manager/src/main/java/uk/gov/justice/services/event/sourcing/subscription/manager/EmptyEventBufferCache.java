@@ -0,0 +1,82 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+/**
+ * Per node negative cache of the streams with no events waiting in the stream_buffer table.
+ * <p>
+ * A stream is cached as empty, along with the buffer_version of its stream_status row, once an
+ * event has been processed that is the latest known event of the stream: any event buffered
+ * for the stream has since been processed. buffer_version is incremented whenever an event of the
+ * stream is buffered, on any node, in the same transaction that holds the stream_status lock. An
+ * entry is only trusted once the buffer_version read under that lock is the version cached, so
+ * the event buffer lookups that follow the processing of an event need no query.
+ * <p>
+ * Streams are forgotten when more than the configured maximum are cached, which is always safe:
+ * the event buffer of a forgotten stream is queried as usual.
+ */
+@ApplicationScoped
+public class EmptyEventBufferCache {
+
+    private final ConcurrentHashMap<CachedStream, Long> emptyEventBufferVersions = new ConcurrentHashMap<>();
+
+    @Inject
+    private EmptyEventBufferCacheConfig emptyEventBufferCacheConfig;
+
+    /**
+     * Checks the cache against the buffer_version read while holding the stream_status lock,
+     * forgetting the stream if it has been buffered to since it was cached.
+     *
+     * @return true if the event buffer of the stream is known to be empty
+     */
+    public boolean isKnownEmptyAt(final UUID streamId, final String source, final String componentName, final long eventBufferVersion) {
+
+        if (!emptyEventBufferCacheConfig.isEmptyEventBufferCacheEnabled()) {
+            return false;
+        }
+
+        final CachedStream cachedStream = new CachedStream(streamId, source, componentName);
+        final Long cachedVersion = emptyEventBufferVersions.get(cachedStream);
+        if (cachedVersion == null) {
+            return false;
+        }
+
+        if (cachedVersion == eventBufferVersion) {
+            return true;
+        }
+
+        emptyEventBufferVersions.remove(cachedStream, cachedVersion);
+        return false;
+    }
+
+    /**
+     * @return true if the event buffer of the stream was known to be empty when the stream was
+     * last checked with isKnownEmptyAt() and no event of the stream has since been buffered on this node
+     */
+    public boolean isKnownEmpty(final UUID streamId, final String source, final String componentName) {
+        return emptyEventBufferCacheConfig.isEmptyEventBufferCacheEnabled() &&
+               emptyEventBufferVersions.containsKey(new CachedStream(streamId, source, componentName));
+    }
+
+    public void markEmptyAt(final UUID streamId, final String source, final String componentName, final long eventBufferVersion) {
+
+        if (emptyEventBufferCacheConfig.isEmptyEventBufferCacheEnabled()) {
+            if (emptyEventBufferVersions.size() >= emptyEventBufferCacheConfig.getMaxCachedStreams()) {
+                emptyEventBufferVersions.clear();
+            }
+
+            emptyEventBufferVersions.put(new CachedStream(streamId, source, componentName), eventBufferVersion);
+        }
+    }
+
+    public void eventBuffered(final UUID streamId, final String source, final String componentName) {
+        emptyEventBufferVersions.remove(new CachedStream(streamId, source, componentName));
+    }
+
+    private record CachedStream(UUID streamId, String source, String componentName) {
+    }
+}
@@ -0,0 +1,27 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+
+import javax.inject.Inject;
+
+public class EmptyEventBufferCacheConfig {
+
+    @Inject
+    @GlobalValue(key = "event.buffer.empty.cache.enabled", defaultValue = "false")
+    private String emptyEventBufferCacheEnabled;
+
+    @Inject
+    @GlobalValue(key = "event.buffer.empty.cache.max.streams", defaultValue = "100000")
+    private String maxCachedStreams;
+
+    public boolean isEmptyEventBufferCacheEnabled() {
+        return parseBoolean(emptyEventBufferCacheEnabled);
+    }
+
+    public int getMaxCachedStreams() {
+        return parseInt(maxCachedStreams);
+    }
+}
@@ -2,6 +2,7 @@ package uk.gov.justice.services.event.sourcing.subscription.manager;
 
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
 import java.util.Optional;
 
 import javax.inject.Inject;
@@ -14,20 +15,89 @@ public class EventBufferAwareSubscriptionEventProcessor {
     @Inject
     private SubscriptionEventProcessor subscriptionEventProcessor;
 
+    @Inject
+    private EventBufferDrainConfig eventBufferDrainConfig;
+
+    @Inject
+    private StreamPositionTracker streamPositionTracker;
+
     public void process(final JsonEnvelope incomingJsonEnvelope, final String componentName) {
 
-        if(subscriptionEventProcessor.processSingleEvent(incomingJsonEnvelope, componentName)) {
-            JsonEnvelope previouslyProcessedEvent = incomingJsonEnvelope;
-            while (true) {
-                final Optional<JsonEnvelope> nextFromEventBuffer = newEventBufferManager.getNextFromEventBuffer(previouslyProcessedEvent, componentName);
-                if (nextFromEventBuffer.isPresent()) {
-                    final JsonEnvelope nextJsonEnvelopeFromBuffer = nextFromEventBuffer.get();
-                    subscriptionEventProcessor.processSingleEvent(nextJsonEnvelopeFromBuffer, componentName);
+        final boolean removeFromEventBuffer = streamPositionTracker.mayBeInEventBuffer(incomingJsonEnvelope, componentName);
+
+        if(subscriptionEventProcessor.processSingleEvent(incomingJsonEnvelope, componentName, removeFromEventBuffer)) {
+            streamPositionTracker.eventProcessed(incomingJsonEnvelope, componentName);
+            processBufferedEventsFollowing(incomingJsonEnvelope, componentName);
+        }
+    }
+
+    public void processBufferedEventsFollowing(final JsonEnvelope processedJsonEnvelope, final String componentName) {
+
+        if (eventBufferDrainConfig.isBulkDrainEnabled()) {
+            drainEventBufferFollowing(processedJsonEnvelope, componentName);
+            return;
+        }
+
+        JsonEnvelope previouslyProcessedEvent = processedJsonEnvelope;
+        while (true) {
+            final Optional<JsonEnvelope> nextFromEventBuffer = newEventBufferManager.getNextFromEventBuffer(previouslyProcessedEvent, componentName);
+            if (nextFromEventBuffer.isPresent()) {
+                final JsonEnvelope nextJsonEnvelopeFromBuffer = nextFromEventBuffer.get();
+                subscriptionEventProcessor.processSingleEvent(nextJsonEnvelopeFromBuffer, componentName);
+                previouslyProcessedEvent = nextJsonEnvelopeFromBuffer;
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reads the run of consecutive buffered events with one query per page, processes each event
+     * in its own transaction, then removes all the processed events from the buffer with one statement.
+     * If an event fails, the events processed before it are still removed and the failure is rethrown,
+     * with any failure to remove them added to it as suppressed.
+     */
+    private void drainEventBufferFollowing(final JsonEnvelope processedJsonEnvelope, final String componentName) {
+
+        final int pageSize = eventBufferDrainConfig.getBulkDrainPageSize();
+
+        JsonEnvelope previouslyProcessedEvent = processedJsonEnvelope;
+        while (true) {
+            final List<JsonEnvelope> consecutiveEvents = newEventBufferManager.getConsecutiveEventsFromEventBuffer(
+                    previouslyProcessedEvent,
+                    componentName,
+                    pageSize);
+
+            if (consecutiveEvents.isEmpty()) {
+                break;
+            }
+
+            try {
+                for (final JsonEnvelope nextJsonEnvelopeFromBuffer : consecutiveEvents) {
+                    subscriptionEventProcessor.processSingleEvent(nextJsonEnvelopeFromBuffer, componentName, false);
                     previouslyProcessedEvent = nextJsonEnvelopeFromBuffer;
-                } else {
-                    break;
                 }
+            } catch (final RuntimeException e) {
+                removeFromEventBufferAfterFailure(previouslyProcessedEvent, componentName, e);
+                throw e;
             }
+
+            newEventBufferManager.removeFromEventBufferUpTo(previouslyProcessedEvent, componentName);
+
+            if (consecutiveEvents.size() < pageSize) {
+                break;
+            }
+        }
+    }
+
+    private void removeFromEventBufferAfterFailure(
+            final JsonEnvelope lastProcessedEvent,
+            final String componentName,
+            final RuntimeException processingException) {
+        try {
+            newEventBufferManager.removeFromEventBufferUpTo(lastProcessedEvent, componentName);
+        } catch (final RuntimeException e) {
+            processingException.addSuppressed(e);
         }
     }
 }
@@ -0,0 +1,27 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+
+import javax.inject.Inject;
+
+public class EventBufferDrainConfig {
+
+    @Inject
+    @GlobalValue(key = "event.buffer.bulk.drain.enabled", defaultValue = "false")
+    private String bulkDrainEnabled;
+
+    @Inject
+    @GlobalValue(key = "event.buffer.bulk.drain.page.size", defaultValue = "1000")
+    private String bulkDrainPageSize;
+
+    public boolean isBulkDrainEnabled() {
+        return parseBoolean(bulkDrainEnabled);
+    }
+
+    public int getBulkDrainPageSize() {
+        return parseInt(bulkDrainPageSize);
+    }
+}
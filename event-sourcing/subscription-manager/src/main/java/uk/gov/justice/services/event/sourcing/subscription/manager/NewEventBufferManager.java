@@ -6,6 +6,7 @@ import static java.util.Optional.empty;
 import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.event.buffer.core.repository.streambuffer.EventBufferEvent;
 import uk.gov.justice.services.event.buffer.core.repository.streambuffer.NewEventBufferRepository;
+import uk.gov.justice.services.event.buffer.core.repository.subscription.NewStreamStatusRepository;
 import uk.gov.justice.services.event.sourcing.subscription.error.MissingPositionInStreamException;
 import uk.gov.justice.services.eventsourcing.source.api.streams.MissingStreamIdException;
 import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
@@ -13,6 +14,7 @@ import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.JsonObjectEnvelopeConverter;
 import uk.gov.justice.services.messaging.Metadata;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -35,20 +37,26 @@ public class NewEventBufferManager {
     @Inject
     private EventSourceNameCalculator eventSourceNameCalculator;
 
+    @Inject
+    private StreamPositionTracker streamPositionTracker;
+
+    @Inject
+    private NewStreamStatusRepository newStreamStatusRepository;
+
+    @Inject
+    private EmptyEventBufferCache emptyEventBufferCache;
+
     public Optional<JsonEnvelope> getNextFromEventBuffer(
             final JsonEnvelope incomingJsonEnvelope,
             final String componentName) {
 
-        final Metadata metadata = incomingJsonEnvelope.metadata();
-        final UUID streamId = metadata.streamId().orElseThrow(() -> new MissingStreamIdException(
-                format("No streamId found in event. name '%s', eventId '%s'",
-                        metadata.name(),
-                        metadata.id())));
+        final UUID streamId = streamIdOf(incomingJsonEnvelope);
         final String source = eventSourceNameCalculator.getSource(incomingJsonEnvelope);
-        final long currentPosition = metadata.position().orElseThrow(() -> new MissingPositionInStreamException(
-                format("No position found in event. name '%s', eventId '%s'",
-                        metadata.name(),
-                        metadata.id())));
+        final long currentPosition = positionOf(incomingJsonEnvelope);
+
+        if (emptyEventBufferCache.isKnownEmpty(streamId, source, componentName)) {
+            return empty();
+        }
 
         final long nextPosition = currentPosition + 1;
 
@@ -66,6 +74,48 @@ public class NewEventBufferManager {
 
     }
 
+    /**
+     * Gets the run of consecutive events following the previously processed event from the event
+     * buffer using a single query.
+     *
+     * @return up to maxEvents consecutive events, or an empty list if the next event is not buffered
+     */
+    public List<JsonEnvelope> getConsecutiveEventsFromEventBuffer(
+            final JsonEnvelope previouslyProcessedJsonEnvelope,
+            final String componentName,
+            final int maxEvents) {
+
+        final UUID streamId = streamIdOf(previouslyProcessedJsonEnvelope);
+        final String source = eventSourceNameCalculator.getSource(previouslyProcessedJsonEnvelope);
+        final long nextPosition = positionOf(previouslyProcessedJsonEnvelope) + 1;
+
+        if (emptyEventBufferCache.isKnownEmpty(streamId, source, componentName)) {
+            return List.of();
+        }
+
+        return newEventBufferRepository.findConsecutiveFromPosition(
+                        streamId,
+                        nextPosition,
+                        source,
+                        componentName,
+                        maxEvents).stream()
+                .map(streamBufferEvent -> jsonObjectEnvelopeConverter.asEnvelope(streamBufferEvent.getEvent()))
+                .toList();
+    }
+
+    /**
+     * Removes the processed event, and any earlier events of its stream, from the event buffer
+     * using a single statement.
+     */
+    public void removeFromEventBufferUpTo(final JsonEnvelope processedJsonEnvelope, final String componentName) {
+
+        newEventBufferRepository.removeUpToPosition(
+                streamIdOf(processedJsonEnvelope),
+                eventSourceNameCalculator.getSource(processedJsonEnvelope),
+                componentName,
+                positionOf(processedJsonEnvelope));
+    }
+
     public void addToBuffer(final JsonEnvelope incomingJsonEnvelope, final String componentName) {
 
         final EventBufferEvent eventBufferEvent = bufferedEventFactory.createFrom(
@@ -74,5 +124,28 @@ public class NewEventBufferManager {
                 clock.now());
 
         newEventBufferRepository.insert(eventBufferEvent);
+        newStreamStatusRepository.incrementEventBufferVersion(
+                eventBufferEvent.getStreamId(),
+                eventBufferEvent.getSource(),
+                componentName);
+
+        emptyEventBufferCache.eventBuffered(eventBufferEvent.getStreamId(), eventBufferEvent.getSource(), componentName);
+        streamPositionTracker.eventBuffered(incomingJsonEnvelope, componentName);
+    }
+
+    private UUID streamIdOf(final JsonEnvelope jsonEnvelope) {
+        final Metadata metadata = jsonEnvelope.metadata();
+        return metadata.streamId().orElseThrow(() -> new MissingStreamIdException(
+                format("No streamId found in event. name '%s', eventId '%s'",
+                        metadata.name(),
+                        metadata.id())));
+    }
+
+    private long positionOf(final JsonEnvelope jsonEnvelope) {
+        final Metadata metadata = jsonEnvelope.metadata();
+        return metadata.position().orElseThrow(() -> new MissingPositionInStreamException(
+                format("No position found in event. name '%s', eventId '%s'",
+                        metadata.name(),
+                        metadata.id())));
     }
 }
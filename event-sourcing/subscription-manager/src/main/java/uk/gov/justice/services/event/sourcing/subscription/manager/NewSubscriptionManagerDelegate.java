@@ -23,11 +23,23 @@ public class NewSubscriptionManagerDelegate {
     @Inject
     private EventSourceNameCalculator eventSourceNameCalculator;
 
+    @Inject
+    private SingleTransactionEventProcessor singleTransactionEventProcessor;
+
+    @Inject
+    private SingleTransactionFastPathConfig singleTransactionFastPathConfig;
+
     public void process(final JsonEnvelope incomingJsonEnvelope, final String componentName) {
 
         final String source = eventSourceNameCalculator.getSource(incomingJsonEnvelope);
         micrometerMetricsCounters.incrementEventsReceivedCount(source, componentName);
 
+        if (singleTransactionFastPathConfig.isSingleTransactionFastPathEnabled() &&
+            singleTransactionEventProcessor.processIfNextInStream(incomingJsonEnvelope, componentName)) {
+            eventBufferAwareSubscriptionEventProcessor.processBufferedEventsFollowing(incomingJsonEnvelope, componentName);
+            return;
+        }
+
         final EventOrderingStatus eventOrderingStatus = streamStatusService.handleStreamStatusUpdates(
                 incomingJsonEnvelope,
                 componentName);
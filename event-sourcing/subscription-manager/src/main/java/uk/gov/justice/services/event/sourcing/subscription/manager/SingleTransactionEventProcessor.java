@@ -0,0 +1,205 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static java.lang.String.format;
+import static javax.transaction.Transactional.TxType.NOT_SUPPORTED;
+import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_CORRECTLY_ORDERED;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.EVENT_PROCESSING;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.PROCESSED_LAG;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.core.interceptor.InterceptorChainProcessor;
+import uk.gov.justice.services.core.interceptor.InterceptorChainProcessorProducer;
+import uk.gov.justice.services.core.interceptor.InterceptorContext;
+import uk.gov.justice.services.event.buffer.core.repository.streambuffer.NewEventBufferRepository;
+import uk.gov.justice.services.event.buffer.core.repository.subscription.NewStreamStatusRepository;
+import uk.gov.justice.services.event.buffer.core.repository.subscription.StreamUpdateContext;
+import uk.gov.justice.services.event.sourcing.subscription.error.MissingPositionInStreamException;
+import uk.gov.justice.services.event.sourcing.subscription.error.StreamErrorStatusHandler;
+import uk.gov.justice.services.event.sourcing.subscription.error.StreamProcessingException;
+import uk.gov.justice.services.event.sourcing.subscription.manager.cdi.InterceptorContextProvider;
+import uk.gov.justice.services.eventsourcing.source.api.streams.MissingStreamIdException;
+import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.justice.services.messaging.Metadata;
+import uk.gov.justice.services.metrics.micrometer.counters.MicrometerMetricsCounters;
+
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import javax.transaction.UserTransaction;
+
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+
+/**
+ * Fast path for the common case of an event arriving in order on a stream that is not in error.
+ * <p>
+ * Inserts the stream_status row if necessary, locks it, invokes the event handler and updates
+ * the stream position all in a single transaction, rather than the separate stream status and
+ * event processing transactions of StreamStatusService and SubscriptionEventProcessor.
+ * <p>
+ * If the event is out of order, already processed, or the stream is in error, the transaction is
+ * rolled back without invoking the handler and false is returned, so that the event can be
+ * processed by the two phase path instead.
+ */
+public class SingleTransactionEventProcessor {
+
+    @Inject
+    private NewStreamStatusRepository newStreamStatusRepository;
+
+    @Inject
+    private NewEventBufferRepository newEventBufferRepository;
+
+    @Inject
+    private EventProcessingStatusCalculator eventProcessingStatusCalculator;
+
+    @Inject
+    private LatestKnownPositionAndIsUpToDateUpdater latestKnownPositionAndIsUpToDateUpdater;
+
+    @Inject
+    private InterceptorContextProvider interceptorContextProvider;
+
+    @Inject
+    private InterceptorChainProcessorProducer interceptorChainProcessorProducer;
+
+    @Inject
+    private StreamErrorStatusHandler streamErrorStatusHandler;
+
+    @Inject
+    private UserTransaction userTransaction;
+
+    @Inject
+    private TransactionHandler transactionHandler;
+
+    @Inject
+    private MicrometerMetricsCounters micrometerMetricsCounters;
+
+    @Inject
+    private EventSourceNameCalculator eventSourceNameCalculator;
+
+    @Inject
+    private StreamPositionTracker streamPositionTracker;
+
+    @Inject
+    private EmptyEventBufferCache emptyEventBufferCache;
+
+    @Inject
+    private EventStoreTimers eventStoreTimers;
+
+    @Inject
+    private UtcClock clock;
+
+    @Inject
+    private Logger logger;
+
+    /**
+     * The event is only timed if processed here, so that events falling back to the two phase path
+     * are not timed twice.
+     *
+     * @return true if the event was processed, false if it should be processed by the two phase path
+     */
+    @Transactional(NOT_SUPPORTED)
+    public boolean processIfNextInStream(final JsonEnvelope eventJsonEnvelope, final String component) {
+
+        final Metadata metadata = eventJsonEnvelope.metadata();
+        final String name = metadata.name();
+        final UUID eventId = metadata.id();
+        final UUID streamId = metadata.streamId().orElseThrow(() -> new MissingStreamIdException(format("No streamId found in event: name '%s', eventId '%s'", name, eventId)));
+        final String source = eventSourceNameCalculator.getSource(eventJsonEnvelope);
+        final Long eventPositionInStream = metadata.position().orElseThrow(() -> new MissingPositionInStreamException(format("No position found in event: name '%s', eventId '%s'", name, eventId)));
+
+        final Timer.Sample sample = eventStoreTimers.start();
+        final StreamUpdateContext streamUpdateContext;
+        try {
+            transactionHandler.begin(userTransaction);
+
+            streamUpdateContext = newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
+                    streamId,
+                    source,
+                    component,
+                    clock.now(),
+                    false,
+                    eventPositionInStream);
+        } catch (final Exception e) {
+            transactionHandler.rollback(userTransaction);
+            throw new StreamProcessingException(format("Failed to process event. name: '%s', eventId: '%s', streamId: '%s'", name, eventId, streamId), e);
+        }
+
+        if (streamUpdateContext.streamErrorId().isPresent() ||
+            eventProcessingStatusCalculator.calculateEventOrderingStatus(streamUpdateContext) != EVENT_CORRECTLY_ORDERED) {
+            transactionHandler.rollback(userTransaction);
+            return false;
+        }
+
+        micrometerMetricsCounters.incrementEventsProcessedCount(source, component);
+
+        try {
+            latestKnownPositionAndIsUpToDateUpdater.updateIfNecessary(
+                    streamUpdateContext,
+                    streamId,
+                    source,
+                    component);
+
+            final InterceptorChainProcessor interceptorChainProcessor = interceptorChainProcessorProducer.produceLocalProcessor(component);
+            final InterceptorContext interceptorContext = interceptorContextProvider.getInterceptorContext(eventJsonEnvelope);
+
+            interceptorChainProcessor.process(interceptorContext);
+
+            newStreamStatusRepository.updateCurrentPosition(streamId, source, component, eventPositionInStream);
+            final boolean eventBufferKnownEmpty = emptyEventBufferCache.isKnownEmptyAt(streamId, source, component, streamUpdateContext.eventBufferVersion());
+            if (!eventBufferKnownEmpty && streamPositionTracker.mayBeInEventBuffer(eventJsonEnvelope, component)) {
+                newEventBufferRepository.remove(streamId, source, component, eventPositionInStream);
+            }
+
+            if (streamUpdateContext.latestKnownStreamPosition() <= eventPositionInStream) {
+                newStreamStatusRepository.setUpToDate(true, streamId, source, component);
+                emptyEventBufferCache.markEmptyAt(streamId, source, component, streamUpdateContext.eventBufferVersion());
+            }
+
+            transactionHandler.commit(userTransaction);
+
+            streamPositionTracker.eventProcessed(eventJsonEnvelope, component);
+            micrometerMetricsCounters.incrementEventsSucceededCount(source, component);
+            eventStoreTimers.recordLag(PROCESSED_LAG, metadata::createdAt, source, component);
+
+            return true;
+
+        } catch (final Exception e) {
+            transactionHandler.rollback(userTransaction);
+            updateLatestKnownPosition(streamUpdateContext, streamId, source, component);
+            streamErrorStatusHandler.onStreamProcessingFailure(eventJsonEnvelope, e, source, component, streamUpdateContext);
+            throw new StreamProcessingException(format("Failed to process event. name: '%s', eventId: '%s', streamId: '%s'", name, eventId, streamId), e);
+        } finally {
+            eventStoreTimers.stop(sample, EVENT_PROCESSING, source, component);
+        }
+    }
+
+    /**
+     * The two phase path commits the stream_status row and the latest known position before
+     * invoking the handler, so the same is done here after the handler has failed and the fast
+     * path transaction rolled back. If the stream is new, its stream_status row was inserted by
+     * the rolled back transaction, and is needed for the stream to be marked as errored.
+     */
+    private void updateLatestKnownPosition(final StreamUpdateContext streamUpdateContext, final UUID streamId, final String source, final String component) {
+        try {
+            transactionHandler.begin(userTransaction);
+            newStreamStatusRepository.insertIfNotExists(
+                    streamId,
+                    source,
+                    component,
+                    clock.now(),
+                    false);
+            latestKnownPositionAndIsUpToDateUpdater.updateIfNecessary(
+                    streamUpdateContext,
+                    streamId,
+                    source,
+                    component);
+            transactionHandler.commit(userTransaction);
+        } catch (final Exception e) {
+            transactionHandler.rollback(userTransaction);
+            logger.error("Failed to update latest known position of stream: streamId '%s'".formatted(streamId), e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static java.lang.Boolean.parseBoolean;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+
+import javax.inject.Inject;
+
+public class SingleTransactionFastPathConfig {
+
+    @Inject
+    @GlobalValue(key = "subscription.single.transaction.fast.path.enabled", defaultValue = "false")
+    private String singleTransactionFastPathEnabled;
+
+    public boolean isSingleTransactionFastPathEnabled() {
+        return parseBoolean(singleTransactionFastPathEnabled);
+    }
+}
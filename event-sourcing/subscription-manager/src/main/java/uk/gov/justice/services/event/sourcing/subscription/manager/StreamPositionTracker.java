@@ -0,0 +1,97 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static java.lang.String.format;
+
+import uk.gov.justice.services.event.sourcing.subscription.error.MissingPositionInStreamException;
+import uk.gov.justice.services.eventsourcing.source.api.streams.MissingStreamIdException;
+import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.justice.services.messaging.Metadata;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+/**
+ * Per node record of the highest position buffered in the stream_buffer table for each stream,
+ * used to skip deleting an incoming event from the event buffer when it cannot be there.
+ * <p>
+ * A stream is only tracked once this node has processed an event of the stream, deleting it from
+ * the event buffer as usual. After that, an incoming event positioned after the highest position
+ * this node has buffered for the stream has not been buffered by this node. Should another node,
+ * or this node before a restart, have buffered it, the row left behind is at or before the
+ * current stream position and is never processed again.
+ * <p>
+ * Streams are forgotten when more than the configured maximum are tracked, which is always safe:
+ * the next incoming event of a forgotten stream is deleted from the event buffer again.
+ */
+@ApplicationScoped
+public class StreamPositionTracker {
+
+    private static final long NOTHING_BUFFERED = 0L;
+
+    private final ConcurrentHashMap<TrackedStream, Long> highestBufferedPositions = new ConcurrentHashMap<>();
+
+    @Inject
+    private StreamPositionTrackerConfig streamPositionTrackerConfig;
+
+    @Inject
+    private EventSourceNameCalculator eventSourceNameCalculator;
+
+    /**
+     * @return false only if the incoming event is known not to be in the event buffer
+     */
+    public boolean mayBeInEventBuffer(final JsonEnvelope incomingJsonEnvelope, final String componentName) {
+
+        if (!streamPositionTrackerConfig.isStreamPositionTrackerEnabled()) {
+            return true;
+        }
+
+        final Long highestBufferedPosition = highestBufferedPositions.get(trackedStreamOf(incomingJsonEnvelope, componentName));
+
+        return highestBufferedPosition == null || positionOf(incomingJsonEnvelope) <= highestBufferedPosition;
+    }
+
+    public void eventBuffered(final JsonEnvelope bufferedJsonEnvelope, final String componentName) {
+
+        if (streamPositionTrackerConfig.isStreamPositionTrackerEnabled()) {
+            highestBufferedPositions.computeIfPresent(
+                    trackedStreamOf(bufferedJsonEnvelope, componentName),
+                    (trackedStream, highestBufferedPosition) -> Math.max(highestBufferedPosition, positionOf(bufferedJsonEnvelope)));
+        }
+    }
+
+    public void eventProcessed(final JsonEnvelope processedJsonEnvelope, final String componentName) {
+
+        if (streamPositionTrackerConfig.isStreamPositionTrackerEnabled()) {
+            if (highestBufferedPositions.size() >= streamPositionTrackerConfig.getMaxTrackedStreams()) {
+                highestBufferedPositions.clear();
+            }
+
+            highestBufferedPositions.putIfAbsent(trackedStreamOf(processedJsonEnvelope, componentName), NOTHING_BUFFERED);
+        }
+    }
+
+    private TrackedStream trackedStreamOf(final JsonEnvelope jsonEnvelope, final String componentName) {
+        final Metadata metadata = jsonEnvelope.metadata();
+        final UUID streamId = metadata.streamId().orElseThrow(() -> new MissingStreamIdException(
+                format("No streamId found in event. name '%s', eventId '%s'",
+                        metadata.name(),
+                        metadata.id())));
+
+        return new TrackedStream(streamId, eventSourceNameCalculator.getSource(jsonEnvelope), componentName);
+    }
+
+    private long positionOf(final JsonEnvelope jsonEnvelope) {
+        final Metadata metadata = jsonEnvelope.metadata();
+        return metadata.position().orElseThrow(() -> new MissingPositionInStreamException(
+                format("No position found in event. name '%s', eventId '%s'",
+                        metadata.name(),
+                        metadata.id())));
+    }
+
+    private record TrackedStream(UUID streamId, String source, String componentName) {
+    }
+}
@@ -0,0 +1,27 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+
+import javax.inject.Inject;
+
+public class StreamPositionTrackerConfig {
+
+    @Inject
+    @GlobalValue(key = "subscription.stream.position.tracker.enabled", defaultValue = "false")
+    private String streamPositionTrackerEnabled;
+
+    @Inject
+    @GlobalValue(key = "subscription.stream.position.tracker.max.tracked.streams", defaultValue = "100000")
+    private String maxTrackedStreams;
+
+    public boolean isStreamPositionTrackerEnabled() {
+        return parseBoolean(streamPositionTrackerEnabled);
+    }
+
+    public int getMaxTrackedStreams() {
+        return parseInt(maxTrackedStreams);
+    }
+}
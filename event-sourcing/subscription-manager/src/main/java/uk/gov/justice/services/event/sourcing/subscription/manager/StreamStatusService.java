@@ -2,6 +2,7 @@ package uk.gov.justice.services.event.sourcing.subscription.manager;
 
 import static java.lang.String.format;
 import static javax.transaction.Transactional.TxType.NOT_SUPPORTED;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.STREAM_STATUS_UPDATE;
 
 import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.event.buffer.core.repository.subscription.NewStreamStatusRepository;
@@ -10,6 +11,7 @@ import uk.gov.justice.services.event.buffer.core.repository.subscription.StreamU
 import uk.gov.justice.services.event.sourcing.subscription.error.MissingPositionInStreamException;
 import uk.gov.justice.services.eventsourcing.source.api.streams.MissingStreamIdException;
 import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.Metadata;
 import uk.gov.justice.services.metrics.micrometer.counters.MicrometerMetricsCounters;
@@ -20,6 +22,7 @@ import javax.inject.Inject;
 import javax.transaction.Transactional;
 import javax.transaction.UserTransaction;
 
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 
 public class StreamStatusService {
@@ -54,6 +57,9 @@ public class StreamStatusService {
     @Inject
     private EventSourceNameCalculator eventSourceNameCalculator;
 
+    @Inject
+    private EventStoreTimers eventStoreTimers;
+
     @Transactional(NOT_SUPPORTED)
     public EventOrderingStatus handleStreamStatusUpdates(final JsonEnvelope incomingJsonEnvelope, final String component) {
 
@@ -64,20 +70,16 @@ public class StreamStatusService {
         final String source = eventSourceNameCalculator.getSource(incomingJsonEnvelope);
         final Long incomingPositionInStream = metadata.position().orElseThrow(() -> new MissingPositionInStreamException(format("No position found in event: name '%s', eventId '%s'", name, eventId)));
 
+        final Timer.Sample sample = eventStoreTimers.start();
         try {
             transactionHandler.begin(userTransaction);
 
-            newStreamStatusRepository.insertIfNotExists(
+            final StreamUpdateContext streamUpdateContext = newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
                     streamId,
                     source,
                     component,
                     clock.now(),
-                    false);
-
-            final StreamUpdateContext streamUpdateContext = newStreamStatusRepository.lockStreamAndGetStreamUpdateContext(
-                    streamId,
-                    source,
-                    component,
+                    false,
                     incomingPositionInStream);
 
             latestKnownPositionAndIsUpToDateUpdater.updateIfNecessary(
@@ -108,6 +110,8 @@ public class StreamStatusService {
         } catch (final Exception e) {
             transactionHandler.rollback(userTransaction);
             throw new StreamStatusException("Failed to update stream_status/event_buffer for eventId '%s', eventName '%s', streamId '%s'".formatted(eventId, name, streamId), e);
+        } finally {
+            eventStoreTimers.stop(sample, STREAM_STATUS_UPDATE, source, component);
         }
     }
 }
@@ -3,6 +3,8 @@ package uk.gov.justice.services.event.sourcing.subscription.manager;
 import static java.lang.String.format;
 import static javax.transaction.Transactional.TxType.NOT_SUPPORTED;
 import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_CORRECTLY_ORDERED;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.EVENT_PROCESSING;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.PROCESSED_LAG;
 
 import uk.gov.justice.services.core.interceptor.InterceptorChainProcessor;
 import uk.gov.justice.services.core.interceptor.InterceptorChainProcessorProducer;
@@ -17,6 +19,7 @@ import uk.gov.justice.services.event.sourcing.subscription.error.StreamProcessin
 import uk.gov.justice.services.event.sourcing.subscription.manager.cdi.InterceptorContextProvider;
 import uk.gov.justice.services.eventsourcing.source.api.streams.MissingStreamIdException;
 import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.Metadata;
 import uk.gov.justice.services.metrics.micrometer.counters.MicrometerMetricsCounters;
@@ -28,6 +31,8 @@ import javax.inject.Inject;
 import javax.transaction.Transactional;
 import javax.transaction.UserTransaction;
 
+import io.micrometer.core.instrument.Timer;
+
 public class SubscriptionEventProcessor {
 
     @Inject
@@ -63,10 +68,28 @@ public class SubscriptionEventProcessor {
     @Inject
     private EventSourceNameCalculator eventSourceNameCalculator;
 
+    @Inject
+    private EmptyEventBufferCache emptyEventBufferCache;
+
+    @Inject
+    private EventStoreTimers eventStoreTimers;
+
     @Transactional(value = NOT_SUPPORTED)
     public boolean processSingleEvent(
             final JsonEnvelope eventJsonEnvelope,
             final String component) {
+        return processSingleEvent(eventJsonEnvelope, component, true);
+    }
+
+    /**
+     * @param removeFromEventBuffer false if the caller removes the event from the event buffer itself,
+     *                              for example when draining a run of buffered events
+     */
+    @Transactional(value = NOT_SUPPORTED)
+    public boolean processSingleEvent(
+            final JsonEnvelope eventJsonEnvelope,
+            final String component,
+            final boolean removeFromEventBuffer) {
 
         final Metadata metadata = eventJsonEnvelope.metadata();
         final String name = metadata.name();
@@ -77,6 +100,7 @@ public class SubscriptionEventProcessor {
 
         micrometerMetricsCounters.incrementEventsProcessedCount(source, component);
 
+        final Timer.Sample sample = eventStoreTimers.start();
         final StreamUpdateContext streamUpdateContext;
         try {
             transactionHandler.begin(userTransaction);
@@ -97,7 +121,11 @@ public class SubscriptionEventProcessor {
                 interceptorChainProcessor.process(interceptorContext);
 
                 newStreamStatusRepository.updateCurrentPosition(streamId, source, component, eventPositionInStream);
-                newEventBufferRepository.remove(streamId, source, component, eventPositionInStream);
+
+                final boolean eventBufferKnownEmpty = emptyEventBufferCache.isKnownEmptyAt(streamId, source, component, streamUpdateContext.eventBufferVersion());
+                if (removeFromEventBuffer && !eventBufferKnownEmpty) {
+                    newEventBufferRepository.remove(streamId, source, component, eventPositionInStream);
+                }
 
                 streamUpdateContext.streamErrorId().ifPresent(
                         streamErrorId ->
@@ -105,6 +133,7 @@ public class SubscriptionEventProcessor {
 
                 if (streamUpdateContext.latestKnownStreamPosition() == eventPositionInStream) {
                     newStreamStatusRepository.setUpToDate(true, streamId, source, component);
+                    emptyEventBufferCache.markEmptyAt(streamId, source, component, streamUpdateContext.eventBufferVersion());
                 }
 
                 eventProcessed.set(true);
@@ -116,12 +145,18 @@ public class SubscriptionEventProcessor {
 
             transactionHandler.commit(userTransaction);
 
+            if (eventProcessed.get()) {
+                eventStoreTimers.recordLag(PROCESSED_LAG, metadata::createdAt, source, component);
+            }
+
             return eventProcessed.get();
 
         } catch (final Exception e) {
             transactionHandler.rollback(userTransaction);
             streamErrorStatusHandler.onStreamProcessingFailure(eventJsonEnvelope, e, source, component, streamUpdateContext);
             throw new StreamProcessingException(format("Failed to process event. name: '%s', eventId: '%s', streamId: '%s'", name, eventId, streamId), e);
+        } finally {
+            eventStoreTimers.stop(sample, EVENT_PROCESSING, source, component);
         }
     }
 }
\ No newline at end of file
@@ -11,4 +11,9 @@ public class DummyEventQueueProcessingConfig implements EventQueueProcessingConf
     public int getMaxTotalEventsInProcess() {
         return 100;
     }
+
+    @Override
+    public int getBatchSize() {
+        return 1;
+    }
 }
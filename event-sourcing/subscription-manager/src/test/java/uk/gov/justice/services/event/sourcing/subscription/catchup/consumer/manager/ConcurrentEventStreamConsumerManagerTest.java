@@ -5,6 +5,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -59,7 +60,6 @@ public class ConcurrentEventStreamConsumerManagerTest {
         final EventsInProcessCounter eventsInProcessCounter = mock(EventsInProcessCounter.class);
 
         when(eventsInProcessCounterProvider.getInstance()).thenReturn(eventsInProcessCounter);
-        when(eventsInProcessCounter.maxNumberOfEventsInProcess()).thenReturn(false);
         when(linkedEvent.getStreamId()).thenReturn(streamId);
 
         concurrentEventStreamConsumerManager.add(linkedEvent, subscriptionName, catchupCommand, commandId);
@@ -87,7 +87,6 @@ public class ConcurrentEventStreamConsumerManagerTest {
         final EventsInProcessCounter eventsInProcessCounter = mock(EventsInProcessCounter.class);
 
         when(eventsInProcessCounterProvider.getInstance()).thenReturn(eventsInProcessCounter);
-        when(eventsInProcessCounter.maxNumberOfEventsInProcess()).thenReturn(false);
         when(linkedEvent_1.getStreamId()).thenReturn(streamId);
         when(linkedEvent_2.getStreamId()).thenReturn(streamId);
 
@@ -119,7 +118,6 @@ public class ConcurrentEventStreamConsumerManagerTest {
         final EventsInProcessCounter eventsInProcessCounter = mock(EventsInProcessCounter.class);
 
         when(eventsInProcessCounterProvider.getInstance()).thenReturn(eventsInProcessCounter);
-        when(eventsInProcessCounter.maxNumberOfEventsInProcess()).thenReturn(false);
         when(linkedEvent_1.getStreamId()).thenReturn(streamId_1);
         when(linkedEvent_2.getStreamId()).thenReturn(streamId_2);
 
@@ -156,7 +154,6 @@ public class ConcurrentEventStreamConsumerManagerTest {
         final EventsInProcessCounter eventsInProcessCounter = mock(EventsInProcessCounter.class);
 
         when(eventsInProcessCounterProvider.getInstance()).thenReturn(eventsInProcessCounter);
-        when(eventsInProcessCounter.maxNumberOfEventsInProcess()).thenReturn(false);
         when(linkedEvent_1.getStreamId()).thenReturn(streamId_1);
         when(linkedEvent_2.getStreamId()).thenReturn(streamId_2);
 
@@ -180,6 +177,92 @@ public class ConcurrentEventStreamConsumerManagerTest {
         verify(eventsInProcessCounter, times(2)).incrementEventsInProcessCount();
     }
 
+    @Test
+    public void shouldRemoveQueueFromInProgressListAndCompleteIfQueueIsEmpty() {
+
+        final CatchupCommand catchupCommand = new EventCatchupCommand();
+        final UUID commandId = randomUUID();
+        final String subscriptionName = "subscriptionName";
+        final LinkedEvent linkedEvent = mock(LinkedEvent.class);
+        final EventsInProcessCounter eventsInProcessCounter = mock(EventsInProcessCounter.class);
+
+        when(eventsInProcessCounterProvider.getInstance()).thenReturn(eventsInProcessCounter);
+        when(linkedEvent.getStreamId()).thenReturn(randomUUID());
+
+        concurrentEventStreamConsumerManager.add(linkedEvent, subscriptionName, catchupCommand, commandId);
+
+        verify(consumeEventQueueTaskManager).consume(eventQueueCaptor.capture(), eq(subscriptionName), eq(catchupCommand), eq(commandId));
+
+        final EventStreamQueue eventStreamQueue = (EventStreamQueue) eventQueueCaptor.getValue();
+        eventStreamQueue.poll();
+
+        assertThat(concurrentEventStreamConsumerManager.isEventConsumptionComplete(new FinishedProcessingMessage(eventStreamQueue)), is(true));
+
+        assertThat(eventStreamQueue.isInProgress(), is(false));
+        verify(eventStreamsInProgressList).remove(eventStreamQueue);
+        assertThat(eventStreamsInProgressList.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldKeepConsumingQueueIfEventAddedBeforeConsumptionCompleted() {
+
+        final CatchupCommand catchupCommand = new EventCatchupCommand();
+        final UUID commandId = randomUUID();
+        final String subscriptionName = "subscriptionName";
+        final UUID streamId = randomUUID();
+        final LinkedEvent linkedEvent_1 = mock(LinkedEvent.class);
+        final LinkedEvent linkedEvent_2 = mock(LinkedEvent.class);
+        final EventsInProcessCounter eventsInProcessCounter = mock(EventsInProcessCounter.class);
+
+        when(eventsInProcessCounterProvider.getInstance()).thenReturn(eventsInProcessCounter);
+        when(linkedEvent_1.getStreamId()).thenReturn(streamId);
+        when(linkedEvent_2.getStreamId()).thenReturn(streamId);
+
+        concurrentEventStreamConsumerManager.add(linkedEvent_1, subscriptionName, catchupCommand, commandId);
+
+        verify(consumeEventQueueTaskManager).consume(eventQueueCaptor.capture(), eq(subscriptionName), eq(catchupCommand), eq(commandId));
+
+        final EventStreamQueue eventStreamQueue = (EventStreamQueue) eventQueueCaptor.getValue();
+        eventStreamQueue.poll();
+
+        concurrentEventStreamConsumerManager.add(linkedEvent_2, subscriptionName, catchupCommand, commandId);
+
+        assertThat(concurrentEventStreamConsumerManager.isEventConsumptionComplete(new FinishedProcessingMessage(eventStreamQueue)), is(false));
+
+        assertThat(eventStreamQueue.isInProgress(), is(true));
+        assertThat(eventStreamsInProgressList.isEmpty(), is(false));
+        verify(eventStreamsInProgressList, never()).remove(eventStreamQueue);
+        verify(consumeEventQueueTaskManager, times(1)).consume(eventQueueCaptor.capture(), eq(subscriptionName), eq(catchupCommand), eq(commandId));
+    }
+
+    @Test
+    public void shouldRemoveQueueFromInProgressListIfAnotherTaskWasSubmittedBeforeConsumptionCompleted() {
+
+        final EventStreamQueue eventStreamQueue = new EventStreamQueue();
+        eventStreamQueue.offer(mock(LinkedEvent.class));
+
+        // Another task was submitted for the queue after this task marked it finished,
+        // but before it could take the queue back
+        final EventStreamQueue takenByAnotherTask = new EventStreamQueue() {
+            @Override
+            public void finishProcessing() {
+                super.finishProcessing();
+                startProcessing();
+            }
+        };
+        takenByAnotherTask.offer(mock(LinkedEvent.class));
+        takenByAnotherTask.startProcessing();
+
+        eventStreamsInProgressList.add(takenByAnotherTask);
+        eventStreamsInProgressList.add(takenByAnotherTask);
+
+        assertThat(concurrentEventStreamConsumerManager.isEventConsumptionComplete(new FinishedProcessingMessage(takenByAnotherTask)), is(true));
+
+        assertThat(takenByAnotherTask.isInProgress(), is(true));
+        verify(eventStreamsInProgressList).remove(takenByAnotherTask);
+        assertThat(eventStreamsInProgressList.isEmpty(), is(false));
+    }
+
     @Test
     public void shouldBlockOnTheEventsStreamInProgressListWhenWaitingForCompletion() throws Exception {
 
@@ -11,6 +11,8 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventConverte
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -42,4 +44,21 @@ public class DefaultCatchupEventProcessorTest {
 
         verify(catchupEventBufferProcessor).processWithEventBuffer(eventEnvelope, subscriptionName);
     }
+
+    @Test
+    public void shouldProcessBatchOfEventsWithEventBufferAndReturnTheNumberOfEventsProcessed() throws Exception {
+
+        final String subscriptionName = "subscriptionName";
+        final LinkedEvent linkedEvent_1 = mock(LinkedEvent.class);
+        final LinkedEvent linkedEvent_2 = mock(LinkedEvent.class);
+        final JsonEnvelope eventEnvelope_1 = mock(JsonEnvelope.class);
+        final JsonEnvelope eventEnvelope_2 = mock(JsonEnvelope.class);
+
+        when(eventConverter.envelopeOf(linkedEvent_1)).thenReturn(eventEnvelope_1);
+        when(eventConverter.envelopeOf(linkedEvent_2)).thenReturn(eventEnvelope_2);
+
+        assertThat(defaultTransactionalEventProcessor.processBatchWithEventBuffer(List.of(linkedEvent_1, linkedEvent_2), subscriptionName), is(2));
+
+        verify(catchupEventBufferProcessor).processBatchWithEventBuffer(List.of(eventEnvelope_1, eventEnvelope_2), subscriptionName);
+    }
 }
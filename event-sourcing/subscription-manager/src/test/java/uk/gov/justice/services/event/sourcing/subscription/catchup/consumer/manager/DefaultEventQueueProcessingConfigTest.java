@@ -22,4 +22,12 @@ public class DefaultEventQueueProcessingConfigTest {
 
         assertThat(defaultEventQueueProcessingConfig.getMaxTotalEventsInProcess(), is(23));
     }
+
+    @Test
+    public void shouldGetTheInjectedBatchSize() throws Exception {
+
+        setField(defaultEventQueueProcessingConfig, "batchSize", "50");
+
+        assertThat(defaultEventQueueProcessingConfig.getBatchSize(), is(50));
+    }
 }
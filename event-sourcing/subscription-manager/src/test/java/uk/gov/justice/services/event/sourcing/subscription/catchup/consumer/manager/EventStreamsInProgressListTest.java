@@ -7,6 +7,7 @@ import static org.mockito.Mockito.mock;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
 
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Set;
 
@@ -42,4 +43,60 @@ public class EventStreamsInProgressListTest {
 
         assertThat(eventStreamsInProgressList.isEmpty(), is(true));
     }
+
+    @Test
+    public void shouldAddRemoveAndFindQueuesByIdentity() throws Exception {
+
+        final Queue<LinkedEvent> eventStream_1 = new LinkedList<>();
+        final Queue<LinkedEvent> eventStream_2 = new LinkedList<>();
+
+        assertThat(eventStream_1.equals(eventStream_2), is(true));
+
+        eventStreamsInProgressList.add(eventStream_1);
+
+        assertThat(eventStreamsInProgressList.contains(eventStream_1), is(true));
+        assertThat(eventStreamsInProgressList.contains(eventStream_2), is(false));
+
+        eventStreamsInProgressList.remove(eventStream_2);
+
+        assertThat(eventStreamsInProgressList.contains(eventStream_1), is(true));
+        assertThat(eventStreamsInProgressList.isEmpty(), is(false));
+
+        eventStreamsInProgressList.remove(eventStream_1);
+
+        assertThat(eventStreamsInProgressList.contains(eventStream_1), is(false));
+        assertThat(eventStreamsInProgressList.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldKeepQueueInProgressUntilRemovedAsManyTimesAsItWasAdded() throws Exception {
+
+        final Queue<LinkedEvent> eventStream = new LinkedList<>();
+
+        eventStreamsInProgressList.add(eventStream);
+        eventStreamsInProgressList.add(eventStream);
+
+        eventStreamsInProgressList.remove(eventStream);
+
+        assertThat(eventStreamsInProgressList.contains(eventStream), is(true));
+        assertThat(eventStreamsInProgressList.isEmpty(), is(false));
+
+        eventStreamsInProgressList.remove(eventStream);
+        eventStreamsInProgressList.remove(eventStream);
+
+        assertThat(eventStreamsInProgressList.contains(eventStream), is(false));
+        assertThat(eventStreamsInProgressList.isEmpty(), is(true));
+
+        eventStreamsInProgressList.add(eventStream);
+
+        assertThat(eventStreamsInProgressList.isEmpty(), is(false));
+    }
+
+    @Test
+    public void shouldNotBlockIfAlreadyEmpty() throws Exception {
+
+        eventStreamsInProgressList.blockUntilEmpty();
+
+        assertThat(eventStreamsInProgressList.isEmpty(), is(true));
+    }
 }
@@ -3,9 +3,8 @@ package uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.man
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
-import uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil;
-
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
@@ -15,32 +14,30 @@ public class EventsInProcessCounterTest {
     public void shouldIncrementAndDecrementEventsInProcessCounterByOne() {
 
         final EventsInProcessCounter eventsInProcessCounter = new EventsInProcessCounter(1);
-        final AtomicInteger eventInProcessCount = ReflectionUtil.getValueOfField(eventsInProcessCounter, "eventInProcessCount", AtomicInteger.class);
 
         eventsInProcessCounter.incrementEventsInProcessCount();
 
-        assertThat(eventInProcessCount.get(), is(1));
+        assertThat(eventsInProcessCounter.getEventsInProcessCount(), is(1));
 
         eventsInProcessCounter.decrementEventsInProcessCount();
 
-        assertThat(eventInProcessCount.get(), is(0));
+        assertThat(eventsInProcessCounter.getEventsInProcessCount(), is(0));
     }
 
     @Test
     public void shouldDecrementEventsInProcessCounterByGivenNumber() {
 
         final EventsInProcessCounter eventsInProcessCounter = new EventsInProcessCounter(3);
-        final AtomicInteger eventInProcessCount = ReflectionUtil.getValueOfField(eventsInProcessCounter, "eventInProcessCount", AtomicInteger.class);
 
         eventsInProcessCounter.incrementEventsInProcessCount();
         eventsInProcessCounter.incrementEventsInProcessCount();
         eventsInProcessCounter.incrementEventsInProcessCount();
 
-        assertThat(eventInProcessCount.get(), is(3));
+        assertThat(eventsInProcessCounter.getEventsInProcessCount(), is(3));
 
         eventsInProcessCounter.decrementEventsInProcessCountBy(3);
 
-        assertThat(eventInProcessCount.get(), is(0));
+        assertThat(eventsInProcessCounter.getEventsInProcessCount(), is(0));
     }
 
     @Test
@@ -54,4 +51,25 @@ public class EventsInProcessCounterTest {
 
         assertThat(eventsInProcessCounter.maxNumberOfEventsInProcess(), is(true));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldBlockIncrementWhilstMaxCountReachedUntilAnEventIsDecremented() throws Exception {
+
+        final EventsInProcessCounter eventsInProcessCounter = new EventsInProcessCounter(1);
+        final CountDownLatch incremented = new CountDownLatch(1);
+
+        eventsInProcessCounter.incrementEventsInProcessCount();
+
+        new Thread(() -> {
+            eventsInProcessCounter.incrementEventsInProcessCount();
+            incremented.countDown();
+        }).start();
+
+        assertThat(incremented.await(100, TimeUnit.MILLISECONDS), is(false));
+
+        eventsInProcessCounter.decrementEventsInProcessCount();
+
+        assertThat(incremented.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(eventsInProcessCounter.getEventsInProcessCount(), is(1));
+    }
+}
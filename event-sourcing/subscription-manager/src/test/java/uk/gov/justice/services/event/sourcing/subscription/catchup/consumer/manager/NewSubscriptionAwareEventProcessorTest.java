@@ -2,19 +2,25 @@ package uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.man
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.CATCHUP_EVENT_PROCESSING;
 
 import uk.gov.justice.services.event.sourcing.subscription.manager.NewSubscriptionManagerDelegate;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventConverter;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
+import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.subscription.registry.SubscriptionsDescriptorsRegistry;
 
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -31,6 +37,12 @@ class NewSubscriptionAwareEventProcessorTest {
     @Mock
     private EventConverter eventConverter;
 
+    @Mock
+    private EventSourceNameCalculator eventSourceNameCalculator;
+
+    @Mock
+    private EventStoreTimers eventStoreTimers;
+
     @InjectMocks
     private NewSubscriptionAwareEventProcessor newSubscriptionAwareEventProcessor;
 
@@ -52,4 +64,26 @@ class NewSubscriptionAwareEventProcessorTest {
         verify(newSubscriptionManagerDelegate).process(eq(jsonEnvelope), eq(compName));
         verifyNoMoreInteractions(subscriptionsDescriptorsRegistry, newSubscriptionManagerDelegate, eventConverter);
     }
+
+    @Test
+    void shouldTimeProcessingTheEventTaggedBySourceAndComponent() {
+        final String subscriptionName = "subscriptionName";
+        final String componentName = "compName";
+        final String source = "some-source";
+        final Timer.Sample sample = Timer.start();
+        final LinkedEvent linkedEvent = mock(LinkedEvent.class);
+        final JsonEnvelope jsonEnvelope = mock(JsonEnvelope.class);
+
+        when(subscriptionsDescriptorsRegistry.findComponentNameBy(subscriptionName)).thenReturn(componentName);
+        when(eventConverter.envelopeOf(linkedEvent)).thenReturn(jsonEnvelope);
+        when(eventStoreTimers.start()).thenReturn(sample);
+        when(eventSourceNameCalculator.getSource(jsonEnvelope)).thenReturn(source);
+
+        newSubscriptionAwareEventProcessor.processWithEventBuffer(linkedEvent, subscriptionName);
+
+        final InOrder inOrder = inOrder(eventStoreTimers, newSubscriptionManagerDelegate);
+        inOrder.verify(eventStoreTimers).start();
+        inOrder.verify(newSubscriptionManagerDelegate).process(jsonEnvelope, componentName);
+        inOrder.verify(eventStoreTimers).stop(sample, CATCHUP_EVENT_PROCESSING, source, componentName);
+    }
 }
\ No newline at end of file
@@ -11,6 +11,8 @@ import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.mana
 import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.NewSubscriptionAwareEventProcessor;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -63,4 +65,36 @@ class CatchupEventProcessorProducerTest {
         verify(newSubscriptionAwareEventProcessor).processWithEventBuffer(eq(linkedEvent), eq(compName));
         verifyNoMoreInteractions(newSubscriptionAwareEventProcessor, defaultTransactionalEventProcessor);
     }
-}
\ No newline at end of file
+
+    @Test
+    void transactionalEventProcessorDefaultProcessesBatchInOneTransaction() {
+        final List<LinkedEvent> linkedEvents = List.of(mock(LinkedEvent.class), mock(LinkedEvent.class));
+        final String compName = "compName";
+
+        when(eventErrorHandlingConfiguration.isEventStreamSelfHealingEnabled()).thenReturn(false);
+
+        catchupEventProcessorProducer.transactionalEventProcessor()
+                .processBatchWithEventBuffer(linkedEvents, compName);
+
+        verify(defaultTransactionalEventProcessor).processBatchWithEventBuffer(eq(linkedEvents), eq(compName));
+        verifyNoMoreInteractions(newSubscriptionAwareEventProcessor, defaultTransactionalEventProcessor);
+    }
+
+    @Test
+    void transactionalEventProcessorNewProcessesBatchOneEventAtATime() {
+        final LinkedEvent linkedEvent_1 = mock(LinkedEvent.class);
+        final LinkedEvent linkedEvent_2 = mock(LinkedEvent.class);
+        final String compName = "comp2Name";
+
+        when(eventErrorHandlingConfiguration.isEventStreamSelfHealingEnabled()).thenReturn(true);
+        when(newSubscriptionAwareEventProcessor.processWithEventBuffer(linkedEvent_1, compName)).thenReturn(1);
+        when(newSubscriptionAwareEventProcessor.processWithEventBuffer(linkedEvent_2, compName)).thenReturn(1);
+
+        catchupEventProcessorProducer.transactionalEventProcessor()
+                .processBatchWithEventBuffer(List.of(linkedEvent_1, linkedEvent_2), compName);
+
+        verify(newSubscriptionAwareEventProcessor).processWithEventBuffer(linkedEvent_1, compName);
+        verify(newSubscriptionAwareEventProcessor).processWithEventBuffer(linkedEvent_2, compName);
+        verifyNoMoreInteractions(newSubscriptionAwareEventProcessor, defaultTransactionalEventProcessor);
+    }
+}
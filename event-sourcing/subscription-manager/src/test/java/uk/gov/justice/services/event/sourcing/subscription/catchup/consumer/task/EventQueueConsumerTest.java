@@ -1,20 +1,25 @@
 package uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.task;
 
 import static java.util.UUID.randomUUID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.CatchupEventProcessor;
+import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.EventQueueProcessingConfig;
 import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.EventStreamConsumptionResolver;
 import uk.gov.justice.services.event.sourcing.subscription.catchup.consumer.manager.FinishedProcessingMessage;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
 import uk.gov.justice.services.eventstore.management.commands.CatchupCommand;
 import uk.gov.justice.services.eventstore.management.commands.EventCatchupCommand;
 
+import java.util.List;
 import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -25,6 +30,7 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
 
 @ExtendWith(MockitoExtension.class)
 public class EventQueueConsumerTest {
@@ -38,6 +44,11 @@ public class EventQueueConsumerTest {
     @Mock
     private EventProcessingFailedHandler eventProcessingFailedHandler;
 
+    @Mock
+    private EventQueueProcessingConfig eventQueueProcessingConfig;
+
+    @Mock
+    private Logger logger;
 
     @InjectMocks
     private EventQueueConsumer eventQueueConsumer;
@@ -53,6 +64,7 @@ public class EventQueueConsumerTest {
 
         final Queue<LinkedEvent> eventQueue = new ConcurrentLinkedQueue<>();
 
+        when(eventQueueProcessingConfig.getBatchSize()).thenReturn(1);
         when(eventStreamConsumptionResolver.isEventConsumptionComplete(new FinishedProcessingMessage(eventQueue))).thenReturn(true);
 
         eventQueue.add(event_1);
@@ -82,6 +94,7 @@ public class EventQueueConsumerTest {
 
         final Queue<LinkedEvent> eventQueue = new ConcurrentLinkedQueue<>();
 
+        when(eventQueueProcessingConfig.getBatchSize()).thenReturn(1);
         when(eventStreamConsumptionResolver.isEventConsumptionComplete(new FinishedProcessingMessage(eventQueue))).thenReturn(true);
 
         eventQueue.add(event_1);
@@ -104,4 +117,80 @@ public class EventQueueConsumerTest {
 
         verify(eventStreamConsumptionResolver, times(2)).decrementEventsInProcessCount();
     }
+
+    @Test
+    public void shouldProcessEventsOnQueueInBatchesWhenBatchSizeGreaterThanOne() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final CatchupCommand catchupCommand = new EventCatchupCommand();
+
+        final LinkedEvent event_1 = mock(LinkedEvent.class);
+        final LinkedEvent event_2 = mock(LinkedEvent.class);
+        final LinkedEvent event_3 = mock(LinkedEvent.class);
+
+        final Queue<LinkedEvent> eventQueue = new ConcurrentLinkedQueue<>();
+
+        when(eventQueueProcessingConfig.getBatchSize()).thenReturn(2);
+        when(eventStreamConsumptionResolver.isEventConsumptionComplete(new FinishedProcessingMessage(eventQueue))).thenReturn(true);
+
+        eventQueue.add(event_1);
+        eventQueue.add(event_2);
+        eventQueue.add(event_3);
+        final String subscriptionName = "subscriptionName";
+
+        eventQueueConsumer.consumeEventQueue(commandId, eventQueue, subscriptionName, catchupCommand);
+
+        final InOrder inOrder = inOrder(catchupEventProcessor, eventStreamConsumptionResolver);
+
+        inOrder.verify(catchupEventProcessor).processBatchWithEventBuffer(List.of(event_1, event_2), subscriptionName);
+        inOrder.verify(eventStreamConsumptionResolver).decrementEventsInProcessCountBy(2);
+        inOrder.verify(catchupEventProcessor).processWithEventBuffer(event_3, subscriptionName);
+        inOrder.verify(eventStreamConsumptionResolver).decrementEventsInProcessCountBy(1);
+
+        verifyNoMoreInteractions(catchupEventProcessor);
+    }
+
+    @Test
+    public void shouldProcessEachEventOfBatchInItsOwnTransactionIfTheBatchFails() throws Exception {
+
+        final RuntimeException batchException = new RuntimeException("Batch failed");
+        final NullPointerException nullPointerException = new NullPointerException("Ooops");
+
+        final UUID commandId = randomUUID();
+        final CatchupCommand catchupCommand = new EventCatchupCommand();
+
+        final LinkedEvent event_1 = mock(LinkedEvent.class);
+        final LinkedEvent event_2 = mock(LinkedEvent.class);
+
+        final Queue<LinkedEvent> eventQueue = new ConcurrentLinkedQueue<>();
+
+        when(eventQueueProcessingConfig.getBatchSize()).thenReturn(10);
+        when(eventStreamConsumptionResolver.isEventConsumptionComplete(new FinishedProcessingMessage(eventQueue))).thenReturn(true);
+
+        eventQueue.add(event_1);
+        eventQueue.add(event_2);
+        final String subscriptionName = "subscriptionName";
+
+        doThrow(batchException).when(catchupEventProcessor).processBatchWithEventBuffer(List.of(event_1, event_2), subscriptionName);
+        doThrow(nullPointerException).when(catchupEventProcessor).processWithEventBuffer(event_2, subscriptionName);
+
+        eventQueueConsumer.consumeEventQueue(commandId, eventQueue, subscriptionName, catchupCommand);
+
+        final InOrder inOrder = inOrder(catchupEventProcessor, eventProcessingFailedHandler, eventStreamConsumptionResolver);
+
+        inOrder.verify(catchupEventProcessor).processBatchWithEventBuffer(List.of(event_1, event_2), subscriptionName);
+        inOrder.verify(catchupEventProcessor).processWithEventBuffer(event_1, subscriptionName);
+        inOrder.verify(catchupEventProcessor).processWithEventBuffer(event_2, subscriptionName);
+        inOrder.verify(eventProcessingFailedHandler).handleEventFailure(
+                nullPointerException,
+                event_2,
+                subscriptionName,
+                catchupCommand,
+                commandId
+        );
+        inOrder.verify(eventStreamConsumptionResolver).decrementEventsInProcessCountBy(2);
+
+        verify(logger).warn(eq("Failed to process batch of {} events in a single transaction, processing each event in its own transaction"), eq(2), any(RuntimeException.class));
+        verify(eventProcessingFailedHandler, times(1)).handleEventFailure(any(), any(), any(), any(), any());
+    }
 }
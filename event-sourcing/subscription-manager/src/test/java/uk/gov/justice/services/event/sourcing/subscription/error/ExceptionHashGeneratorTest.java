@@ -5,6 +5,8 @@ import static java.util.Optional.of;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -21,6 +23,9 @@ public class ExceptionHashGeneratorTest {
     @Mock
     private HashFromStringGenerator hashFromStringGenerator;
 
+    @Mock
+    private StreamErrorHashCache streamErrorHashCache;
+
     @InjectMocks
     private ExceptionHashGenerator exceptionHashGenerator;
 
@@ -40,9 +45,12 @@ public class ExceptionHashGeneratorTest {
         when(stackTraceElement.getClassName()).thenReturn(className);
         when(stackTraceElement.getMethodName()).thenReturn(methodName);
         when(stackTraceElement.getLineNumber()).thenReturn(lineNumber);
+        when(streamErrorHashCache.getHash(expectedRawString)).thenReturn(empty());
         when(hashFromStringGenerator.createHashFrom(expectedRawString)).thenReturn(expectedHash);
 
         assertThat(exceptionHashGenerator.createHashStringFrom(stackTraceElement, exceptionClassName, causeClassName), is(expectedHash));
+
+        verify(streamErrorHashCache).hashCreated(expectedRawString, expectedHash);
     }
 
     @Test
@@ -65,4 +73,22 @@ public class ExceptionHashGeneratorTest {
 
         assertThat(exceptionHashGenerator.createHashStringFrom(stackTraceElement, exceptionClassName, causeClassName), is(expectedHash));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldUseTheCachedHashOfTheExceptionSiteIfPresent() throws Exception {
+
+        final String expectedRawString = "uk.gov.justice.core.SomeClass_someMethod_23_uk.gov.justice.core.error.SomeException";
+        final String cachedHash = "576b975aff05b7f2b4a1f7b26eb47aa5";
+
+        final StackTraceElement stackTraceElement = mock(StackTraceElement.class);
+
+        when(stackTraceElement.getClassName()).thenReturn("uk.gov.justice.core.SomeClass");
+        when(stackTraceElement.getMethodName()).thenReturn("someMethod");
+        when(stackTraceElement.getLineNumber()).thenReturn(23);
+        when(streamErrorHashCache.getHash(expectedRawString)).thenReturn(of(cachedHash));
+
+        assertThat(exceptionHashGenerator.createHashStringFrom(stackTraceElement, "uk.gov.justice.core.error.SomeException", empty()), is(cachedHash));
+
+        verifyNoInteractions(hashFromStringGenerator);
+    }
+}
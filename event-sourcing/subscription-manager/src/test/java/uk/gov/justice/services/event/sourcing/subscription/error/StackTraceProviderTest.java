@@ -1,25 +1,60 @@
 package uk.gov.justice.services.event.sourcing.subscription.error;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 public class StackTraceProviderTest {
 
+    @Mock
+    private StreamErrorCaptureConfig streamErrorCaptureConfig;
+
     @InjectMocks
     private StackTraceProvider stackTraceProvider;
 
     @Test
     public void shouldGetTheStackTraceFromAnExceptionAsString() throws Exception {
 
+        when(streamErrorCaptureConfig.getStackTraceMaxDepth()).thenReturn(0);
+
         final String stackTrace = stackTraceProvider.getStackTraceFrom(new ExceptionHashingException("Oh my"));
 
         assertThat(stackTrace, startsWith("uk.gov.justice.services.event.sourcing.subscription.error.ExceptionHashingException: Oh my\n" +
                 "\tat uk.gov.justice.services.event.sourcing.subscription.error.StackTraceProviderTest"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldTruncateTheStackTraceOfTheExceptionAndEachOfItsCausesToTheMaxDepth() throws Exception {
+
+        final ExceptionHashingException cause = new ExceptionHashingException("Cause");
+        cause.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("uk.gov.justice.Cause", "method_1", "Cause.java", 1)
+        });
+        final ExceptionHashingException exception = new ExceptionHashingException("Oh my", cause);
+        exception.setStackTrace(new StackTraceElement[]{
+                new StackTraceElement("uk.gov.justice.Exception", "method_1", "Exception.java", 1),
+                new StackTraceElement("uk.gov.justice.Exception", "method_2", "Exception.java", 2),
+                new StackTraceElement("uk.gov.justice.Exception", "method_3", "Exception.java", 3)
+        });
+
+        when(streamErrorCaptureConfig.getStackTraceMaxDepth()).thenReturn(2);
+
+        final String stackTrace = stackTraceProvider.getStackTraceFrom(exception);
+
+        assertThat(stackTrace, is(
+                "uk.gov.justice.services.event.sourcing.subscription.error.ExceptionHashingException: Oh my\n" +
+                "\tat uk.gov.justice.Exception.method_1(Exception.java:1)\n" +
+                "\tat uk.gov.justice.Exception.method_2(Exception.java:2)\n" +
+                "\t... 1 frames truncated\n" +
+                "Caused by: uk.gov.justice.services.event.sourcing.subscription.error.ExceptionHashingException: Cause\n" +
+                "\tat uk.gov.justice.Cause.method_1(Cause.java:1)\n"));
+    }
+}
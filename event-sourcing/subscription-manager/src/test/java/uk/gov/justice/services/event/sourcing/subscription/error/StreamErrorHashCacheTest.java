@@ -0,0 +1,126 @@
+package uk.gov.justice.services.event.sourcing.subscription.error;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import javax.enterprise.event.Event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class StreamErrorHashCacheTest {
+
+    @Mock
+    private StreamErrorCaptureConfig streamErrorCaptureConfig;
+
+    @Mock
+    private Event<StreamErrorHashPersistedEvent> streamErrorHashPersistedEventFirer;
+
+    @InjectMocks
+    private StreamErrorHashCache streamErrorHashCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    public void setup() {
+        setField(streamErrorHashCache, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    public void shouldCacheTheHashOfAnExceptionSite() throws Exception {
+
+        when(streamErrorCaptureConfig.isStreamErrorDeduplicationEnabled()).thenReturn(true);
+        when(streamErrorCaptureConfig.getDeduplicationCacheMaxSize()).thenReturn(10);
+
+        assertThat(streamErrorHashCache.getHash("exception-site"), is(empty()));
+
+        streamErrorHashCache.hashCreated("exception-site", "hash");
+
+        assertThat(streamErrorHashCache.getHash("exception-site"), is(of("hash")));
+    }
+
+    @Test
+    public void shouldNotCacheHashesIfDisabled() throws Exception {
+
+        when(streamErrorCaptureConfig.isStreamErrorDeduplicationEnabled()).thenReturn(false);
+
+        streamErrorHashCache.hashCreated("exception-site", "hash");
+
+        assertThat(streamErrorHashCache.getHash("exception-site"), is(empty()));
+    }
+
+    @Test
+    public void shouldCacheTheHashAsPersistedOnceTheTransactionHasCommitted() throws Exception {
+
+        when(streamErrorCaptureConfig.isStreamErrorDeduplicationEnabled()).thenReturn(true);
+        when(streamErrorCaptureConfig.getDeduplicationCacheMaxSize()).thenReturn(10);
+
+        streamErrorHashCache.hashPersisted("hash");
+
+        assertThat(streamErrorHashCache.isHashPersisted("hash"), is(false));
+
+        final ArgumentCaptor<StreamErrorHashPersistedEvent> eventCaptor = ArgumentCaptor.forClass(StreamErrorHashPersistedEvent.class);
+        verify(streamErrorHashPersistedEventFirer).fire(eventCaptor.capture());
+
+        streamErrorHashCache.onStreamErrorHashPersisted(eventCaptor.getValue());
+
+        assertThat(streamErrorHashCache.isHashPersisted("hash"), is(true));
+        assertThat(meterRegistry.counter("event-store.stream.errors.deduplicated").count(), is(1.0));
+    }
+
+    @Test
+    public void shouldRemoveThePersistedHashesOnInvalidate() throws Exception {
+
+        when(streamErrorCaptureConfig.isStreamErrorDeduplicationEnabled()).thenReturn(true);
+        when(streamErrorCaptureConfig.getDeduplicationCacheMaxSize()).thenReturn(10);
+
+        streamErrorHashCache.onStreamErrorHashPersisted(new StreamErrorHashPersistedEvent("hash_1"));
+        streamErrorHashCache.onStreamErrorHashPersisted(new StreamErrorHashPersistedEvent("hash_2"));
+        streamErrorHashCache.invalidatePersistedHashes();
+
+        assertThat(streamErrorHashCache.isHashPersisted("hash_1"), is(false));
+        assertThat(streamErrorHashCache.isHashPersisted("hash_2"), is(false));
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedPersistedHashOnceTheMaxSizeIsReached() throws Exception {
+
+        when(streamErrorCaptureConfig.isStreamErrorDeduplicationEnabled()).thenReturn(true);
+        when(streamErrorCaptureConfig.getDeduplicationCacheMaxSize()).thenReturn(2);
+
+        streamErrorHashCache.onStreamErrorHashPersisted(new StreamErrorHashPersistedEvent("hash_1"));
+        streamErrorHashCache.onStreamErrorHashPersisted(new StreamErrorHashPersistedEvent("hash_2"));
+        streamErrorHashCache.isHashPersisted("hash_1");
+        streamErrorHashCache.onStreamErrorHashPersisted(new StreamErrorHashPersistedEvent("hash_3"));
+
+        assertThat(streamErrorHashCache.isHashPersisted("hash_1"), is(true));
+        assertThat(streamErrorHashCache.isHashPersisted("hash_2"), is(false));
+        assertThat(streamErrorHashCache.isHashPersisted("hash_3"), is(true));
+    }
+
+    @Test
+    public void shouldNeverReportAHashAsPersistedIfDisabled() throws Exception {
+
+        when(streamErrorCaptureConfig.isStreamErrorDeduplicationEnabled()).thenReturn(false);
+
+        streamErrorHashCache.hashPersisted("hash");
+        streamErrorHashCache.onStreamErrorHashPersisted(new StreamErrorHashPersistedEvent("hash"));
+
+        assertThat(streamErrorHashCache.isHashPersisted("hash"), is(false));
+        verify(streamErrorHashPersistedEventFirer, never()).fire(any());
+    }
+}
@@ -6,11 +6,13 @@ import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.common.converter.ZonedDateTimes.toSqlTimestamp;
 import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
 
 import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamStatisticConfig;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamError;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetails;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetailsPersistence;
@@ -19,6 +21,7 @@ import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamEr
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorHashPersistence;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorHashRowMapper;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorPersistence;
+import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorWithHashPersistence;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamStatusErrorPersistence;
 import uk.gov.justice.services.event.buffer.core.repository.subscription.NewStreamStatusRepository;
 import uk.gov.justice.services.event.buffer.core.repository.subscription.NewStreamStatusRowMapper;
@@ -35,8 +38,10 @@ import java.sql.Timestamp;
 import java.util.Optional;
 import java.util.UUID;
 
+import javax.enterprise.event.Event;
 import javax.sql.DataSource;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -63,6 +68,9 @@ public class StreamErrorRepositoryIT {
     @InjectMocks
     private StreamErrorDetailsPersistence streamErrorDetailsPersistence;
 
+    @InjectMocks
+    private StreamErrorWithHashPersistence streamErrorWithHashPersistence;
+
     @Spy
     private StreamErrorPersistence streamErrorPersistence;
 
@@ -72,6 +80,9 @@ public class StreamErrorRepositoryIT {
     @Spy
     private StreamStatusErrorPersistence streamStatusErrorPersistence = new StreamStatusErrorPersistence();
 
+    @Mock
+    private StreamErrorHashCache streamErrorHashCache;
+
     @Mock
     private Logger logger;
 
@@ -84,10 +95,13 @@ public class StreamErrorRepositoryIT {
                 "framework",
                 "stream_status",
                 "stream_buffer",
-                "stream_error");
+                "stream_error",
+                "stream_error_hash");
         setField(streamErrorPersistence, "streamErrorHashPersistence", streamErrorHashPersistence);
         setField(streamErrorPersistence, "streamErrorDetailsPersistence", streamErrorDetailsPersistence);
+        setField(streamErrorPersistence, "streamErrorWithHashPersistence", streamErrorWithHashPersistence);
         setField(streamStatusErrorPersistence, "clock", new UtcClock());
+        setField(streamStatusErrorPersistence, "streamStatisticConfig", new StreamStatisticConfig());
     }
 
     @Test
@@ -152,6 +166,52 @@ public class StreamErrorRepositoryIT {
 
     }
 
+    @Test
+    public void shouldLockStreamAndGetStreamErrorDetailsOfErroredStreamInOneStatement() throws Exception {
+
+        final long streamErrorPosition = 234L;
+        final long currentStreamPosition = 233L;
+        final StreamError streamError = aStreamError(streamErrorPosition);
+        final UUID streamId = streamError.streamErrorDetails().streamId();
+        final String source = streamError.streamErrorDetails().source();
+        final String componentName = streamError.streamErrorDetails().componentName();
+
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+
+        insertStreamStatus(streamId, currentStreamPosition, source, componentName, viewStoreDataSource.getConnection());
+
+        streamErrorRepository.markStreamAsErrored(streamError, currentStreamPosition);
+
+        final NewStreamStatusRepository newStreamStatusRepository = new NewStreamStatusRepository();
+
+        setField(newStreamStatusRepository, "streamStatusRowMapper", new NewStreamStatusRowMapper());
+        setField(newStreamStatusRepository, "streamErrorDetailsRowMapper", new StreamErrorDetailsRowMapper());
+        setField(newStreamStatusRepository, "viewStoreJdbcDataSourceProvider", viewStoreJdbcDataSourceProvider);
+        setField(newStreamStatusRepository, "streamStatisticConfig", new StreamStatisticConfig());
+
+        final StreamUpdateContext lockedStreamUpdateContext = newStreamStatusRepository.lockStreamAndGetStreamUpdateContextWithError(
+                streamId,
+                source,
+                componentName,
+                streamErrorPosition);
+
+        assertThat(lockedStreamUpdateContext.currentStreamPosition(), is(currentStreamPosition));
+        assertThat(lockedStreamUpdateContext.streamErrorId(), is(of(streamError.streamErrorDetails().id())));
+        assertThat(lockedStreamUpdateContext.existingStreamErrorDetails(), is(of(streamError.streamErrorDetails())));
+
+        final StreamUpdateContext upsertedStreamUpdateContext = newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
+                streamId,
+                source,
+                componentName,
+                new UtcClock().now(),
+                false,
+                streamErrorPosition);
+
+        assertThat(upsertedStreamUpdateContext.currentStreamPosition(), is(currentStreamPosition));
+        assertThat(upsertedStreamUpdateContext.streamErrorId(), is(of(streamError.streamErrorDetails().id())));
+        assertThat(upsertedStreamUpdateContext.existingStreamErrorDetails(), is(of(streamError.streamErrorDetails())));
+    }
+
     @Test
     public void shouldSaveNewStreamErrorAndUpdateStreamStatusTableWhenStreamExistsInStreamStatusTable() throws Exception {
 
@@ -213,6 +273,53 @@ public class StreamErrorRepositoryIT {
         assertThat(updatedTimestamp.get().after(lastUpdatedAt), is(true));
     }
 
+    @Test
+    public void shouldSaveStreamErrorIfItsCachedStreamErrorHashRowWasDeletedByAnotherNode() throws Exception {
+
+        final long currentStreamPosition = 233L;
+        final StreamError fixedStreamError = aStreamError(234L);
+        final StreamError streamError = aStreamError(234L);
+        final UUID fixedStreamId = fixedStreamError.streamErrorDetails().streamId();
+        final UUID streamId = streamError.streamErrorDetails().streamId();
+        final String hash = streamError.streamErrorHash().hash();
+        final String source = streamError.streamErrorDetails().source();
+        final String componentName = streamError.streamErrorDetails().componentName();
+
+        final StreamErrorCaptureConfig streamErrorCaptureConfig = new StreamErrorCaptureConfig();
+        setField(streamErrorCaptureConfig, "streamErrorDeduplicationEnabled", "true");
+        setField(streamErrorCaptureConfig, "deduplicationCacheMaxSize", "10");
+        final StreamErrorHashCache warmStreamErrorHashCache = new StreamErrorHashCache();
+        setField(warmStreamErrorHashCache, "streamErrorCaptureConfig", streamErrorCaptureConfig);
+        setField(warmStreamErrorHashCache, "streamErrorHashPersistedEventFirer", mock(Event.class));
+        setField(warmStreamErrorHashCache, "meterRegistry", new SimpleMeterRegistry());
+        setField(streamErrorRepository, "streamErrorHashCache", warmStreamErrorHashCache);
+
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+        insertStreamStatus(fixedStreamId, currentStreamPosition, source, componentName, viewStoreDataSource.getConnection());
+        insertStreamStatus(streamId, currentStreamPosition, source, componentName, viewStoreDataSource.getConnection());
+
+        streamErrorRepository.markStreamAsErrored(fixedStreamError, currentStreamPosition);
+        warmStreamErrorHashCache.onStreamErrorHashPersisted(new StreamErrorHashPersistedEvent(hash));
+
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            streamStatusErrorPersistence.unmarkStreamStatusAsErrored(fixedStreamId, source, componentName, connection);
+            streamErrorPersistence.removeErrorForStream(fixedStreamError.streamErrorDetails().id(), fixedStreamId, source, componentName, connection);
+            assertThat(streamErrorHashPersistence.findByHash(hash, connection), is(empty()));
+        }
+
+        assertThat(warmStreamErrorHashCache.isHashPersisted(hash), is(true));
+
+        streamErrorRepository.markStreamAsErrored(streamError, currentStreamPosition);
+
+        try (final Connection connection = viewStoreDataSource.getConnection()) {
+            assertThat(streamErrorPersistence.findByErrorId(streamError.streamErrorDetails().id(), connection), is(of(streamError)));
+        }
+
+        final Optional<StreamStatusErrorDetails> streamStatusErrorDetails = findErrorInStreamStatusTable(streamError.streamErrorDetails().id());
+        assertThat(streamStatusErrorDetails.isPresent(), is(true));
+        assertThat(streamStatusErrorDetails.get().streamId, is(streamId));
+    }
+
     private Optional<StreamStatusErrorDetails> findErrorInStreamStatusTable(final UUID streamErrorId) throws SQLException {
 
         final String sql = """
@@ -1,13 +1,16 @@
 package uk.gov.justice.services.event.sourcing.subscription.error;
 
+import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -16,6 +19,7 @@ import static org.mockito.Mockito.when;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamError;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorDetails;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorHandlingException;
+import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorHash;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamErrorPersistence;
 import uk.gov.justice.services.event.buffer.core.repository.streamerror.StreamStatusErrorPersistence;
 import uk.gov.justice.services.jdbc.persistence.ViewStoreJdbcDataSourceProvider;
@@ -26,6 +30,7 @@ import java.sql.Timestamp;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -49,6 +54,9 @@ public class StreamErrorRepositoryTest {
     @Mock
     private StreamStatusErrorPersistence streamStatusErrorPersistence;
 
+    @Mock
+    private StreamErrorHashCache streamErrorHashCache;
+
     @Mock
     private Logger logger;
 
@@ -64,8 +72,10 @@ public class StreamErrorRepositoryTest {
         final Long currentPosition = 98239846L;
         final String componentName = "SOME_COMPONENT";
         final String source = "some-source";
+        final String hash = "some-hash";
         final StreamError streamError = mock(StreamError.class);
         final StreamErrorDetails streamErrorDetails = mock(StreamErrorDetails.class);
+        final StreamErrorHash streamErrorHash = mock(StreamErrorHash.class);
 
         final DataSource viewStoreDataSource = mock(DataSource.class);
         final Connection connection = mock(Connection.class);
@@ -75,6 +85,9 @@ public class StreamErrorRepositoryTest {
 
         when(streamStatusErrorPersistence.lockStreamForUpdate(streamId, source, componentName, connection)).thenReturn(currentPosition);
 
+        when(streamError.streamErrorHash()).thenReturn(streamErrorHash);
+        when(streamErrorHash.hash()).thenReturn(hash);
+        when(streamErrorHashCache.isHashPersisted(hash)).thenReturn(false);
         when(streamErrorPersistence.save(streamError, connection)).thenReturn(true);
 
         when(streamError.streamErrorDetails()).thenReturn(streamErrorDetails);
@@ -86,8 +99,9 @@ public class StreamErrorRepositoryTest {
 
         streamErrorRepository.markStreamAsErrored(streamError, currentPosition);
 
-        final InOrder inOrder = inOrder(streamStatusErrorPersistence, streamErrorPersistence, connection);
+        final InOrder inOrder = inOrder(streamStatusErrorPersistence, streamErrorPersistence, streamErrorHashCache, connection);
         inOrder.verify(streamErrorPersistence).save(streamError, connection);
+        inOrder.verify(streamErrorHashCache).hashPersisted(hash);
         inOrder.verify(streamStatusErrorPersistence).markStreamAsErrored(
                 streamId,
                 streamErrorId,
@@ -110,6 +124,7 @@ public class StreamErrorRepositoryTest {
         final String componentName = "SOME_COMPONENT";
         final String source = "some-source";
         final StreamErrorDetails streamErrorDetails = mock(StreamErrorDetails.class);
+        final StreamErrorHash streamErrorHash = mock(StreamErrorHash.class);
 
 
         final DataSource viewStoreDataSource = mock(DataSource.class);
@@ -128,6 +143,8 @@ public class StreamErrorRepositoryTest {
         when(streamStatusErrorPersistence.lockStreamForUpdate(streamId, source, componentName, connection)).thenReturn(currentPosition);
 
 
+        when(streamError.streamErrorHash()).thenReturn(streamErrorHash);
+        when(streamErrorHash.hash()).thenReturn("some-hash");
         when(streamErrorPersistence.save(streamError, connection)).thenReturn(false);
 
         streamErrorRepository.markStreamAsErrored(streamError, currentPosition);
@@ -158,6 +175,54 @@ public class StreamErrorRepositoryTest {
         assertThat(streamErrorHandlingException.getMessage(), is("Failed to get connection to view-store"));
     }
 
+    @Test
+    public void shouldSaveStreamErrorInASingleStatementIfTheStreamErrorHashIsKnownToBePersisted() throws Exception {
+
+        final UUID streamErrorId = randomUUID();
+        final UUID streamId = randomUUID();
+        final Long positionInStream = 98239847L;
+        final Long currentPosition = 98239846L;
+        final String componentName = "SOME_COMPONENT";
+        final String source = "some-source";
+        final String hash = "some-hash";
+        final StreamError streamError = mock(StreamError.class);
+        final StreamErrorDetails streamErrorDetails = mock(StreamErrorDetails.class);
+        final StreamErrorHash streamErrorHash = mock(StreamErrorHash.class);
+
+        final DataSource viewStoreDataSource = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+        when(viewStoreDataSource.getConnection()).thenReturn(connection);
+
+        when(streamStatusErrorPersistence.lockStreamForUpdate(streamId, source, componentName, connection)).thenReturn(currentPosition);
+
+        when(streamError.streamErrorHash()).thenReturn(streamErrorHash);
+        when(streamErrorHash.hash()).thenReturn(hash);
+        when(streamErrorHashCache.isHashPersisted(hash)).thenReturn(true);
+        when(streamErrorPersistence.saveWithPersistedHash(streamError, connection)).thenReturn(true);
+
+        when(streamError.streamErrorDetails()).thenReturn(streamErrorDetails);
+        when(streamErrorDetails.id()).thenReturn(streamErrorId);
+        when(streamErrorDetails.streamId()).thenReturn(streamId);
+        when(streamErrorDetails.positionInStream()).thenReturn(positionInStream);
+        when(streamErrorDetails.componentName()).thenReturn(componentName);
+        when(streamErrorDetails.source()).thenReturn(source);
+
+        streamErrorRepository.markStreamAsErrored(streamError, currentPosition);
+
+        verify(streamErrorPersistence).saveWithPersistedHash(streamError, connection);
+        verify(streamStatusErrorPersistence).markStreamAsErrored(
+                streamId,
+                streamErrorId,
+                positionInStream,
+                componentName,
+                source,
+                connection);
+        verifyNoMoreInteractions(streamErrorPersistence);
+        verify(connection).close();
+    }
+
     @Test
     public void shouldMarkStreamAsFixed() throws Exception {
 
@@ -178,6 +243,8 @@ public class StreamErrorRepositoryTest {
         inOrder.verify(streamStatusErrorPersistence).unmarkStreamStatusAsErrored(streamId, source, componentName, connection);
         inOrder.verify(streamErrorPersistence).removeErrorForStream(streamErrorId, streamId, source, componentName, connection);
         inOrder.verify(connection).close();
+
+        verify(streamErrorHashCache).invalidatePersistedHashes();
     }
 
     @Test
@@ -263,6 +330,51 @@ public class StreamErrorRepositoryTest {
         verify(connection).close();
     }
 
+    @Test
+    public void shouldLazilyStreamAllStreamErrorsBySourceAndComponentAPageAtATime() throws Exception {
+
+        final String source = "some-source";
+        final String componentName = "some-component";
+        final UUID streamId_2 = randomUUID();
+        final DataSource viewStoreDataSource = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        final StreamError streamError_1 = mock(StreamError.class);
+        final StreamError streamError_2 = mock(StreamError.class, RETURNS_DEEP_STUBS);
+        final StreamError streamError_3 = mock(StreamError.class);
+
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+        when(viewStoreDataSource.getConnection()).thenReturn(connection);
+        when(streamErrorPersistence.findPageBySourceAndComponent(source, componentName, empty(), 2, connection)).thenReturn(List.of(streamError_1, streamError_2));
+        when(streamError_2.streamErrorDetails().streamId()).thenReturn(streamId_2);
+        when(streamErrorPersistence.findPageBySourceAndComponent(source, componentName, of(streamId_2), 2, connection)).thenReturn(List.of(streamError_3));
+
+        final Stream<StreamError> streamErrors = streamErrorRepository.streamAllBySourceAndComponent(source, componentName, 2);
+
+        verifyNoInteractions(viewStoreJdbcDataSourceProvider);
+        verifyNoInteractions(streamErrorPersistence);
+
+        assertThat(streamErrors.toList(), is(List.of(streamError_1, streamError_2, streamError_3)));
+
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    public void shouldNotReadAnotherPageOfStreamErrorsIfTheFirstPageIsEmpty() throws Exception {
+
+        final String source = "some-source";
+        final String componentName = "some-component";
+        final DataSource viewStoreDataSource = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+
+        when(viewStoreJdbcDataSourceProvider.getDataSource()).thenReturn(viewStoreDataSource);
+        when(viewStoreDataSource.getConnection()).thenReturn(connection);
+        when(streamErrorPersistence.findPageBySourceAndComponent(source, componentName, empty(), 2, connection)).thenReturn(List.of());
+
+        assertThat(streamErrorRepository.streamAllBySourceAndComponent(source, componentName, 2).toList().isEmpty(), is(true));
+
+        verify(connection).close();
+    }
+
     @Test
     public void shouldFindByErrorId() throws Exception {
 
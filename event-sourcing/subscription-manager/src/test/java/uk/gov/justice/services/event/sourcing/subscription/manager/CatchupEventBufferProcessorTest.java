@@ -2,24 +2,36 @@ package uk.gov.justice.services.event.sourcing.subscription.manager;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.CATCHUP_EVENT_PROCESSING;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
 
 import uk.gov.justice.services.core.interceptor.InterceptorChainProcessor;
 import uk.gov.justice.services.core.interceptor.InterceptorChainProcessorProducer;
 import uk.gov.justice.services.core.interceptor.InterceptorContext;
 import uk.gov.justice.services.event.buffer.api.EventBufferService;
+import uk.gov.justice.services.event.buffer.core.service.BatchEventBufferService;
 import uk.gov.justice.services.event.sourcing.subscription.manager.cdi.InterceptorContextProvider;
+import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.subscription.registry.SubscriptionsDescriptorsRegistry;
 
+import java.util.List;
 import java.util.stream.Stream;
 
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -45,6 +57,12 @@ public class CatchupEventBufferProcessorTest {
     @Mock
     private InterceptorChainProcessorProducer interceptorChainProcessorProducer;
 
+    @Mock
+    private EventSourceNameCalculator eventSourceNameCalculator;
+
+    @Mock
+    private EventStoreTimers eventStoreTimers;
+
     @Captor
     private ArgumentCaptor<InterceptorContext> interceptorContextCaptor;
 
@@ -86,4 +104,107 @@ public class CatchupEventBufferProcessorTest {
 
         assertThat(interceptorContextCaptor.getValue(), is(interceptorContext));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldTimeProcessingTheEnvelopeTaggedBySourceAndComponent() {
+        final JsonEnvelope incomingJsonEnvelope = mock(JsonEnvelope.class);
+        final InterceptorContext interceptorContext = mock(InterceptorContext.class);
+        final Timer.Sample sample = Timer.start();
+
+        when(subscriptionsDescriptorsRegistry.findComponentNameBy(SUBSCRIPTION_NAME)).thenReturn(EVENT_LISTENER);
+        when(interceptorChainProcessorProducer.produceLocalProcessor(EVENT_LISTENER)).thenReturn(interceptorChainProcessor);
+        when(eventStoreTimers.start()).thenReturn(sample);
+        when(eventBufferService.currentOrderedEventsWith(incomingJsonEnvelope, EVENT_LISTENER)).thenReturn(Stream.of(incomingJsonEnvelope));
+        when(interceptorContextProvider.getInterceptorContext(incomingJsonEnvelope)).thenReturn(interceptorContext);
+        when(eventSourceNameCalculator.getSource(incomingJsonEnvelope)).thenReturn("some-source");
+
+        catchupEventBufferProcessor.processWithEventBuffer(incomingJsonEnvelope, SUBSCRIPTION_NAME);
+
+        final InOrder inOrder = inOrder(eventStoreTimers, interceptorChainProcessor);
+        inOrder.verify(eventStoreTimers).start();
+        inOrder.verify(interceptorChainProcessor).process(interceptorContext);
+        inOrder.verify(eventStoreTimers).stop(sample, CATCHUP_EVENT_PROCESSING, "some-source", EVENT_LISTENER);
+    }
+
+    @Test
+    public void shouldProcessBatchOfEnvelopesWithEventBufferAndTimeEachEvent() {
+        final BatchEventBufferService batchEventBufferService = mock(BatchEventBufferService.class);
+        final JsonEnvelope incomingJsonEnvelope_1 = mock(JsonEnvelope.class);
+        final JsonEnvelope incomingJsonEnvelope_2 = mock(JsonEnvelope.class);
+        final InterceptorContext interceptorContext_1 = mock(InterceptorContext.class);
+        final InterceptorContext interceptorContext_2 = mock(InterceptorContext.class);
+        final List<JsonEnvelope> incomingJsonEnvelopes = List.of(incomingJsonEnvelope_1, incomingJsonEnvelope_2);
+        final Timer.Sample sample_1 = Timer.start();
+        final Timer.Sample sample_2 = Timer.start();
+
+        when(subscriptionsDescriptorsRegistry.findComponentNameBy(SUBSCRIPTION_NAME)).thenReturn(EVENT_LISTENER);
+        when(interceptorChainProcessorProducer.produceLocalProcessor(EVENT_LISTENER)).thenReturn(interceptorChainProcessor);
+        when(eventStoreTimers.start()).thenReturn(sample_1, sample_2);
+        when(batchEventBufferService.currentOrderedEventsWith(incomingJsonEnvelopes, EVENT_LISTENER)).thenReturn(Stream.of(incomingJsonEnvelope_1, incomingJsonEnvelope_2));
+        when(interceptorContextProvider.getInterceptorContext(incomingJsonEnvelope_1)).thenReturn(interceptorContext_1);
+        when(interceptorContextProvider.getInterceptorContext(incomingJsonEnvelope_2)).thenReturn(interceptorContext_2);
+        when(eventSourceNameCalculator.getSource(incomingJsonEnvelope_1)).thenReturn("some-source");
+        when(eventSourceNameCalculator.getSource(incomingJsonEnvelope_2)).thenReturn("some-other-source");
+
+        setField(catchupEventBufferProcessor, "eventBufferService", batchEventBufferService);
+
+        catchupEventBufferProcessor.processBatchWithEventBuffer(incomingJsonEnvelopes, SUBSCRIPTION_NAME);
+
+        final InOrder inOrder = inOrder(eventStoreTimers, interceptorChainProcessor);
+        inOrder.verify(eventStoreTimers).start();
+        inOrder.verify(interceptorChainProcessor).process(interceptorContext_1);
+        inOrder.verify(eventStoreTimers).stop(sample_1, CATCHUP_EVENT_PROCESSING, "some-source", EVENT_LISTENER);
+        inOrder.verify(eventStoreTimers).start();
+        inOrder.verify(interceptorChainProcessor).process(interceptorContext_2);
+        inOrder.verify(eventStoreTimers).stop(sample_2, CATCHUP_EVENT_PROCESSING, "some-other-source", EVENT_LISTENER);
+
+        verifyNoInteractions(eventBufferService);
+    }
+
+    @Test
+    public void shouldProcessBatchOfEnvelopesOneAtATimeIfTheEventBufferServiceCannotTakeABatch() {
+        final JsonEnvelope incomingJsonEnvelope_1 = mock(JsonEnvelope.class);
+        final JsonEnvelope incomingJsonEnvelope_2 = mock(JsonEnvelope.class);
+        final InterceptorContext interceptorContext_1 = mock(InterceptorContext.class);
+        final InterceptorContext interceptorContext_2 = mock(InterceptorContext.class);
+        final List<JsonEnvelope> incomingJsonEnvelopes = List.of(incomingJsonEnvelope_1, incomingJsonEnvelope_2);
+
+        when(subscriptionsDescriptorsRegistry.findComponentNameBy(SUBSCRIPTION_NAME)).thenReturn(EVENT_LISTENER);
+        when(interceptorChainProcessorProducer.produceLocalProcessor(EVENT_LISTENER)).thenReturn(interceptorChainProcessor);
+        when(eventBufferService.currentOrderedEventsWith(incomingJsonEnvelope_1, EVENT_LISTENER)).thenReturn(Stream.of(incomingJsonEnvelope_1));
+        when(eventBufferService.currentOrderedEventsWith(incomingJsonEnvelope_2, EVENT_LISTENER)).thenReturn(Stream.of(incomingJsonEnvelope_2));
+        when(interceptorContextProvider.getInterceptorContext(incomingJsonEnvelope_1)).thenReturn(interceptorContext_1);
+        when(interceptorContextProvider.getInterceptorContext(incomingJsonEnvelope_2)).thenReturn(interceptorContext_2);
+
+        catchupEventBufferProcessor.processBatchWithEventBuffer(incomingJsonEnvelopes, SUBSCRIPTION_NAME);
+
+        final InOrder inOrder = inOrder(eventBufferService, interceptorChainProcessor);
+        inOrder.verify(eventBufferService).currentOrderedEventsWith(incomingJsonEnvelope_1, EVENT_LISTENER);
+        inOrder.verify(interceptorChainProcessor).process(interceptorContext_1);
+        inOrder.verify(eventBufferService).currentOrderedEventsWith(incomingJsonEnvelope_2, EVENT_LISTENER);
+        inOrder.verify(interceptorChainProcessor).process(interceptorContext_2);
+    }
+
+    @Test
+    public void shouldStillTimeAnEventIfProcessingItFails() {
+        final JsonEnvelope incomingJsonEnvelope = mock(JsonEnvelope.class);
+        final InterceptorContext interceptorContext = mock(InterceptorContext.class);
+        final RuntimeException processingException = new RuntimeException("Ooops");
+        final Timer.Sample sample = Timer.start();
+
+        when(subscriptionsDescriptorsRegistry.findComponentNameBy(SUBSCRIPTION_NAME)).thenReturn(EVENT_LISTENER);
+        when(interceptorChainProcessorProducer.produceLocalProcessor(EVENT_LISTENER)).thenReturn(interceptorChainProcessor);
+        when(eventStoreTimers.start()).thenReturn(sample);
+        when(eventBufferService.currentOrderedEventsWith(incomingJsonEnvelope, EVENT_LISTENER)).thenReturn(Stream.of(incomingJsonEnvelope));
+        when(interceptorContextProvider.getInterceptorContext(incomingJsonEnvelope)).thenReturn(interceptorContext);
+        when(eventSourceNameCalculator.getSource(incomingJsonEnvelope)).thenReturn("some-source");
+        doThrow(processingException).when(interceptorChainProcessor).process(interceptorContext);
+
+        final RuntimeException runtimeException = assertThrows(
+                RuntimeException.class,
+                () -> catchupEventBufferProcessor.processWithEventBuffer(incomingJsonEnvelope, SUBSCRIPTION_NAME));
+
+        assertThat(runtimeException, is(processingException));
+        verify(eventStoreTimers).stop(sample, CATCHUP_EVENT_PROCESSING, "some-source", EVENT_LISTENER);
+    }
+}
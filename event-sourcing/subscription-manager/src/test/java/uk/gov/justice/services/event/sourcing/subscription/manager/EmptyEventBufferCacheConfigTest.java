@@ -0,0 +1,30 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class EmptyEventBufferCacheConfigTest {
+
+    @InjectMocks
+    private EmptyEventBufferCacheConfig emptyEventBufferCacheConfig;
+
+    @Test
+    public void shouldGetTheInjectedGlobalValues() throws Exception {
+
+        setField(emptyEventBufferCacheConfig, "emptyEventBufferCacheEnabled", "true");
+        setField(emptyEventBufferCacheConfig, "maxCachedStreams", "23");
+
+        assertThat(emptyEventBufferCacheConfig.isEmptyEventBufferCacheEnabled(), is(true));
+        assertThat(emptyEventBufferCacheConfig.getMaxCachedStreams(), is(23));
+
+        setField(emptyEventBufferCacheConfig, "emptyEventBufferCacheEnabled", "false");
+        assertThat(emptyEventBufferCacheConfig.isEmptyEventBufferCacheEnabled(), is(false));
+    }
+}
@@ -0,0 +1,103 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class EmptyEventBufferCacheTest {
+
+    private static final String SOURCE = "some-source";
+    private static final String COMPONENT_NAME = "some-component";
+
+    @Mock
+    private EmptyEventBufferCacheConfig emptyEventBufferCacheConfig;
+
+    @InjectMocks
+    private EmptyEventBufferCache emptyEventBufferCache;
+
+    @Test
+    public void shouldNeverKnowEventBufferToBeEmptyIfDisabled() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(emptyEventBufferCacheConfig.isEmptyEventBufferCacheEnabled()).thenReturn(false);
+
+        emptyEventBufferCache.markEmptyAt(streamId, SOURCE, COMPONENT_NAME, 0L);
+
+        assertThat(emptyEventBufferCache.isKnownEmptyAt(streamId, SOURCE, COMPONENT_NAME, 0L), is(false));
+        assertThat(emptyEventBufferCache.isKnownEmpty(streamId, SOURCE, COMPONENT_NAME), is(false));
+    }
+
+    @Test
+    public void shouldKnowEventBufferToBeEmptyAtTheVersionItWasCachedAt() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(emptyEventBufferCacheConfig.isEmptyEventBufferCacheEnabled()).thenReturn(true);
+        when(emptyEventBufferCacheConfig.getMaxCachedStreams()).thenReturn(10);
+
+        assertThat(emptyEventBufferCache.isKnownEmptyAt(streamId, SOURCE, COMPONENT_NAME, 2L), is(false));
+        assertThat(emptyEventBufferCache.isKnownEmpty(streamId, SOURCE, COMPONENT_NAME), is(false));
+
+        emptyEventBufferCache.markEmptyAt(streamId, SOURCE, COMPONENT_NAME, 2L);
+
+        assertThat(emptyEventBufferCache.isKnownEmptyAt(streamId, SOURCE, COMPONENT_NAME, 2L), is(true));
+        assertThat(emptyEventBufferCache.isKnownEmpty(streamId, SOURCE, COMPONENT_NAME), is(true));
+        assertThat(emptyEventBufferCache.isKnownEmpty(streamId, SOURCE, "some-other-component"), is(false));
+    }
+
+    @Test
+    public void shouldForgetStreamIfEventBufferVersionHasChangedSinceCached() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(emptyEventBufferCacheConfig.isEmptyEventBufferCacheEnabled()).thenReturn(true);
+        when(emptyEventBufferCacheConfig.getMaxCachedStreams()).thenReturn(10);
+
+        emptyEventBufferCache.markEmptyAt(streamId, SOURCE, COMPONENT_NAME, 2L);
+
+        assertThat(emptyEventBufferCache.isKnownEmptyAt(streamId, SOURCE, COMPONENT_NAME, 3L), is(false));
+        assertThat(emptyEventBufferCache.isKnownEmpty(streamId, SOURCE, COMPONENT_NAME), is(false));
+        assertThat(emptyEventBufferCache.isKnownEmptyAt(streamId, SOURCE, COMPONENT_NAME, 2L), is(false));
+    }
+
+    @Test
+    public void shouldForgetStreamWhenAnEventOfTheStreamIsBuffered() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(emptyEventBufferCacheConfig.isEmptyEventBufferCacheEnabled()).thenReturn(true);
+        when(emptyEventBufferCacheConfig.getMaxCachedStreams()).thenReturn(10);
+
+        emptyEventBufferCache.markEmptyAt(streamId, SOURCE, COMPONENT_NAME, 2L);
+        emptyEventBufferCache.eventBuffered(streamId, SOURCE, COMPONENT_NAME);
+
+        assertThat(emptyEventBufferCache.isKnownEmpty(streamId, SOURCE, COMPONENT_NAME), is(false));
+    }
+
+    @Test
+    public void shouldForgetAllCachedStreamsWhenTheMaximumNumberOfCachedStreamsIsReached() throws Exception {
+
+        final UUID streamId_1 = randomUUID();
+        final UUID streamId_2 = randomUUID();
+
+        when(emptyEventBufferCacheConfig.isEmptyEventBufferCacheEnabled()).thenReturn(true);
+        when(emptyEventBufferCacheConfig.getMaxCachedStreams()).thenReturn(1);
+
+        emptyEventBufferCache.markEmptyAt(streamId_1, SOURCE, COMPONENT_NAME, 0L);
+        emptyEventBufferCache.markEmptyAt(streamId_2, SOURCE, COMPONENT_NAME, 0L);
+
+        assertThat(emptyEventBufferCache.isKnownEmpty(streamId_1, SOURCE, COMPONENT_NAME), is(false));
+        assertThat(emptyEventBufferCache.isKnownEmpty(streamId_2, SOURCE, COMPONENT_NAME), is(true));
+    }
+}
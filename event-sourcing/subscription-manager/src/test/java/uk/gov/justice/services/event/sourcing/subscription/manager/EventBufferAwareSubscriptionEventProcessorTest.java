@@ -2,14 +2,22 @@ package uk.gov.justice.services.event.sourcing.subscription.manager;
 
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InOrder;
@@ -26,6 +34,12 @@ public class EventBufferAwareSubscriptionEventProcessorTest {
     @Mock
     private SubscriptionEventProcessor subscriptionEventProcessor;
 
+    @Mock
+    private EventBufferDrainConfig eventBufferDrainConfig;
+
+    @Mock
+    private StreamPositionTracker streamPositionTracker;
+
     @InjectMocks
     private EventBufferAwareSubscriptionEventProcessor eventBufferAwareSubscriptionEventProcessor;
 
@@ -38,7 +52,8 @@ public class EventBufferAwareSubscriptionEventProcessorTest {
         final JsonEnvelope nextJsonEnvelopeFromBuffer_1 = mock(JsonEnvelope.class);
         final JsonEnvelope nextJsonEnvelopeFromBuffer_2 = mock(JsonEnvelope.class);
 
-        when(subscriptionEventProcessor.processSingleEvent(incomingJsonEnvelope, componentName)).thenReturn(true);
+        when(streamPositionTracker.mayBeInEventBuffer(incomingJsonEnvelope, componentName)).thenReturn(true);
+        when(subscriptionEventProcessor.processSingleEvent(incomingJsonEnvelope, componentName, true)).thenReturn(true);
         when(newEventBufferManager.getNextFromEventBuffer(incomingJsonEnvelope, componentName)).thenReturn(of(nextJsonEnvelopeFromBuffer_1));
         when(newEventBufferManager.getNextFromEventBuffer(nextJsonEnvelopeFromBuffer_1, componentName)).thenReturn(of(nextJsonEnvelopeFromBuffer_2));
         when(newEventBufferManager.getNextFromEventBuffer(nextJsonEnvelopeFromBuffer_2, componentName)).thenReturn(empty());
@@ -47,9 +62,11 @@ public class EventBufferAwareSubscriptionEventProcessorTest {
 
         final InOrder inOrder = inOrder(
                 subscriptionEventProcessor,
+                streamPositionTracker,
                 newEventBufferManager);
         
-        inOrder.verify(subscriptionEventProcessor).processSingleEvent(incomingJsonEnvelope, componentName);
+        inOrder.verify(subscriptionEventProcessor).processSingleEvent(incomingJsonEnvelope, componentName, true);
+        inOrder.verify(streamPositionTracker).eventProcessed(incomingJsonEnvelope, componentName);
         inOrder.verify(subscriptionEventProcessor).processSingleEvent(nextJsonEnvelopeFromBuffer_1, componentName);
         inOrder.verify(subscriptionEventProcessor).processSingleEvent(nextJsonEnvelopeFromBuffer_2, componentName);
     }
@@ -60,11 +77,139 @@ public class EventBufferAwareSubscriptionEventProcessorTest {
         final String componentName = "some-component-name";
         final JsonEnvelope incomingJsonEnvelope = mock(JsonEnvelope.class);
 
-        when(subscriptionEventProcessor.processSingleEvent(incomingJsonEnvelope, componentName)).thenReturn(false);
+        when(streamPositionTracker.mayBeInEventBuffer(incomingJsonEnvelope, componentName)).thenReturn(true);
+        when(subscriptionEventProcessor.processSingleEvent(incomingJsonEnvelope, componentName, true)).thenReturn(false);
 
         eventBufferAwareSubscriptionEventProcessor.process(incomingJsonEnvelope, componentName);
 
+        verify(streamPositionTracker, never()).eventProcessed(incomingJsonEnvelope, componentName);
         verifyNoInteractions(newEventBufferManager);
         verifyNoMoreInteractions(subscriptionEventProcessor);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldNotRemoveIncomingEventFromEventBufferIfKnownNotToBeInEventBuffer() throws Exception {
+
+        final String componentName = "some-component-name";
+        final JsonEnvelope incomingJsonEnvelope = mock(JsonEnvelope.class);
+
+        when(streamPositionTracker.mayBeInEventBuffer(incomingJsonEnvelope, componentName)).thenReturn(false);
+        when(subscriptionEventProcessor.processSingleEvent(incomingJsonEnvelope, componentName, false)).thenReturn(true);
+        when(newEventBufferManager.getNextFromEventBuffer(incomingJsonEnvelope, componentName)).thenReturn(empty());
+
+        eventBufferAwareSubscriptionEventProcessor.process(incomingJsonEnvelope, componentName);
+
+        verify(subscriptionEventProcessor).processSingleEvent(incomingJsonEnvelope, componentName, false);
+        verify(streamPositionTracker).eventProcessed(incomingJsonEnvelope, componentName);
+        verifyNoMoreInteractions(subscriptionEventProcessor);
+    }
+
+    @Test
+    public void shouldProcessAllEventsFromEventBufferFollowingAnAlreadyProcessedEvent() throws Exception {
+
+        final String componentName = "some-component-name";
+
+        final JsonEnvelope processedJsonEnvelope = mock(JsonEnvelope.class);
+        final JsonEnvelope nextJsonEnvelopeFromBuffer_1 = mock(JsonEnvelope.class);
+        final JsonEnvelope nextJsonEnvelopeFromBuffer_2 = mock(JsonEnvelope.class);
+
+        when(newEventBufferManager.getNextFromEventBuffer(processedJsonEnvelope, componentName)).thenReturn(of(nextJsonEnvelopeFromBuffer_1));
+        when(newEventBufferManager.getNextFromEventBuffer(nextJsonEnvelopeFromBuffer_1, componentName)).thenReturn(of(nextJsonEnvelopeFromBuffer_2));
+        when(newEventBufferManager.getNextFromEventBuffer(nextJsonEnvelopeFromBuffer_2, componentName)).thenReturn(empty());
+
+        eventBufferAwareSubscriptionEventProcessor.processBufferedEventsFollowing(processedJsonEnvelope, componentName);
+
+        final InOrder inOrder = inOrder(subscriptionEventProcessor);
+
+        inOrder.verify(subscriptionEventProcessor).processSingleEvent(nextJsonEnvelopeFromBuffer_1, componentName);
+        inOrder.verify(subscriptionEventProcessor).processSingleEvent(nextJsonEnvelopeFromBuffer_2, componentName);
+
+        verify(subscriptionEventProcessor, never()).processSingleEvent(processedJsonEnvelope, componentName);
+    }
+
+    @Test
+    public void shouldDrainConsecutiveEventsFromEventBufferInPagesAndRemoveEachPageWithOneStatementIfBulkDrainEnabled() throws Exception {
+
+        final String componentName = "some-component-name";
+        final int pageSize = 2;
+
+        final JsonEnvelope processedJsonEnvelope = mock(JsonEnvelope.class);
+        final JsonEnvelope bufferedJsonEnvelope_1 = mock(JsonEnvelope.class);
+        final JsonEnvelope bufferedJsonEnvelope_2 = mock(JsonEnvelope.class);
+        final JsonEnvelope bufferedJsonEnvelope_3 = mock(JsonEnvelope.class);
+
+        when(eventBufferDrainConfig.isBulkDrainEnabled()).thenReturn(true);
+        when(eventBufferDrainConfig.getBulkDrainPageSize()).thenReturn(pageSize);
+        when(newEventBufferManager.getConsecutiveEventsFromEventBuffer(processedJsonEnvelope, componentName, pageSize)).thenReturn(List.of(bufferedJsonEnvelope_1, bufferedJsonEnvelope_2));
+        when(newEventBufferManager.getConsecutiveEventsFromEventBuffer(bufferedJsonEnvelope_2, componentName, pageSize)).thenReturn(List.of(bufferedJsonEnvelope_3));
+
+        eventBufferAwareSubscriptionEventProcessor.processBufferedEventsFollowing(processedJsonEnvelope, componentName);
+
+        final InOrder inOrder = inOrder(subscriptionEventProcessor, newEventBufferManager);
+
+        inOrder.verify(newEventBufferManager).getConsecutiveEventsFromEventBuffer(processedJsonEnvelope, componentName, pageSize);
+        inOrder.verify(subscriptionEventProcessor).processSingleEvent(bufferedJsonEnvelope_1, componentName, false);
+        inOrder.verify(subscriptionEventProcessor).processSingleEvent(bufferedJsonEnvelope_2, componentName, false);
+        inOrder.verify(newEventBufferManager).removeFromEventBufferUpTo(bufferedJsonEnvelope_2, componentName);
+        inOrder.verify(newEventBufferManager).getConsecutiveEventsFromEventBuffer(bufferedJsonEnvelope_2, componentName, pageSize);
+        inOrder.verify(subscriptionEventProcessor).processSingleEvent(bufferedJsonEnvelope_3, componentName, false);
+        inOrder.verify(newEventBufferManager).removeFromEventBufferUpTo(bufferedJsonEnvelope_3, componentName);
+
+        verifyNoMoreInteractions(subscriptionEventProcessor, newEventBufferManager);
+    }
+
+    @Test
+    public void shouldRemoveEventsProcessedBeforeAFailureFromEventBufferAndRethrowIfBulkDrainEnabled() throws Exception {
+
+        final String componentName = "some-component-name";
+        final int pageSize = 10;
+        final RuntimeException processingException = new RuntimeException("Ooops");
+
+        final JsonEnvelope processedJsonEnvelope = mock(JsonEnvelope.class);
+        final JsonEnvelope bufferedJsonEnvelope_1 = mock(JsonEnvelope.class);
+        final JsonEnvelope bufferedJsonEnvelope_2 = mock(JsonEnvelope.class);
+        final JsonEnvelope bufferedJsonEnvelope_3 = mock(JsonEnvelope.class);
+
+        when(eventBufferDrainConfig.isBulkDrainEnabled()).thenReturn(true);
+        when(eventBufferDrainConfig.getBulkDrainPageSize()).thenReturn(pageSize);
+        when(newEventBufferManager.getConsecutiveEventsFromEventBuffer(processedJsonEnvelope, componentName, pageSize)).thenReturn(List.of(bufferedJsonEnvelope_1, bufferedJsonEnvelope_2, bufferedJsonEnvelope_3));
+        doThrow(processingException).when(subscriptionEventProcessor).processSingleEvent(bufferedJsonEnvelope_2, componentName, false);
+
+        final RuntimeException thrown = assertThrows(
+                RuntimeException.class,
+                () -> eventBufferAwareSubscriptionEventProcessor.processBufferedEventsFollowing(processedJsonEnvelope, componentName));
+
+        assertThat(thrown, is(processingException));
+
+        verify(subscriptionEventProcessor).processSingleEvent(bufferedJsonEnvelope_1, componentName, false);
+        verify(newEventBufferManager).removeFromEventBufferUpTo(bufferedJsonEnvelope_1, componentName);
+        verify(subscriptionEventProcessor, never()).processSingleEvent(bufferedJsonEnvelope_3, componentName, false);
+    }
+
+    @Test
+    public void shouldRethrowTheProcessingFailureWithAnyFailureToRemoveFromEventBufferAsSuppressedIfBulkDrainEnabled() throws Exception {
+
+        final String componentName = "some-component-name";
+        final int pageSize = 10;
+        final RuntimeException processingException = new RuntimeException("Ooops");
+        final RuntimeException removeException = new RuntimeException("Ooops again");
+
+        final JsonEnvelope processedJsonEnvelope = mock(JsonEnvelope.class);
+        final JsonEnvelope bufferedJsonEnvelope_1 = mock(JsonEnvelope.class);
+        final JsonEnvelope bufferedJsonEnvelope_2 = mock(JsonEnvelope.class);
+
+        when(eventBufferDrainConfig.isBulkDrainEnabled()).thenReturn(true);
+        when(eventBufferDrainConfig.getBulkDrainPageSize()).thenReturn(pageSize);
+        when(newEventBufferManager.getConsecutiveEventsFromEventBuffer(processedJsonEnvelope, componentName, pageSize)).thenReturn(List.of(bufferedJsonEnvelope_1, bufferedJsonEnvelope_2));
+        doThrow(processingException).when(subscriptionEventProcessor).processSingleEvent(bufferedJsonEnvelope_2, componentName, false);
+        doThrow(removeException).when(newEventBufferManager).removeFromEventBufferUpTo(bufferedJsonEnvelope_1, componentName);
+
+        final RuntimeException thrown = assertThrows(
+                RuntimeException.class,
+                () -> eventBufferAwareSubscriptionEventProcessor.processBufferedEventsFollowing(processedJsonEnvelope, componentName));
+
+        assertThat(thrown, is(processingException));
+        assertThat(thrown.getSuppressed().length, is(1));
+        assertThat(thrown.getSuppressed()[0], is(removeException));
+    }
+}
@@ -0,0 +1,27 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class EventBufferDrainConfigTest {
+
+    @InjectMocks
+    private EventBufferDrainConfig eventBufferDrainConfig;
+
+    @Test
+    public void shouldGetTheInjectedGlobalValues() throws Exception {
+
+        setField(eventBufferDrainConfig, "bulkDrainEnabled", "true");
+        setField(eventBufferDrainConfig, "bulkDrainPageSize", "500");
+
+        assertThat(eventBufferDrainConfig.isBulkDrainEnabled(), is(true));
+        assertThat(eventBufferDrainConfig.getBulkDrainPageSize(), is(500));
+    }
+}
@@ -7,13 +7,16 @@ import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.event.buffer.core.repository.streambuffer.EventBufferEvent;
 import uk.gov.justice.services.event.buffer.core.repository.streambuffer.NewEventBufferRepository;
+import uk.gov.justice.services.event.buffer.core.repository.subscription.NewStreamStatusRepository;
 import uk.gov.justice.services.event.sourcing.subscription.error.MissingPositionInStreamException;
 import uk.gov.justice.services.eventsourcing.source.api.streams.MissingStreamIdException;
 import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
@@ -22,11 +25,13 @@ import uk.gov.justice.services.messaging.JsonObjectEnvelopeConverter;
 import uk.gov.justice.services.messaging.Metadata;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -49,6 +54,15 @@ public class NewEventBufferManagerTest {
     @Mock
     private EventSourceNameCalculator eventSourceNameCalculator;
 
+    @Mock
+    private StreamPositionTracker streamPositionTracker;
+
+    @Mock
+    private NewStreamStatusRepository newStreamStatusRepository;
+
+    @Mock
+    private EmptyEventBufferCache emptyEventBufferCache;
+
     @InjectMocks
     private NewEventBufferManager newEventBufferManager;
 
@@ -151,9 +165,33 @@ public class NewEventBufferManagerTest {
         assertThat(missingPositionInStreamException.getMessage(), is("No position found in event. name 'some-event-name', eventId 'b9d3f7a4-f6ee-4447-95bd-cf804fd2afc4'"));
     }
 
+    @Test
+    public void shouldNotQueryTheEventBufferIfKnownToBeEmpty() throws Exception {
+
+        final UUID streamId = randomUUID();
+        final String source = "some-source";
+        final String componentName = "some-component";
+
+        final JsonEnvelope currentJsonEnvelope = mock(JsonEnvelope.class);
+        final Metadata metadata = mock(Metadata.class);
+
+        when(currentJsonEnvelope.metadata()).thenReturn(metadata);
+        when(metadata.streamId()).thenReturn(of(streamId));
+        when(eventSourceNameCalculator.getSource(currentJsonEnvelope)).thenReturn(source);
+        when(metadata.position()).thenReturn(of(23L));
+        when(emptyEventBufferCache.isKnownEmpty(streamId, source, componentName)).thenReturn(true);
+
+        assertThat(newEventBufferManager.getNextFromEventBuffer(currentJsonEnvelope, componentName), is(empty()));
+        assertThat(newEventBufferManager.getConsecutiveEventsFromEventBuffer(currentJsonEnvelope, componentName, 100).isEmpty(), is(true));
+
+        verifyNoInteractions(newEventBufferRepository);
+    }
+
     @Test
     public void shouldBufferAnEventInTheEventBufferTable() throws Exception {
 
+        final UUID streamId = randomUUID();
+        final String source = "some-source";
         final String componentName = "some-component";
         final ZonedDateTime bufferedAt = new UtcClock().now();
 
@@ -161,6 +199,8 @@ public class NewEventBufferManagerTest {
         final EventBufferEvent eventBufferEvent = mock(EventBufferEvent.class);
 
         when(clock.now()).thenReturn(bufferedAt);
+        when(eventBufferEvent.getStreamId()).thenReturn(streamId);
+        when(eventBufferEvent.getSource()).thenReturn(source);
 
         when(bufferedEventFactory.createFrom(
                 incomingJsonEnvelope,
@@ -169,6 +209,62 @@ public class NewEventBufferManagerTest {
 
         newEventBufferManager.addToBuffer(incomingJsonEnvelope, componentName);
 
-        verify(newEventBufferRepository).insert(eventBufferEvent);
+        final InOrder inOrder = inOrder(newEventBufferRepository, newStreamStatusRepository, emptyEventBufferCache, streamPositionTracker);
+        inOrder.verify(newEventBufferRepository).insert(eventBufferEvent);
+        inOrder.verify(newStreamStatusRepository).incrementEventBufferVersion(streamId, source, componentName);
+        inOrder.verify(emptyEventBufferCache).eventBuffered(streamId, source, componentName);
+        inOrder.verify(streamPositionTracker).eventBuffered(incomingJsonEnvelope, componentName);
+    }
+
+    @Test
+    public void shouldGetConsecutiveEventsFollowingPreviouslyProcessedEventFromEventBufferAndConvertToJsonEnvelopes() throws Exception {
+
+        final UUID streamId = randomUUID();
+        final String source = "some-source";
+        final String componentName = "some-component";
+        final int maxEvents = 100;
+
+        final long currentPosition = 23;
+        final long nextPosition = currentPosition + 1;
+
+        final JsonEnvelope currentJsonEnvelope = mock(JsonEnvelope.class);
+        final JsonEnvelope nextJsonEnvelope_1 = mock(JsonEnvelope.class);
+        final JsonEnvelope nextJsonEnvelope_2 = mock(JsonEnvelope.class);
+        final EventBufferEvent eventBufferEvent_1 = mock(EventBufferEvent.class);
+        final EventBufferEvent eventBufferEvent_2 = mock(EventBufferEvent.class);
+        final Metadata metadata = mock(Metadata.class);
+
+        when(currentJsonEnvelope.metadata()).thenReturn(metadata);
+        when(metadata.streamId()).thenReturn(of(streamId));
+        when(eventSourceNameCalculator.getSource(currentJsonEnvelope)).thenReturn(source);
+        when(metadata.position()).thenReturn(of(currentPosition));
+        when(newEventBufferRepository.findConsecutiveFromPosition(streamId, nextPosition, source, componentName, maxEvents)).thenReturn(List.of(eventBufferEvent_1, eventBufferEvent_2));
+        when(eventBufferEvent_1.getEvent()).thenReturn("some-envelope-json-1");
+        when(eventBufferEvent_2.getEvent()).thenReturn("some-envelope-json-2");
+        when(jsonObjectEnvelopeConverter.asEnvelope("some-envelope-json-1")).thenReturn(nextJsonEnvelope_1);
+        when(jsonObjectEnvelopeConverter.asEnvelope("some-envelope-json-2")).thenReturn(nextJsonEnvelope_2);
+
+        assertThat(newEventBufferManager.getConsecutiveEventsFromEventBuffer(currentJsonEnvelope, componentName, maxEvents), is(List.of(nextJsonEnvelope_1, nextJsonEnvelope_2)));
+    }
+
+    @Test
+    public void shouldRemoveEventsUpToProcessedEventFromEventBuffer() throws Exception {
+
+        final UUID streamId = randomUUID();
+        final String source = "some-source";
+        final String componentName = "some-component";
+        final long position = 23;
+
+        final JsonEnvelope processedJsonEnvelope = mock(JsonEnvelope.class);
+        final Metadata metadata = mock(Metadata.class);
+
+        when(processedJsonEnvelope.metadata()).thenReturn(metadata);
+        when(metadata.streamId()).thenReturn(of(streamId));
+        when(eventSourceNameCalculator.getSource(processedJsonEnvelope)).thenReturn(source);
+        when(metadata.position()).thenReturn(of(position));
+
+        newEventBufferManager.removeFromEventBufferUpTo(processedJsonEnvelope, componentName);
+
+        verify(newEventBufferRepository).removeUpToPosition(streamId, source, componentName, position);
     }
 }
@@ -3,6 +3,7 @@ package uk.gov.justice.services.event.sourcing.subscription.manager;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_ALREADY_PROCESSED;
 import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_CORRECTLY_ORDERED;
@@ -33,6 +34,12 @@ public class NewSubscriptionManagerDelegateTest {
     @Mock
     private EventSourceNameCalculator eventSourceNameCalculator;
 
+    @Mock
+    private SingleTransactionEventProcessor singleTransactionEventProcessor;
+
+    @Mock
+    private SingleTransactionFastPathConfig singleTransactionFastPathConfig;
+
     @InjectMocks
     private NewSubscriptionManagerDelegate newSubscriptionManagerDelegate;
 
@@ -92,4 +99,60 @@ public class NewSubscriptionManagerDelegateTest {
         verify(micrometerMetricsCounters).incrementEventsReceivedCount(source,componentName);
         verify(eventBufferAwareSubscriptionEventProcessor, never()).process(incomingJsonEnvelope, componentName);
     }
+
+    @Test
+    public void shouldProcessEventInSingleTransactionAndThenProcessBufferedEventsIfFastPathEnabledAndEventIsNextInStream() throws Exception {
+
+        final JsonEnvelope incomingJsonEnvelope = mock(JsonEnvelope.class);
+        final String componentName = "some-component-name";
+        final String source = "some-source";
+
+        when(eventSourceNameCalculator.getSource(incomingJsonEnvelope)).thenReturn(source);
+        when(singleTransactionFastPathConfig.isSingleTransactionFastPathEnabled()).thenReturn(true);
+        when(singleTransactionEventProcessor.processIfNextInStream(incomingJsonEnvelope, componentName)).thenReturn(true);
+
+        newSubscriptionManagerDelegate.process(incomingJsonEnvelope, componentName);
+
+        verify(micrometerMetricsCounters).incrementEventsReceivedCount(source, componentName);
+        verify(eventBufferAwareSubscriptionEventProcessor).processBufferedEventsFollowing(incomingJsonEnvelope, componentName);
+        verify(eventBufferAwareSubscriptionEventProcessor, never()).process(incomingJsonEnvelope, componentName);
+        verifyNoInteractions(streamStatusService);
+    }
+
+    @Test
+    public void shouldFallBackToTwoPhaseProcessingIfFastPathEnabledButEventNotProcessedInSingleTransaction() throws Exception {
+
+        final JsonEnvelope incomingJsonEnvelope = mock(JsonEnvelope.class);
+        final String componentName = "some-component-name";
+        final String source = "some-source";
+
+        when(eventSourceNameCalculator.getSource(incomingJsonEnvelope)).thenReturn(source);
+        when(singleTransactionFastPathConfig.isSingleTransactionFastPathEnabled()).thenReturn(true);
+        when(singleTransactionEventProcessor.processIfNextInStream(incomingJsonEnvelope, componentName)).thenReturn(false);
+        when(streamStatusService.handleStreamStatusUpdates(
+                incomingJsonEnvelope,
+                componentName)).thenReturn(EVENT_CORRECTLY_ORDERED);
+
+        newSubscriptionManagerDelegate.process(incomingJsonEnvelope, componentName);
+
+        verify(eventBufferAwareSubscriptionEventProcessor).process(incomingJsonEnvelope, componentName);
+        verify(eventBufferAwareSubscriptionEventProcessor, never()).processBufferedEventsFollowing(incomingJsonEnvelope, componentName);
+    }
+
+    @Test
+    public void shouldNotUseFastPathIfDisabled() throws Exception {
+
+        final JsonEnvelope incomingJsonEnvelope = mock(JsonEnvelope.class);
+        final String componentName = "some-component-name";
+
+        when(singleTransactionFastPathConfig.isSingleTransactionFastPathEnabled()).thenReturn(false);
+        when(streamStatusService.handleStreamStatusUpdates(
+                incomingJsonEnvelope,
+                componentName)).thenReturn(EVENT_CORRECTLY_ORDERED);
+
+        newSubscriptionManagerDelegate.process(incomingJsonEnvelope, componentName);
+
+        verify(eventBufferAwareSubscriptionEventProcessor).process(incomingJsonEnvelope, componentName);
+        verifyNoInteractions(singleTransactionEventProcessor);
+    }
 }
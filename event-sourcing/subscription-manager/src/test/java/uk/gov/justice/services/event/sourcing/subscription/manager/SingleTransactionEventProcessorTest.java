@@ -0,0 +1,340 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_CORRECTLY_ORDERED;
+import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_OUT_OF_ORDER;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.EVENT_PROCESSING;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.PROCESSED_LAG;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.core.interceptor.InterceptorChainProcessor;
+import uk.gov.justice.services.core.interceptor.InterceptorChainProcessorProducer;
+import uk.gov.justice.services.core.interceptor.InterceptorContext;
+import uk.gov.justice.services.event.buffer.core.repository.streambuffer.NewEventBufferRepository;
+import uk.gov.justice.services.event.buffer.core.repository.subscription.NewStreamStatusRepository;
+import uk.gov.justice.services.event.buffer.core.repository.subscription.StreamUpdateContext;
+import uk.gov.justice.services.event.sourcing.subscription.error.StreamErrorStatusHandler;
+import uk.gov.justice.services.event.sourcing.subscription.error.StreamProcessingException;
+import uk.gov.justice.services.event.sourcing.subscription.manager.cdi.InterceptorContextProvider;
+import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.justice.services.messaging.Metadata;
+import uk.gov.justice.services.metrics.micrometer.counters.MicrometerMetricsCounters;
+
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import javax.transaction.UserTransaction;
+
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+@ExtendWith(MockitoExtension.class)
+public class SingleTransactionEventProcessorTest {
+
+    @Mock
+    private NewStreamStatusRepository newStreamStatusRepository;
+
+    @Mock
+    private NewEventBufferRepository newEventBufferRepository;
+
+    @Mock
+    private EventProcessingStatusCalculator eventProcessingStatusCalculator;
+
+    @Mock
+    private LatestKnownPositionAndIsUpToDateUpdater latestKnownPositionAndIsUpToDateUpdater;
+
+    @Mock
+    private InterceptorContextProvider interceptorContextProvider;
+
+    @Mock
+    private InterceptorChainProcessorProducer interceptorChainProcessorProducer;
+
+    @Mock
+    private StreamErrorStatusHandler streamErrorStatusHandler;
+
+    @Mock
+    private UserTransaction userTransaction;
+
+    @Mock
+    private TransactionHandler transactionHandler;
+
+    @Mock
+    private MicrometerMetricsCounters micrometerMetricsCounters;
+
+    @Mock
+    private EventSourceNameCalculator eventSourceNameCalculator;
+
+    @Mock
+    private StreamPositionTracker streamPositionTracker;
+
+    @Mock
+    private EmptyEventBufferCache emptyEventBufferCache;
+
+    @Mock
+    private UtcClock clock;
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private EventStoreTimers eventStoreTimers;
+
+    @InjectMocks
+    private SingleTransactionEventProcessor singleTransactionEventProcessor;
+
+    @Test
+    public void shouldLockStreamInvokeHandlerAndUpdatePositionInOneTransactionIfEventIsNextInStream() throws Exception {
+
+        final UUID streamId = randomUUID();
+        final String source = "some-source";
+        final String component = "some-component";
+        final long eventPositionInStream = 24L;
+        final ZonedDateTime now = ZonedDateTime.now();
+        final Timer.Sample sample = Timer.start();
+
+        final JsonEnvelope eventJsonEnvelope = givenEvent(streamId, source, eventPositionInStream);
+        final StreamUpdateContext streamUpdateContext = new StreamUpdateContext(eventPositionInStream, 23L, 23L, mock(Timestamp.class), empty(), empty(), 0L);
+        final InterceptorContext interceptorContext = mock(InterceptorContext.class);
+        final InterceptorChainProcessor interceptorChainProcessor = mock(InterceptorChainProcessor.class);
+
+        when(eventStoreTimers.start()).thenReturn(sample);
+        when(clock.now()).thenReturn(now);
+        when(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(streamId, source, component, now, false, eventPositionInStream)).thenReturn(streamUpdateContext);
+        when(eventProcessingStatusCalculator.calculateEventOrderingStatus(streamUpdateContext)).thenReturn(EVENT_CORRECTLY_ORDERED);
+        when(interceptorChainProcessorProducer.produceLocalProcessor(component)).thenReturn(interceptorChainProcessor);
+        when(interceptorContextProvider.getInterceptorContext(eventJsonEnvelope)).thenReturn(interceptorContext);
+        when(streamPositionTracker.mayBeInEventBuffer(eventJsonEnvelope, component)).thenReturn(true);
+
+        assertThat(singleTransactionEventProcessor.processIfNextInStream(eventJsonEnvelope, component), is(true));
+
+        final InOrder inOrder = inOrder(
+                transactionHandler,
+                newStreamStatusRepository,
+                latestKnownPositionAndIsUpToDateUpdater,
+                interceptorChainProcessor,
+                newEventBufferRepository,
+                streamPositionTracker,
+                micrometerMetricsCounters,
+                eventStoreTimers);
+
+        inOrder.verify(eventStoreTimers).start();
+        inOrder.verify(transactionHandler).begin(userTransaction);
+        inOrder.verify(newStreamStatusRepository).insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(streamId, source, component, now, false, eventPositionInStream);
+        inOrder.verify(micrometerMetricsCounters).incrementEventsProcessedCount(source, component);
+        inOrder.verify(latestKnownPositionAndIsUpToDateUpdater).updateIfNecessary(streamUpdateContext, streamId, source, component);
+        inOrder.verify(interceptorChainProcessor).process(interceptorContext);
+        inOrder.verify(newStreamStatusRepository).updateCurrentPosition(streamId, source, component, eventPositionInStream);
+        inOrder.verify(newEventBufferRepository).remove(streamId, source, component, eventPositionInStream);
+        inOrder.verify(newStreamStatusRepository).setUpToDate(true, streamId, source, component);
+        inOrder.verify(transactionHandler).commit(userTransaction);
+        inOrder.verify(streamPositionTracker).eventProcessed(eventJsonEnvelope, component);
+
+        verify(emptyEventBufferCache).markEmptyAt(streamId, source, component, 0L);
+        inOrder.verify(micrometerMetricsCounters).incrementEventsSucceededCount(source, component);
+        inOrder.verify(eventStoreTimers).recordLag(eq(PROCESSED_LAG), any(), eq(source), eq(component));
+        inOrder.verify(eventStoreTimers).stop(sample, EVENT_PROCESSING, source, component);
+
+        verify(transactionHandler, never()).rollback(userTransaction);
+    }
+
+    @Test
+    public void shouldNotRemoveEventFromEventBufferIfKnownNotToBeInEventBuffer() throws Exception {
+
+        final UUID streamId = randomUUID();
+        final String source = "some-source";
+        final String component = "some-component";
+        final long eventPositionInStream = 24L;
+        final ZonedDateTime now = ZonedDateTime.now();
+
+        final JsonEnvelope eventJsonEnvelope = givenEvent(streamId, source, eventPositionInStream);
+        final StreamUpdateContext streamUpdateContext = new StreamUpdateContext(eventPositionInStream, 23L, 23L, mock(Timestamp.class), empty(), empty(), 0L);
+        final InterceptorContext interceptorContext = mock(InterceptorContext.class);
+        final InterceptorChainProcessor interceptorChainProcessor = mock(InterceptorChainProcessor.class);
+
+        when(clock.now()).thenReturn(now);
+        when(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(streamId, source, component, now, false, eventPositionInStream)).thenReturn(streamUpdateContext);
+        when(eventProcessingStatusCalculator.calculateEventOrderingStatus(streamUpdateContext)).thenReturn(EVENT_CORRECTLY_ORDERED);
+        when(interceptorChainProcessorProducer.produceLocalProcessor(component)).thenReturn(interceptorChainProcessor);
+        when(interceptorContextProvider.getInterceptorContext(eventJsonEnvelope)).thenReturn(interceptorContext);
+        when(streamPositionTracker.mayBeInEventBuffer(eventJsonEnvelope, component)).thenReturn(false);
+
+        assertThat(singleTransactionEventProcessor.processIfNextInStream(eventJsonEnvelope, component), is(true));
+
+        verify(newStreamStatusRepository).updateCurrentPosition(streamId, source, component, eventPositionInStream);
+        verify(transactionHandler).commit(userTransaction);
+        verify(streamPositionTracker).eventProcessed(eventJsonEnvelope, component);
+
+        verifyNoInteractions(newEventBufferRepository);
+    }
+
+    @Test
+    public void shouldRollbackAndReturnFalseWithoutInvokingHandlerIfEventIsOutOfOrder() throws Exception {
+
+        final UUID streamId = randomUUID();
+        final String source = "some-source";
+        final String component = "some-component";
+        final long eventPositionInStream = 26L;
+        final ZonedDateTime now = ZonedDateTime.now();
+
+        final JsonEnvelope eventJsonEnvelope = givenEvent(streamId, source, eventPositionInStream);
+        final StreamUpdateContext streamUpdateContext = new StreamUpdateContext(eventPositionInStream, 23L, 23L, mock(Timestamp.class), empty(), empty(), 0L);
+
+        when(clock.now()).thenReturn(now);
+        when(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(streamId, source, component, now, false, eventPositionInStream)).thenReturn(streamUpdateContext);
+        when(eventProcessingStatusCalculator.calculateEventOrderingStatus(streamUpdateContext)).thenReturn(EVENT_OUT_OF_ORDER);
+
+        assertThat(singleTransactionEventProcessor.processIfNextInStream(eventJsonEnvelope, component), is(false));
+
+        verify(transactionHandler).rollback(userTransaction);
+        verify(transactionHandler, never()).commit(userTransaction);
+        verifyNoInteractions(interceptorChainProcessorProducer, latestKnownPositionAndIsUpToDateUpdater, newEventBufferRepository, micrometerMetricsCounters);
+
+        verify(eventStoreTimers).start();
+        verifyNoMoreInteractions(eventStoreTimers);
+    }
+
+    @Test
+    public void shouldRollbackAndReturnFalseWithoutInvokingHandlerIfStreamIsInError() throws Exception {
+
+        final UUID streamId = randomUUID();
+        final String source = "some-source";
+        final String component = "some-component";
+        final long eventPositionInStream = 24L;
+        final ZonedDateTime now = ZonedDateTime.now();
+
+        final JsonEnvelope eventJsonEnvelope = givenEvent(streamId, source, eventPositionInStream);
+        final StreamUpdateContext streamUpdateContext = new StreamUpdateContext(eventPositionInStream, 23L, 23L, mock(Timestamp.class), of(randomUUID()), empty(), 0L);
+
+        when(clock.now()).thenReturn(now);
+        when(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(streamId, source, component, now, false, eventPositionInStream)).thenReturn(streamUpdateContext);
+
+        assertThat(singleTransactionEventProcessor.processIfNextInStream(eventJsonEnvelope, component), is(false));
+
+        verify(transactionHandler).rollback(userTransaction);
+        verify(transactionHandler, never()).commit(userTransaction);
+        verifyNoInteractions(eventProcessingStatusCalculator, interceptorChainProcessorProducer, latestKnownPositionAndIsUpToDateUpdater, newEventBufferRepository, micrometerMetricsCounters);
+    }
+
+    @Test
+    public void shouldRollbackUpdateLatestKnownPositionAndMarkStreamAsErroredIfHandlerFails() throws Exception {
+
+        final NullPointerException nullPointerException = new NullPointerException("Ooops");
+
+        final UUID streamId = randomUUID();
+        final String source = "some-source";
+        final String component = "some-component";
+        final long eventPositionInStream = 24L;
+        final ZonedDateTime now = ZonedDateTime.now();
+
+        final JsonEnvelope eventJsonEnvelope = givenEvent(streamId, source, eventPositionInStream);
+        final StreamUpdateContext streamUpdateContext = new StreamUpdateContext(eventPositionInStream, 23L, 23L, mock(Timestamp.class), empty(), empty(), 0L);
+        final InterceptorContext interceptorContext = mock(InterceptorContext.class);
+        final InterceptorChainProcessor interceptorChainProcessor = mock(InterceptorChainProcessor.class);
+
+        when(clock.now()).thenReturn(now);
+        when(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(streamId, source, component, now, false, eventPositionInStream)).thenReturn(streamUpdateContext);
+        when(eventProcessingStatusCalculator.calculateEventOrderingStatus(streamUpdateContext)).thenReturn(EVENT_CORRECTLY_ORDERED);
+        when(interceptorChainProcessorProducer.produceLocalProcessor(component)).thenReturn(interceptorChainProcessor);
+        when(interceptorContextProvider.getInterceptorContext(eventJsonEnvelope)).thenReturn(interceptorContext);
+        doThrow(nullPointerException).when(interceptorChainProcessor).process(interceptorContext);
+
+        final StreamProcessingException streamProcessingException = assertThrows(
+                StreamProcessingException.class,
+                () -> singleTransactionEventProcessor.processIfNextInStream(eventJsonEnvelope, component));
+
+        assertThat(streamProcessingException.getCause(), is(nullPointerException));
+
+        final InOrder inOrder = inOrder(transactionHandler, latestKnownPositionAndIsUpToDateUpdater, streamErrorStatusHandler);
+
+        inOrder.verify(transactionHandler).begin(userTransaction);
+        inOrder.verify(latestKnownPositionAndIsUpToDateUpdater).updateIfNecessary(streamUpdateContext, streamId, source, component);
+        inOrder.verify(transactionHandler).rollback(userTransaction);
+        inOrder.verify(transactionHandler).begin(userTransaction);
+        inOrder.verify(latestKnownPositionAndIsUpToDateUpdater).updateIfNecessary(streamUpdateContext, streamId, source, component);
+        inOrder.verify(transactionHandler).commit(userTransaction);
+        inOrder.verify(streamErrorStatusHandler).onStreamProcessingFailure(eventJsonEnvelope, nullPointerException, source, component, streamUpdateContext);
+
+        verify(newStreamStatusRepository).insertIfNotExists(streamId, source, component, now, false);
+        verify(newStreamStatusRepository, never()).updateCurrentPosition(any(UUID.class), any(String.class), any(String.class), any(Long.class));
+        verify(micrometerMetricsCounters, never()).incrementEventsSucceededCount(source, component);
+    }
+
+    @Test
+    public void shouldCommitTheStreamStatusRowOfANewStreamBeforeMarkingTheStreamAsErroredIfHandlerFailsOnTheFirstEvent() throws Exception {
+
+        final NullPointerException nullPointerException = new NullPointerException("Ooops");
+
+        final UUID streamId = randomUUID();
+        final String source = "some-source";
+        final String component = "some-component";
+        final long eventPositionInStream = 1L;
+        final ZonedDateTime now = ZonedDateTime.now();
+
+        final JsonEnvelope eventJsonEnvelope = givenEvent(streamId, source, eventPositionInStream);
+        final StreamUpdateContext streamUpdateContext = new StreamUpdateContext(eventPositionInStream, 0L, 0L, mock(Timestamp.class), empty(), empty(), 0L);
+        final InterceptorContext interceptorContext = mock(InterceptorContext.class);
+        final InterceptorChainProcessor interceptorChainProcessor = mock(InterceptorChainProcessor.class);
+
+        when(clock.now()).thenReturn(now);
+        when(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(streamId, source, component, now, false, eventPositionInStream)).thenReturn(streamUpdateContext);
+        when(eventProcessingStatusCalculator.calculateEventOrderingStatus(streamUpdateContext)).thenReturn(EVENT_CORRECTLY_ORDERED);
+        when(interceptorChainProcessorProducer.produceLocalProcessor(component)).thenReturn(interceptorChainProcessor);
+        when(interceptorContextProvider.getInterceptorContext(eventJsonEnvelope)).thenReturn(interceptorContext);
+        doThrow(nullPointerException).when(interceptorChainProcessor).process(interceptorContext);
+
+        final StreamProcessingException streamProcessingException = assertThrows(
+                StreamProcessingException.class,
+                () -> singleTransactionEventProcessor.processIfNextInStream(eventJsonEnvelope, component));
+
+        assertThat(streamProcessingException.getCause(), is(nullPointerException));
+
+        final InOrder inOrder = inOrder(transactionHandler, newStreamStatusRepository, streamErrorStatusHandler);
+
+        inOrder.verify(transactionHandler).begin(userTransaction);
+        inOrder.verify(newStreamStatusRepository).insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(streamId, source, component, now, false, eventPositionInStream);
+        inOrder.verify(transactionHandler).rollback(userTransaction);
+        inOrder.verify(transactionHandler).begin(userTransaction);
+        inOrder.verify(newStreamStatusRepository).insertIfNotExists(streamId, source, component, now, false);
+        inOrder.verify(transactionHandler).commit(userTransaction);
+        inOrder.verify(streamErrorStatusHandler).onStreamProcessingFailure(eventJsonEnvelope, nullPointerException, source, component, streamUpdateContext);
+    }
+
+    private JsonEnvelope givenEvent(final UUID streamId, final String source, final long eventPositionInStream) {
+
+        final JsonEnvelope eventJsonEnvelope = mock(JsonEnvelope.class);
+        final Metadata metadata = mock(Metadata.class);
+
+        when(eventJsonEnvelope.metadata()).thenReturn(metadata);
+        when(metadata.name()).thenReturn("some-event-name");
+        when(metadata.id()).thenReturn(randomUUID());
+        when(metadata.streamId()).thenReturn(of(streamId));
+        when(metadata.position()).thenReturn(of(eventPositionInStream));
+        when(eventSourceNameCalculator.getSource(eventJsonEnvelope)).thenReturn(source);
+
+        return eventJsonEnvelope;
+    }
+}
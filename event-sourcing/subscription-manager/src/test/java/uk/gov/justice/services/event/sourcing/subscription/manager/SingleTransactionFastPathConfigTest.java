@@ -0,0 +1,27 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class SingleTransactionFastPathConfigTest {
+
+    @InjectMocks
+    private SingleTransactionFastPathConfig singleTransactionFastPathConfig;
+
+    @Test
+    public void shouldGetTheInjectedGlobalValue() throws Exception {
+
+        setField(singleTransactionFastPathConfig, "singleTransactionFastPathEnabled", "true");
+        assertThat(singleTransactionFastPathConfig.isSingleTransactionFastPathEnabled(), is(true));
+
+        setField(singleTransactionFastPathConfig, "singleTransactionFastPathEnabled", "false");
+        assertThat(singleTransactionFastPathConfig.isSingleTransactionFastPathEnabled(), is(false));
+    }
+}
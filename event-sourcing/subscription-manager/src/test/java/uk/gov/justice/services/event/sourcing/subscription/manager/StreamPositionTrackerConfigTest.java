@@ -0,0 +1,30 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class StreamPositionTrackerConfigTest {
+
+    @InjectMocks
+    private StreamPositionTrackerConfig streamPositionTrackerConfig;
+
+    @Test
+    public void shouldGetTheInjectedGlobalValues() throws Exception {
+
+        setField(streamPositionTrackerConfig, "streamPositionTrackerEnabled", "true");
+        setField(streamPositionTrackerConfig, "maxTrackedStreams", "23");
+
+        assertThat(streamPositionTrackerConfig.isStreamPositionTrackerEnabled(), is(true));
+        assertThat(streamPositionTrackerConfig.getMaxTrackedStreams(), is(23));
+
+        setField(streamPositionTrackerConfig, "streamPositionTrackerEnabled", "false");
+        assertThat(streamPositionTrackerConfig.isStreamPositionTrackerEnabled(), is(false));
+    }
+}
@@ -0,0 +1,120 @@
+package uk.gov.justice.services.event.sourcing.subscription.manager;
+
+import static java.util.Optional.of;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.justice.services.messaging.Metadata;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class StreamPositionTrackerTest {
+
+    private static final String SOURCE = "some-source";
+    private static final String COMPONENT_NAME = "some-component";
+
+    @Mock
+    private StreamPositionTrackerConfig streamPositionTrackerConfig;
+
+    @Mock
+    private EventSourceNameCalculator eventSourceNameCalculator;
+
+    @InjectMocks
+    private StreamPositionTracker streamPositionTracker;
+
+    @Test
+    public void shouldAlwaysReportEventsAsPossiblyBufferedIfDisabled() throws Exception {
+
+        final JsonEnvelope jsonEnvelope = mock(JsonEnvelope.class);
+
+        when(streamPositionTrackerConfig.isStreamPositionTrackerEnabled()).thenReturn(false);
+
+        streamPositionTracker.eventProcessed(jsonEnvelope, COMPONENT_NAME);
+
+        assertThat(streamPositionTracker.mayBeInEventBuffer(jsonEnvelope, COMPONENT_NAME), is(true));
+
+        verifyNoInteractions(jsonEnvelope, eventSourceNameCalculator);
+    }
+
+    @Test
+    public void shouldReportEventsOfStreamsNotYetProcessedOnThisNodeAsPossiblyBuffered() throws Exception {
+
+        final JsonEnvelope jsonEnvelope = eventOf(randomUUID());
+
+        when(streamPositionTrackerConfig.isStreamPositionTrackerEnabled()).thenReturn(true);
+
+        streamPositionTracker.eventBuffered(jsonEnvelope, COMPONENT_NAME);
+
+        assertThat(streamPositionTracker.mayBeInEventBuffer(jsonEnvelope, COMPONENT_NAME), is(true));
+    }
+
+    @Test
+    public void shouldReportEventsAfterTheHighestBufferedPositionOfATrackedStreamAsNotBuffered() throws Exception {
+
+        final UUID streamId = randomUUID();
+
+        when(streamPositionTrackerConfig.isStreamPositionTrackerEnabled()).thenReturn(true);
+        when(streamPositionTrackerConfig.getMaxTrackedStreams()).thenReturn(10);
+
+        streamPositionTracker.eventProcessed(eventOf(streamId), COMPONENT_NAME);
+
+        assertThat(streamPositionTracker.mayBeInEventBuffer(eventOf(streamId, 2L), COMPONENT_NAME), is(false));
+
+        streamPositionTracker.eventBuffered(eventOf(streamId, 5L), COMPONENT_NAME);
+        streamPositionTracker.eventBuffered(eventOf(streamId, 4L), COMPONENT_NAME);
+
+        assertThat(streamPositionTracker.mayBeInEventBuffer(eventOf(streamId, 2L), COMPONENT_NAME), is(true));
+        assertThat(streamPositionTracker.mayBeInEventBuffer(eventOf(streamId, 5L), COMPONENT_NAME), is(true));
+        assertThat(streamPositionTracker.mayBeInEventBuffer(eventOf(streamId, 6L), COMPONENT_NAME), is(false));
+        assertThat(streamPositionTracker.mayBeInEventBuffer(eventOf(streamId), "some-other-component"), is(true));
+    }
+
+    @Test
+    public void shouldForgetAllTrackedStreamsWhenTheMaximumNumberOfTrackedStreamsIsReached() throws Exception {
+
+        final UUID streamId_1 = randomUUID();
+        final UUID streamId_2 = randomUUID();
+
+        when(streamPositionTrackerConfig.isStreamPositionTrackerEnabled()).thenReturn(true);
+        when(streamPositionTrackerConfig.getMaxTrackedStreams()).thenReturn(1);
+
+        streamPositionTracker.eventProcessed(eventOf(streamId_1), COMPONENT_NAME);
+        streamPositionTracker.eventProcessed(eventOf(streamId_2), COMPONENT_NAME);
+
+        assertThat(streamPositionTracker.mayBeInEventBuffer(eventOf(streamId_1), COMPONENT_NAME), is(true));
+        assertThat(streamPositionTracker.mayBeInEventBuffer(eventOf(streamId_2, 2L), COMPONENT_NAME), is(false));
+    }
+
+    private JsonEnvelope eventOf(final UUID streamId, final long position) {
+
+        final JsonEnvelope jsonEnvelope = eventOf(streamId);
+        when(jsonEnvelope.metadata().position()).thenReturn(of(position));
+
+        return jsonEnvelope;
+    }
+
+    private JsonEnvelope eventOf(final UUID streamId) {
+
+        final JsonEnvelope jsonEnvelope = mock(JsonEnvelope.class);
+        final Metadata metadata = mock(Metadata.class);
+
+        when(jsonEnvelope.metadata()).thenReturn(metadata);
+        when(metadata.streamId()).thenReturn(of(streamId));
+        when(eventSourceNameCalculator.getSource(jsonEnvelope)).thenReturn(SOURCE);
+
+        return jsonEnvelope;
+    }
+}
@@ -16,6 +16,7 @@ import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_ALREADY_PROCESSED;
 import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_CORRECTLY_ORDERED;
 import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_OUT_OF_ORDER;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.STREAM_STATUS_UPDATE;
 
 import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.event.buffer.core.repository.subscription.NewStreamStatusRepository;
@@ -24,6 +25,7 @@ import uk.gov.justice.services.event.buffer.core.repository.subscription.StreamU
 import uk.gov.justice.services.event.sourcing.subscription.error.MissingPositionInStreamException;
 import uk.gov.justice.services.eventsourcing.source.api.streams.MissingStreamIdException;
 import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.Metadata;
 import uk.gov.justice.services.metrics.micrometer.counters.MicrometerMetricsCounters;
@@ -33,6 +35,7 @@ import java.util.UUID;
 
 import javax.transaction.UserTransaction;
 
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InOrder;
@@ -74,6 +77,9 @@ public class StreamStatusServiceTest {
     @Mock
     private EventSourceNameCalculator eventSourceNameCalculator;
 
+    @Mock
+    private EventStoreTimers eventStoreTimers;
+
     @InjectMocks
     private StreamStatusService streamStatusService;
 
@@ -87,11 +93,13 @@ public class StreamStatusServiceTest {
         final String source = "some-source";
         final long incomingPositionInStream = 87687;
         final ZonedDateTime updatedAt = new UtcClock().now();
+        final Timer.Sample sample = Timer.start();
 
         final JsonEnvelope incomingJsonEnvelope = mock(JsonEnvelope.class);
         final Metadata metadata = mock(Metadata.class);
         final StreamUpdateContext streamUpdateContext = mock(StreamUpdateContext.class);
 
+        when(eventStoreTimers.start()).thenReturn(sample);
         when(incomingJsonEnvelope.metadata()).thenReturn(metadata);
         when(metadata.name()).thenReturn(name);
         when(metadata.id()).thenReturn(eventId);
@@ -99,28 +107,27 @@ public class StreamStatusServiceTest {
         when(eventSourceNameCalculator.getSource(incomingJsonEnvelope)).thenReturn(source);
         when(metadata.position()).thenReturn(of(incomingPositionInStream));
         when(clock.now()).thenReturn(updatedAt);
-        when(newStreamStatusRepository.lockStreamAndGetStreamUpdateContext(
+        when(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
                 streamId,
                 source,
                 componentName,
+                updatedAt,
+                false,
                 incomingPositionInStream)).thenReturn(streamUpdateContext);
         when(eventProcessingStatusCalculator.calculateEventOrderingStatus(streamUpdateContext)).thenReturn(EVENT_CORRECTLY_ORDERED);
 
         assertThat(streamStatusService.handleStreamStatusUpdates(incomingJsonEnvelope, componentName), is(EVENT_CORRECTLY_ORDERED));
 
-        final InOrder inOrder = inOrder(transactionHandler, newStreamStatusRepository, latestKnownPositionAndIsUpToDateUpdater);
+        final InOrder inOrder = inOrder(eventStoreTimers, transactionHandler, newStreamStatusRepository, latestKnownPositionAndIsUpToDateUpdater);
 
+        inOrder.verify(eventStoreTimers).start();
         inOrder.verify(transactionHandler).begin(userTransaction);
-        inOrder.verify(newStreamStatusRepository).insertIfNotExists(
+        inOrder.verify(newStreamStatusRepository).insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
                 streamId,
                 source,
                 componentName,
                 updatedAt,
-                false);
-        inOrder.verify(newStreamStatusRepository).lockStreamAndGetStreamUpdateContext(
-                streamId,
-                source,
-                componentName,
+                false,
                 incomingPositionInStream);
         inOrder.verify(latestKnownPositionAndIsUpToDateUpdater).updateIfNecessary(
                 streamUpdateContext,
@@ -128,6 +135,7 @@ public class StreamStatusServiceTest {
                 source,
                 componentName);
         inOrder.verify(transactionHandler).commit(userTransaction);
+        inOrder.verify(eventStoreTimers).stop(sample, STREAM_STATUS_UPDATE, source, componentName);
 
         verify(newEventBufferManager, never()).addToBuffer(incomingJsonEnvelope, componentName);
         verifyNoInteractions(micrometerMetricsCounters);
@@ -155,10 +163,12 @@ public class StreamStatusServiceTest {
         when(eventSourceNameCalculator.getSource(incomingJsonEnvelope)).thenReturn(source);
         when(metadata.position()).thenReturn(of(incomingPositionInStream));
         when(clock.now()).thenReturn(updatedAt);
-        when(newStreamStatusRepository.lockStreamAndGetStreamUpdateContext(
+        when(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
                 streamId,
                 source,
                 componentName,
+                updatedAt,
+                false,
                 incomingPositionInStream)).thenReturn(streamUpdateContext);
         when(eventProcessingStatusCalculator.calculateEventOrderingStatus(streamUpdateContext)).thenReturn(EVENT_OUT_OF_ORDER);
 
@@ -171,16 +181,12 @@ public class StreamStatusServiceTest {
                 newEventBufferManager);
 
         inOrder.verify(transactionHandler).begin(userTransaction);
-        inOrder.verify(newStreamStatusRepository).insertIfNotExists(
+        inOrder.verify(newStreamStatusRepository).insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
                 streamId,
                 source,
                 componentName,
                 updatedAt,
-                false);
-        inOrder.verify(newStreamStatusRepository).lockStreamAndGetStreamUpdateContext(
-                streamId,
-                source,
-                componentName,
+                false,
                 incomingPositionInStream);
         inOrder.verify(latestKnownPositionAndIsUpToDateUpdater).updateIfNecessary(
                 streamUpdateContext,
@@ -216,10 +222,12 @@ public class StreamStatusServiceTest {
         when(eventSourceNameCalculator.getSource(incomingJsonEnvelope)).thenReturn(source);
         when(metadata.position()).thenReturn(of(incomingPositionInStream));
         when(clock.now()).thenReturn(updatedAt);
-        when(newStreamStatusRepository.lockStreamAndGetStreamUpdateContext(
+        when(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
                 streamId,
                 source,
                 component,
+                updatedAt,
+                false,
                 incomingPositionInStream)).thenReturn(streamUpdateContext);
         when(streamUpdateContext.currentStreamPosition()).thenReturn(currentStreamPosition);
         when(streamUpdateContext.incomingEventPosition()).thenReturn(incomingPositionInStream);
@@ -236,16 +244,12 @@ public class StreamStatusServiceTest {
                 newEventBufferManager);
 
         inOrder.verify(transactionHandler).begin(userTransaction);
-        inOrder.verify(newStreamStatusRepository).insertIfNotExists(
+        inOrder.verify(newStreamStatusRepository).insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
                 streamId,
                 source,
                 component,
                 updatedAt,
-                false);
-        inOrder.verify(newStreamStatusRepository).lockStreamAndGetStreamUpdateContext(
-                streamId,
-                source,
-                component,
+                false,
                 incomingPositionInStream);
         inOrder.verify(latestKnownPositionAndIsUpToDateUpdater).updateIfNecessary(
                 streamUpdateContext,
@@ -270,10 +274,12 @@ public class StreamStatusServiceTest {
         final String source = "some-source";
         final long incomingPositionInStream = 87687;
         final ZonedDateTime updatedAt = new UtcClock().now();
+        final Timer.Sample sample = Timer.start();
 
         final JsonEnvelope incomingJsonEnvelope = mock(JsonEnvelope.class);
         final Metadata metadata = mock(Metadata.class);
 
+        when(eventStoreTimers.start()).thenReturn(sample);
         when(incomingJsonEnvelope.metadata()).thenReturn(metadata);
         when(metadata.name()).thenReturn(name);
         when(metadata.id()).thenReturn(eventId);
@@ -281,10 +287,12 @@ public class StreamStatusServiceTest {
         when(eventSourceNameCalculator.getSource(incomingJsonEnvelope)).thenReturn(source);
         when(metadata.position()).thenReturn(of(incomingPositionInStream));
         when(clock.now()).thenReturn(updatedAt);
-        when(newStreamStatusRepository.lockStreamAndGetStreamUpdateContext(
+        when(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
                 streamId,
                 source,
                 componentName,
+                updatedAt,
+                false,
                 incomingPositionInStream)).thenThrow(nullPointerException);
 
         final StreamStatusException streamStatusException = assertThrows(
@@ -294,10 +302,11 @@ public class StreamStatusServiceTest {
         assertThat(streamStatusException.getCause(), is(nullPointerException));
         assertThat(streamStatusException.getMessage(), is("Failed to update stream_status/event_buffer for eventId '092c23a0-40b3-4137-8016-501e6840e95c', eventName 'some-name', streamId 'bfb89fb7-79af-4679-b01d-cd46f5b0b38f'"));
 
-        final InOrder inOrder = inOrder(transactionHandler);
+        final InOrder inOrder = inOrder(transactionHandler, eventStoreTimers);
 
         inOrder.verify(transactionHandler).begin(userTransaction);
         inOrder.verify(transactionHandler).rollback(userTransaction);
+        inOrder.verify(eventStoreTimers).stop(sample, STREAM_STATUS_UPDATE, source, componentName);
 
         verify(transactionHandler, never()).commit(userTransaction);
         verifyNoInteractions(micrometerMetricsCounters);
@@ -326,10 +335,12 @@ public class StreamStatusServiceTest {
         when(eventSourceNameCalculator.getSource(incomingJsonEnvelope)).thenReturn(source);
         when(metadata.position()).thenReturn(of(incomingPositionInStream));
         when(clock.now()).thenReturn(updatedAt);
-        when(newStreamStatusRepository.lockStreamAndGetStreamUpdateContext(
+        when(newStreamStatusRepository.insertIfNotExistsAndLockStreamAndGetStreamUpdateContextWithError(
                 streamId,
                 source,
                 componentName,
+                updatedAt,
+                false,
                 incomingPositionInStream)).thenThrow(nullPointerException);
 
         final StreamStatusException streamStatusException = assertThrows(
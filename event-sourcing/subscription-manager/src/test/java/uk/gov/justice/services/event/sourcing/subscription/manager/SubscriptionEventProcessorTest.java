@@ -19,7 +19,10 @@ import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_ALREADY_PROCESSED;
 import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_CORRECTLY_ORDERED;
 import static uk.gov.justice.services.event.sourcing.subscription.manager.EventOrderingStatus.EVENT_OUT_OF_ORDER;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.EVENT_PROCESSING;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.PROCESSED_LAG;
 
+import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.core.interceptor.InterceptorChainProcessor;
 import uk.gov.justice.services.core.interceptor.InterceptorChainProcessorProducer;
 import uk.gov.justice.services.core.interceptor.InterceptorContext;
@@ -34,16 +37,23 @@ import uk.gov.justice.services.event.sourcing.subscription.error.StreamProcessin
 import uk.gov.justice.services.event.sourcing.subscription.manager.cdi.InterceptorContextProvider;
 import uk.gov.justice.services.eventsourcing.source.api.streams.MissingStreamIdException;
 import uk.gov.justice.services.eventsourcing.util.messaging.EventSourceNameCalculator;
+import uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimers;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.Metadata;
 import uk.gov.justice.services.metrics.micrometer.counters.MicrometerMetricsCounters;
 
+import java.time.ZonedDateTime;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import javax.transaction.UserTransaction;
 
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -85,6 +95,15 @@ public class SubscriptionEventProcessorTest {
     @Mock
     private EventSourceNameCalculator eventSourceNameCalculator;
 
+    @Mock
+    private EmptyEventBufferCache emptyEventBufferCache;
+
+    @Mock
+    private EventStoreTimers eventStoreTimers;
+
+    @Captor
+    private ArgumentCaptor<Supplier<Optional<ZonedDateTime>>> createdAtCaptor;
+
     @InjectMocks
     private SubscriptionEventProcessor subscriptionEventProcessor;
 
@@ -152,6 +171,150 @@ public class SubscriptionEventProcessorTest {
         verify(micrometerMetricsCounters, never()).incrementEventsFailedCount(source, component);
     }
 
+    @Test
+    public void shouldTimeProcessingTheEventAndRecordHowLongAfterItsCreationItWasProcessed() throws Exception {
+
+        final UUID eventId = randomUUID();
+        final UUID streamId = randomUUID();
+        final String eventName = "some-event-name";
+        final String source = "some-source";
+        final String component = "some-component";
+        final long eventPositionInStream = 7686;
+        final ZonedDateTime createdAt = new UtcClock().now();
+        final Timer.Sample sample = Timer.start();
+
+        final JsonEnvelope eventJsonEnvelope = mock(JsonEnvelope.class);
+        final Metadata metadata = mock(Metadata.class);
+        final StreamUpdateContext streamUpdateContext = mock(StreamUpdateContext.class);
+        final InterceptorContext interceptorContext = mock(InterceptorContext.class);
+        final InterceptorChainProcessor interceptorChainProcessor = mock(InterceptorChainProcessor.class);
+
+        when(eventStoreTimers.start()).thenReturn(sample);
+        when(streamUpdateContext.streamErrorId()).thenReturn(empty());
+        when(eventJsonEnvelope.metadata()).thenReturn(metadata);
+        when(metadata.name()).thenReturn(eventName);
+        when(metadata.id()).thenReturn(eventId);
+        when(metadata.streamId()).thenReturn(of(streamId));
+        when(metadata.createdAt()).thenReturn(of(createdAt));
+        when(eventSourceNameCalculator.getSource(eventJsonEnvelope)).thenReturn(source);
+        when(metadata.position()).thenReturn(of(eventPositionInStream));
+        when(streamUpdateContext.latestKnownStreamPosition()).thenReturn(eventPositionInStream);
+        when(newStreamStatusRepository.lockStreamAndGetStreamUpdateContextWithError(
+                streamId,
+                source,
+                component,
+                eventPositionInStream)).thenReturn(streamUpdateContext);
+        when(eventProcessingStatusCalculator.calculateEventOrderingStatus(streamUpdateContext)).thenReturn(EVENT_CORRECTLY_ORDERED);
+        when(interceptorChainProcessorProducer.produceLocalProcessor(component)).thenReturn(interceptorChainProcessor);
+        when(interceptorContextProvider.getInterceptorContext(eventJsonEnvelope)).thenReturn(interceptorContext);
+
+        assertThat(subscriptionEventProcessor.processSingleEvent(eventJsonEnvelope, component), is(true));
+
+        final InOrder inOrder = inOrder(eventStoreTimers, interceptorChainProcessor, transactionHandler);
+
+        inOrder.verify(eventStoreTimers).start();
+        inOrder.verify(interceptorChainProcessor).process(interceptorContext);
+        inOrder.verify(transactionHandler).commit(userTransaction);
+        inOrder.verify(eventStoreTimers).recordLag(eq(PROCESSED_LAG), createdAtCaptor.capture(), eq(source), eq(component));
+        inOrder.verify(eventStoreTimers).stop(sample, EVENT_PROCESSING, source, component);
+
+        assertThat(createdAtCaptor.getValue().get(), is(of(createdAt)));
+    }
+
+    @Test
+    public void shouldNotRemoveEventFromEventBufferIfKnownToBeEmptyAndCacheEventBufferAsEmptyOnceUpToDate() throws Exception {
+
+        final UUID eventId = randomUUID();
+        final UUID streamId = randomUUID();
+        final String eventName = "some-event-name";
+        final String source = "some-source";
+        final String component = "some-component";
+        final long eventPositionInStream = 7686;
+        final long eventBufferVersion = 3L;
+
+        final JsonEnvelope eventJsonEnvelope = mock(JsonEnvelope.class);
+        final Metadata metadata = mock(Metadata.class);
+        final StreamUpdateContext streamUpdateContext = mock(StreamUpdateContext.class);
+        final InterceptorContext interceptorContext = mock(InterceptorContext.class);
+        final InterceptorChainProcessor interceptorChainProcessor = mock(InterceptorChainProcessor.class);
+
+        when(streamUpdateContext.streamErrorId()).thenReturn(empty());
+        when(streamUpdateContext.eventBufferVersion()).thenReturn(eventBufferVersion);
+        when(eventJsonEnvelope.metadata()).thenReturn(metadata);
+        when(metadata.name()).thenReturn(eventName);
+        when(metadata.id()).thenReturn(eventId);
+        when(metadata.streamId()).thenReturn(of(streamId));
+        when(eventSourceNameCalculator.getSource(eventJsonEnvelope)).thenReturn(source);
+        when(metadata.position()).thenReturn(of(eventPositionInStream));
+        when(streamUpdateContext.latestKnownStreamPosition()).thenReturn(eventPositionInStream);
+        when(newStreamStatusRepository.lockStreamAndGetStreamUpdateContextWithError(
+                streamId,
+                source,
+                component,
+                eventPositionInStream)).thenReturn(streamUpdateContext);
+        when(eventProcessingStatusCalculator.calculateEventOrderingStatus(streamUpdateContext)).thenReturn(EVENT_CORRECTLY_ORDERED);
+        when(interceptorChainProcessorProducer.produceLocalProcessor(component)).thenReturn(interceptorChainProcessor);
+        when(interceptorContextProvider.getInterceptorContext(eventJsonEnvelope)).thenReturn(interceptorContext);
+        when(emptyEventBufferCache.isKnownEmptyAt(streamId, source, component, eventBufferVersion)).thenReturn(true);
+
+        assertThat(subscriptionEventProcessor.processSingleEvent(eventJsonEnvelope, component), is(true));
+
+        final InOrder inOrder = inOrder(
+                interceptorChainProcessor,
+                newStreamStatusRepository,
+                emptyEventBufferCache,
+                transactionHandler);
+
+        inOrder.verify(interceptorChainProcessor).process(interceptorContext);
+        inOrder.verify(newStreamStatusRepository).updateCurrentPosition(streamId, source, component, eventPositionInStream);
+        inOrder.verify(newStreamStatusRepository).setUpToDate(true, streamId, source, component);
+        inOrder.verify(emptyEventBufferCache).markEmptyAt(streamId, source, component, eventBufferVersion);
+        inOrder.verify(transactionHandler).commit(userTransaction);
+
+        verifyNoInteractions(newEventBufferRepository);
+    }
+
+    @Test
+    public void shouldNotRemoveEventFromEventBufferIfCallerRemovesItItself() throws Exception {
+
+        final UUID eventId = randomUUID();
+        final UUID streamId = randomUUID();
+        final String eventName = "some-event-name";
+        final String source = "some-source";
+        final String component = "some-component";
+        final long eventPositionInStream = 7686;
+
+        final JsonEnvelope eventJsonEnvelope = mock(JsonEnvelope.class);
+        final Metadata metadata = mock(Metadata.class);
+        final StreamUpdateContext streamUpdateContext = mock(StreamUpdateContext.class);
+        final InterceptorContext interceptorContext = mock(InterceptorContext.class);
+        final InterceptorChainProcessor interceptorChainProcessor = mock(InterceptorChainProcessor.class);
+
+        when(streamUpdateContext.streamErrorId()).thenReturn(empty());
+        when(eventJsonEnvelope.metadata()).thenReturn(metadata);
+        when(metadata.name()).thenReturn(eventName);
+        when(metadata.id()).thenReturn(eventId);
+        when(metadata.streamId()).thenReturn(of(streamId));
+        when(eventSourceNameCalculator.getSource(eventJsonEnvelope)).thenReturn(source);
+        when(metadata.position()).thenReturn(of(eventPositionInStream));
+        when(streamUpdateContext.latestKnownStreamPosition()).thenReturn(eventPositionInStream);
+        when(newStreamStatusRepository.lockStreamAndGetStreamUpdateContextWithError(
+                streamId,
+                source,
+                component,
+                eventPositionInStream)).thenReturn(streamUpdateContext);
+        when(eventProcessingStatusCalculator.calculateEventOrderingStatus(streamUpdateContext)).thenReturn(EVENT_CORRECTLY_ORDERED);
+        when(interceptorChainProcessorProducer.produceLocalProcessor(component)).thenReturn(interceptorChainProcessor);
+        when(interceptorContextProvider.getInterceptorContext(eventJsonEnvelope)).thenReturn(interceptorContext);
+
+        assertThat(subscriptionEventProcessor.processSingleEvent(eventJsonEnvelope, component, false), is(true));
+
+        verify(interceptorChainProcessor).process(interceptorContext);
+        verify(newStreamStatusRepository).updateCurrentPosition(streamId, source, component, eventPositionInStream);
+        verify(transactionHandler).commit(userTransaction);
+        verifyNoInteractions(newEventBufferRepository);
+    }
+
     @Test
     public void shoulMarkStreamAsFixedIfPreviousErrorExistsOnThatStream() throws Exception {
 
@@ -464,6 +627,7 @@ public class SubscriptionEventProcessorTest {
         verify(newStreamStatusRepository, never()).setUpToDate(true, streamId, source, component);
         verify(transactionHandler, never()).rollback(userTransaction);
         verify(micrometerMetricsCounters, never()).incrementEventsSucceededCount(source, component);
+        verify(eventStoreTimers, never()).recordLag(eq(PROCESSED_LAG), any(), eq(source), eq(component));
     }
 
     @Test
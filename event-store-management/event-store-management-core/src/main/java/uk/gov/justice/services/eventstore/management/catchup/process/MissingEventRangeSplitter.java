@@ -0,0 +1,33 @@
+package uk.gov.justice.services.eventstore.management.catchup.process;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.stream.Stream.iterate;
+
+import uk.gov.justice.services.eventsourcing.source.api.streams.MissingEventRange;
+
+import java.util.stream.Stream;
+
+public class MissingEventRangeSplitter {
+
+    /**
+     * Splits a MissingEventRange into consecutive sub ranges of no more than rangeSize events,
+     * in ascending event_number order.
+     *
+     * @param missingEventRange the range to split, from (inclusive) to (exclusive)
+     * @param rangeSize the maximum number of event numbers in each sub range
+     * @return a Stream of sub ranges covering the whole of the original range
+     */
+    public Stream<MissingEventRange> split(final MissingEventRange missingEventRange, final long rangeSize) {
+
+        if (rangeSize < 1) {
+            throw new IllegalArgumentException(format("Catchup range size must be greater than zero but was %d", rangeSize));
+        }
+
+        final long missingEventFrom = missingEventRange.getMissingEventFrom();
+        final long missingEventTo = missingEventRange.getMissingEventTo();
+
+        return iterate(missingEventFrom, from -> from < missingEventTo, from -> from + rangeSize)
+                .map(from -> new MissingEventRange(from, min(from + rangeSize, missingEventTo)));
+    }
+}
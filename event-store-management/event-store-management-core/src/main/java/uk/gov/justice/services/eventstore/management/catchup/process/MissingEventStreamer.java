@@ -3,6 +3,7 @@ package uk.gov.justice.services.eventstore.management.catchup.process;
 import uk.gov.justice.services.event.sourcing.subscription.manager.LinkedEventSourceProvider;
 import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
 import uk.gov.justice.services.eventsourcing.source.api.service.core.LinkedEventSource;
+import uk.gov.justice.services.eventsourcing.source.api.streams.MissingEventRange;
 import uk.gov.justice.services.subscription.ProcessedEventTrackingService;
 
 import java.util.stream.Stream;
@@ -17,12 +18,33 @@ public class MissingEventStreamer {
     @Inject
     private ProcessedEventTrackingService processedEventTrackingService;
 
+    @Inject
+    private ParallelCatchupReaderConfig parallelCatchupReaderConfig;
+
+    @Inject
+    private MissingEventRangeSplitter missingEventRangeSplitter;
+
+    @Inject
+    private ParallelMissingEventReader parallelMissingEventReader;
+
     public Stream<LinkedEvent> getMissingEvents(final String eventSourceName, final String componentName) {
 
         final LinkedEventSource linkedEventSource = linkedEventSourceProvider.getLinkedEventSource(eventSourceName);
         final Long highestPublishedEventNumber = linkedEventSource.getHighestPublishedEventNumber();
 
-        return processedEventTrackingService.getAllMissingEvents(eventSourceName, componentName, highestPublishedEventNumber)
-                .flatMap(linkedEventSource::findEventRange);
+        final Stream<MissingEventRange> missingEventRanges = processedEventTrackingService.getAllMissingEvents(eventSourceName, componentName, highestPublishedEventNumber);
+
+        if (parallelCatchupReaderConfig.isParallelReaderEnabled()) {
+            final long rangeSize = parallelCatchupReaderConfig.getRangeSize();
+            final Stream<MissingEventRange> subRanges = missingEventRanges
+                    .flatMap(missingEventRange -> missingEventRangeSplitter.split(missingEventRange, rangeSize));
+
+            return parallelMissingEventReader.readEvents(
+                    linkedEventSource,
+                    subRanges,
+                    parallelCatchupReaderConfig.getMaxConcurrentReads());
+        }
+
+        return missingEventRanges.flatMap(linkedEventSource::findEventRange);
     }
 }
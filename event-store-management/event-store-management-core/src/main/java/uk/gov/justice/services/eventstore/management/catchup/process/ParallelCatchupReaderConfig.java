@@ -0,0 +1,36 @@
+package uk.gov.justice.services.eventstore.management.catchup.process;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+
+import javax.inject.Inject;
+
+public class ParallelCatchupReaderConfig {
+
+    @Inject
+    @GlobalValue(key = "catchup.parallel.reader.enabled", defaultValue = "false")
+    private String parallelReaderEnabled;
+
+    @Inject
+    @GlobalValue(key = "catchup.parallel.reader.range.size", defaultValue = "10000")
+    private String rangeSize;
+
+    @Inject
+    @GlobalValue(key = "catchup.parallel.reader.max.concurrent.reads", defaultValue = "4")
+    private String maxConcurrentReads;
+
+    public boolean isParallelReaderEnabled() {
+        return parseBoolean(parallelReaderEnabled);
+    }
+
+    public long getRangeSize() {
+        return parseLong(rangeSize);
+    }
+
+    public int getMaxConcurrentReads() {
+        return parseInt(maxConcurrentReads);
+    }
+}
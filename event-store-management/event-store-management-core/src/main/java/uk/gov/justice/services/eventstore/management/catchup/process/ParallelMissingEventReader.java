@@ -0,0 +1,123 @@
+package uk.gov.justice.services.eventstore.management.catchup.process;
+
+import static java.lang.String.format;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.StreamSupport.stream;
+
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
+import uk.gov.justice.services.eventsourcing.source.api.service.core.LinkedEventSource;
+import uk.gov.justice.services.eventsourcing.source.api.streams.MissingEventRange;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+/**
+ * Reads ranges of events from a LinkedEventSource concurrently, each range on its own
+ * connection, using the ManagedExecutorService.
+ *
+ * Up to maxConcurrentReads ranges are read ahead of the range currently being consumed.
+ * The events of each range are returned in range order, so as long as the ranges are in
+ * ascending event_number order, all events are returned in event_number order and the
+ * events of each stream stay in position order.
+ */
+public class ParallelMissingEventReader {
+
+    @Resource
+    private ManagedExecutorService managedExecutorService;
+
+    public Stream<LinkedEvent> readEvents(
+            final LinkedEventSource linkedEventSource,
+            final Stream<MissingEventRange> missingEventRanges,
+            final int maxConcurrentReads) {
+
+        if (maxConcurrentReads < 1) {
+            throw new IllegalArgumentException(format("Maximum number of concurrent catchup reads must be greater than zero but was %d", maxConcurrentReads));
+        }
+
+        final ReadAheadIterator readAheadIterator = new ReadAheadIterator(
+                linkedEventSource,
+                missingEventRanges.iterator(),
+                maxConcurrentReads);
+
+        return stream(spliteratorUnknownSize(readAheadIterator, ORDERED | NONNULL), false)
+                .flatMap(List::stream)
+                .onClose(readAheadIterator::cancelOutstandingReads)
+                .onClose(missingEventRanges::close);
+    }
+
+    private class ReadAheadIterator implements Iterator<List<LinkedEvent>> {
+
+        private final LinkedEventSource linkedEventSource;
+        private final Iterator<MissingEventRange> missingEventRanges;
+        private final int maxConcurrentReads;
+        private final Deque<CompletableFuture<List<LinkedEvent>>> outstandingReads = new ArrayDeque<>();
+
+        private ReadAheadIterator(
+                final LinkedEventSource linkedEventSource,
+                final Iterator<MissingEventRange> missingEventRanges,
+                final int maxConcurrentReads) {
+            this.linkedEventSource = linkedEventSource;
+            this.missingEventRanges = missingEventRanges;
+            this.maxConcurrentReads = maxConcurrentReads;
+        }
+
+        @Override
+        public boolean hasNext() {
+            startReads();
+            return !outstandingReads.isEmpty();
+        }
+
+        @Override
+        public List<LinkedEvent> next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final CompletableFuture<List<LinkedEvent>> nextRead = outstandingReads.poll();
+
+            try {
+                return nextRead.join();
+            } catch (final CompletionException e) {
+                cancelOutstandingReads();
+
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+
+                throw e;
+            }
+        }
+
+        private void startReads() {
+            while (outstandingReads.size() < maxConcurrentReads && missingEventRanges.hasNext()) {
+                final MissingEventRange missingEventRange = missingEventRanges.next();
+                outstandingReads.add(supplyAsync(() -> readRange(missingEventRange), managedExecutorService));
+            }
+        }
+
+        private List<LinkedEvent> readRange(final MissingEventRange missingEventRange) {
+            try (final Stream<LinkedEvent> linkedEvents = linkedEventSource.findEventRange(missingEventRange)) {
+                return linkedEvents.collect(toList());
+            }
+        }
+
+        private void cancelOutstandingReads() {
+            outstandingReads.forEach(outstandingRead -> outstandingRead.cancel(true));
+            outstandingReads.clear();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.justice.services.eventstore.management.catchup.process;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import uk.gov.justice.services.eventsourcing.source.api.streams.MissingEventRange;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class MissingEventRangeSplitterTest {
+
+    @InjectMocks
+    private MissingEventRangeSplitter missingEventRangeSplitter;
+
+    @Test
+    public void shouldSplitRangeIntoSubRangesOfRangeSizeWithTheLastSubRangeEndingAtTheEndOfTheRange() throws Exception {
+
+        final List<MissingEventRange> subRanges = missingEventRangeSplitter
+                .split(new MissingEventRange(1L, 24L), 10L)
+                .collect(toList());
+
+        assertThat(subRanges, is(List.of(
+                new MissingEventRange(1L, 11L),
+                new MissingEventRange(11L, 21L),
+                new MissingEventRange(21L, 24L))));
+    }
+
+    @Test
+    public void shouldNotSplitRangeSmallerThanRangeSize() throws Exception {
+
+        final List<MissingEventRange> subRanges = missingEventRangeSplitter
+                .split(new MissingEventRange(5L, 8L), 10L)
+                .collect(toList());
+
+        assertThat(subRanges, is(List.of(new MissingEventRange(5L, 8L))));
+    }
+
+    @Test
+    public void shouldReturnNoSubRangesForEmptyRange() throws Exception {
+
+        final List<MissingEventRange> subRanges = missingEventRangeSplitter
+                .split(new MissingEventRange(5L, 5L), 10L)
+                .collect(toList());
+
+        assertThat(subRanges, is(List.of()));
+    }
+
+    @Test
+    public void shouldFailIfRangeSizeIsLessThanOne() throws Exception {
+
+        final IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> missingEventRangeSplitter.split(new MissingEventRange(1L, 24L), 0L));
+
+        assertThat(illegalArgumentException.getMessage(), is("Catchup range size must be greater than zero but was 0"));
+    }
+}
@@ -3,7 +3,11 @@ package uk.gov.justice.services.eventstore.management.catchup.process;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import uk.gov.justice.services.event.sourcing.subscription.manager.LinkedEventSourceProvider;
@@ -17,6 +21,7 @@ import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -30,6 +35,15 @@ public class MissingEventStreamerTest {
     @Mock
     private ProcessedEventTrackingService processedEventTrackingService;
 
+    @Mock
+    private ParallelCatchupReaderConfig parallelCatchupReaderConfig;
+
+    @Mock
+    private MissingEventRangeSplitter missingEventRangeSplitter;
+
+    @Mock
+    private ParallelMissingEventReader parallelMissingEventReader;
+
     @InjectMocks
     private MissingEventStreamer missingEventStreamer;
 
@@ -60,6 +74,7 @@ public class MissingEventStreamerTest {
         when(linkedEventSourceProvider.getLinkedEventSource(eventSourceName)).thenReturn(linkedEventSource);
         when(linkedEventSource.getHighestPublishedEventNumber()).thenReturn(highestPublishedEventNumber);
         when(processedEventTrackingService.getAllMissingEvents(eventSourceName, componentName, highestPublishedEventNumber)).thenReturn(missingEventRangeStream);
+        when(parallelCatchupReaderConfig.isParallelReaderEnabled()).thenReturn(false);
         when(linkedEventSource.findEventRange(missingEventRange_1)).thenReturn(publishedEventStream_1);
         when(linkedEventSource.findEventRange(missingEventRange_2)).thenReturn(publishedEventStream_2);
 
@@ -72,4 +87,45 @@ public class MissingEventStreamerTest {
         assertThat(missingEvents.get(2), is(linkedEvent_7));
         assertThat(missingEvents.get(3), is(linkedEvent_8));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSplitTheRangesOfMissingEventsAndReadThemInParallelIfEnabled() throws Exception {
+
+        final String componentName = "EVENT_LISTENER";
+        final String eventSourceName = "event source name";
+        final Long highestPublishedEventNumber = 23L;
+        final long rangeSize = 10L;
+        final int maxConcurrentReads = 3;
+
+        final LinkedEventSource linkedEventSource = mock(LinkedEventSource.class);
+
+        final MissingEventRange missingEventRange_1 = new MissingEventRange(1L, 15L);
+        final MissingEventRange missingEventRange_2 = new MissingEventRange(20L, 24L);
+        final MissingEventRange subRange_1 = new MissingEventRange(1L, 11L);
+        final MissingEventRange subRange_2 = new MissingEventRange(11L, 15L);
+
+        final LinkedEvent linkedEvent_1 = mock(LinkedEvent.class);
+        final LinkedEvent linkedEvent_2 = mock(LinkedEvent.class);
+
+        final ArgumentCaptor<Stream<MissingEventRange>> subRangesCaptor = ArgumentCaptor.forClass(Stream.class);
+
+        when(linkedEventSourceProvider.getLinkedEventSource(eventSourceName)).thenReturn(linkedEventSource);
+        when(linkedEventSource.getHighestPublishedEventNumber()).thenReturn(highestPublishedEventNumber);
+        when(processedEventTrackingService.getAllMissingEvents(eventSourceName, componentName, highestPublishedEventNumber)).thenReturn(Stream.of(missingEventRange_1, missingEventRange_2));
+        when(parallelCatchupReaderConfig.isParallelReaderEnabled()).thenReturn(true);
+        when(parallelCatchupReaderConfig.getRangeSize()).thenReturn(rangeSize);
+        when(parallelCatchupReaderConfig.getMaxConcurrentReads()).thenReturn(maxConcurrentReads);
+        when(missingEventRangeSplitter.split(missingEventRange_1, rangeSize)).thenReturn(Stream.of(subRange_1, subRange_2));
+        when(missingEventRangeSplitter.split(missingEventRange_2, rangeSize)).thenReturn(Stream.of(missingEventRange_2));
+        when(parallelMissingEventReader.readEvents(eq(linkedEventSource), subRangesCaptor.capture(), eq(maxConcurrentReads))).thenReturn(Stream.of(linkedEvent_1, linkedEvent_2));
+
+        final List<LinkedEvent> missingEvents = missingEventStreamer.getMissingEvents(eventSourceName, componentName)
+                .collect(toList());
+
+        assertThat(missingEvents, is(List.of(linkedEvent_1, linkedEvent_2)));
+        assertThat(subRangesCaptor.getValue().collect(toList()), is(List.of(subRange_1, subRange_2, missingEventRange_2)));
+
+        verify(linkedEventSource, never()).findEventRange(any(MissingEventRange.class));
+    }
 }
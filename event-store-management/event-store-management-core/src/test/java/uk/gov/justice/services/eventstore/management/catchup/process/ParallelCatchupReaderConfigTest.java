@@ -0,0 +1,29 @@
+package uk.gov.justice.services.eventstore.management.catchup.process;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ParallelCatchupReaderConfigTest {
+
+    @InjectMocks
+    private ParallelCatchupReaderConfig parallelCatchupReaderConfig;
+
+    @Test
+    public void shouldGetTheInjectedGlobalValues() throws Exception {
+
+        setField(parallelCatchupReaderConfig, "parallelReaderEnabled", "true");
+        setField(parallelCatchupReaderConfig, "rangeSize", "5000");
+        setField(parallelCatchupReaderConfig, "maxConcurrentReads", "8");
+
+        assertThat(parallelCatchupReaderConfig.isParallelReaderEnabled(), is(true));
+        assertThat(parallelCatchupReaderConfig.getRangeSize(), is(5000L));
+        assertThat(parallelCatchupReaderConfig.getMaxConcurrentReads(), is(8));
+    }
+}
@@ -0,0 +1,156 @@
+package uk.gov.justice.services.eventstore.management.catchup.process;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.eventsourcing.repository.jdbc.event.LinkedEvent;
+import uk.gov.justice.services.eventsourcing.source.api.service.core.LinkedEventSource;
+import uk.gov.justice.services.eventsourcing.source.api.streams.MissingEventRange;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ParallelMissingEventReaderTest {
+
+    @Mock
+    private ManagedExecutorService managedExecutorService;
+
+    @InjectMocks
+    private ParallelMissingEventReader parallelMissingEventReader;
+
+    @Test
+    public void shouldReadAllRangesUsingTheManagedExecutorServiceAndReturnTheEventsInRangeOrder() throws Exception {
+
+        final LinkedEventSource linkedEventSource = mock(LinkedEventSource.class);
+
+        final MissingEventRange missingEventRange_1 = new MissingEventRange(1L, 3L);
+        final MissingEventRange missingEventRange_2 = new MissingEventRange(3L, 5L);
+        final MissingEventRange missingEventRange_3 = new MissingEventRange(5L, 7L);
+
+        final LinkedEvent linkedEvent_1 = mock(LinkedEvent.class);
+        final LinkedEvent linkedEvent_2 = mock(LinkedEvent.class);
+        final LinkedEvent linkedEvent_3 = mock(LinkedEvent.class);
+        final LinkedEvent linkedEvent_4 = mock(LinkedEvent.class);
+        final LinkedEvent linkedEvent_6 = mock(LinkedEvent.class);
+
+        final List<Runnable> submittedReads = new CopyOnWriteArrayList<>();
+        doAnswer(invocationOnMock -> submittedReads.add(invocationOnMock.getArgument(0, Runnable.class)))
+                .when(managedExecutorService).execute(any(Runnable.class));
+
+        when(linkedEventSource.findEventRange(missingEventRange_1)).thenReturn(Stream.of(linkedEvent_1, linkedEvent_2));
+        when(linkedEventSource.findEventRange(missingEventRange_2)).thenReturn(Stream.of(linkedEvent_3, linkedEvent_4));
+        when(linkedEventSource.findEventRange(missingEventRange_3)).thenReturn(Stream.of(linkedEvent_6));
+
+        final Stream<LinkedEvent> linkedEventStream = parallelMissingEventReader.readEvents(
+                linkedEventSource,
+                Stream.of(missingEventRange_1, missingEventRange_2, missingEventRange_3),
+                3);
+
+        final Thread readerThread = new Thread(() -> {
+            while (submittedReads.size() < 3) {
+                Thread.onSpinWait();
+            }
+
+            // complete the reads out of order, the events should still be returned in range order
+            submittedReads.get(2).run();
+            submittedReads.get(1).run();
+            submittedReads.get(0).run();
+        });
+
+        readerThread.start();
+
+        final List<LinkedEvent> linkedEvents;
+        try (linkedEventStream) {
+            linkedEvents = linkedEventStream.collect(toList());
+        }
+        readerThread.join();
+
+        assertThat(linkedEvents, is(List.of(linkedEvent_1, linkedEvent_2, linkedEvent_3, linkedEvent_4, linkedEvent_6)));
+    }
+
+    @Test
+    public void shouldOnlyReadAheadMaxConcurrentReadsRanges() throws Exception {
+
+        final LinkedEventSource linkedEventSource = mock(LinkedEventSource.class);
+
+        final MissingEventRange missingEventRange_1 = new MissingEventRange(1L, 3L);
+        final MissingEventRange missingEventRange_2 = new MissingEventRange(3L, 5L);
+        final MissingEventRange missingEventRange_3 = new MissingEventRange(5L, 7L);
+
+        final LinkedEvent linkedEvent_1 = mock(LinkedEvent.class);
+
+        doAnswer(invocationOnMock -> {
+            invocationOnMock.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(managedExecutorService).execute(any(Runnable.class));
+
+        when(linkedEventSource.findEventRange(missingEventRange_1)).thenReturn(Stream.of(linkedEvent_1));
+        when(linkedEventSource.findEventRange(missingEventRange_2)).thenReturn(Stream.of());
+
+        try (final Stream<LinkedEvent> linkedEventStream = parallelMissingEventReader.readEvents(
+                linkedEventSource,
+                Stream.of(missingEventRange_1, missingEventRange_2, missingEventRange_3),
+                2)) {
+
+            assertThat(linkedEventStream.findFirst().orElseThrow(), is(linkedEvent_1));
+        }
+
+        verify(managedExecutorService, times(2)).execute(any(Runnable.class));
+        verify(linkedEventSource, never()).findEventRange(missingEventRange_3);
+    }
+
+    @Test
+    public void shouldRethrowExceptionsThrownWhenReadingARange() throws Exception {
+
+        final LinkedEventSource linkedEventSource = mock(LinkedEventSource.class);
+        final MissingEventRange missingEventRange = new MissingEventRange(1L, 3L);
+        final RuntimeException runtimeException = new RuntimeException("Ooops");
+
+        doAnswer(invocationOnMock -> {
+            invocationOnMock.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(managedExecutorService).execute(any(Runnable.class));
+
+        when(linkedEventSource.findEventRange(missingEventRange)).thenThrow(runtimeException);
+
+        try (final Stream<LinkedEvent> linkedEventStream = parallelMissingEventReader.readEvents(
+                linkedEventSource,
+                Stream.of(missingEventRange),
+                2)) {
+
+            final RuntimeException thrown = assertThrows(RuntimeException.class, () -> linkedEventStream.collect(toList()));
+            assertThat(thrown, is(runtimeException));
+        }
+    }
+
+    @Test
+    public void shouldFailIfMaxConcurrentReadsIsLessThanOne() throws Exception {
+
+        final LinkedEventSource linkedEventSource = mock(LinkedEventSource.class);
+
+        final IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> parallelMissingEventReader.readEvents(linkedEventSource, Stream.of(), 0));
+
+        assertThat(illegalArgumentException.getMessage(), is("Maximum number of concurrent catchup reads must be greater than zero but was 0"));
+    }
+}
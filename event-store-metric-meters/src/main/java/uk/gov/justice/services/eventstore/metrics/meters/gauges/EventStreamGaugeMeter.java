@@ -4,6 +4,7 @@ import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamMetric
 import uk.gov.justice.services.metrics.micrometer.meters.GaugeMetricsMeter;
 import uk.gov.justice.services.metrics.micrometer.meters.SourceComponentPair;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -29,10 +30,19 @@ public class EventStreamGaugeMeter implements GaugeMetricsMeter {
         this.metricDescription = metricDescription;
     }
 
+    /**
+     * @return the metric of the source and component, 0 if it has no streams, or null, reported by
+     * the gauge as NaN, if the stream metrics have not been read yet
+     */
     @Override
     public Integer get() {
-        return streamMetricsProvider
-                .getMetrics(sourceComponentPair.source(), sourceComponentPair.component())
+        final Optional<StreamMetrics> streamMetrics = streamMetricsProvider.getMetrics(sourceComponentPair.source(), sourceComponentPair.component());
+
+        if (streamMetrics.isEmpty() && !streamMetricsProvider.isSnapshotLoaded()) {
+            return null;
+        }
+
+        return streamMetrics
                 .map(metricExtractor)
                 .orElse(0);
     }
@@ -1,26 +1,79 @@
 package uk.gov.justice.services.eventstore.metrics.meters.gauges;
 
 import static java.lang.String.format;
+import static uk.gov.justice.services.eventstore.metrics.meters.gauges.StreamMetricsSnapshot.NOT_LOADED;
+import static uk.gov.justice.services.eventstore.metrics.meters.gauges.StreamMetricsSnapshot.snapshotOf;
 
+import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamMetrics;
 import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamMetricsRepository;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 
+/**
+ * Serves the metrics of all stream gauges on this node from a single in memory snapshot of the
+ * stream_statistic table, so a scrape no longer runs a query per gauge.
+ *
+ * A gauge read never waits for the database: once the snapshot is older than the configured
+ * refresh interval, the read triggers the snapshot to be read again in the background and is
+ * answered from the current snapshot. The first snapshot is read in the background as soon as the
+ * provider is created, and until it has been read the stream gauges report NaN. Only one refresh
+ * runs at a time. The age of the snapshot is reported by the gauge
+ * 'event-store.stream.metrics.snapshot.age.seconds'.
+ */
+@ApplicationScoped
 public class StreamMetricsProvider {
 
     @Inject
     private StreamMetricsRepository streamMetricsRepository;
 
+    @Inject
+    private StreamMetricsSnapshotConfig streamMetricsSnapshotConfig;
+
+    @Inject
+    private UtcClock clock;
+
     @Inject
     private Logger logger;
 
+    @Resource
+    private ManagedExecutorService managedExecutorService;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    private final AtomicReference<StreamMetricsSnapshot> snapshot = new AtomicReference<>(NOT_LOADED);
+    private final AtomicBoolean refreshInProgress = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void startup() {
+        Gauge.builder("event-store.stream.metrics.snapshot.age.seconds", this, StreamMetricsProvider::snapshotAgeSeconds)
+                .description("The age of the stream metrics served to the stream gauges, or NaN if they have not been read yet")
+                .strongReference(true)
+                .register(meterRegistry);
+
+        refreshSnapshotIfStale();
+    }
+
     public Optional<StreamMetrics> getMetrics(final String source, final String component) {
-        final Optional<StreamMetrics> streamMetrics = streamMetricsRepository.getStreamMetrics(source, component);
+
+        refreshSnapshotIfStale();
+
+        final Optional<StreamMetrics> streamMetrics = snapshot.get().find(source, component);
 
         if (logger.isDebugEnabled()) {
             logger.debug(format("Retrieved stream metrics for %s %s: %s", source, component, streamMetrics));
@@ -28,4 +81,54 @@ public class StreamMetricsProvider {
 
         return streamMetrics;
     }
+
+    /**
+     * @return true once the stream metrics have been read from stream_statistic for the first time
+     */
+    public boolean isSnapshotLoaded() {
+        return snapshot.get().loadedAt().isPresent();
+    }
+
+    /**
+     * @return how long ago the stream metrics currently served were read from stream_statistic,
+     * or empty if they have not been read yet
+     */
+    public Optional<Duration> getSnapshotAge() {
+        return snapshot.get()
+                .loadedAt()
+                .map(loadedAt -> Duration.between(loadedAt, clock.now()));
+    }
+
+    private void refreshSnapshotIfStale() {
+
+        final long refreshIntervalMilliseconds = streamMetricsSnapshotConfig.getRefreshIntervalMilliseconds();
+        final boolean stale = getSnapshotAge()
+                .map(snapshotAge -> snapshotAge.toMillis() >= refreshIntervalMilliseconds)
+                .orElse(true);
+
+        if (stale && refreshInProgress.compareAndSet(false, true)) {
+            try {
+                managedExecutorService.execute(this::refreshSnapshot);
+            } catch (final RejectedExecutionException e) {
+                refreshInProgress.set(false);
+                logger.warn("Failed to submit refresh of stream metrics snapshot", e);
+            }
+        }
+    }
+
+    private void refreshSnapshot() {
+        try {
+            snapshot.set(snapshotOf(streamMetricsRepository.findAllStreamMetrics(), clock.now()));
+        } catch (final RuntimeException e) {
+            logger.warn("Failed to refresh stream metrics snapshot", e);
+        } finally {
+            refreshInProgress.set(false);
+        }
+    }
+
+    private double snapshotAgeSeconds() {
+        return getSnapshotAge()
+                .map(snapshotAge -> snapshotAge.toMillis() / 1000.0)
+                .orElse(Double.NaN);
+    }
 }
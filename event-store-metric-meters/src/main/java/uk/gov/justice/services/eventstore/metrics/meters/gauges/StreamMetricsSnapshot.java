@@ -0,0 +1,43 @@
+package uk.gov.justice.services.eventstore.metrics.meters.gauges;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.ofNullable;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamMetrics;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The metrics of every source and component, as read from stream_statistic in a single query
+ *
+ * @param metricsBySourceAndComponent the metrics, keyed by their source and component
+ * @param loadedAt when the metrics were read, or empty if they have never been read
+ */
+public record StreamMetricsSnapshot(
+        Map<SourceAndComponent, StreamMetrics> metricsBySourceAndComponent,
+        Optional<ZonedDateTime> loadedAt) {
+
+    public static final StreamMetricsSnapshot NOT_LOADED = new StreamMetricsSnapshot(Map.of(), empty());
+
+    public static StreamMetricsSnapshot snapshotOf(final List<StreamMetrics> allStreamMetrics, final ZonedDateTime loadedAt) {
+
+        final Map<SourceAndComponent, StreamMetrics> metricsBySourceAndComponent = allStreamMetrics.stream()
+                .collect(toMap(
+                        streamMetrics -> new SourceAndComponent(streamMetrics.source(), streamMetrics.component()),
+                        identity()));
+
+        return new StreamMetricsSnapshot(metricsBySourceAndComponent, Optional.of(loadedAt));
+    }
+
+    public Optional<StreamMetrics> find(final String source, final String component) {
+        return ofNullable(metricsBySourceAndComponent.get(new SourceAndComponent(source, component)));
+    }
+
+    public record SourceAndComponent(String source, String component) {
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.justice.services.eventstore.metrics.meters.gauges;
+
+import static java.lang.Long.parseLong;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+
+import javax.inject.Inject;
+
+public class StreamMetricsSnapshotConfig {
+
+    @Inject
+    @GlobalValue(key = "stream.metrics.snapshot.refresh.interval.milliseconds", defaultValue = "10000")
+    private String refreshIntervalMilliseconds;
+
+    /**
+     * @return how old the snapshot of stream metrics served to the stream gauges can get before
+     * a gauge read triggers it to be read again from stream_statistic
+     */
+    public long getRefreshIntervalMilliseconds() {
+        return parseLong(refreshIntervalMilliseconds);
+    }
+}
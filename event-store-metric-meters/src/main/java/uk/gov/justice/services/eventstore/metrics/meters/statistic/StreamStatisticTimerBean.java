@@ -2,6 +2,7 @@ package uk.gov.justice.services.eventstore.metrics.meters.statistic;
 
 import uk.gov.justice.services.ejb.timer.TimerServiceManager;
 import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamMetricsRepository;
+import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamStatisticConfig;
 import uk.gov.justice.services.metrics.micrometer.config.MetricsConfiguration;
 
 import java.sql.Timestamp;
@@ -38,6 +39,9 @@ public class StreamStatisticTimerBean {
     @Inject
     private StreamMetricsRepository streamMetricsRepository;
 
+    @Inject
+    private StreamStatisticConfig streamStatisticConfig;
+
     @PostConstruct
     public void startTimerService() {
         if (metricsConfiguration.micrometerMetricsEnabled()) {
@@ -49,14 +53,30 @@ public class StreamStatisticTimerBean {
         }
     }
 
+    /**
+     * Recalculates stream_statistic in full from stream_status once it is older than the timer
+     * interval. If incremental stream statistics are enabled the deltas recorded since the last
+     * run are applied instead, and the full recalculation only runs once stream_statistic is older
+     * than the reconciliation interval, to correct any drift. Both run in the timeout's
+     * transaction, so the recalculation is skipped if another node holds the lock on
+     * stream_statistic, as the failed lock aborts the transaction.
+     */
     @Timeout
     public void calculateStreamStatistic() {
-        final long timerIntervalMillis = metricsConfiguration.statisticTimerIntervalMilliseconds();
-        final Timestamp freshnessLimit = Timestamp.from(Instant.now().minusMillis(timerIntervalMillis));
         try {
-            streamMetricsRepository.calculateStreamStatistic(freshnessLimit);
+            if (streamStatisticConfig.isIncrementalStreamStatisticEnabled()) {
+                if (streamMetricsRepository.applyStreamStatisticDeltas()) {
+                    streamMetricsRepository.calculateStreamStatistic(freshnessLimit(streamStatisticConfig.getReconciliationIntervalMilliseconds()));
+                }
+            } else {
+                streamMetricsRepository.calculateStreamStatistic(freshnessLimit(metricsConfiguration.statisticTimerIntervalMilliseconds()));
+            }
         } catch (Exception e) {
             logger.warn("Error calculating stream statistic", e);
         }
     }
+
+    private Timestamp freshnessLimit(final long intervalMillis) {
+        return Timestamp.from(Instant.now().minusMillis(intervalMillis));
+    }
 }
@@ -3,6 +3,7 @@ package uk.gov.justice.services.eventstore.metrics.meters.gauges;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.when;
 
@@ -57,6 +58,7 @@ public class EventStreamGaugeMeterTest {
         final SourceComponentPair sourceComponentPair = new SourceComponentPair(SOURCE, COMPONENT);
 
         when(streamMetricsProvider.getMetrics(SOURCE, COMPONENT)).thenReturn(empty());
+        when(streamMetricsProvider.isSnapshotLoaded()).thenReturn(true);
 
         final EventStreamGaugeMeter gaugeMeter = new EventStreamGaugeMeter(
                 sourceComponentPair,
@@ -68,4 +70,23 @@ public class EventStreamGaugeMeterTest {
 
         assertThat(gaugeMeter.get(), is(0));
     }
+
+    @Test
+    public void shouldReturnNullToBeReportedAsNaNWhenTheMetricsHaveNotBeenReadYet() {
+        final Function<StreamMetrics, Integer> metricExtractor = metrics -> 42;
+        final SourceComponentPair sourceComponentPair = new SourceComponentPair(SOURCE, COMPONENT);
+
+        when(streamMetricsProvider.getMetrics(SOURCE, COMPONENT)).thenReturn(empty());
+        when(streamMetricsProvider.isSnapshotLoaded()).thenReturn(false);
+
+        final EventStreamGaugeMeter gaugeMeter = new EventStreamGaugeMeter(
+                sourceComponentPair,
+                streamMetricsProvider,
+                metricExtractor,
+                METRIC_NAME,
+                METRIC_DESCRIPTION
+        );
+
+        assertThat(gaugeMeter.get(), is(nullValue()));
+    }
 }
@@ -1,18 +1,37 @@
 package uk.gov.justice.services.eventstore.metrics.meters.gauges;
 
+import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
 
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.event.buffer.core.repository.metrics.MetricsJdbcException;
 import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamMetrics;
 import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamMetricsRepository;
 
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -21,48 +40,204 @@ import org.slf4j.Logger;
 @ExtendWith(MockitoExtension.class)
 public class StreamMetricsProviderTest {
 
+    private static final long REFRESH_INTERVAL_MILLISECONDS = 10_000L;
+
     @Mock
     private StreamMetricsRepository streamMetricsRepository;
 
+    @Mock
+    private StreamMetricsSnapshotConfig streamMetricsSnapshotConfig;
+
+    @Mock
+    private UtcClock clock;
+
     @Mock
     private Logger logger;
 
+    @Mock
+    private ManagedExecutorService managedExecutorService;
+
+    @Captor
+    private ArgumentCaptor<Runnable> refreshCaptor;
+
     @InjectMocks
     private StreamMetricsProvider streamMetricsProvider;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    public void setup() {
+        setField(streamMetricsProvider, "meterRegistry", meterRegistry);
+    }
+
     @Test
-    public void shouldFindTheCorrectMetricsForComponent() throws Exception {
+    public void shouldServeTheMetricsOfAllGaugesFromASnapshotReadInOneQuery() throws Exception {
 
-        final String source = "some-source";
-        final String component = "some-component";
+        final ZonedDateTime loadedAt = new UtcClock().now();
+        final StreamMetrics eventListenerStreamMetrics = new StreamMetrics("some-source", "event-listener", 234, 329, 23, 87, 78);
+        final StreamMetrics eventProcessorStreamMetrics = new StreamMetrics("some-source", "event-processor", 1, 2, 3, 4, 5);
 
-        final StreamMetrics eventListenerStreamMetrics = new StreamMetrics(
-                source,
-                component, 234, 329, 23, 87, 78);
+        when(streamMetricsSnapshotConfig.getRefreshIntervalMilliseconds()).thenReturn(REFRESH_INTERVAL_MILLISECONDS);
+        when(streamMetricsRepository.findAllStreamMetrics()).thenReturn(List.of(eventListenerStreamMetrics, eventProcessorStreamMetrics));
+        when(clock.now()).thenReturn(loadedAt, loadedAt.plusSeconds(1));
 
-        when(logger.isDebugEnabled()).thenReturn(true);
-        when(streamMetricsRepository.getStreamMetrics(source, component)).thenReturn(of(eventListenerStreamMetrics));
+        assertThat(streamMetricsProvider.getMetrics("some-source", "event-listener"), is(empty()));
 
-        assertThat(streamMetricsProvider.getMetrics(source, component), is(of(eventListenerStreamMetrics)));
+        verify(managedExecutorService).execute(refreshCaptor.capture());
+        refreshCaptor.getValue().run();
 
-        verify(logger).debug("Retrieved stream metrics for some-source some-component: Optional[StreamMetrics[source=some-source, component=some-component, streamCount=234, upToDateStreamCount=329, outOfDateStreamCount=23, blockedStreamCount=87, unblockedStreamCount=78]]");
+        assertThat(streamMetricsProvider.getMetrics("some-source", "event-listener"), is(of(eventListenerStreamMetrics)));
+        assertThat(streamMetricsProvider.getMetrics("some-source", "event-processor"), is(of(eventProcessorStreamMetrics)));
+        assertThat(streamMetricsProvider.getMetrics("some-source", "unknown-component"), is(empty()));
+
+        verify(streamMetricsRepository, times(1)).findAllStreamMetrics();
+        verify(managedExecutorService, times(1)).execute(any(Runnable.class));
     }
 
     @Test
-    public void shouldNotLogIfLogNotOnDebug() throws Exception {
+    public void shouldReadTheFirstSnapshotInTheBackgroundOnStartup() throws Exception {
+
+        final StreamMetrics streamMetrics = new StreamMetrics("some-source", "event-listener", 234, 329, 23, 87, 78);
+
+        when(streamMetricsSnapshotConfig.getRefreshIntervalMilliseconds()).thenReturn(REFRESH_INTERVAL_MILLISECONDS);
+        when(streamMetricsRepository.findAllStreamMetrics()).thenReturn(List.of(streamMetrics));
+        when(clock.now()).thenReturn(new UtcClock().now());
+
+        streamMetricsProvider.startup();
+
+        assertThat(streamMetricsProvider.isSnapshotLoaded(), is(false));
+
+        verify(managedExecutorService).execute(refreshCaptor.capture());
+        refreshCaptor.getValue().run();
+
+        assertThat(streamMetricsProvider.isSnapshotLoaded(), is(true));
+    }
+
+    @Test
+    public void shouldTriggerOnlyOneRefreshAtATime() throws Exception {
+
+        when(streamMetricsSnapshotConfig.getRefreshIntervalMilliseconds()).thenReturn(REFRESH_INTERVAL_MILLISECONDS);
+
+        streamMetricsProvider.getMetrics("some-source", "event-listener");
+        streamMetricsProvider.getMetrics("some-source", "event-listener");
+        streamMetricsProvider.getMetrics("some-source", "event-processor");
+
+        verify(managedExecutorService, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldRefreshTheSnapshotOnceOlderThanTheRefreshInterval() throws Exception {
+
+        final ZonedDateTime loadedAt = new UtcClock().now();
+        final StreamMetrics oldStreamMetrics = new StreamMetrics("some-source", "event-listener", 234, 329, 23, 87, 78);
+        final StreamMetrics newStreamMetrics = new StreamMetrics("some-source", "event-listener", 235, 330, 23, 87, 78);
+
+        when(streamMetricsSnapshotConfig.getRefreshIntervalMilliseconds()).thenReturn(REFRESH_INTERVAL_MILLISECONDS);
+        when(streamMetricsRepository.findAllStreamMetrics()).thenReturn(List.of(oldStreamMetrics), List.of(newStreamMetrics));
+        when(clock.now()).thenReturn(
+                loadedAt,
+                loadedAt.plusSeconds(10),
+                loadedAt.plusSeconds(10),
+                loadedAt.plusSeconds(11));
+
+        streamMetricsProvider.getMetrics("some-source", "event-listener");
+        verify(managedExecutorService).execute(refreshCaptor.capture());
+        refreshCaptor.getValue().run();
+
+        assertThat(streamMetricsProvider.getMetrics("some-source", "event-listener"), is(of(oldStreamMetrics)));
+
+        verify(managedExecutorService, times(2)).execute(refreshCaptor.capture());
+        refreshCaptor.getValue().run();
 
-        final String source = "some-source";
-        final String component = "some-component";
+        assertThat(streamMetricsProvider.getMetrics("some-source", "event-listener"), is(of(newStreamMetrics)));
+    }
+
+    @Test
+    public void shouldKeepServingTheCurrentSnapshotIfRefreshingItFails() throws Exception {
+
+        final MetricsJdbcException metricsJdbcException = new MetricsJdbcException("Ooops", new SQLException());
+
+        when(streamMetricsSnapshotConfig.getRefreshIntervalMilliseconds()).thenReturn(REFRESH_INTERVAL_MILLISECONDS);
+        when(streamMetricsRepository.findAllStreamMetrics()).thenThrow(metricsJdbcException);
+
+        streamMetricsProvider.getMetrics("some-source", "event-listener");
+        verify(managedExecutorService).execute(refreshCaptor.capture());
+        refreshCaptor.getValue().run();
+
+        verify(logger).warn("Failed to refresh stream metrics snapshot", metricsJdbcException);
+
+        assertThat(streamMetricsProvider.getMetrics("some-source", "event-listener"), is(empty()));
+        assertThat(streamMetricsProvider.getSnapshotAge(), is(empty()));
+
+        verify(managedExecutorService, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldAllowAnotherRefreshIfTheRefreshIsRejected() throws Exception {
+
+        final RejectedExecutionException rejectedExecutionException = new RejectedExecutionException("Ooops");
+
+        when(streamMetricsSnapshotConfig.getRefreshIntervalMilliseconds()).thenReturn(REFRESH_INTERVAL_MILLISECONDS);
+        doThrow(rejectedExecutionException).when(managedExecutorService).execute(any(Runnable.class));
+
+        streamMetricsProvider.getMetrics("some-source", "event-listener");
+        streamMetricsProvider.getMetrics("some-source", "event-listener");
+
+        verify(managedExecutorService, times(2)).execute(any(Runnable.class));
+        verify(logger, times(2)).warn("Failed to submit refresh of stream metrics snapshot", rejectedExecutionException);
+    }
+
+    @Test
+    public void shouldReportTheAgeOfTheSnapshot() throws Exception {
 
+        final ZonedDateTime loadedAt = new UtcClock().now();
+
+        when(streamMetricsSnapshotConfig.getRefreshIntervalMilliseconds()).thenReturn(REFRESH_INTERVAL_MILLISECONDS);
+        when(streamMetricsRepository.findAllStreamMetrics()).thenReturn(List.of());
+        when(clock.now()).thenReturn(loadedAt, loadedAt.plus(Duration.ofMillis(2500)), loadedAt.plus(Duration.ofMillis(3500)));
+
+        streamMetricsProvider.startup();
+
+        assertThat(Double.isNaN(meterRegistry.get("event-store.stream.metrics.snapshot.age.seconds").gauge().value()), is(true));
+
+        verify(managedExecutorService).execute(refreshCaptor.capture());
+        refreshCaptor.getValue().run();
+
+        assertThat(streamMetricsProvider.getSnapshotAge(), is(of(Duration.ofMillis(2500))));
+        assertThat(meterRegistry.get("event-store.stream.metrics.snapshot.age.seconds").gauge().value(), is(3.5));
+    }
+
+    @Test
+    public void shouldLogTheMetricsRetrievedIfDebugEnabled() throws Exception {
+
+        final ZonedDateTime loadedAt = new UtcClock().now();
         final StreamMetrics eventListenerStreamMetrics = new StreamMetrics(
-                source,
-                component, 234, 329, 23, 87, 78);
+                "some-source",
+                "some-component", 234, 329, 23, 87, 78);
+
+        when(streamMetricsSnapshotConfig.getRefreshIntervalMilliseconds()).thenReturn(REFRESH_INTERVAL_MILLISECONDS);
+        when(streamMetricsRepository.findAllStreamMetrics()).thenReturn(List.of(eventListenerStreamMetrics));
+        when(clock.now()).thenReturn(loadedAt, loadedAt.plusSeconds(1));
+        when(logger.isDebugEnabled()).thenReturn(false, true);
+
+        streamMetricsProvider.getMetrics("some-source", "some-component");
+        verify(managedExecutorService).execute(refreshCaptor.capture());
+        refreshCaptor.getValue().run();
+
+        assertThat(streamMetricsProvider.getMetrics("some-source", "some-component"), is(of(eventListenerStreamMetrics)));
+
+        verify(logger, times(1)).debug(anyString());
+        verify(logger).debug("Retrieved stream metrics for some-source some-component: Optional[StreamMetrics[source=some-source, component=some-component, streamCount=234, upToDateStreamCount=329, outOfDateStreamCount=23, blockedStreamCount=87, unblockedStreamCount=78]]");
+    }
+
+    @Test
+    public void shouldNotLogIfLogNotOnDebug() throws Exception {
 
+        when(streamMetricsSnapshotConfig.getRefreshIntervalMilliseconds()).thenReturn(REFRESH_INTERVAL_MILLISECONDS);
         when(logger.isDebugEnabled()).thenReturn(false);
-        when(streamMetricsRepository.getStreamMetrics(source, component)).thenReturn(of(eventListenerStreamMetrics));
 
-        assertThat(streamMetricsProvider.getMetrics(source, component), is(of(eventListenerStreamMetrics)));
+        streamMetricsProvider.getMetrics("some-source", "some-component");
 
         verify(logger, never()).debug(anyString());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package uk.gov.justice.services.eventstore.metrics.meters.gauges;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uk.gov.justice.services.eventstore.metrics.meters.gauges.StreamMetricsSnapshot.NOT_LOADED;
+import static uk.gov.justice.services.eventstore.metrics.meters.gauges.StreamMetricsSnapshot.snapshotOf;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamMetrics;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class StreamMetricsSnapshotTest {
+
+    @Test
+    public void shouldFindTheMetricsOfASourceAndComponent() throws Exception {
+
+        final ZonedDateTime loadedAt = new UtcClock().now();
+        final StreamMetrics streamMetrics_1 = new StreamMetrics("source_1", "component_1", 234, 329, 23, 87, 78);
+        final StreamMetrics streamMetrics_2 = new StreamMetrics("source_1", "component_2", 1, 2, 3, 4, 5);
+        final StreamMetrics streamMetrics_3 = new StreamMetrics("source_2", "component_1", 6, 7, 8, 9, 10);
+
+        final StreamMetricsSnapshot streamMetricsSnapshot = snapshotOf(List.of(streamMetrics_1, streamMetrics_2, streamMetrics_3), loadedAt);
+
+        assertThat(streamMetricsSnapshot.find("source_1", "component_1"), is(of(streamMetrics_1)));
+        assertThat(streamMetricsSnapshot.find("source_1", "component_2"), is(of(streamMetrics_2)));
+        assertThat(streamMetricsSnapshot.find("source_2", "component_1"), is(of(streamMetrics_3)));
+        assertThat(streamMetricsSnapshot.find("source_2", "component_2"), is(empty()));
+        assertThat(streamMetricsSnapshot.loadedAt(), is(of(loadedAt)));
+    }
+
+    @Test
+    public void shouldFindNoMetricsIfNotLoaded() throws Exception {
+
+        assertThat(NOT_LOADED.find("source_1", "component_1"), is(empty()));
+        assertThat(NOT_LOADED.loadedAt(), is(empty()));
+    }
+}
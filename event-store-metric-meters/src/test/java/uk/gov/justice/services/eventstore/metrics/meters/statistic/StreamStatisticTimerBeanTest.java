@@ -1,13 +1,17 @@
 package uk.gov.justice.services.eventstore.metrics.meters.statistic;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import uk.gov.justice.services.ejb.timer.TimerServiceManager;
 import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamMetricsRepository;
+import uk.gov.justice.services.event.buffer.core.repository.metrics.StreamStatisticConfig;
 import uk.gov.justice.services.metrics.micrometer.config.MetricsConfiguration;
 
 import java.sql.Timestamp;
@@ -19,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -42,6 +47,9 @@ public class StreamStatisticTimerBeanTest {
     @Mock
     private StreamMetricsRepository streamMetricsRepository;
 
+    @Mock
+    private StreamStatisticConfig streamStatisticConfig;
+
     @Captor
     private ArgumentCaptor<Timestamp> timestampCaptor;
 
@@ -101,6 +109,44 @@ public class StreamStatisticTimerBeanTest {
                 "Timestamp must be around now %s milliseconds before now".formatted(timerIntervalValue));
     }
 
+    @Test
+    public void shouldApplyDeltasAndReconcileStreamStatisticWithReconciliationIntervalIfIncrementalStreamStatisticEnabled() {
+        final long reconciliationIntervalValue = 3600000L;
+        when(streamStatisticConfig.isIncrementalStreamStatisticEnabled()).thenReturn(true);
+        when(streamStatisticConfig.getReconciliationIntervalMilliseconds()).thenReturn(reconciliationIntervalValue);
+        when(streamMetricsRepository.applyStreamStatisticDeltas()).thenReturn(true);
+        final Instant beforeRunningTest = Instant.now().minusMillis(reconciliationIntervalValue);
+
+        // run
+        streamStatisticTimerBean.calculateStreamStatistic();
+
+        // verify
+        final InOrder inOrder = inOrder(streamMetricsRepository);
+        inOrder.verify(streamMetricsRepository).applyStreamStatisticDeltas();
+        inOrder.verify(streamMetricsRepository).calculateStreamStatistic(timestampCaptor.capture());
+
+        final Instant capturedTimestamp = timestampCaptor.getValue().toInstant();
+        final Instant afterRunningTest = Instant.now().minusMillis(reconciliationIntervalValue);
+
+        assertTrue(!capturedTimestamp.isBefore(beforeRunningTest) && !capturedTimestamp.isAfter(afterRunningTest),
+                "Timestamp must be around now %s milliseconds before now".formatted(reconciliationIntervalValue));
+        verifyNoInteractions(metricsConfiguration);
+    }
+
+    @Test
+    public void shouldNotReconcileStreamStatisticIfStreamStatisticIsLockedByAnotherNode() {
+        when(streamStatisticConfig.isIncrementalStreamStatisticEnabled()).thenReturn(true);
+        when(streamMetricsRepository.applyStreamStatisticDeltas()).thenReturn(false);
+
+        // run
+        streamStatisticTimerBean.calculateStreamStatistic();
+
+        // verify
+        verify(streamMetricsRepository).applyStreamStatisticDeltas();
+        verify(streamMetricsRepository, never()).calculateStreamStatistic(any(Timestamp.class));
+        verifyNoInteractions(logger);
+    }
+
     @Test
     public void shouldLogExceptionWhenCalculatingStreamStatistic() {
         final long timerIntervalValue = 60000L;
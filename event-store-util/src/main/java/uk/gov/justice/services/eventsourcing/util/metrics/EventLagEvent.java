@@ -0,0 +1,31 @@
+package uk.gov.justice.services.eventsourcing.util.metrics;
+
+import java.time.ZonedDateTime;
+import java.util.StringJoiner;
+
+public class EventLagEvent {
+
+    private final EventStoreTimer eventStoreTimer;
+    private final ZonedDateTime createdAt;
+
+    public EventLagEvent(final EventStoreTimer eventStoreTimer, final ZonedDateTime createdAt) {
+        this.eventStoreTimer = eventStoreTimer;
+        this.createdAt = createdAt;
+    }
+
+    public EventStoreTimer getEventStoreTimer() {
+        return eventStoreTimer;
+    }
+
+    public ZonedDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", EventLagEvent.class.getSimpleName() + "[", "]")
+                .add("eventStoreTimer=" + eventStoreTimer)
+                .add("createdAt=" + createdAt)
+                .toString();
+    }
+}
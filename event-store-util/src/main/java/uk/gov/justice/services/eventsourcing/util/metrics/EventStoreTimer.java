@@ -0,0 +1,36 @@
+package uk.gov.justice.services.eventsourcing.util.metrics;
+
+/**
+ * The stages of the event store hot paths, and the points in the life of an event, timed by
+ * {@link EventStoreTimers}
+ */
+public enum EventStoreTimer {
+
+    APPEND("event-store.append", "The time taken to append events to a stream in the event_log"),
+    LINK("event-store.link", "The time taken by a pass of the event linker"),
+    PUBLISH("event-store.publish", "The time taken to publish the next linked event"),
+    STREAM_STATUS_UPDATE("event-store.stream.status.update", "The time taken to update the stream_status of an incoming event"),
+    EVENT_PROCESSING("event-store.event.processing", "The time taken to process a single event of a stream"),
+    CATCHUP_EVENT_PROCESSING("event-store.catchup.event.processing", "The time taken to process a single event during catchup"),
+    SNAPSHOT_LOAD("event-store.snapshot.load", "The time taken to load the latest snapshot of an aggregate"),
+    SNAPSHOT_STORE("event-store.snapshot.store", "The time taken to store a snapshot of an aggregate"),
+    LINKED_LAG("event-store.event.lag.linked", "The time from an event being created to it being linked"),
+    PUBLISHED_LAG("event-store.event.lag.published", "The time from an event being created to it being published"),
+    PROCESSED_LAG("event-store.event.lag.processed", "The time from an event being created to it being processed");
+
+    private final String timerName;
+    private final String description;
+
+    EventStoreTimer(final String timerName, final String description) {
+        this.timerName = timerName;
+        this.description = description;
+    }
+
+    public String timerName() {
+        return timerName;
+    }
+
+    public String description() {
+        return description;
+    }
+}
@@ -0,0 +1,118 @@
+package uk.gov.justice.services.eventsourcing.util.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+import uk.gov.justice.services.metrics.micrometer.config.MetricsConfiguration;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the latency of the event store hot paths, and how far events lag behind their creation,
+ * as Micrometer timers publishing percentile histograms. Timers are tagged by source and
+ * component where the stage knows them.
+ *
+ * Nothing is recorded if micrometer metrics are disabled, so timing a stage then costs no more
+ * than reading the clock, and the created at date of an event is never read.
+ */
+public class EventStoreTimers {
+
+    public static final String SOURCE_TAG_NAME = "source";
+    public static final String COMPONENT_TAG_NAME = "component";
+
+    @Inject
+    private MetricsConfiguration metricsConfiguration;
+
+    @Inject
+    private MeterRegistry meterRegistry;
+
+    @Inject
+    private Event<EventLagEvent> eventLagEventFirer;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Records the time since the sample was started
+     *
+     * @param sample the sample returned by start()
+     * @param eventStoreTimer the stage timed
+     */
+    public void stop(final Timer.Sample sample, final EventStoreTimer eventStoreTimer) {
+        if (metricsConfiguration.micrometerMetricsEnabled()) {
+            sample.stop(timer(eventStoreTimer, Tags.empty()));
+        }
+    }
+
+    public void stop(final Timer.Sample sample, final EventStoreTimer eventStoreTimer, final String source) {
+        if (metricsConfiguration.micrometerMetricsEnabled()) {
+            sample.stop(timer(eventStoreTimer, Tags.of(SOURCE_TAG_NAME, source)));
+        }
+    }
+
+    public void stop(final Timer.Sample sample, final EventStoreTimer eventStoreTimer, final String source, final String component) {
+        if (metricsConfiguration.micrometerMetricsEnabled()) {
+            sample.stop(timer(eventStoreTimer, Tags.of(SOURCE_TAG_NAME, source, COMPONENT_TAG_NAME, component)));
+        }
+    }
+
+    /**
+     * Records the time since an event was created
+     *
+     * @param eventStoreTimer the point in the life of the event reached
+     * @param createdAt supplies the created at date of the event; only called if metrics are enabled
+     */
+    public void recordLag(final EventStoreTimer eventStoreTimer, final Supplier<Optional<ZonedDateTime>> createdAt) {
+        if (metricsConfiguration.micrometerMetricsEnabled()) {
+            createdAt.get().ifPresent(eventCreatedAt -> recordLag(timer(eventStoreTimer, Tags.empty()), eventCreatedAt));
+        }
+    }
+
+    public void recordLag(final EventStoreTimer eventStoreTimer, final Supplier<Optional<ZonedDateTime>> createdAt, final String source, final String component) {
+        if (metricsConfiguration.micrometerMetricsEnabled()) {
+            createdAt.get().ifPresent(eventCreatedAt -> recordLag(timer(eventStoreTimer, Tags.of(SOURCE_TAG_NAME, source, COMPONENT_TAG_NAME, component)), eventCreatedAt));
+        }
+    }
+
+    /**
+     * Records the time since an event was created once the current transaction has successfully
+     * committed, so that the lag includes the commit and nothing is recorded if the transaction
+     * is rolled back. Recorded straight away if there is no transaction.
+     *
+     * @param eventStoreTimer the point in the life of the event reached
+     * @param createdAt supplies the created at date of the event; only called if metrics are enabled
+     */
+    public void recordLagOnceCommitted(final EventStoreTimer eventStoreTimer, final Supplier<Optional<ZonedDateTime>> createdAt) {
+        if (metricsConfiguration.micrometerMetricsEnabled()) {
+            createdAt.get().ifPresent(eventCreatedAt -> eventLagEventFirer.fire(new EventLagEvent(eventStoreTimer, eventCreatedAt)));
+        }
+    }
+
+    void onEventLag(@Observes(during = AFTER_SUCCESS) final EventLagEvent eventLagEvent) {
+        recordLag(timer(eventLagEvent.getEventStoreTimer(), Tags.empty()), eventLagEvent.getCreatedAt());
+    }
+
+    private void recordLag(final Timer timer, final ZonedDateTime createdAt) {
+        final long lagMilliseconds = meterRegistry.config().clock().wallTime() - createdAt.toInstant().toEpochMilli();
+        timer.record(lagMilliseconds, MILLISECONDS);
+    }
+
+    private Timer timer(final EventStoreTimer eventStoreTimer, final Tags tags) {
+        return Timer.builder(eventStoreTimer.timerName())
+                .description(eventStoreTimer.description())
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,187 @@
+package uk.gov.justice.services.eventsourcing.util.metrics;
+
+import static java.time.ZoneOffset.UTC;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.APPEND;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.EVENT_PROCESSING;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.LINK;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.LINKED_LAG;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.PROCESSED_LAG;
+import static uk.gov.justice.services.eventsourcing.util.metrics.EventStoreTimer.PUBLISHED_LAG;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import uk.gov.justice.services.metrics.micrometer.config.MetricsConfiguration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.enterprise.event.Event;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class EventStoreTimersTest {
+
+    @Mock
+    private MetricsConfiguration metricsConfiguration;
+
+    @Mock
+    private Event<EventLagEvent> eventLagEventFirer;
+
+    @Captor
+    private ArgumentCaptor<EventLagEvent> eventLagEventCaptor;
+
+    @InjectMocks
+    private EventStoreTimers eventStoreTimers;
+
+    private final MockClock mockClock = new MockClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, mockClock);
+
+    @BeforeEach
+    public void setup() {
+        setField(eventStoreTimers, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    public void shouldRecordTheTimeTakenByAStageTaggedBySourceAndComponent() throws Exception {
+
+        when(metricsConfiguration.micrometerMetricsEnabled()).thenReturn(true);
+
+        final Timer.Sample sample = eventStoreTimers.start();
+        mockClock.add(Duration.ofMillis(250));
+        eventStoreTimers.stop(sample, EVENT_PROCESSING, "some-source", "some-component");
+
+        final Timer timer = meterRegistry.get("event-store.event.processing")
+                .tag("source", "some-source")
+                .tag("component", "some-component")
+                .timer();
+
+        assertThat(timer.count(), is(1L));
+        assertThat(timer.totalTime(MILLISECONDS), is(250.0));
+        assertThat(timer.getId().getDescription(), is("The time taken to process a single event of a stream"));
+    }
+
+    @Test
+    public void shouldRecordTheTimeTakenByStagesTaggedBySourceOnlyOrUntagged() throws Exception {
+
+        when(metricsConfiguration.micrometerMetricsEnabled()).thenReturn(true);
+
+        eventStoreTimers.stop(eventStoreTimers.start(), APPEND, "some-source");
+        eventStoreTimers.stop(eventStoreTimers.start(), LINK);
+
+        assertThat(meterRegistry.get("event-store.append").tag("source", "some-source").timer().count(), is(1L));
+        assertThat(meterRegistry.get("event-store.link").timer().getId().getTags().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldRecordTheLagOfAnEventBehindItsCreation() throws Exception {
+
+        final ZonedDateTime createdAt = ZonedDateTime.ofInstant(Instant.ofEpochMilli(mockClock.wallTime()), UTC).minusSeconds(3);
+
+        when(metricsConfiguration.micrometerMetricsEnabled()).thenReturn(true);
+
+        eventStoreTimers.recordLag(PROCESSED_LAG, () -> of(createdAt), "some-source", "some-component");
+
+        final Timer timer = meterRegistry.get("event-store.event.lag.processed")
+                .tag("source", "some-source")
+                .tag("component", "some-component")
+                .timer();
+
+        assertThat(timer.count(), is(1L));
+        assertThat(timer.totalTime(MILLISECONDS), is(3000.0));
+    }
+
+    @Test
+    public void shouldRecordTheLagOfAnEventUntagged() throws Exception {
+
+        final ZonedDateTime createdAt = ZonedDateTime.ofInstant(Instant.ofEpochMilli(mockClock.wallTime()), UTC).minusSeconds(2);
+
+        when(metricsConfiguration.micrometerMetricsEnabled()).thenReturn(true);
+
+        eventStoreTimers.recordLag(LINKED_LAG, () -> of(createdAt));
+
+        assertThat(meterRegistry.get("event-store.event.lag.linked").timer().totalTime(MILLISECONDS), is(2000.0));
+    }
+
+    @Test
+    public void shouldNotRecordTheLagOfAnEventWithNoCreatedAtDate() throws Exception {
+
+        when(metricsConfiguration.micrometerMetricsEnabled()).thenReturn(true);
+
+        eventStoreTimers.recordLag(PROCESSED_LAG, Optional::empty, "some-source", "some-component");
+
+        assertThat(meterRegistry.find("event-store.event.lag.processed").timer(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldOnlyRecordTheLagOfAnEventOnceTheTransactionHasCommitted() throws Exception {
+
+        final ZonedDateTime createdAt = ZonedDateTime.ofInstant(Instant.ofEpochMilli(mockClock.wallTime()), UTC).minusSeconds(2);
+
+        when(metricsConfiguration.micrometerMetricsEnabled()).thenReturn(true);
+
+        eventStoreTimers.recordLagOnceCommitted(PUBLISHED_LAG, () -> of(createdAt));
+
+        assertThat(meterRegistry.find("event-store.event.lag.published").timer(), is(nullValue()));
+
+        verify(eventLagEventFirer).fire(eventLagEventCaptor.capture());
+
+        final EventLagEvent eventLagEvent = eventLagEventCaptor.getValue();
+        assertThat(eventLagEvent.getEventStoreTimer(), is(PUBLISHED_LAG));
+        assertThat(eventLagEvent.getCreatedAt(), is(createdAt));
+
+        mockClock.add(Duration.ofMillis(500));
+        eventStoreTimers.onEventLag(eventLagEvent);
+
+        assertThat(meterRegistry.get("event-store.event.lag.published").timer().totalTime(MILLISECONDS), is(2500.0));
+    }
+
+    @Test
+    public void shouldNotFireAnEventLagEventForAnEventWithNoCreatedAtDate() throws Exception {
+
+        when(metricsConfiguration.micrometerMetricsEnabled()).thenReturn(true);
+
+        eventStoreTimers.recordLagOnceCommitted(PUBLISHED_LAG, Optional::empty);
+
+        verify(eventLagEventFirer, never()).fire(any(EventLagEvent.class));
+    }
+
+    @Test
+    public void shouldRecordNothingIfMetricsDisabled() throws Exception {
+
+        final Supplier<Optional<ZonedDateTime>> createdAt = () -> {
+            throw new AssertionError("created at should not be read if metrics are disabled");
+        };
+
+        when(metricsConfiguration.micrometerMetricsEnabled()).thenReturn(false);
+
+        eventStoreTimers.stop(eventStoreTimers.start(), EVENT_PROCESSING, "some-source", "some-component");
+        eventStoreTimers.recordLag(PROCESSED_LAG, createdAt, "some-source", "some-component");
+        eventStoreTimers.recordLagOnceCommitted(PUBLISHED_LAG, createdAt);
+
+        assertThat(meterRegistry.getMeters().isEmpty(), is(true));
+        verify(eventLagEventFirer, never()).fire(any(EventLagEvent.class));
+    }
+}